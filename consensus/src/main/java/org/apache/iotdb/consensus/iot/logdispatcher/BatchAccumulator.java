@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.logdispatcher;
+
+import org.apache.iotdb.consensus.config.IoTConsensusConfig;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Lets a {@link LogDispatcher.LogDispatcherThread} wait until the queued requests are enough for a
+ * full batch, and wakes it up once they are, or once the peer becomes idle.
+ */
+class BatchAccumulator {
+
+  private final IoTConsensusConfig.Replication config;
+  // The number of requests waiting in the queue
+  private final IntSupplier queuedRequestsNum;
+  // The number of batches which are sent but not synchronized yet
+  private final IntSupplier pendingBatchesNum;
+
+  // The serialized size of the requests which are queued but not sent yet
+  private final AtomicLong accumulatedRequestSize = new AtomicLong(0);
+  // Used to wake up the dispatcher when it is waiting for accumulating a batch
+  private final Object accumulatingMonitor = new Object();
+  private volatile boolean accumulating = false;
+  private volatile boolean stopped = false;
+
+  BatchAccumulator(
+      IoTConsensusConfig.Replication config,
+      IntSupplier queuedRequestsNum,
+      IntSupplier pendingBatchesNum) {
+    this.config = config;
+    this.queuedRequestsNum = queuedRequestsNum;
+    this.pendingBatchesNum = pendingBatchesNum;
+  }
+
+  /** Called after a request is queued, wakes up the dispatcher if a batch can be filled now. */
+  void onRequestQueued(long serializedSize) {
+    accumulatedRequestSize.addAndGet(serializedSize);
+    if (accumulating && reachesBatchLimit()) {
+      wakeUp();
+    }
+  }
+
+  /** Called after a queued request is put into a batch or dropped. */
+  void onRequestRemoved(long serializedSize) {
+    accumulatedRequestSize.addAndGet(-serializedSize);
+  }
+
+  /** Called after a batch is synced, the next batch can be sent at once if nothing is pending. */
+  void onBatchSynced() {
+    if (accumulating && pendingBatchesNum.getAsInt() == 0) {
+      wakeUp();
+    }
+  }
+
+  void stop() {
+    stopped = true;
+    wakeUp();
+  }
+
+  boolean isAccumulating() {
+    return accumulating;
+  }
+
+  long getAccumulatedRequestSize() {
+    return accumulatedRequestSize.get();
+  }
+
+  /**
+   * Wait until the queued requests are enough for a full batch, or the accumulating time is up.
+   * If no batch is being synchronized, the peer is idle and waiting would only add latency, so we
+   * return at once. Thus batches stay small under low write pressure and grow with it.
+   *
+   * @return the waiting time in nanoseconds
+   */
+  long waitForAccumulatingBatch() throws InterruptedException {
+    long startTime = System.nanoTime();
+    long deadline =
+        startTime
+            + TimeUnit.MILLISECONDS.toNanos(config.getMaxWaitingTimeForAccumulatingBatchInMs());
+    synchronized (accumulatingMonitor) {
+      accumulating = true;
+      try {
+        long remainingTime = deadline - System.nanoTime();
+        while (remainingTime > 0
+            && pendingBatchesNum.getAsInt() > 0
+            && !reachesBatchLimit()
+            && !stopped) {
+          TimeUnit.NANOSECONDS.timedWait(accumulatingMonitor, remainingTime);
+          remainingTime = deadline - System.nanoTime();
+        }
+      } finally {
+        accumulating = false;
+      }
+    }
+    return System.nanoTime() - startTime;
+  }
+
+  private boolean reachesBatchLimit() {
+    return queuedRequestsNum.getAsInt() >= config.getMaxLogEntriesNumPerBatch()
+        || accumulatedRequestSize.get() >= config.getMaxSizePerBatch();
+  }
+
+  private void wakeUp() {
+    synchronized (accumulatingMonitor) {
+      accumulatingMonitor.notifyAll();
+    }
+  }
+}
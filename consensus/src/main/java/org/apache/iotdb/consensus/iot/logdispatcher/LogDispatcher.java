@@ -211,6 +211,9 @@ public class LogDispatcher {
 
     private final LogDispatcherThreadMetrics metrics;
 
+    // Used to wait until the requests in pendingEntries are enough for a batch
+    private final BatchAccumulator batchAccumulator;
+
     public LogDispatcherThread(Peer peer, IoTConsensusConfig config, long initialSyncIndex) {
       this.peer = peer;
       this.config = config;
@@ -222,6 +225,9 @@ public class LogDispatcher {
               initialSyncIndex,
               config.getReplication().getCheckpointGap());
       this.syncStatus = new SyncStatus(controller, config, impl::getSearchIndex);
+      this.batchAccumulator =
+          new BatchAccumulator(
+              config.getReplication(), pendingEntries::size, syncStatus::getPendingBatchesNum);
       this.walEntryIterator = reader.getReqIterator(START_INDEX);
       this.metrics = new LogDispatcherThreadMetrics(this);
     }
@@ -266,15 +272,23 @@ public class LogDispatcher {
       if (!success) {
         // If offer failed, the reserved memory should be released
         iotConsensusMemoryManager.free(indexedConsensusRequest.getSerializedSize(), true);
+      } else {
+        batchAccumulator.onRequestQueued(indexedConsensusRequest.getSerializedSize());
       }
       return success;
     }
 
     /** try to remove a request from queue with memory control. */
     private void releaseReservedMemory(IndexedConsensusRequest indexedConsensusRequest) {
+      batchAccumulator.onRequestRemoved(indexedConsensusRequest.getSerializedSize());
       iotConsensusMemoryManager.free(indexedConsensusRequest.getSerializedSize(), true);
     }
 
+    /** Called after a batch is synced, the next batch can be sent at once if nothing is pending */
+    public void onBatchSynced() {
+      batchAccumulator.onBatchSynced();
+    }
+
     public void stop() {
       stopped = true;
       long requestSize = 0;
@@ -283,6 +297,7 @@ public class LogDispatcher {
       }
       pendingEntries.clear();
       iotConsensusMemoryManager.free(requestSize, true);
+      batchAccumulator.stop();
       requestSize = 0;
       for (IndexedConsensusRequest indexedConsensusRequest : bufferedEntries) {
         requestSize += indexedConsensusRequest.getSerializedSize();
@@ -314,9 +329,10 @@ public class LogDispatcher {
                 pendingEntries.poll(PENDING_REQUEST_TAKING_TIME_OUT_IN_SEC, TimeUnit.SECONDS);
             if (request != null) {
               bufferedEntries.add(request);
-              // If write pressure is low, we simply sleep a little to reduce the number of RPC
-              if (pendingEntries.size() <= config.getReplication().getMaxLogEntriesNumPerBatch()) {
-                Thread.sleep(config.getReplication().getMaxWaitingTimeForAccumulatingBatchInMs());
+              // Accumulate more requests to reduce the number of RPC instead of sending a small
+              // batch at once
+              if (pendingEntries.size() < config.getReplication().getMaxLogEntriesNumPerBatch()) {
+                metrics.recordAccumulatingTime(batchAccumulator.waitForAccumulatingBatch());
               }
             }
           }
@@ -331,6 +347,7 @@ public class LogDispatcher {
                   Tag.REGION.toString(),
                   peer.getGroupId().toString())
               .update((System.nanoTime() - startTime) / batch.getLogEntries().size());
+          metrics.recordBatch(batch);
           // we may block here if the synchronization pipeline is full
           syncStatus.addNextBatch(batch);
           logEntriesFromWAL.addAndGet(batch.getLogEntriesNumFromWAL());
@@ -24,10 +24,16 @@ import org.apache.iotdb.commons.service.metric.enums.Metric;
 import org.apache.iotdb.commons.service.metric.enums.Tag;
 import org.apache.iotdb.metrics.AbstractMetricService;
 import org.apache.iotdb.metrics.metricsets.IMetricSet;
+import org.apache.iotdb.metrics.type.Histogram;
 import org.apache.iotdb.metrics.utils.MetricLevel;
 import org.apache.iotdb.metrics.utils.MetricType;
 
 public class LogDispatcherThreadMetrics implements IMetricSet {
+  private static final String PENDING_BATCHES_NUM = "pendingBatchesNum";
+  private static final String BATCH_ENTRIES_NUM = "batchEntriesNum";
+  private static final String BATCH_SIZE = "batchSerializedSize";
+  private static final String ACCUMULATING_BATCH_TIME = "accumulatingBatchTime";
+
   private final LogDispatcher.LogDispatcherThread logDispatcherThread;
 
   public LogDispatcherThreadMetrics(LogDispatcher.LogDispatcherThread logDispatcherThread) {
@@ -60,6 +66,18 @@ public class LogDispatcherThreadMetrics implements IMetricSet {
             logDispatcherThread.getPeer().getGroupId().toString(),
             Tag.TYPE.toString(),
             "cachedRequestInMemoryQueue");
+    MetricService.getInstance()
+        .createAutoGauge(
+            Metric.IOT_CONSENSUS.toString(),
+            MetricLevel.IMPORTANT,
+            logDispatcherThread,
+            x -> x.getSyncStatus().getPendingBatchesNum(),
+            Tag.NAME.toString(),
+            formatName(),
+            Tag.REGION.toString(),
+            logDispatcherThread.getPeer().getGroupId().toString(),
+            Tag.TYPE.toString(),
+            PENDING_BATCHES_NUM);
   }
 
   @Override
@@ -84,6 +102,50 @@ public class LogDispatcherThreadMetrics implements IMetricSet {
             logDispatcherThread.getPeer().getGroupId().toString(),
             Tag.TYPE.toString(),
             "cachedRequestInMemoryQueue");
+    MetricService.getInstance()
+        .remove(
+            MetricType.AUTO_GAUGE,
+            Metric.IOT_CONSENSUS.toString(),
+            Tag.NAME.toString(),
+            formatName(),
+            Tag.REGION.toString(),
+            logDispatcherThread.getPeer().getGroupId().toString(),
+            Tag.TYPE.toString(),
+            PENDING_BATCHES_NUM);
+    for (String type : new String[] {BATCH_ENTRIES_NUM, BATCH_SIZE, ACCUMULATING_BATCH_TIME}) {
+      MetricService.getInstance()
+          .remove(
+              MetricType.HISTOGRAM,
+              Metric.IOT_CONSENSUS.toString(),
+              Tag.NAME.toString(),
+              formatName(),
+              Tag.REGION.toString(),
+              logDispatcherThread.getPeer().getGroupId().toString(),
+              Tag.TYPE.toString(),
+              type);
+    }
+  }
+
+  public void recordBatch(Batch batch) {
+    getOrCreateHistogram(BATCH_ENTRIES_NUM).update(batch.getLogEntries().size());
+    getOrCreateHistogram(BATCH_SIZE).update(batch.getSerializedSize());
+  }
+
+  public void recordAccumulatingTime(long costTimeInNanos) {
+    getOrCreateHistogram(ACCUMULATING_BATCH_TIME).update(costTimeInNanos);
+  }
+
+  private Histogram getOrCreateHistogram(String type) {
+    return MetricService.getInstance()
+        .getOrCreateHistogram(
+            Metric.IOT_CONSENSUS.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            formatName(),
+            Tag.REGION.toString(),
+            logDispatcherThread.getPeer().getGroupId().toString(),
+            Tag.TYPE.toString(),
+            type);
   }
 
   private String formatName() {
@@ -33,6 +33,8 @@ public class SyncStatus {
   private final IndexController controller;
   private final LongSupplier supplier;
   private final LinkedList<Batch> pendingBatches = new LinkedList<>();
+  // the total serialized size of pendingBatches
+  private long pendingBatchesSize = 0;
   private final IoTConsensusMemoryManager iotConsensusMemoryManager =
       IoTConsensusMemoryManager.getInstance();
 
@@ -42,17 +44,29 @@ public class SyncStatus {
     this.supplier = supplier;
   }
 
-  /** we may block here if the synchronization pipeline is full. */
+  /**
+   * we may block here if the synchronization pipeline is full. The pipeline is bounded by both the
+   * number and the total size of pending batches, but a batch can always be sent if there is no
+   * pending batch.
+   */
   public void addNextBatch(Batch batch) throws InterruptedException {
     synchronized (this) {
-      while (pendingBatches.size() >= config.getReplication().getMaxPendingBatchesNum()
+      while (isPipelineFull(batch)
           || !iotConsensusMemoryManager.reserve(batch.getSerializedSize(), false)) {
         wait();
       }
       pendingBatches.add(batch);
+      pendingBatchesSize += batch.getSerializedSize();
     }
   }
 
+  private boolean isPipelineFull(Batch batch) {
+    return pendingBatches.size() >= config.getReplication().getMaxPendingBatchesNum()
+        || (!pendingBatches.isEmpty()
+            && pendingBatchesSize + batch.getSerializedSize()
+                > config.getReplication().getMaxPendingBatchesSize());
+  }
+
   /**
    * We only set a flag if this batch is not the first one. Notice, We need to confirm that the
    * batch in the parameter is actually in pendingBatches, rather than a reference to a different
@@ -68,6 +82,7 @@ public class SyncStatus {
           controller.updateAndGet(
               current.getEndIndex(), supplier.getAsLong() == current.getEndIndex());
           iterator.remove();
+          pendingBatchesSize -= current.getSerializedSize();
           iotConsensusMemoryManager.free(current.getSerializedSize(), false);
           if (iterator.hasNext()) {
             current = iterator.next();
@@ -87,10 +102,20 @@ public class SyncStatus {
       size += pendingBatch.getSerializedSize();
     }
     pendingBatches.clear();
+    pendingBatchesSize = 0;
     controller.updateAndGet(0L, true);
     iotConsensusMemoryManager.free(size, false);
   }
 
+  /** Gets the number of batches which are sent but not synchronized yet. */
+  public synchronized int getPendingBatchesNum() {
+    return pendingBatches.size();
+  }
+
+  public synchronized long getPendingBatchesSize() {
+    return pendingBatchesSize;
+  }
+
   /** Gets the first index that is not currently synchronized. */
   public long getNextSendingIndex() {
     // we do not use ReentrantReadWriteLock because there will be only one thread reading this field
@@ -26,9 +26,14 @@ import org.apache.iotdb.commons.consensus.DataRegionId;
 import org.apache.iotdb.consensus.ConsensusFactory;
 import org.apache.iotdb.consensus.common.ConsensusGroup;
 import org.apache.iotdb.consensus.common.Peer;
+import org.apache.iotdb.consensus.common.request.DeserializedBatchIndexedConsensusRequest;
+import org.apache.iotdb.consensus.common.request.IndexedConsensusRequest;
 import org.apache.iotdb.consensus.config.ConsensusConfig;
+import org.apache.iotdb.consensus.config.IoTConsensusConfig;
 import org.apache.iotdb.consensus.iot.util.TestEntry;
 import org.apache.iotdb.consensus.iot.util.TestStateMachine;
+import org.apache.iotdb.consensus.iot.wal.ConsensusReqReader;
+import org.apache.iotdb.consensus.iot.wal.GetConsensusReqReaderPlan;
 
 import org.apache.ratis.util.FileUtils;
 import org.junit.After;
@@ -42,7 +47,11 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class ReplicateTest {
   private static final long CHECK_POINT_GAP = 500;
@@ -246,4 +255,54 @@ public class ReplicateTest {
     Assert.assertEquals(stateMachines.get(0).getData(), stateMachines.get(1).getData());
     Assert.assertEquals(stateMachines.get(2).getData(), stateMachines.get(1).getData());
   }
+
+  /**
+   * Batches received by a follower concurrently and out of order should be written in the order of
+   * search index, so that they can be read back through the consensus reader one by one.
+   */
+  @Test
+  public void SyncLogInOrderTest() throws Exception {
+    logger.info("Start SyncLogInOrderTest");
+    servers.get(0).createPeer(gid, Collections.singletonList(peers.get(0)));
+    IoTConsensusServerImpl impl = servers.get(0).getImpl(gid);
+
+    int batchNum = IoTConsensusConfig.Replication.newBuilder().build().getMaxPendingBatchesNum();
+    List<DeserializedBatchIndexedConsensusRequest> batches = new ArrayList<>();
+    for (int i = 1; i <= batchNum; i++) {
+      DeserializedBatchIndexedConsensusRequest batch =
+          new DeserializedBatchIndexedConsensusRequest(i, i, 1);
+      batch.add(
+          new IndexedConsensusRequest(
+              i, Collections.singletonList(new TestEntry(i, peers.get(1)))));
+      batches.add(batch);
+    }
+    Collections.reverse(batches);
+
+    ExecutorService pool = Executors.newFixedThreadPool(batchNum);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (DeserializedBatchIndexedConsensusRequest batch : batches) {
+        futures.add(pool.submit(() -> impl.syncLog(peers.get(1).toString(), batch)));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+
+    List<Long> expected = new ArrayList<>();
+    for (long i = 1; i <= batchNum; i++) {
+      expected.add(i);
+    }
+    Assert.assertEquals(expected, stateMachines.get(0).getWrittenSearchIndexes());
+
+    ConsensusReqReader reader =
+        (ConsensusReqReader) stateMachines.get(0).read(new GetConsensusReqReaderPlan());
+    ConsensusReqReader.ReqIterator iterator = reader.getReqIterator(1);
+    for (long i = 1; i <= batchNum; i++) {
+      Assert.assertTrue(iterator.hasNext());
+      Assert.assertEquals(i, iterator.next().getSearchIndex());
+    }
+  }
 }
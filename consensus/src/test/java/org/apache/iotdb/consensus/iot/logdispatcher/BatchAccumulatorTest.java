@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.consensus.iot.logdispatcher;
+
+import org.apache.iotdb.consensus.config.IoTConsensusConfig;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchAccumulatorTest {
+
+  private static final int MAX_LOG_ENTRIES_NUM_PER_BATCH = 4;
+  private static final int MAX_SIZE_PER_BATCH = 1024;
+  private static final int REQUEST_SIZE = 16;
+  // long enough that a waiter returning early can only be woken up by the monitor
+  private static final int LONG_WAITING_TIME_IN_MS = 60_000;
+  private static final long JOIN_TIMEOUT_IN_MS = 10_000;
+
+  private final AtomicInteger queuedRequestsNum = new AtomicInteger(0);
+  private final AtomicInteger pendingBatchesNum = new AtomicInteger(0);
+
+  /** The batch is sent at once if no batch is being synchronized */
+  @Test
+  public void testNoWaitingWhenPeerIsIdle() throws InterruptedException {
+    BatchAccumulator accumulator = createAccumulator(LONG_WAITING_TIME_IN_MS);
+    queueRequest(accumulator, REQUEST_SIZE);
+
+    long waitingTime = accumulator.waitForAccumulatingBatch();
+    Assert.assertTrue(waitingTime < TimeUnit.MILLISECONDS.toNanos(JOIN_TIMEOUT_IN_MS));
+    Assert.assertFalse(accumulator.isAccumulating());
+  }
+
+  /** A partial batch is sent once the accumulating time is up */
+  @Test
+  public void testPartialBatchIsSentAfterWaitingTime() throws InterruptedException {
+    int waitingTimeInMs = 200;
+    BatchAccumulator accumulator = createAccumulator(waitingTimeInMs);
+    pendingBatchesNum.set(1);
+    queueRequest(accumulator, REQUEST_SIZE);
+
+    long waitingTime = accumulator.waitForAccumulatingBatch();
+    Assert.assertTrue(waitingTime >= TimeUnit.MILLISECONDS.toNanos(waitingTimeInMs));
+    Assert.assertFalse(accumulator.isAccumulating());
+  }
+
+  /** A new request wakes the waiting dispatcher up as soon as the batch is full */
+  @Test
+  public void testWakeUpWhenBatchIsFilled() throws InterruptedException {
+    BatchAccumulator accumulator = createAccumulator(LONG_WAITING_TIME_IN_MS);
+    pendingBatchesNum.set(1);
+    queueRequest(accumulator, REQUEST_SIZE);
+
+    Thread dispatcher = startWaiting(accumulator);
+    for (int i = 1; i < MAX_LOG_ENTRIES_NUM_PER_BATCH - 1; i++) {
+      queueRequest(accumulator, REQUEST_SIZE);
+    }
+    // the batch is not full yet
+    dispatcher.join(200);
+    Assert.assertTrue(dispatcher.isAlive());
+
+    queueRequest(accumulator, REQUEST_SIZE);
+    dispatcher.join(JOIN_TIMEOUT_IN_MS);
+    Assert.assertFalse(dispatcher.isAlive());
+  }
+
+  /** A new request wakes the waiting dispatcher up as soon as the batch size is reached */
+  @Test
+  public void testWakeUpWhenBatchSizeIsReached() throws InterruptedException {
+    BatchAccumulator accumulator = createAccumulator(LONG_WAITING_TIME_IN_MS);
+    pendingBatchesNum.set(1);
+    queueRequest(accumulator, REQUEST_SIZE);
+
+    Thread dispatcher = startWaiting(accumulator);
+    queueRequest(accumulator, MAX_SIZE_PER_BATCH - REQUEST_SIZE);
+    dispatcher.join(JOIN_TIMEOUT_IN_MS);
+    Assert.assertFalse(dispatcher.isAlive());
+
+    // the size of the requests put into a batch is no longer accumulated
+    accumulator.onRequestRemoved(REQUEST_SIZE);
+    accumulator.onRequestRemoved(MAX_SIZE_PER_BATCH - REQUEST_SIZE);
+    Assert.assertEquals(0, accumulator.getAccumulatedRequestSize());
+  }
+
+  /** The waiting dispatcher is woken up once all the pending batches are synchronized */
+  @Test
+  public void testWakeUpWhenPendingBatchesAreSynced() throws InterruptedException {
+    BatchAccumulator accumulator = createAccumulator(LONG_WAITING_TIME_IN_MS);
+    pendingBatchesNum.set(2);
+    queueRequest(accumulator, REQUEST_SIZE);
+
+    Thread dispatcher = startWaiting(accumulator);
+    pendingBatchesNum.decrementAndGet();
+    accumulator.onBatchSynced();
+    dispatcher.join(200);
+    Assert.assertTrue(dispatcher.isAlive());
+
+    pendingBatchesNum.decrementAndGet();
+    accumulator.onBatchSynced();
+    dispatcher.join(JOIN_TIMEOUT_IN_MS);
+    Assert.assertFalse(dispatcher.isAlive());
+  }
+
+  /** The waiting dispatcher is woken up when it is stopped */
+  @Test
+  public void testWakeUpWhenStopped() throws InterruptedException {
+    BatchAccumulator accumulator = createAccumulator(LONG_WAITING_TIME_IN_MS);
+    pendingBatchesNum.set(1);
+    queueRequest(accumulator, REQUEST_SIZE);
+
+    Thread dispatcher = startWaiting(accumulator);
+    accumulator.stop();
+    dispatcher.join(JOIN_TIMEOUT_IN_MS);
+    Assert.assertFalse(dispatcher.isAlive());
+  }
+
+  private BatchAccumulator createAccumulator(int maxWaitingTimeInMs) {
+    IoTConsensusConfig.Replication config =
+        IoTConsensusConfig.Replication.newBuilder()
+            .setMaxLogEntriesNumPerBatch(MAX_LOG_ENTRIES_NUM_PER_BATCH)
+            .setMaxSizePerBatch(MAX_SIZE_PER_BATCH)
+            .setMaxWaitingTimeForAccumulatingBatchInMs(maxWaitingTimeInMs)
+            .build();
+    return new BatchAccumulator(config, queuedRequestsNum::get, pendingBatchesNum::get);
+  }
+
+  private void queueRequest(BatchAccumulator accumulator, long serializedSize) {
+    queuedRequestsNum.incrementAndGet();
+    accumulator.onRequestQueued(serializedSize);
+  }
+
+  /** Starts a dispatcher waiting for a batch and returns once it is waiting on the monitor */
+  private Thread startWaiting(BatchAccumulator accumulator) throws InterruptedException {
+    Thread dispatcher =
+        new Thread(
+            () -> {
+              try {
+                accumulator.waitForAccumulatingBatch();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    dispatcher.start();
+    long deadline = System.currentTimeMillis() + JOIN_TIMEOUT_IN_MS;
+    while (!accumulator.isAccumulating() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assert.assertTrue(accumulator.isAccumulating());
+    return dispatcher;
+  }
+}
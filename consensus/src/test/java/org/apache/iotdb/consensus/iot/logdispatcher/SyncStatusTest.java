@@ -33,7 +33,9 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -115,6 +117,8 @@ public class SyncStatusTest {
       status.removeBatch(batchList.get(config.getReplication().getMaxPendingBatchesNum() - 1 - i));
       Assert.assertEquals(
           config.getReplication().getMaxPendingBatchesNum(), status.getPendingBatches().size());
+      Assert.assertEquals(
+          config.getReplication().getMaxPendingBatchesNum(), status.getPendingBatchesNum());
       Assert.assertEquals(0, controller.getCurrentIndex());
       Assert.assertEquals(
           config.getReplication().getMaxPendingBatchesNum(), status.getNextSendingIndex());
@@ -122,6 +126,7 @@ public class SyncStatusTest {
 
     status.removeBatch(batchList.get(0));
     Assert.assertEquals(0, status.getPendingBatches().size());
+    Assert.assertEquals(0, status.getPendingBatchesNum());
     Assert.assertEquals(
         config.getReplication().getMaxPendingBatchesNum() - 1, controller.getCurrentIndex());
     Assert.assertEquals(
@@ -244,4 +249,53 @@ public class SyncStatusTest {
     Assert.assertEquals(
         config.getReplication().getMaxPendingBatchesNum() + 1, status.getNextSendingIndex());
   }
+
+  /** Confirm the pipeline is bounded by the total size of pending batches */
+  @Test
+  public void pendingBatchesSizeTest() throws InterruptedException, ExecutionException {
+    IndexController controller =
+        new IndexController(storageDir.getAbsolutePath(), peer, 0, CHECK_POINT_GAP);
+    IoTConsensusConfig sizeBoundedConfig =
+        IoTConsensusConfig.newBuilder()
+            .setReplication(
+                IoTConsensusConfig.Replication.newBuilder().setMaxPendingBatchesSize(100).build())
+            .build();
+    SyncStatus status = new SyncStatus(controller, sizeBoundedConfig, supplier);
+
+    Batch first = createBatch(sizeBoundedConfig, 1, 60);
+    status.addNextBatch(first);
+    Assert.assertEquals(60, status.getPendingBatchesSize());
+
+    Batch second = createBatch(sizeBoundedConfig, 2, 60);
+    CompletableFuture<Boolean> future =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                status.addNextBatch(second);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+              }
+              return true;
+            });
+    Thread.sleep(500);
+    // the second batch is blocked because the total size exceeds the limit
+    Assert.assertFalse(future.isDone());
+    Assert.assertEquals(1, status.getPendingBatchesNum());
+
+    status.removeBatch(first);
+    Assert.assertTrue(future.get());
+    Assert.assertEquals(1, status.getPendingBatchesNum());
+    Assert.assertEquals(60, status.getPendingBatchesSize());
+  }
+
+  private Batch createBatch(IoTConsensusConfig batchConfig, long searchIndex, int dataSize) {
+    TLogEntry logEntry = new TLogEntry();
+    logEntry.setSearchIndex(searchIndex);
+    logEntry.setData(Collections.singletonList(ByteBuffer.allocate(dataSize)));
+    Batch batch = new Batch(batchConfig);
+    batch.addTLogEntry(logEntry);
+    batch.buildIndex();
+    return batch;
+  }
 }
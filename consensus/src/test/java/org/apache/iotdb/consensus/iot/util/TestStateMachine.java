@@ -47,11 +47,19 @@ public class TestStateMachine implements IStateMachine, IStateMachine.EventApi {
 
   private static final Logger logger = LoggerFactory.getLogger(TestStateMachine.class);
   private final RequestSets requestSets = new RequestSets(ConcurrentHashMap.newKeySet());
+  private final List<Long> writtenSearchIndexes = new ArrayList<>();
 
   public Set<IndexedConsensusRequest> getRequestSet() {
     return requestSets.getRequestSet();
   }
 
+  /** search indexes of written requests in the writing order */
+  public List<Long> getWrittenSearchIndexes() {
+    synchronized (requestSets) {
+      return new ArrayList<>(writtenSearchIndexes);
+    }
+  }
+
   public Set<TestEntry> getData() {
     Set<TestEntry> data = new HashSet<>();
     requestSets
@@ -117,6 +125,7 @@ public class TestStateMachine implements IStateMachine, IStateMachine.EventApi {
       ByteBuffer buffer = innerRequest.serializeToByteBuffer();
       transformedRequest.add(new TestEntry(buffer.getInt(), Peer.deserialize(buffer)));
     }
+    writtenSearchIndexes.add(indexedConsensusRequest.getSearchIndex());
     requestSets.add(
         new IndexedConsensusRequest(indexedConsensusRequest.getSearchIndex(), transformedRequest),
         indexedConsensusRequest.getSearchIndex() != ConsensusReqReader.DEFAULT_SEARCH_INDEX);
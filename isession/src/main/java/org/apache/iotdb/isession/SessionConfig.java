@@ -47,5 +47,16 @@ public class SessionConfig {
 
   public static final int DEFAULT_SESSION_POOL_MAX_SIZE = 5;
 
+  /** rows buffered for one device before the async tablet writer sends them */
+  public static final int DEFAULT_ASYNC_WRITER_MAX_ROWS_PER_TABLET = 1024;
+
+  /** max time rows stay buffered in the async tablet writer, 100ms by default */
+  public static final long DEFAULT_ASYNC_WRITER_MAX_DELAY_MS = 100;
+
+  public static final int DEFAULT_ASYNC_WRITER_MAX_IN_FLIGHT_PER_ENDPOINT = 2;
+
+  /** tablets sent or waiting to be sent, producers are blocked beyond this */
+  public static final int DEFAULT_ASYNC_WRITER_MAX_PENDING_TABLETS = 64;
+
   public static final Version DEFAULT_VERSION = Version.V_1_0;
 }
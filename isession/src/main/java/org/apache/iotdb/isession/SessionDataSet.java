@@ -139,6 +139,15 @@ public class SessionDataSet implements AutoCloseable {
     ioTDBRpcDataSet.fetchSize = fetchSize;
   }
 
+  /**
+   * Fetch the following results in background while iterating the current ones.
+   *
+   * @param maxBufferedBytes max size of the results fetched ahead, 0 to disable
+   */
+  public void setPrefetchBufferSize(long maxBufferedBytes) {
+    ioTDBRpcDataSet.setPrefetchBufferSize(maxBufferedBytes);
+  }
+
   public List<String> getColumnNames() {
     return new ArrayList<>(ioTDBRpcDataSet.columnNameList);
   }
@@ -66,4 +66,12 @@ public class Config {
 
   /** key of connection's time zone */
   public static final String TIME_ZONE = "time_zone";
+
+  /**
+   * key of the max bytes of query results fetched in background while iterating a result set, 0
+   * disables the prefetch
+   */
+  public static final String PREFETCH_BUFFER_SIZE = "prefetch_buffer_size";
+
+  static final long DEFAULT_PREFETCH_BUFFER_SIZE = 0;
 }
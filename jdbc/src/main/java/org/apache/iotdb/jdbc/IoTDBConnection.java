@@ -287,6 +287,11 @@ public class IoTDBConnection implements Connection {
     return networkTimeout;
   }
 
+  /** @return max bytes of query results fetched in background for a result set, 0 if disabled */
+  public long getPrefetchBufferSize() {
+    return params == null ? Config.DEFAULT_PREFETCH_BUFFER_SIZE : params.getPrefetchBufferSize();
+  }
+
   @Override
   public String getSchema() throws SQLException {
     throw new SQLException("Does not support getSchema");
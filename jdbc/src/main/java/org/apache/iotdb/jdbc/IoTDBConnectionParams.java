@@ -40,6 +40,8 @@ public class IoTDBConnectionParams {
 
   private String timeZone = ZoneId.systemDefault().toString();
 
+  private long prefetchBufferSize = Config.DEFAULT_PREFETCH_BUFFER_SIZE;
+
   public IoTDBConnectionParams(String url) {
     this.jdbcUriString = url;
   }
@@ -135,4 +137,12 @@ public class IoTDBConnectionParams {
   public String getTimeZone() {
     return this.timeZone;
   }
+
+  public long getPrefetchBufferSize() {
+    return prefetchBufferSize;
+  }
+
+  public void setPrefetchBufferSize(long prefetchBufferSize) {
+    this.prefetchBufferSize = Math.max(0, prefetchBufferSize);
+  }
 }
@@ -100,6 +100,7 @@ public class IoTDBJDBCResultSet implements ResultSet {
             timeout,
             sgColumns,
             aliasColumnMap);
+    ioTDBRpcDataSet.setPrefetchBufferSize(((IoTDBStatement) statement).getPrefetchBufferSize());
     this.statement = statement;
     this.columnTypeList = columnTypeList;
     if (tracingInfo != null) {
@@ -141,6 +142,7 @@ public class IoTDBJDBCResultSet implements ResultSet {
             dataSet,
             statement.getFetchSize(),
             timeout);
+    ioTDBRpcDataSet.setPrefetchBufferSize(((IoTDBStatement) statement).getPrefetchBufferSize());
     this.statement = statement;
     this.columnTypeList = columnTypeList;
     if (tracingInfo != null) {
@@ -585,6 +585,10 @@ public class IoTDBStatement implements Statement {
     return connection;
   }
 
+  long getPrefetchBufferSize() {
+    return connection == null ? 0 : connection.getPrefetchBufferSize();
+  }
+
   @Override
   public int getFetchDirection() throws SQLException {
     checkConnection("getFetchDirection");
@@ -82,6 +82,9 @@ public class Utils {
     if (info.containsKey(Config.TIME_ZONE)) {
       params.setTimeZone(info.getProperty(Config.TIME_ZONE));
     }
+    if (info.containsKey(Config.PREFETCH_BUFFER_SIZE)) {
+      params.setPrefetchBufferSize(Long.parseLong(info.getProperty(Config.PREFETCH_BUFFER_SIZE)));
+    }
 
     return params;
   }
@@ -117,6 +120,7 @@ public class Utils {
           break;
         case Config.VERSION:
         case Config.NETWORK_TIMEOUT:
+        case Config.PREFETCH_BUFFER_SIZE:
           info.put(key, value);
           break;
         case Config.TIME_ZONE:
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.microbenchmark;
+
+import java.util.Random;
+
+/**
+ * Synthetic datasets of the benchmarks. All of them are generated with fixed seeds, so results of
+ * different commits are measured on the same data.
+ */
+public class SyntheticData {
+
+  public static final long SEED = 20230501L;
+
+  private SyntheticData() {}
+
+  /**
+   * Timestamps of a series written every 1000 ms, where disorderRatio of them arrive late and are
+   * written up to 100 points after their position.
+   */
+  public static long[] timestamps(int size, double disorderRatio) {
+    Random random = new Random(SEED);
+    long[] times = new long[size];
+    for (int i = 0; i < size; i++) {
+      times[i] = i * 1000L;
+    }
+    for (int i = 0; i < size; i++) {
+      if (random.nextDouble() < disorderRatio) {
+        int j = Math.min(size - 1, i + random.nextInt(100));
+        long tmp = times[i];
+        times[i] = times[j];
+        times[j] = tmp;
+      }
+    }
+    return times;
+  }
+
+  /** A random walk, like the readings of a sensor. */
+  public static long[] longValues(int size) {
+    Random random = new Random(SEED);
+    long[] values = new long[size];
+    long value = 0;
+    for (int i = 0; i < size; i++) {
+      value += random.nextInt(21) - 10;
+      values[i] = value;
+    }
+    return values;
+  }
+
+  /** A random walk with two decimal places, like the readings of a sensor. */
+  public static double[] doubleValues(int size) {
+    Random random = new Random(SEED);
+    double[] values = new double[size];
+    long value = 0;
+    for (int i = 0; i < size; i++) {
+      value += random.nextInt(21) - 10;
+      values[i] = value / 100.0;
+    }
+    return values;
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.microbenchmark.db;
+
+import org.apache.iotdb.db.metadata.cache.dualkeycache.IDualKeyCache;
+import org.apache.iotdb.db.metadata.cache.dualkeycache.impl.DualKeyCacheBuilder;
+import org.apache.iotdb.db.metadata.cache.dualkeycache.impl.DualKeyCachePolicy;
+import org.apache.iotdb.microbenchmark.SyntheticData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups in the schema cache of the data node, keyed by device and measurement. A part of the
+ * lookups miss so that the eviction policy is exercised too.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DualKeyCacheBenchmark {
+
+  private static final int DEVICE_NUM = 1000;
+  private static final int MEASUREMENT_NUM = 100;
+  private static final int LOOKUP_NUM = 1 << 16;
+
+  @Param({"LRU", "CLOCK"})
+  public DualKeyCachePolicy policy;
+
+  private IDualKeyCache<String, String, Long> cache;
+  private String[] devices;
+  private String[] measurements;
+  private int[] lookups;
+
+  @Setup
+  public void setup() {
+    cache =
+        new DualKeyCacheBuilder<String, String, Long>()
+            .cacheEvictionPolicy(policy)
+            // about half of the series fit in the cache
+            .memoryCapacity(DEVICE_NUM * MEASUREMENT_NUM * 60L)
+            .firstKeySizeComputer(key -> 32 + 2 * key.length())
+            .secondKeySizeComputer(key -> 32 + 2 * key.length())
+            .valueSizeComputer(value -> 16)
+            .build();
+    devices = new String[DEVICE_NUM];
+    for (int i = 0; i < DEVICE_NUM; i++) {
+      devices[i] = "root.sg.d" + i;
+    }
+    measurements = new String[MEASUREMENT_NUM];
+    for (int i = 0; i < MEASUREMENT_NUM; i++) {
+      measurements[i] = "s" + i;
+    }
+    // skewed to the first devices as hot data usually is
+    Random random = new Random(SyntheticData.SEED);
+    lookups = new int[LOOKUP_NUM];
+    for (int i = 0; i < LOOKUP_NUM; i++) {
+      int device = (int) Math.min(DEVICE_NUM - 1, Math.abs(random.nextGaussian()) * DEVICE_NUM / 3);
+      lookups[i] = device * MEASUREMENT_NUM + random.nextInt(MEASUREMENT_NUM);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    private int next = 0;
+  }
+
+  @Benchmark
+  public Long getOrPut(Cursor cursor) {
+    int lookup = lookups[cursor.next++ & (LOOKUP_NUM - 1)];
+    String device = devices[lookup / MEASUREMENT_NUM];
+    String measurement = measurements[lookup % MEASUREMENT_NUM];
+    Long value = cache.get(device, measurement);
+    if (value == null) {
+      value = (long) lookup;
+      cache.put(device, measurement, value);
+    }
+    return value;
+  }
+}
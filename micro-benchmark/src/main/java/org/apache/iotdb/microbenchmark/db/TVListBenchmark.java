@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.microbenchmark.db;
+
+import org.apache.iotdb.db.utils.datastructure.BackLongTVList;
+import org.apache.iotdb.db.utils.datastructure.QuickLongTVList;
+import org.apache.iotdb.db.utils.datastructure.TVList;
+import org.apache.iotdb.db.utils.datastructure.TimLongTVList;
+import org.apache.iotdb.microbenchmark.SyntheticData;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert into and sort a memtable TVList with the different sort algorithms of {@code
+ * tvlist_sort_algorithm}, on data with an increasing ratio of late points.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TVListBenchmark {
+
+  private static final int SIZE = 100_000;
+  private static final int QUERY_INTERVAL = 1000;
+
+  @Param({"TIM", "QUICK", "BACKWARD"})
+  public String algorithm;
+
+  @Param({"0", "0.01", "0.1"})
+  public double disorderRatio;
+
+  private long[] times;
+  private long[] values;
+  private TVList list;
+
+  @Setup
+  public void setup() {
+    times = SyntheticData.timestamps(SIZE, disorderRatio);
+    values = SyntheticData.longValues(SIZE);
+  }
+
+  @Setup(Level.Invocation)
+  public void createList() {
+    switch (algorithm) {
+      case "TIM":
+        list = new TimLongTVList();
+        break;
+      case "QUICK":
+        list = new QuickLongTVList();
+        break;
+      case "BACKWARD":
+        list = new BackLongTVList();
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown sort algorithm: " + algorithm);
+    }
+  }
+
+  @TearDown(Level.Invocation)
+  public void releaseList() {
+    // return the arrays to PrimitiveArrayManager like a flushed memtable
+    list.clear();
+  }
+
+  /** Write all points and sort once, like flushing a memtable. */
+  @Benchmark
+  public TVList insertAndSort() {
+    for (int i = 0; i < SIZE; i++) {
+      list.putLong(times[i], values[i]);
+    }
+    list.sort();
+    return list;
+  }
+
+  /** Sort after every batch of points, like a memtable queried while it is being written. */
+  @Benchmark
+  public TVList insertAndSortIncrementally() {
+    for (int i = 0; i < SIZE; i++) {
+      list.putLong(times[i], values[i]);
+      if ((i + 1) % QUERY_INTERVAL == 0) {
+        list.sort();
+      }
+    }
+    list.sort();
+    return list;
+  }
+}
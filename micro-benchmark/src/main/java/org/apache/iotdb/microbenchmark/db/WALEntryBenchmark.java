@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.microbenchmark.db;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.write.InsertTabletNode;
+import org.apache.iotdb.db.wal.buffer.IWALByteBufferView;
+import org.apache.iotdb.db.wal.buffer.WALEntry;
+import org.apache.iotdb.db.wal.buffer.WALInfoEntry;
+import org.apache.iotdb.microbenchmark.SyntheticData;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.BitMap;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/** Serialize an InsertTabletNode into a WAL buffer, the per write cost of WAL serialization. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WALEntryBenchmark {
+
+  private static final TSDataType[] DATA_TYPES = {
+    TSDataType.DOUBLE,
+    TSDataType.FLOAT,
+    TSDataType.INT64,
+    TSDataType.INT32,
+    TSDataType.BOOLEAN,
+    TSDataType.TEXT
+  };
+
+  @Param({"100", "1000"})
+  public int rowCount;
+
+  private WALEntry walEntry;
+  private ByteBufferView buffer;
+
+  @Setup
+  public void setup() throws IllegalPathException {
+    long[] times = SyntheticData.timestamps(rowCount, 0);
+    long[] longValues = SyntheticData.longValues(rowCount);
+    double[] doubleValues = SyntheticData.doubleValues(rowCount);
+    String[] measurements = new String[DATA_TYPES.length];
+    MeasurementSchema[] schemas = new MeasurementSchema[DATA_TYPES.length];
+    Object[] columns = new Object[DATA_TYPES.length];
+    BitMap[] bitMaps = new BitMap[DATA_TYPES.length];
+    for (int i = 0; i < DATA_TYPES.length; i++) {
+      measurements[i] = "s" + i;
+      schemas[i] = new MeasurementSchema(measurements[i], DATA_TYPES[i], TSEncoding.PLAIN);
+      bitMaps[i] = new BitMap(rowCount);
+    }
+    columns[0] = doubleValues;
+    columns[1] = new float[rowCount];
+    columns[2] = longValues;
+    columns[3] = new int[rowCount];
+    columns[4] = new boolean[rowCount];
+    columns[5] = new Binary[rowCount];
+    for (int r = 0; r < rowCount; r++) {
+      ((float[]) columns[1])[r] = (float) doubleValues[r];
+      ((int[]) columns[3])[r] = (int) longValues[r];
+      ((boolean[]) columns[4])[r] = longValues[r] > 0;
+      ((Binary[]) columns[5])[r] = new Binary("value" + longValues[r]);
+      if (r % 10 == 0) {
+        bitMaps[r % DATA_TYPES.length].mark(r);
+      }
+    }
+
+    InsertTabletNode insertTabletNode =
+        new InsertTabletNode(
+            new PlanNodeId(""),
+            new PartialPath("root.sg.d1"),
+            false,
+            measurements,
+            DATA_TYPES,
+            times,
+            bitMaps,
+            columns,
+            rowCount);
+    insertTabletNode.setMeasurementSchemas(schemas);
+    walEntry = new WALInfoEntry(1, insertTabletNode, 0, rowCount);
+    buffer = new ByteBufferView(ByteBuffer.allocate(walEntry.serializedSize()));
+  }
+
+  @Benchmark
+  public int serialize() {
+    buffer.clear();
+    walEntry.serialize(buffer);
+    return buffer.position();
+  }
+
+  /** Heap buffer view, WALBuffer itself needs a running wal node. */
+  private static class ByteBufferView implements IWALByteBufferView {
+
+    private final ByteBuffer buffer;
+
+    private ByteBufferView(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    private void clear() {
+      buffer.clear();
+    }
+
+    @Override
+    public void put(byte b) {
+      buffer.put(b);
+    }
+
+    @Override
+    public void put(byte[] src) {
+      buffer.put(src);
+    }
+
+    @Override
+    public void putChar(char value) {
+      buffer.putChar(value);
+    }
+
+    @Override
+    public void putShort(short value) {
+      buffer.putShort(value);
+    }
+
+    @Override
+    public void putInt(int value) {
+      buffer.putInt(value);
+    }
+
+    @Override
+    public void putLong(long value) {
+      buffer.putLong(value);
+    }
+
+    @Override
+    public void putFloat(float value) {
+      buffer.putFloat(value);
+    }
+
+    @Override
+    public void putDouble(double value) {
+      buffer.putDouble(value);
+    }
+
+    @Override
+    public int position() {
+      return buffer.position();
+    }
+  }
+}
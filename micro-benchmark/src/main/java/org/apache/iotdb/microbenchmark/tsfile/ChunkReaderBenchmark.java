@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.microbenchmark.tsfile;
+
+import org.apache.iotdb.microbenchmark.SyntheticData;
+import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.Chunk;
+import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
+import org.apache.iotdb.tsfile.read.reader.page.PageReader;
+import org.apache.iotdb.tsfile.write.TsFileWriter;
+import org.apache.iotdb.tsfile.write.page.PageWriter;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scan a series through {@link ChunkReader}, and decode a single page through {@link PageReader}.
+ * The series is written into a temporary TsFile once, the chunks are read into memory so that only
+ * decompression and decoding are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ChunkReaderBenchmark {
+
+  private static final String DEVICE = "root.sg.d1";
+  private static final String MEASUREMENT = "s1";
+  private static final int SIZE = 1_000_000;
+  private static final int PAGE_SIZE = 10_000;
+
+  @Param({"TS_2DIFF", "GORILLA", "PLAIN"})
+  private TSEncoding encoding;
+
+  private File file;
+  private final List<Chunk> chunks = new ArrayList<>();
+  private MeasurementSchema schema;
+  private ByteBuffer pageData;
+
+  @Setup
+  public void setup() throws Exception {
+    long[] times = SyntheticData.timestamps(SIZE, 0);
+    long[] values = SyntheticData.longValues(SIZE);
+    schema = new MeasurementSchema(MEASUREMENT, TSDataType.INT64, encoding);
+
+    file = Files.createTempFile("chunk-reader-benchmark", ".tsfile").toFile();
+    Files.delete(file.toPath());
+    try (TsFileWriter writer = new TsFileWriter(file)) {
+      writer.registerTimeseries(new Path(DEVICE), schema);
+      Tablet tablet = new Tablet(DEVICE, Collections.singletonList(schema), PAGE_SIZE);
+      for (int i = 0; i < SIZE; i++) {
+        int row = tablet.rowSize++;
+        tablet.timestamps[row] = times[i];
+        ((long[]) tablet.values[0])[row] = values[i];
+        if (tablet.rowSize == tablet.getMaxRowNumber()) {
+          writer.write(tablet);
+          tablet.reset();
+        }
+      }
+    }
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(file.getPath())) {
+      for (ChunkMetadata chunkMetadata :
+          reader.getChunkMetadataList(new Path(DEVICE, MEASUREMENT, true))) {
+        chunks.add(reader.readMemChunk(chunkMetadata));
+      }
+    }
+
+    PageWriter pageWriter = new PageWriter(schema);
+    for (int i = 0; i < PAGE_SIZE; i++) {
+      pageWriter.write(times[i], values[i]);
+    }
+    pageData = pageWriter.getUncompressedBytes();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file.toPath());
+  }
+
+  @Benchmark
+  public void scanChunks(Blackhole blackhole) throws IOException {
+    for (Chunk chunk : chunks) {
+      Chunk copy =
+          new Chunk(
+              chunk.getHeader(),
+              chunk.getData().duplicate(),
+              chunk.getDeleteIntervalList(),
+              chunk.getChunkStatistic());
+      ChunkReader chunkReader = new ChunkReader(copy, null);
+      while (chunkReader.hasNextSatisfiedPage()) {
+        blackhole.consume(chunkReader.nextPageData());
+      }
+    }
+  }
+
+  @Benchmark
+  public Object readPage() throws IOException {
+    PageReader pageReader =
+        new PageReader(
+            pageData.duplicate(),
+            TSDataType.INT64,
+            Decoder.getDecoderByType(encoding, TSDataType.INT64),
+            Decoder.getDecoderByType(schema.getTimeTSEncoding(), TSDataType.INT64),
+            null);
+    return pageReader.getAllSatisfiedData();
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.microbenchmark.tsfile;
+
+import org.apache.iotdb.microbenchmark.SyntheticData;
+import org.apache.iotdb.tsfile.encoding.decoder.Decoder;
+import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
+import org.apache.iotdb.tsfile.encoding.encoder.TSEncodingBuilder;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.utils.PublicBAOS;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/** Encode and decode a page worth of values with the encoders in tsfile.encoding. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class EncodingBenchmark {
+
+  private static final int SIZE = 100_000;
+
+  @Param({"PLAIN", "TS_2DIFF", "RLE", "GORILLA"})
+  private TSEncoding encoding;
+
+  @Param({"INT64", "DOUBLE"})
+  private TSDataType dataType;
+
+  private long[] longValues;
+  private double[] doubleValues;
+  private ByteBuffer encoded;
+
+  @Setup
+  public void setup() throws IOException {
+    longValues = SyntheticData.longValues(SIZE);
+    doubleValues = SyntheticData.doubleValues(SIZE);
+    PublicBAOS out = encodeValues();
+    encoded = ByteBuffer.wrap(out.getBuf(), 0, out.size());
+  }
+
+  @Benchmark
+  public int encode() throws IOException {
+    return encodeValues().size();
+  }
+
+  @Benchmark
+  public void decode(Blackhole blackhole) throws IOException {
+    Decoder decoder = Decoder.getDecoderByType(encoding, dataType);
+    ByteBuffer buffer = encoded.duplicate();
+    if (dataType == TSDataType.INT64) {
+      while (decoder.hasNext(buffer)) {
+        blackhole.consume(decoder.readLong(buffer));
+      }
+    } else {
+      while (decoder.hasNext(buffer)) {
+        blackhole.consume(decoder.readDouble(buffer));
+      }
+    }
+  }
+
+  private PublicBAOS encodeValues() throws IOException {
+    Encoder encoder = TSEncodingBuilder.getEncodingBuilder(encoding).getEncoder(dataType);
+    PublicBAOS out = new PublicBAOS();
+    if (dataType == TSDataType.INT64) {
+      for (long value : longValues) {
+        encoder.encode(value, out);
+      }
+    } else {
+      for (double value : doubleValues) {
+        encoder.encode(value, out);
+      }
+    }
+    encoder.flush(out);
+    return out;
+  }
+}
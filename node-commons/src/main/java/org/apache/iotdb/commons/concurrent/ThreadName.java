@@ -34,6 +34,7 @@ public enum ThreadName {
   STORAGE_ENGINE_CACHED_SERVICE("StorageEngine"),
   FLUSH_SERVICE("Flush"),
   FLUSH_SUB_TASK_SERVICE("Flush-SubTask"),
+  FLUSH_ENCODING_SERVICE("Flush-Encoding"),
   FLUSH_TASK_SUBMIT("FlushTask-Submit-Pool"),
   COMPACTION_SERVICE("Compaction"),
   COMPACTION_SUB_SERVICE("Sub-Compaction"),
@@ -42,6 +43,7 @@ public enum ThreadName {
   WAL_SYNC("WAL-Sync"),
   WAL_DELETE("WAL-Delete"),
   WAL_RECOVER("WAL-Recover"),
+  TSFILE_RECOVER("TsFile-Recover"),
   SYNC_CLIENT("Sync-Client"),
   SYNC_SERVER("Sync"),
   QUERY_SERVICE("Query"),
@@ -37,6 +37,7 @@ public enum Metric {
   MEM,
   CACHE,
   CACHE_HIT,
+  CACHE_LOAD_TIME,
   QUANTITY,
   DATA_WRITTEN,
   DATA_READ,
@@ -83,6 +84,7 @@ public enum Metric {
   QUERY_RESOURCE,
   DATA_EXCHANGE_COST,
   DATA_EXCHANGE_COUNT,
+  DATA_EXCHANGE_SIZE,
   DRIVER_SCHEDULER,
   PERFORMANCE_OVERVIEW,
   PERFORMANCE_OVERVIEW_DETAIL,
@@ -96,6 +98,7 @@ public enum Metric {
   FLUSH_SUB_TASK_COST,
   FLUSHING_MEM_TABLE_STATUS,
   DATA_REGION_MEM_COST,
+  DATA_REGION_RECOVERY,
   SCHEMA_REGION,
   SCHEMA_ENGINE,
   SESSION_IDLE_TIME;
@@ -36,7 +36,13 @@ public enum BuiltinAggregationFunction {
   AVG("avg"),
   SUM("sum"),
   COUNT_IF("count_if"),
-  TIME_DURATION("time_duration");
+  TIME_DURATION("time_duration"),
+  APPROX_COUNT_DISTINCT("approx_count_distinct"),
+  VAR_SAMP("var_samp"),
+  VAR_POP("var_pop"),
+  STDDEV_SAMP("stddev_samp"),
+  STDDEV_POP("stddev_pop"),
+  APPROX_PERCENTILE("approx_percentile");
 
   private final String functionName;
 
@@ -73,6 +79,12 @@ public enum BuiltinAggregationFunction {
       case "avg":
       case "sum":
       case "time_duration":
+      case "approx_count_distinct":
+      case "var_samp":
+      case "var_pop":
+      case "stddev_samp":
+      case "stddev_pop":
+      case "approx_percentile":
         return true;
       case "count_if":
         return false;
@@ -98,6 +110,12 @@ public enum BuiltinAggregationFunction {
       case "avg":
       case "sum":
       case "time_duration":
+      case "approx_count_distinct":
+      case "var_samp":
+      case "var_pop":
+      case "stddev_samp":
+      case "stddev_pop":
+      case "approx_percentile":
         return true;
       case "count_if":
         return false;
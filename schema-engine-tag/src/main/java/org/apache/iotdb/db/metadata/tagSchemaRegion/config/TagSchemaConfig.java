@@ -27,6 +27,10 @@ public class TagSchemaConfig {
   // the size of wal buffer used to store a wal record
   private int walBufferSize = 1024 * 1024;
 
+  // the maximum number of disk segments of the tag inverted index, beyond which all disk segments
+  // will be merged into one
+  private int maxNumOfDiskSegments = 8;
+
   public int getNumOfDeviceIdsInMemTable() {
     return numOfDeviceIdsInMemTable;
   }
@@ -43,6 +47,14 @@ public class TagSchemaConfig {
     this.walBufferSize = walBufferSize;
   }
 
+  public int getMaxNumOfDiskSegments() {
+    return maxNumOfDiskSegments;
+  }
+
+  public void setMaxNumOfDiskSegments(int maxNumOfDiskSegments) {
+    this.maxNumOfDiskSegments = maxNumOfDiskSegments;
+  }
+
   @Override
   public String toString() {
     return "TagSchemaConfig["
@@ -50,6 +62,8 @@ public class TagSchemaConfig {
         + numOfDeviceIdsInMemTable
         + ", walBufferSize="
         + walBufferSize
+        + ", maxNumOfDiskSegments="
+        + maxNumOfDiskSegments
         + "]";
   }
 }
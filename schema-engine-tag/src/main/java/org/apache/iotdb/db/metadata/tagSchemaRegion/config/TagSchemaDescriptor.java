@@ -73,6 +73,10 @@ public class TagSchemaDescriptor {
               properties.getProperty(
                   "num_of_deviceIds_in_memTable",
                   String.valueOf(conf.getNumOfDeviceIdsInMemTable()))));
+      conf.setMaxNumOfDiskSegments(
+          Integer.parseInt(
+              properties.getProperty(
+                  "max_num_of_disk_segments", String.valueOf(conf.getMaxNumOfDiskSegments()))));
     } catch (FileNotFoundException e) {
       logger.warn("Fail to find tag schema region config file {}", tagSchemaConfigPath);
     } catch (IOException e) {
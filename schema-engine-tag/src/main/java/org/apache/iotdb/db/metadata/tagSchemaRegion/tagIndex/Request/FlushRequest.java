@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.Request;
+
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable.MemTable;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment.DiskSegment.Block;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment.DiskSegmentWriter;
+import org.apache.iotdb.lsm.context.requestcontext.RequestContext;
+import org.apache.iotdb.lsm.request.IFlushRequest;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Represents a flush request, flush an immutable MemTable to a disk segment */
+public class FlushRequest implements IFlushRequest<String, MemTable> {
+
+  // (maxDeviceID / numOfDeviceIdsInMemTable) of the immutable MemTable
+  int memTableIndex;
+
+  MemTable memTable;
+
+  // all ids the immutable MemTable can save
+  RoaringBitmap coveredIds;
+
+  // ids in the deletionList of the immutable MemTable, they are not written to the disk segment
+  RoaringBitmap deletedIds;
+
+  DiskSegmentWriter diskSegmentWriter;
+
+  // flushed memory node -> its block in the disk segment, used to build the upper level index
+  Map<Object, Block> blocks;
+
+  public FlushRequest(
+      int memTableIndex,
+      MemTable memTable,
+      RoaringBitmap coveredIds,
+      DiskSegmentWriter diskSegmentWriter) {
+    super();
+    this.memTableIndex = memTableIndex;
+    this.memTable = memTable;
+    this.coveredIds = coveredIds;
+    this.deletedIds = new RoaringBitmap();
+    for (Integer id : memTable.getDeletionList()) {
+      deletedIds.add(id);
+    }
+    this.diskSegmentWriter = diskSegmentWriter;
+    this.blocks = new IdentityHashMap<>();
+  }
+
+  @Override
+  public String getKey(RequestContext context) {
+    return null;
+  }
+
+  @Override
+  public List<String> getKeys() {
+    return Collections.emptyList();
+  }
+
+  @Override
+  public MemTable getValue() {
+    return memTable;
+  }
+
+  public int getMemTableIndex() {
+    return memTableIndex;
+  }
+
+  public RoaringBitmap getCoveredIds() {
+    return coveredIds;
+  }
+
+  public RoaringBitmap getDeletedIds() {
+    return deletedIds;
+  }
+
+  public DiskSegmentWriter getDiskSegmentWriter() {
+    return diskSegmentWriter;
+  }
+
+  public Block getBlock(Object memNode) {
+    return blocks.get(memNode);
+  }
+
+  public void putBlock(Object memNode, Block block) {
+    blocks.put(memNode, block);
+  }
+}
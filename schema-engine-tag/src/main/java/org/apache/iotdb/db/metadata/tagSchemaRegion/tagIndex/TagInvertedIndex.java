@@ -22,10 +22,15 @@ import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.config.TagSchemaConfig;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.config.TagSchemaDescriptor;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.Request.DeletionRequest;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.Request.FlushRequest;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.Request.InsertionRequest;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.Request.QueryRequest;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable.MemTable;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable.MemTableGroup;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.response.QueryResponse;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment.DiskSegment;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment.DiskSegmentCompactor;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment.DiskSegmentWriter;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.wal.WALEntry;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.wal.WALManager;
 import org.apache.iotdb.lsm.engine.LSMEngine;
@@ -35,19 +40,30 @@ import org.roaringbitmap.RoaringBitmap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
-/** tag inverted index, tag is <tagkey,tagValue> and id is int32 auto increment id */
+/**
+ * tag inverted index, tag is <tagkey,tagValue> and id is int32 auto increment id. Immutable
+ * MemTables are flushed to disk segments, which are merged into one when there are too many.
+ */
 public class TagInvertedIndex implements ITagInvertedIndex {
 
   // This file records the wal log
   private static final String WAL_FILE_NAME = "tag_inverted_index.log";
 
+  // Disk segment files are named as tag_inverted_index_{version}.segment
+  private static final String SEGMENT_FILE_PREFIX = "tag_inverted_index_";
+
   private static final Logger logger = LoggerFactory.getLogger(TagInvertedIndex.class);
 
   // Manage configuration information of tag schema region
@@ -58,23 +74,34 @@ public class TagInvertedIndex implements ITagInvertedIndex {
   // index
   LSMEngine<MemTableGroup> lsmEngine;
 
+  private String schemaDirPath;
+
+  private WALManager walManager;
+
+  // root memory node, used to manage working and immutableMemTables, and disk segments
+  private MemTableGroup memTableGroup;
+
+  // version of the next disk segment
+  private long nextSegmentVersion;
+
   /**
    * initialization method
    *
    * @param schemaDirPath schema dirPath
    */
   public TagInvertedIndex(String schemaDirPath) {
+    this.schemaDirPath = schemaDirPath;
     try {
-      WALManager walManager =
+      walManager =
           new WALManager(
               schemaDirPath,
               WAL_FILE_NAME,
               tagSchemaConfig.getWalBufferSize(),
               new WALEntry(),
               false);
-      // root memory node, used to manage working and immutableMemTables
-      MemTableGroup memTableGroup =
-          new MemTableGroup(tagSchemaConfig.getNumOfDeviceIdsInMemTable());
+      memTableGroup = new MemTableGroup(tagSchemaConfig.getNumOfDeviceIdsInMemTable());
+      // ids in disk segments are skipped when recovering from wal
+      memTableGroup.setDiskSegments(loadDiskSegments());
 
       // build lsm engine
       lsmEngine =
@@ -85,6 +112,8 @@ public class TagInvertedIndex implements ITagInvertedIndex {
 
       // recover the lsm engine
       lsmEngine.recover();
+      flushImmutableMemTables();
+      compactDiskSegments();
     } catch (IOException e) {
       logger.info("TagInvertedIndex initialization failed");
       logger.error(e.getMessage());
@@ -104,6 +133,10 @@ public class TagInvertedIndex implements ITagInvertedIndex {
           new InsertionRequest(generateKeys(tag.getKey(), tag.getValue()), id);
       lsmEngine.insert(insertionRequest);
     }
+    if (!memTableGroup.getImmutableMemTables().isEmpty()) {
+      flushImmutableMemTables();
+      compactDiskSegments();
+    }
   }
 
   /**
@@ -170,6 +203,96 @@ public class TagInvertedIndex implements ITagInvertedIndex {
     return response.getValue();
   }
 
+  /**
+   * Load all disk segments in the schema dir, unfinished disk segments are removed
+   *
+   * @return disk segments, from old to new
+   * @throws IOException
+   */
+  private List<DiskSegment> loadDiskSegments() throws IOException {
+    TreeMap<Long, File> segmentFiles = new TreeMap<>();
+    File[] files = new File(schemaDirPath).listFiles();
+    if (files != null) {
+      for (File file : files) {
+        String name = file.getName();
+        if (!name.startsWith(SEGMENT_FILE_PREFIX)) continue;
+        if (name.endsWith(DiskSegment.SEGMENT_FILE_SUFFIX)) {
+          segmentFiles.put(
+              Long.parseLong(
+                  name.substring(
+                      SEGMENT_FILE_PREFIX.length(),
+                      name.length() - DiskSegment.SEGMENT_FILE_SUFFIX.length())),
+              file);
+        } else if (name.endsWith(DiskSegmentWriter.TMP_FILE_SUFFIX)) {
+          Files.deleteIfExists(file.toPath());
+        }
+      }
+    }
+    List<DiskSegment> diskSegments = new ArrayList<>();
+    for (File file : segmentFiles.values()) {
+      diskSegments.add(DiskSegment.open(file));
+    }
+    nextSegmentVersion = segmentFiles.isEmpty() ? 0 : segmentFiles.lastKey() + 1;
+    return diskSegments;
+  }
+
+  /** Flush all immutable MemTables to disk segments using the lsm engine */
+  private void flushImmutableMemTables() {
+    Map<Integer, MemTable> immutableMemTables = memTableGroup.getImmutableMemTables();
+    int numOfDeviceIdsInMemTable = memTableGroup.getNumOfDeviceIdsInMemTable();
+    for (Integer memTableIndex : new TreeSet<>(immutableMemTables.keySet())) {
+      MemTable memTable = immutableMemTables.get(memTableIndex);
+      // all ids of the MemTable have been deleted, they are still recovered from wal if needed
+      if (memTable.isEmpty()) {
+        immutableMemTables.remove(memTableIndex);
+        continue;
+      }
+      RoaringBitmap coveredIds = new RoaringBitmap();
+      coveredIds.add(
+          (long) memTableIndex * numOfDeviceIdsInMemTable,
+          (long) (memTableIndex + 1) * numOfDeviceIdsInMemTable);
+      DiskSegmentWriter writer = null;
+      try {
+        writer = new DiskSegmentWriter(nextSegmentFile());
+        lsmEngine.flush(new FlushRequest(memTableIndex, memTable, coveredIds, writer));
+      } catch (IOException | UncheckedIOException e) {
+        // the immutable MemTable is kept in memory and can be flushed next time
+        logger.error(
+            "Failed to flush immutable memTable {} of tag inverted index", memTableIndex, e);
+        if (writer != null) writer.abort();
+      }
+    }
+  }
+
+  /**
+   * Merge all disk segments into one if there are too many, then records of the ids in disk
+   * segments are removed from wal, since all deleted ids have been dropped by the merge
+   */
+  private void compactDiskSegments() {
+    List<DiskSegment> diskSegments = memTableGroup.getDiskSegments();
+    if (diskSegments.size() <= Math.max(1, tagSchemaConfig.getMaxNumOfDiskSegments())) {
+      return;
+    }
+    try {
+      DiskSegment mergedDiskSegment = DiskSegmentCompactor.compact(diskSegments, nextSegmentFile());
+      List<DiskSegment> mergedDiskSegments = new ArrayList<>(diskSegments);
+      diskSegments.clear();
+      diskSegments.add(mergedDiskSegment);
+      for (DiskSegment diskSegment : mergedDiskSegments) {
+        diskSegment.remove();
+      }
+      walManager.rewrite(id -> !memTableGroup.inDiskSegments(id));
+    } catch (IOException e) {
+      logger.error("Failed to compact disk segments of tag inverted index", e);
+    }
+  }
+
+  private File nextSegmentFile() {
+    return new File(
+        schemaDirPath,
+        SEGMENT_FILE_PREFIX + nextSegmentVersion++ + DiskSegment.SEGMENT_FILE_SUFFIX);
+  }
+
   /**
    * Close all open resources
    *
@@ -179,5 +302,8 @@ public class TagInvertedIndex implements ITagInvertedIndex {
   @TestOnly
   public void clear() throws IOException {
     lsmEngine.clear();
+    for (DiskSegment diskSegment : memTableGroup.getDiskSegments()) {
+      diskSegment.close();
+    }
   }
 }
@@ -21,6 +21,7 @@ package org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.deletion;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.Request.DeletionRequest;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable.MemTable;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable.MemTableGroup;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment.DiskSegment;
 import org.apache.iotdb.lsm.annotation.DeletionProcessor;
 import org.apache.iotdb.lsm.context.requestcontext.DeleteRequestContext;
 import org.apache.iotdb.lsm.levelProcess.DeleteLevelProcessor;
@@ -45,22 +46,32 @@ public class MemTableGroupDeletion
       MemTableGroup memNode, DeletionRequest request, DeleteRequestContext context) {
     List<MemTable> memTables = new ArrayList<>();
     int id = request.getValue();
+    // ids in disk segments are deleted by the MemTableGroup itself
+    if (memNode.inDiskSegments(id)) return memTables;
     if (memNode.inWorkingMemTable(id)) {
       memTables.add(memNode.getWorkingMemTable());
     } else {
-      memTables.add(
-          memNode.getImmutableMemTables().get(id / memNode.getNumOfDeviceIdsInMemTable()));
+      MemTable memTable =
+          memNode.getImmutableMemTables().get(id / memNode.getNumOfDeviceIdsInMemTable());
+      if (memTable != null) memTables.add(memTable);
     }
     return memTables;
   }
 
   /**
-   * the delete method corresponding to the MemTableGroup node, do nothing
+   * the delete method corresponding to the MemTableGroup node, disk segments are immutable, so the
+   * deleted tag of the id is recorded by the disk segment
    *
    * @param memNode memory node
    * @param context deletion request context
    */
   @Override
   public void delete(
-      MemTableGroup memNode, DeletionRequest request, DeleteRequestContext context) {}
+      MemTableGroup memNode, DeletionRequest request, DeleteRequestContext context) {
+    List<String> tag = request.getKeys();
+    int id = request.getValue();
+    for (DiskSegment diskSegment : memNode.getDiskSegments()) {
+      diskSegment.delete(tag.get(0), tag.get(1), id);
+    }
+  }
 }
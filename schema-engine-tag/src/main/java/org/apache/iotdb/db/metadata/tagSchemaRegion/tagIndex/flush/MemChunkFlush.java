@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.flush;
+
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.Request.FlushRequest;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable.MemChunk;
+import org.apache.iotdb.lsm.annotation.FlushProcessor;
+import org.apache.iotdb.lsm.context.requestcontext.FlushRequestContext;
+import org.apache.iotdb.lsm.levelProcess.FlushLevelProcessor;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+/** flush for MemChunk */
+@FlushProcessor(level = 3)
+public class MemChunkFlush extends FlushLevelProcessor<MemChunk, Object, FlushRequest> {
+
+  /**
+   * MemChunk is the last layer of memory nodes, no children
+   *
+   * @param memNode memory node
+   * @param context request context
+   * @return null
+   */
+  @Override
+  public List<Object> getChildren(
+      MemChunk memNode, FlushRequest request, FlushRequestContext context) {
+    return null;
+  }
+
+  /**
+   * the flush method corresponding to the MemChunk node, write the ids as a posting
+   *
+   * @param memNode memory node
+   * @param context flush request context
+   */
+  @Override
+  public void flush(MemChunk memNode, FlushRequest request, FlushRequestContext context) {
+    RoaringBitmap ids = RoaringBitmap.andNot(memNode.getRoaringBitmap(), request.getDeletedIds());
+    if (ids.isEmpty()) {
+      return;
+    }
+    try {
+      request.putBlock(memNode, request.getDiskSegmentWriter().writePosting(ids));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.flush;
+
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.Request.FlushRequest;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable.MemChunk;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable.MemChunkGroup;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment.DiskSegment.Block;
+import org.apache.iotdb.lsm.annotation.FlushProcessor;
+import org.apache.iotdb.lsm.context.requestcontext.FlushRequestContext;
+import org.apache.iotdb.lsm.levelProcess.FlushLevelProcessor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/** flush for MemChunkGroup */
+@FlushProcessor(level = 2)
+public class MemChunkGroupFlush extends FlushLevelProcessor<MemChunkGroup, MemChunk, FlushRequest> {
+
+  /**
+   * get all MemChunks that need to be processed in the current MemChunkGroup
+   *
+   * @param memNode memory node
+   * @param context request context
+   * @return A list of saved MemChunks
+   */
+  @Override
+  public List<MemChunk> getChildren(
+      MemChunkGroup memNode, FlushRequest request, FlushRequestContext context) {
+    return new ArrayList<>(memNode.getMemChunkMap().values());
+  }
+
+  /**
+   * the flush method corresponding to the MemChunkGroup node, write the tag value index
+   *
+   * @param memNode memory node
+   * @param context flush request context
+   */
+  @Override
+  public void flush(MemChunkGroup memNode, FlushRequest request, FlushRequestContext context) {
+    SortedMap<String, Block> tagValueIndex = new TreeMap<>();
+    for (Map.Entry<String, MemChunk> entry : memNode.getMemChunkMap().entrySet()) {
+      Block block = request.getBlock(entry.getValue());
+      if (block != null) {
+        tagValueIndex.put(entry.getKey(), block);
+      }
+    }
+    if (tagValueIndex.isEmpty()) {
+      return;
+    }
+    try {
+      request.putBlock(memNode, request.getDiskSegmentWriter().writeTagValueIndex(tagValueIndex));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.flush;
+
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.Request.FlushRequest;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable.MemTable;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable.MemTableGroup;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment.DiskSegment;
+import org.apache.iotdb.lsm.annotation.FlushProcessor;
+import org.apache.iotdb.lsm.context.requestcontext.FlushRequestContext;
+import org.apache.iotdb.lsm.levelProcess.FlushLevelProcessor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * flush for MemTableGroup, the memory nodes are flushed from bottom to top, so the MemTableGroup is
+ * the last one to be processed
+ */
+@FlushProcessor(level = 0)
+public class MemTableGroupFlush extends FlushLevelProcessor<MemTableGroup, MemTable, FlushRequest> {
+
+  /**
+   * get the immutable MemTable to be flushed
+   *
+   * @param memNode memory node
+   * @param context request context
+   * @return A list of saved MemTables
+   */
+  @Override
+  public List<MemTable> getChildren(
+      MemTableGroup memNode, FlushRequest request, FlushRequestContext context) {
+    List<MemTable> memTables = new ArrayList<>();
+    memTables.add(request.getValue());
+    return memTables;
+  }
+
+  /**
+   * the flush method corresponding to the MemTableGroup node, finish the disk segment and replace
+   * the immutable MemTable with it
+   *
+   * @param memNode memory node
+   * @param context flush request context
+   */
+  @Override
+  public void flush(MemTableGroup memNode, FlushRequest request, FlushRequestContext context) {
+    try {
+      DiskSegment diskSegment = request.getDiskSegmentWriter().finish(request.getCoveredIds());
+      memNode.getDiskSegments().add(diskSegment);
+      memNode.getImmutableMemTables().remove(request.getMemTableIndex());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
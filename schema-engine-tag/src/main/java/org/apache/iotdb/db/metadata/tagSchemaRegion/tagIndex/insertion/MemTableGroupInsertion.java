@@ -46,6 +46,8 @@ public class MemTableGroupInsertion
   public List<MemTable> getChildren(
       MemTableGroup memNode, InsertionRequest request, InsertRequestContext context) {
     List<MemTable> memTables = new ArrayList<>();
+    // the id has been flushed to a disk segment when recovering from wal
+    if (memNode.inDiskSegments(request.getValue())) return memTables;
     memTables.add(memNode.getWorkingMemTable());
     return memTables;
   }
@@ -60,6 +62,7 @@ public class MemTableGroupInsertion
   public void insert(
       MemTableGroup memNode, InsertionRequest request, InsertRequestContext context) {
     int id = request.getValue();
+    if (memNode.inDiskSegments(id)) return;
     MemTable workingMemTable = memNode.getWorkingMemTable();
     Map<Integer, MemTable> immutableMemTables = memNode.getImmutableMemTables();
     // if the device id can not be saved to the current working MemTable
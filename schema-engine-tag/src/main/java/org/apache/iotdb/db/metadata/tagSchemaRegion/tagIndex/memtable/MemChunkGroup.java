@@ -50,6 +50,10 @@ public class MemChunkGroup {
     memChunkMap.remove(tagValue);
   }
 
+  public Map<String, MemChunk> getMemChunkMap() {
+    return memChunkMap;
+  }
+
   public boolean isEmpty() {
     return memChunkMap.isEmpty();
   }
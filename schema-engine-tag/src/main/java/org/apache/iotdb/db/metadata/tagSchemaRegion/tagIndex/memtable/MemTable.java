@@ -73,6 +73,14 @@ public class MemTable {
     memChunkGroupMap.remove(tagKey);
   }
 
+  public Map<String, MemChunkGroup> getMemChunkGroupMap() {
+    return memChunkGroupMap;
+  }
+
+  public boolean isEmpty() {
+    return memChunkGroupMap.isEmpty();
+  }
+
   public boolean isImmutable() {
     return status.equals(IMMUTABLE);
   }
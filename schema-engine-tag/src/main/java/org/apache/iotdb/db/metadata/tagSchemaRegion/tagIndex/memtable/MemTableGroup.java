@@ -18,10 +18,14 @@
  */
 package org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable;
 
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment.DiskSegment;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
-/** used to manage working and immutableMemTables */
+/** used to manage working and immutableMemTables, and the disk segments flushed from them */
 public class MemTableGroup {
 
   // the maximum number of device ids managed by a working memTable
@@ -35,6 +39,9 @@ public class MemTableGroup {
   // the largest device id saved by the current MemTable
   private int maxDeviceID;
 
+  // immutableMemTables flushed to disk, from old to new
+  private List<DiskSegment> diskSegments;
+
   public MemTableGroup() {}
 
   public MemTableGroup(int numOfDeviceIdsInMemTable) {
@@ -42,6 +49,7 @@ public class MemTableGroup {
     workingMemTable = new MemTable(MemTable.WORKING);
     immutableMemTables = new HashMap<>();
     maxDeviceID = 0;
+    diskSegments = new ArrayList<>();
   }
 
   public int getNumOfDeviceIdsInMemTable() {
@@ -76,6 +84,29 @@ public class MemTableGroup {
     this.maxDeviceID = maxDeviceID;
   }
 
+  public List<DiskSegment> getDiskSegments() {
+    return diskSegments;
+  }
+
+  public void setDiskSegments(List<DiskSegment> diskSegments) {
+    this.diskSegments = diskSegments;
+  }
+
+  /**
+   * determine whether the id has been flushed to a disk segment
+   *
+   * @param id INT32 device id
+   * @return return true if it has, otherwise return false
+   */
+  public boolean inDiskSegments(int id) {
+    for (DiskSegment diskSegment : diskSegments) {
+      if (diskSegment.covers(id)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * determine whether the id can be saved to the current MemTable
    *
@@ -97,6 +128,8 @@ public class MemTableGroup {
         + workingMemTable
         + ", maxDeviceID="
         + maxDeviceID
+        + ", diskSegments="
+        + diskSegments
         + '}';
   }
 }
@@ -21,10 +21,16 @@ package org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.query;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.Request.QueryRequest;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable.MemTable;
 import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.memtable.MemTableGroup;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.response.QueryResponse;
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment.DiskSegment;
 import org.apache.iotdb.lsm.annotation.QueryProcessor;
 import org.apache.iotdb.lsm.context.requestcontext.QueryRequestContext;
 import org.apache.iotdb.lsm.levelProcess.QueryLevelProcessor;
 
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -49,11 +55,35 @@ public class MemTableGroupQuery extends QueryLevelProcessor<MemTableGroup, MemTa
   }
 
   /**
-   * the query method corresponding to the MemTable node, do nothing
+   * the query method corresponding to the MemTableGroup node, it is processed after all MemTables,
+   * so the ids of the MemTables are united with the ids of the disk segments here
    *
    * @param memNode memory node
    * @param context query request context
    */
   @Override
-  public void query(MemTableGroup memNode, QueryRequest request, QueryRequestContext context) {}
+  public void query(MemTableGroup memNode, QueryRequest request, QueryRequestContext context) {
+    if (memNode.getDiskSegments().isEmpty()) {
+      return;
+    }
+    String tagKey = request.getKeys().get(0);
+    String tagValue = request.getKeys().get(1);
+    RoaringBitmap roaringBitmap = context.getResponse() == null ? null : context.getValue();
+    for (DiskSegment diskSegment : memNode.getDiskSegments()) {
+      RoaringBitmap ids;
+      try {
+        ids = diskSegment.getPosting(tagKey, tagValue);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      if (ids == null) continue;
+      if (roaringBitmap == null) roaringBitmap = ids;
+      else roaringBitmap.or(ids);
+    }
+    if (roaringBitmap == null) return;
+    if (context.getResponse() == null) {
+      context.setResponse(new QueryResponse());
+    }
+    context.setValue(roaringBitmap);
+  }
 }
@@ -61,7 +61,7 @@ public class MemTableQuery extends QueryLevelProcessor<MemTable, MemChunkGroup,
   @Override
   public void query(MemTable memNode, QueryRequest queryRequest, QueryRequestContext context) {
     // if the memTable is immutable, we need to delete the id in deletionList in the query result
-    if (memNode.isImmutable()) {
+    if (memNode.isImmutable() && context.getResponse() != null) {
       RoaringBitmap roaringBitmap = context.getValue();
       Set<Integer> deletionList = memNode.getDeletionList();
       for (Integer id : deletionList) {
@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment;
+
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable on-disk segment of the tag inverted index, written by flushing an immutable MemTable
+ * or by merging other disk segments. The file is laid out as:
+ *
+ * <pre>
+ * | postings | tag value indexes | tag key index | covered ids | footer |
+ * </pre>
+ *
+ * <ul>
+ *   <li>posting: the serialized RoaringBitmap of the ids having a tag
+ *   <li>tag value index: the (tagValue, posting block) list of a tag key, sorted by tagValue
+ *   <li>tag key index: the (tagKey, tag value index block) list, sorted by tagKey
+ *   <li>covered ids: the serialized RoaringBitmap of all ids of the MemTables in this segment
+ *   <li>footer: | tag key index offset | covered ids offset | magic number |
+ * </ul>
+ *
+ * <p>Only the tag key index and the covered ids are kept in memory, the tag value index and the
+ * posting are read from disk on query. Tags of ids deleted after the segment is written are kept in
+ * memory and recovered from wal.
+ */
+public class DiskSegment implements Closeable {
+
+  public static final String SEGMENT_FILE_SUFFIX = ".segment";
+
+  static final int MAGIC_NUMBER = 0x54414753;
+
+  static final int FOOTER_SIZE = 2 * Long.BYTES + Integer.BYTES;
+
+  private final File file;
+
+  private final FileChannel channel;
+
+  // tagKey -> tag value index block
+  private final Map<String, Block> tagKeyIndex;
+
+  // all ids of the MemTables flushed into this segment
+  private final RoaringBitmap coveredIds;
+
+  // tagKey -> tagValue -> ids whose tag is deleted after this segment is written
+  private final Map<String, Map<String, RoaringBitmap>> deletedIds;
+
+  private DiskSegment(
+      File file, FileChannel channel, Map<String, Block> tagKeyIndex, RoaringBitmap coveredIds) {
+    this.file = file;
+    this.channel = channel;
+    this.tagKeyIndex = tagKeyIndex;
+    this.coveredIds = coveredIds;
+    this.deletedIds = new HashMap<>();
+  }
+
+  /**
+   * open a disk segment, read the tag key index and the covered ids into memory
+   *
+   * @param file disk segment file
+   * @return disk segment
+   * @throws IOException if the file is broken
+   */
+  public static DiskSegment open(File file) throws IOException {
+    FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    try {
+      long fileSize = channel.size();
+      if (fileSize < FOOTER_SIZE) {
+        throw new IOException(String.format("Disk segment %s is broken", file));
+      }
+      ByteBuffer footer = read(channel, fileSize - FOOTER_SIZE, FOOTER_SIZE);
+      long tagKeyIndexOffset = footer.getLong();
+      long coveredIdsOffset = footer.getLong();
+      if (footer.getInt() != MAGIC_NUMBER) {
+        throw new IOException(String.format("Disk segment %s is broken", file));
+      }
+
+      ByteBuffer buffer =
+          read(channel, tagKeyIndexOffset, (int) (coveredIdsOffset - tagKeyIndexOffset));
+      int size = ReadWriteIOUtils.readInt(buffer);
+      Map<String, Block> tagKeyIndex = new HashMap<>(size);
+      for (int i = 0; i < size; i++) {
+        String tagKey = ReadWriteIOUtils.readString(buffer);
+        tagKeyIndex.put(tagKey, Block.deserialize(buffer));
+      }
+
+      RoaringBitmap coveredIds = new RoaringBitmap();
+      coveredIds.deserialize(
+          read(channel, coveredIdsOffset, (int) (fileSize - FOOTER_SIZE - coveredIdsOffset)));
+      return new DiskSegment(file, channel, tagKeyIndex, coveredIds);
+    } catch (IOException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * get ids matching the tag
+   *
+   * @param tagKey tag key
+   * @param tagValue tag value
+   * @return ids, or null if there is no such tag in this segment
+   * @throws IOException
+   */
+  public RoaringBitmap getPosting(String tagKey, String tagValue) throws IOException {
+    Block tagValueIndexBlock = tagKeyIndex.get(tagKey);
+    if (tagValueIndexBlock == null) {
+      return null;
+    }
+    ByteBuffer buffer = read(channel, tagValueIndexBlock);
+    int size = ReadWriteIOUtils.readInt(buffer);
+    for (int i = 0; i < size; i++) {
+      int compare = ReadWriteIOUtils.readString(buffer).compareTo(tagValue);
+      Block postingBlock = Block.deserialize(buffer);
+      if (compare == 0) {
+        return readPosting(tagKey, tagValue, postingBlock);
+      }
+      // tag values are sorted
+      if (compare > 0) {
+        return null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * get all postings of the tag key, used by compaction
+   *
+   * @param tagKey tag key
+   * @return tagValue -> ids, sorted by tagValue
+   * @throws IOException
+   */
+  public Map<String, RoaringBitmap> getPostings(String tagKey) throws IOException {
+    Map<String, RoaringBitmap> postings = new LinkedHashMap<>();
+    Block tagValueIndexBlock = tagKeyIndex.get(tagKey);
+    if (tagValueIndexBlock == null) {
+      return postings;
+    }
+    ByteBuffer buffer = read(channel, tagValueIndexBlock);
+    int size = ReadWriteIOUtils.readInt(buffer);
+    for (int i = 0; i < size; i++) {
+      String tagValue = ReadWriteIOUtils.readString(buffer);
+      RoaringBitmap ids = readPosting(tagKey, tagValue, Block.deserialize(buffer));
+      if (!ids.isEmpty()) {
+        postings.put(tagValue, ids);
+      }
+    }
+    return postings;
+  }
+
+  private RoaringBitmap readPosting(String tagKey, String tagValue, Block postingBlock)
+      throws IOException {
+    RoaringBitmap ids = new RoaringBitmap();
+    ids.deserialize(read(channel, postingBlock));
+    Map<String, RoaringBitmap> deletedIdsOfTagKey = deletedIds.get(tagKey);
+    if (deletedIdsOfTagKey != null) {
+      RoaringBitmap deletedIdsOfTag = deletedIdsOfTagKey.get(tagValue);
+      if (deletedIdsOfTag != null) {
+        ids.andNot(deletedIdsOfTag);
+      }
+    }
+    return ids;
+  }
+
+  /**
+   * determine whether the id is flushed into this segment
+   *
+   * @param id INT32 device id
+   * @return return true if it is, otherwise return false
+   */
+  public boolean covers(int id) {
+    return coveredIds.contains(id);
+  }
+
+  /**
+   * delete the tag of the id, it is only recorded in memory and recovered from wal. Other tags of
+   * the id are kept.
+   *
+   * @param tagKey tag key
+   * @param tagValue tag value
+   * @param id INT32 device id
+   */
+  public void delete(String tagKey, String tagValue, int id) {
+    if (covers(id)) {
+      deletedIds
+          .computeIfAbsent(tagKey, k -> new HashMap<>())
+          .computeIfAbsent(tagValue, k -> new RoaringBitmap())
+          .add(id);
+    }
+  }
+
+  public Set<String> getTagKeys() {
+    return tagKeyIndex.keySet();
+  }
+
+  public RoaringBitmap getCoveredIds() {
+    return coveredIds;
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+
+  /**
+   * close and delete the segment file
+   *
+   * @throws IOException
+   */
+  public void remove() throws IOException {
+    close();
+    Files.deleteIfExists(file.toPath());
+  }
+
+  private static ByteBuffer read(FileChannel channel, Block block) throws IOException {
+    return read(channel, block.offset, block.length);
+  }
+
+  private static ByteBuffer read(FileChannel channel, long offset, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, offset + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of disk segment");
+      }
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  @Override
+  public String toString() {
+    return "DiskSegment{" + "file=" + file + ", tagKeys=" + tagKeyIndex.keySet() + '}';
+  }
+
+  /** position of a posting or a tag value index in the segment file */
+  public static class Block {
+
+    private final long offset;
+
+    private final int length;
+
+    public Block(long offset, int length) {
+      this.offset = offset;
+      this.length = length;
+    }
+
+    public long getOffset() {
+      return offset;
+    }
+
+    public int getLength() {
+      return length;
+    }
+
+    int serialize(OutputStream outputStream) throws IOException {
+      return ReadWriteIOUtils.write(offset, outputStream)
+          + ReadWriteIOUtils.write(length, outputStream);
+    }
+
+    static Block deserialize(ByteBuffer buffer) {
+      return new Block(ReadWriteIOUtils.readLong(buffer), ReadWriteIOUtils.readInt(buffer));
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment;
+
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment.DiskSegment.Block;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Merge disk segments into one. Tag keys are merged one by one, so only the postings of one tag key
+ * are held in memory at a time. Deleted ids are dropped from the merged postings.
+ */
+public class DiskSegmentCompactor {
+
+  private DiskSegmentCompactor() {}
+
+  /**
+   * merge the disk segments into a new one, the merged segments are not removed
+   *
+   * @param diskSegments disk segments to be merged
+   * @param file file of the merged segment
+   * @return merged disk segment
+   * @throws IOException
+   */
+  public static DiskSegment compact(List<DiskSegment> diskSegments, File file) throws IOException {
+    DiskSegmentWriter writer = new DiskSegmentWriter(file);
+    try {
+      SortedSet<String> tagKeys = new TreeSet<>();
+      RoaringBitmap coveredIds = new RoaringBitmap();
+      for (DiskSegment diskSegment : diskSegments) {
+        tagKeys.addAll(diskSegment.getTagKeys());
+        coveredIds.or(diskSegment.getCoveredIds());
+      }
+
+      SortedMap<String, Block> tagKeyIndex = new TreeMap<>();
+      for (String tagKey : tagKeys) {
+        SortedMap<String, RoaringBitmap> postings = new TreeMap<>();
+        for (DiskSegment diskSegment : diskSegments) {
+          for (Map.Entry<String, RoaringBitmap> posting :
+              diskSegment.getPostings(tagKey).entrySet()) {
+            postings
+                .computeIfAbsent(posting.getKey(), k -> new RoaringBitmap())
+                .or(posting.getValue());
+          }
+        }
+        if (postings.isEmpty()) {
+          continue;
+        }
+        SortedMap<String, Block> tagValueIndex = new TreeMap<>();
+        for (Map.Entry<String, RoaringBitmap> posting : postings.entrySet()) {
+          tagValueIndex.put(posting.getKey(), writer.writePosting(posting.getValue()));
+        }
+        tagKeyIndex.put(tagKey, writer.writeTagValueIndex(tagValueIndex));
+      }
+      writer.writeTagKeyIndex(tagKeyIndex);
+      return writer.finish(coveredIds);
+    } catch (IOException e) {
+      writer.abort();
+      throw e;
+    }
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment;
+
+import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.segment.DiskSegment.Block;
+import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
+
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Write a disk segment in the order of postings, tag value indexes, tag key index and covered ids,
+ * see {@link DiskSegment} for the file layout. The data is written to a temporary file, which is
+ * renamed to the segment file after all data is synced to disk.
+ */
+public class DiskSegmentWriter {
+
+  private static final Logger logger = LoggerFactory.getLogger(DiskSegmentWriter.class);
+
+  public static final String TMP_FILE_SUFFIX = ".tmp";
+
+  private final File file;
+
+  private final File tmpFile;
+
+  private final FileOutputStream fileOutputStream;
+
+  private final OutputStream outputStream;
+
+  // number of bytes written
+  private long position;
+
+  private long tagKeyIndexOffset = -1;
+
+  public DiskSegmentWriter(File file) throws IOException {
+    this.file = file;
+    this.tmpFile = getTmpFile(file);
+    Files.deleteIfExists(tmpFile.toPath());
+    fileOutputStream = new FileOutputStream(tmpFile);
+    outputStream = new BufferedOutputStream(fileOutputStream);
+    position = 0;
+  }
+
+  /**
+   * write the posting of a tag
+   *
+   * @param ids ids having the tag
+   * @return posting block
+   * @throws IOException
+   */
+  public Block writePosting(RoaringBitmap ids) throws IOException {
+    return write(serialize(ids));
+  }
+
+  /**
+   * write the tag value index of a tag key
+   *
+   * @param tagValueIndex tagValue -> posting block
+   * @return tag value index block
+   * @throws IOException
+   */
+  public Block writeTagValueIndex(SortedMap<String, Block> tagValueIndex) throws IOException {
+    long offset = position;
+    position += writeIndex(tagValueIndex);
+    return new Block(offset, (int) (position - offset));
+  }
+
+  /**
+   * write the tag key index, it should be written after all tag value indexes
+   *
+   * @param tagKeyIndex tagKey -> tag value index block
+   * @throws IOException
+   */
+  public void writeTagKeyIndex(SortedMap<String, Block> tagKeyIndex) throws IOException {
+    tagKeyIndexOffset = position;
+    position += writeIndex(tagKeyIndex);
+  }
+
+  /**
+   * write the covered ids and the footer, then sync and rename the file
+   *
+   * @param coveredIds all ids of the MemTables in this segment
+   * @return the written disk segment
+   * @throws IOException
+   */
+  public DiskSegment finish(RoaringBitmap coveredIds) throws IOException {
+    if (tagKeyIndexOffset < 0) {
+      throw new IOException("Tag key index of disk segment " + file + " is not written");
+    }
+    long coveredIdsOffset = write(serialize(coveredIds)).getOffset();
+    ReadWriteIOUtils.write(tagKeyIndexOffset, outputStream);
+    ReadWriteIOUtils.write(coveredIdsOffset, outputStream);
+    ReadWriteIOUtils.write(DiskSegment.MAGIC_NUMBER, outputStream);
+    outputStream.flush();
+    fileOutputStream.getFD().sync();
+    outputStream.close();
+    Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    return DiskSegment.open(file);
+  }
+
+  /** close and delete the unfinished file */
+  public void abort() {
+    try {
+      outputStream.close();
+      Files.deleteIfExists(tmpFile.toPath());
+    } catch (IOException e) {
+      logger.warn("Failed to delete unfinished disk segment {}", tmpFile, e);
+    }
+  }
+
+  public static File getTmpFile(File file) {
+    return new File(file.getPath() + TMP_FILE_SUFFIX);
+  }
+
+  private Block write(byte[] bytes) throws IOException {
+    long offset = position;
+    outputStream.write(bytes);
+    position += bytes.length;
+    return new Block(offset, bytes.length);
+  }
+
+  private int writeIndex(SortedMap<String, Block> index) throws IOException {
+    int size = ReadWriteIOUtils.write(index.size(), outputStream);
+    for (Map.Entry<String, Block> entry : index.entrySet()) {
+      size += ReadWriteIOUtils.write(entry.getKey(), outputStream);
+      size += entry.getValue().serialize(outputStream);
+    }
+    return size;
+  }
+
+  private static byte[] serialize(RoaringBitmap ids) {
+    // use run containers for continuous ids
+    ids.runOptimize();
+    ByteBuffer buffer = ByteBuffer.allocate(ids.serializedSizeInBytes());
+    ids.serialize(buffer);
+    return buffer.array();
+  }
+}
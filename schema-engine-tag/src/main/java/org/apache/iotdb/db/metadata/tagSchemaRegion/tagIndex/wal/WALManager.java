@@ -23,11 +23,16 @@ import org.apache.iotdb.db.metadata.tagSchemaRegion.tagIndex.Request.InsertionRe
 import org.apache.iotdb.lsm.request.IRequest;
 import org.apache.iotdb.lsm.wal.IWALRecord;
 import org.apache.iotdb.lsm.wal.WALReader;
+import org.apache.iotdb.lsm.wal.WALWriter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.function.IntPredicate;
 
 /** Manage wal entry writes and reads */
 public class WALManager extends org.apache.iotdb.lsm.manager.WALManager {
@@ -38,6 +43,12 @@ public class WALManager extends org.apache.iotdb.lsm.manager.WALManager {
 
   private static final int DELETE = 2;
 
+  private static final String TMP_FILE_SUFFIX = ".tmp";
+
+  private int walBufferSize;
+
+  private boolean forceEachWrite;
+
   public WALManager(
       String schemaDirPath,
       String walFileName,
@@ -46,6 +57,8 @@ public class WALManager extends org.apache.iotdb.lsm.manager.WALManager {
       boolean forceEachWrite)
       throws IOException {
     super(schemaDirPath, walFileName, walBufferSize, walRecord, forceEachWrite);
+    this.walBufferSize = walBufferSize;
+    this.forceEachWrite = forceEachWrite;
   }
 
   public WALManager(String schemaDirPath) {
@@ -97,6 +110,38 @@ public class WALManager extends org.apache.iotdb.lsm.manager.WALManager {
     return null;
   }
 
+  /**
+   * rewrite the wal file and only keep the records of the retained ids, used to drop the records
+   * that have been persisted in disk segments
+   *
+   * @param retained whether the records of the id should be kept
+   * @throws IOException
+   */
+  public synchronized void rewrite(IntPredicate retained) throws IOException {
+    File walFile = getWalFile();
+    File tmpFile = new File(walFile.getPath() + TMP_FILE_SUFFIX);
+    Files.deleteIfExists(tmpFile.toPath());
+    getWalWriter().force();
+    WALReader walReader = new WALReader(walFile, new WALEntry());
+    WALWriter walWriter = new WALWriter(tmpFile, walBufferSize, forceEachWrite);
+    try {
+      while (walReader.hasNext()) {
+        WALEntry walEntry = (WALEntry) walReader.next();
+        if (retained.test(walEntry.getDeviceID())) {
+          walWriter.write(walEntry);
+        }
+      }
+    } finally {
+      walReader.close();
+      walWriter.close();
+    }
+    getWalWriter().close();
+    getWalReader().close();
+    Files.move(tmpFile.toPath(), walFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    setWalWriter(new WALWriter(walFile, walBufferSize, forceEachWrite));
+    setWalReader(new WALReader(walFile, new WALEntry()));
+  }
+
   /**
    * generate insert context from wal entry
    *
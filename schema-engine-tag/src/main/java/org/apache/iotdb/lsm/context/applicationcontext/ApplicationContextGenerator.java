@@ -19,6 +19,7 @@
 package org.apache.iotdb.lsm.context.applicationcontext;
 
 import org.apache.iotdb.lsm.annotation.DeletionProcessor;
+import org.apache.iotdb.lsm.annotation.FlushProcessor;
 import org.apache.iotdb.lsm.annotation.InsertionProcessor;
 import org.apache.iotdb.lsm.annotation.QueryProcessor;
 
@@ -51,6 +52,7 @@ public class ApplicationContextGenerator {
     setDeletionLevelProcessor(applicationContext, reflections);
     setInsertionLevelProcessor(applicationContext, reflections);
     setQueryLevelProcessor(applicationContext, reflections);
+    setFlushLevelProcessor(applicationContext, reflections);
     return applicationContext;
   }
 
@@ -105,6 +107,23 @@ public class ApplicationContextGenerator {
     applicationContext.setQueryLevelProcessClass(levelProcessClass);
   }
 
+  /**
+   * Assign value to the flush level processor of the ApplicationContext object
+   *
+   * @param applicationContext ApplicationContext object
+   * @param reflections This object holds all the classes scanned in the package
+   */
+  private static void setFlushLevelProcessor(
+      ApplicationContext applicationContext, Reflections reflections) {
+    List<String> levelProcessClass = new ArrayList<>();
+    Set<Class<?>> annotated = reflections.getTypesAnnotatedWith(FlushProcessor.class);
+    for (Class<?> clz : annotated) {
+      FlushProcessor annotationInfo = clz.getAnnotation(FlushProcessor.class);
+      setLevelProcessors(levelProcessClass, clz, annotationInfo.level());
+    }
+    applicationContext.setFlushLevelProcessClass(levelProcessClass);
+  }
+
   private static void setLevelProcessors(
       List<String> levelProcessorClass, Class<?> clz, int level) {
     if (level < levelProcessorClass.size()) {
@@ -20,6 +20,7 @@ package org.apache.iotdb.lsm.engine;
 
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.lsm.request.IDeletionRequest;
+import org.apache.iotdb.lsm.request.IFlushRequest;
 import org.apache.iotdb.lsm.request.IInsertionRequest;
 import org.apache.iotdb.lsm.request.IQueryRequest;
 import org.apache.iotdb.lsm.response.IResponse;
@@ -60,6 +61,16 @@ public interface ILSMEngine extends IRecoverable {
    */
   <K, V, R extends IResponse> R delete(IDeletionRequest<K, V> deletionRequest);
 
+  /**
+   * Use this ILSMEngine to flush a memory node to disk
+   *
+   * @param flushRequest Encapsulates the memory node to be flushed
+   * @param <K> The type of key in the request data
+   * @param <V> The type of value in the request data
+   * @param <R> type of response
+   */
+  <K, V, R extends IResponse> R flush(IFlushRequest<K, V> flushRequest);
+
   /** recover the ILSMEngine */
   void recover();
 
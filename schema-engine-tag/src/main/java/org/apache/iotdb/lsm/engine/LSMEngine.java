@@ -20,14 +20,17 @@ package org.apache.iotdb.lsm.engine;
 
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.lsm.context.requestcontext.DeleteRequestContext;
+import org.apache.iotdb.lsm.context.requestcontext.FlushRequestContext;
 import org.apache.iotdb.lsm.context.requestcontext.InsertRequestContext;
 import org.apache.iotdb.lsm.context.requestcontext.QueryRequestContext;
 import org.apache.iotdb.lsm.manager.DeletionManager;
+import org.apache.iotdb.lsm.manager.FlushManager;
 import org.apache.iotdb.lsm.manager.InsertionManager;
 import org.apache.iotdb.lsm.manager.QueryManager;
 import org.apache.iotdb.lsm.manager.RecoverManager;
 import org.apache.iotdb.lsm.manager.WALManager;
 import org.apache.iotdb.lsm.request.IDeletionRequest;
+import org.apache.iotdb.lsm.request.IFlushRequest;
 import org.apache.iotdb.lsm.request.IInsertionRequest;
 import org.apache.iotdb.lsm.request.IQueryRequest;
 import org.apache.iotdb.lsm.request.IRequest;
@@ -51,6 +54,9 @@ public class LSMEngine<T> implements ILSMEngine {
   // Use the framework's default QueryManager object to handle query requests
   private QueryManager<T, IQueryRequest> queryManager;
 
+  // Use the framework's default FlushManager object to handle flush requests
+  private FlushManager<T, IFlushRequest> flushManager;
+
   // Used to manage wal logs
   private WALManager walManager;
 
@@ -106,6 +112,21 @@ public class LSMEngine<T> implements ILSMEngine {
     return deleteRequestContext.getResponse();
   }
 
+  /**
+   * Use this LSMEngine to flush a memory node to disk
+   *
+   * @param flushRequest Encapsulates the memory node to be flushed
+   * @param <K> The type of key in the request data
+   * @param <V> The type of value in the request data
+   * @param <R> type of response
+   */
+  @Override
+  public <K, V, R extends IResponse> R flush(IFlushRequest<K, V> flushRequest) {
+    FlushRequestContext flushRequestContext = new FlushRequestContext();
+    flushManager.process(rootMemNode, flushRequest, flushRequestContext);
+    return flushRequestContext.getResponse();
+  }
+
   /** recover the LSMEngine */
   @Override
   public void recover() {
@@ -158,6 +179,10 @@ public class LSMEngine<T> implements ILSMEngine {
     this.queryManager = (QueryManager<T, IQueryRequest>) queryManager;
   }
 
+  protected <R extends IFlushRequest> void setFlushManager(FlushManager<T, R> flushManager) {
+    this.flushManager = (FlushManager<T, IFlushRequest>) flushManager;
+  }
+
   protected WALManager getWalManager() {
     return walManager;
   }
@@ -21,8 +21,8 @@ package org.apache.iotdb.lsm.levelProcess;
 import org.apache.iotdb.lsm.context.requestcontext.FlushRequestContext;
 
 /** indicates the flush method of each layer of memory nodes */
-public abstract class FlushLevelProcessor<I, O>
-    extends BasicLevelProcessor<I, O, Object, FlushRequestContext> {
+public abstract class FlushLevelProcessor<I, O, R>
+    extends BasicLevelProcessor<I, O, R, FlushRequestContext> {
 
   /**
    * the flush method of memory node
@@ -30,9 +30,10 @@ public abstract class FlushLevelProcessor<I, O>
    * @param memNode memory node
    * @param context flush request context
    */
-  public abstract void flush(I memNode, FlushRequestContext context);
+  public abstract void flush(I memNode, R request, FlushRequestContext context);
 
-  public void handle(I memNode, Object request, FlushRequestContext context) {
-    flush(memNode, context);
+  @Override
+  public void handle(I memNode, R request, FlushRequestContext context) {
+    flush(memNode, request, context);
   }
 }
@@ -23,5 +23,6 @@ public enum RequestType {
   NONE,
   INSERT,
   QUERY,
-  DELETE
+  DELETE,
+  FLUSH
 }
@@ -31,11 +31,13 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 public class TagTagInvertedIndexTest {
   private String[][] record =
@@ -62,6 +64,8 @@ public class TagTagInvertedIndexTest {
 
   private int numOfDeviceIdsInMemTable;
 
+  private int maxNumOfDiskSegments;
+
   private TagInvertedIndex tagInvertedIndex;
 
   private String storageGroupDirPath;
@@ -77,6 +81,8 @@ public class TagTagInvertedIndexTest {
     numOfDeviceIdsInMemTable =
         TagSchemaDescriptor.getInstance().getTagSchemaConfig().getNumOfDeviceIdsInMemTable();
     TagSchemaDescriptor.getInstance().getTagSchemaConfig().setNumOfDeviceIdsInMemTable(3);
+    maxNumOfDiskSegments =
+        TagSchemaDescriptor.getInstance().getTagSchemaConfig().getMaxNumOfDiskSegments();
     schemaDir = IoTDBDescriptor.getInstance().getConfig().getSchemaDir();
     storageGroupDirPath = schemaDir + File.separator + storageGroupFullPath;
     schemaRegionDirPath = storageGroupDirPath + File.separator + 0;
@@ -88,6 +94,9 @@ public class TagTagInvertedIndexTest {
     TagSchemaDescriptor.getInstance()
         .getTagSchemaConfig()
         .setNumOfDeviceIdsInMemTable(numOfDeviceIdsInMemTable);
+    TagSchemaDescriptor.getInstance()
+        .getTagSchemaConfig()
+        .setMaxNumOfDiskSegments(maxNumOfDiskSegments);
     tagInvertedIndex.clear();
     tagInvertedIndex = null;
     FileUtils.deleteDirectoryAndEmptyParent(new File(schemaDir));
@@ -163,6 +172,107 @@ public class TagTagInvertedIndexTest {
     assertEquals(verify, ids);
   }
 
+  @Test
+  public void testFlushAndCompaction() throws IOException {
+    TagSchemaDescriptor.getInstance().getTagSchemaConfig().setMaxNumOfDiskSegments(2);
+    tagInvertedIndex.clear();
+    tagInvertedIndex = new TagInvertedIndex(schemaRegionDirPath);
+
+    Map<String, String> tags1 = new HashMap<>();
+    tags1.put("tag1", "q");
+
+    Map<String, String> tags2 = new HashMap<>();
+    tags2.put("tag1", "q");
+    tags2.put("tag2", "a");
+
+    Map<String, String> tags3 = new HashMap<>();
+    tags3.put("tag4", "z");
+
+    // ids 0 ~ 17 are flushed to 6 disk segments, which are merged when there are more than 2
+    addTags();
+    File[] segmentFiles =
+        new File(schemaRegionDirPath).listFiles((dir, name) -> name.endsWith(".segment"));
+    assertTrue(segmentFiles != null && segmentFiles.length <= 2);
+
+    List<Integer> ids = tagInvertedIndex.getMatchedIDs(tags1);
+    List<Integer> verify = Arrays.asList(1, 2, 3, 4, 5, 7, 12, 15, 16, 18);
+    assertEquals(verify, ids);
+
+    ids = tagInvertedIndex.getMatchedIDs(tags3);
+    verify = Arrays.asList(16, 17);
+    assertEquals(verify, ids);
+
+    removeTags();
+
+    ids = tagInvertedIndex.getMatchedIDs(tags1);
+    verify = Arrays.asList(3, 5, 7, 15, 16, 18);
+    assertEquals(verify, ids);
+
+    ids = tagInvertedIndex.getMatchedIDs(tags2);
+    verify = Arrays.asList(3, 15, 16);
+    assertEquals(verify, ids);
+
+    // recover from disk segments and wal
+    tagInvertedIndex.clear();
+    tagInvertedIndex = new TagInvertedIndex(schemaRegionDirPath);
+
+    ids = tagInvertedIndex.getMatchedIDs(tags1);
+    verify = Arrays.asList(3, 5, 7, 15, 16, 18);
+    assertEquals(verify, ids);
+
+    ids = tagInvertedIndex.getMatchedIDs(tags2);
+    verify = Arrays.asList(3, 15, 16);
+    assertEquals(verify, ids);
+
+    ids = tagInvertedIndex.getMatchedIDs(tags3);
+    verify = Arrays.asList(16, 17);
+    assertEquals(verify, ids);
+  }
+
+  @Test
+  public void testRemoveSomeTagsOfFlushedId() throws IOException {
+    TagSchemaDescriptor.getInstance().getTagSchemaConfig().setMaxNumOfDiskSegments(2);
+    tagInvertedIndex.clear();
+    tagInvertedIndex = new TagInvertedIndex(schemaRegionDirPath);
+
+    // ids 0 ~ 17 are flushed to disk segments
+    addTags();
+    Map<String, String> removedTags = new HashMap<>();
+    removedTags.put("tag2", "a");
+    tagInvertedIndex.removeTags(removedTags, 3);
+    removedTags = new HashMap<>();
+    removedTags.put("tag4", "z");
+    tagInvertedIndex.removeTags(removedTags, 16);
+    checkRemovedSomeTagsOfFlushedId();
+
+    // ids 18 ~ 20 are flushed too, and the disk segments are merged with the deletions
+    Map<String, String> tags = new HashMap<>();
+    tags.put("tag1", "p");
+    tagInvertedIndex.addTags(tags, 21);
+    checkRemovedSomeTagsOfFlushedId();
+
+    // recover from disk segments and wal
+    tagInvertedIndex.clear();
+    tagInvertedIndex = new TagInvertedIndex(schemaRegionDirPath);
+    checkRemovedSomeTagsOfFlushedId();
+  }
+
+  private void checkRemovedSomeTagsOfFlushedId() {
+    // other tags of the ids are kept
+    assertEquals(
+        Arrays.asList(1, 2, 3, 4, 5, 7, 12, 15, 16, 18),
+        tagInvertedIndex.getMatchedIDs(Collections.singletonMap("tag1", "q")));
+    assertEquals(
+        Collections.singletonList(3),
+        tagInvertedIndex.getMatchedIDs(Collections.singletonMap("tag3", "z")));
+    assertEquals(
+        Arrays.asList(1, 12, 15, 16, 17),
+        tagInvertedIndex.getMatchedIDs(Collections.singletonMap("tag2", "a")));
+    assertEquals(
+        Collections.singletonList(17),
+        tagInvertedIndex.getMatchedIDs(Collections.singletonMap("tag4", "z")));
+  }
+
   private List<Pair<Map<String, String>, Integer>> generateTags() {
     List<Pair<Map<String, String>, Integer>> pairs = new ArrayList<>();
     for (String[] strings : record) {
@@ -43,6 +43,7 @@ import org.apache.iotdb.rpc.RpcTransportFactory;
 import org.apache.iotdb.rpc.RpcUtils;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.fileSystem.FSType;
@@ -194,6 +195,9 @@ public class IoTDBConfig {
   /** Blocking queue capacity of each wal buffer */
   private int walBufferQueueCapacity = 50;
 
+  /** Compression algorithm applied to each synced wal buffer, UNCOMPRESSED means disabled */
+  private CompressionType walCompressionAlgorithm = CompressionType.UNCOMPRESSED;
+
   /** Size threshold of each wal file. Unit: byte */
   private volatile long walFileSizeThresholdInByte = 10 * 1024 * 1024L;
 
@@ -313,6 +317,12 @@ public class IoTDBConfig {
   /** How many threads can concurrently flush. When <= 0, use CPU core number. */
   private int flushThreadCount = Runtime.getRuntime().availableProcessors();
 
+  /**
+   * How many threads can concurrently encode series of flushing memtables. 1 means each flush task
+   * encodes in one thread. When <= 0, use CPU core number.
+   */
+  private int flushEncodingThreadCount = Runtime.getRuntime().availableProcessors();
+
   /** How many threads can concurrently execute query statement. When <= 0, use CPU core number. */
   private int queryThreadCount = Runtime.getRuntime().availableProcessors();
 
@@ -321,6 +331,24 @@ public class IoTDBConfig {
   /** How many queries can be concurrently executed. When <= 0, use 1000. */
   private int maxAllowedConcurrentQueries = 1000;
 
+  /**
+   * Memory budget of the buffer used by one SortOperator, sorted runs are spilled into the query
+   * dir once the buffered data exceeds it.
+   */
+  private long sortBufferSizeInBytes = 1024 * 1024L;
+
+  /**
+   * Max number of spilled sorted runs read at the same time by one SortOperator, more runs are
+   * merged into fewer ones in several passes first.
+   */
+  private int maxMergedSortRunsNum = 8;
+
+  /** Whether sealed TsFiles are read through memory mapped regions instead of file channels */
+  private boolean enableMmapTsFileRead = false;
+
+  /** Max total size of sealed TsFiles mapped into memory at the same time. Unit: byte */
+  private long mmapTsFileReadMaxMappedSizeInBytes = 4 * 1024 * 1024 * 1024L;
+
   /** How many threads can concurrently evaluate windows. When <= 0, use CPU core number. */
   private int windowEvaluationThreadCount = Runtime.getRuntime().availableProcessors();
 
@@ -501,6 +529,15 @@ public class IoTDBConfig {
   /** Memory allocated for chunk cache in read process */
   private long allocateMemoryForChunkCache = allocateMemoryForRead * 100 / 1001;
 
+  /** Proportion of the chunk cache memory used to cache uncompressed pages, 0 to disable */
+  private double pageCacheProportion = 0;
+
+  /** Memory allocated for uncompressed page cache in read process, taken from chunk cache */
+  private long allocateMemoryForPageCache = 0;
+
+  /** Memory allocated for parsed modifications cache in read process */
+  private long allocateMemoryForModificationCache = allocateMemoryForRead * 10 / 1001;
+
   /** Memory allocated for operators */
   private long allocateMemoryForCoordinator = allocateMemoryForRead * 50 / 1001;
 
@@ -811,6 +848,12 @@ public class IoTDBConfig {
   /** the interval to log recover progress of each vsg when starting iotdb */
   private long recoveryLogIntervalInMs = 5_000L;
 
+  /**
+   * How many threads can concurrently recover sealed TsFiles when starting iotdb, shared by all
+   * data regions. When <= 0, use CPU core number.
+   */
+  private int tsFileRecoveryThreadCount = Runtime.getRuntime().availableProcessors();
+
   private boolean enableDiscardOutOfOrderData = false;
 
   /** the method to transform device path to device id, can be 'Plain' or 'SHA256' */
@@ -901,6 +944,15 @@ public class IoTDBConfig {
   /** Thread keep alive time in ms of mpp data exchange. */
   private int mppDataExchangeKeepAliveTimeInMs = 1000;
 
+  /**
+   * Whether to use delta of delta for time columns and dictionary for text columns when sending
+   * TsBlocks to other nodes.
+   */
+  private boolean enableMppDataExchangeCompactEncoding = false;
+
+  /** Compression of TsBlocks sent to other nodes. */
+  private CompressionType mppDataExchangeCompressor = CompressionType.UNCOMPRESSED;
+
   /** Thrift socket and connection timeout between data node and config node. */
   private int connectionTimeoutInMS = (int) TimeUnit.SECONDS.toMillis(20);
 
@@ -933,6 +985,11 @@ public class IoTDBConfig {
    */
   private int partitionCacheSize = 1000;
 
+  /**
+   * Eviction policy of {@link org.apache.iotdb.db.metadata.cache.DataNodeSchemaCache}, LRU or CLOCK
+   */
+  private String dataNodeSchemaCacheEvictionPolicy = "LRU";
+
   /** Cache size of user and role */
   private int authorCacheSize = 100;
 
@@ -988,6 +1045,9 @@ public class IoTDBConfig {
   /** Maximum wait time of write cache in IoTConsensus. Unit: ms */
   private long cacheWindowTimeInMs = 10 * 1000L;
 
+  /** Maximum total size of unacknowledged batches sent to one peer in IoTConsensus. Unit: byte */
+  private long maxPendingBatchesSizeInByte = 64 * 1024 * 1024L;
+
   private long dataRatisConsensusLogAppenderBufferSizeMax = 16 * 1024 * 1024L;
   private long schemaRatisConsensusLogAppenderBufferSizeMax = 16 * 1024 * 1024L;
 
@@ -1464,6 +1524,14 @@ public class IoTDBConfig {
     this.flushThreadCount = flushThreadCount;
   }
 
+  public int getFlushEncodingThreadCount() {
+    return flushEncodingThreadCount;
+  }
+
+  public void setFlushEncodingThreadCount(int flushEncodingThreadCount) {
+    this.flushEncodingThreadCount = flushEncodingThreadCount;
+  }
+
   public int getQueryThreadCount() {
     return queryThreadCount;
   }
@@ -1488,6 +1556,38 @@ public class IoTDBConfig {
     this.maxAllowedConcurrentQueries = maxAllowedConcurrentQueries;
   }
 
+  public long getSortBufferSizeInBytes() {
+    return sortBufferSizeInBytes;
+  }
+
+  public void setSortBufferSizeInBytes(long sortBufferSizeInBytes) {
+    this.sortBufferSizeInBytes = sortBufferSizeInBytes;
+  }
+
+  public int getMaxMergedSortRunsNum() {
+    return maxMergedSortRunsNum;
+  }
+
+  public void setMaxMergedSortRunsNum(int maxMergedSortRunsNum) {
+    this.maxMergedSortRunsNum = maxMergedSortRunsNum;
+  }
+
+  public boolean isEnableMmapTsFileRead() {
+    return enableMmapTsFileRead;
+  }
+
+  public void setEnableMmapTsFileRead(boolean enableMmapTsFileRead) {
+    this.enableMmapTsFileRead = enableMmapTsFileRead;
+  }
+
+  public long getMmapTsFileReadMaxMappedSizeInBytes() {
+    return mmapTsFileReadMaxMappedSizeInBytes;
+  }
+
+  public void setMmapTsFileReadMaxMappedSizeInBytes(long mmapTsFileReadMaxMappedSizeInBytes) {
+    this.mmapTsFileReadMaxMappedSizeInBytes = mmapTsFileReadMaxMappedSizeInBytes;
+  }
+
   public long getMaxBytesPerFragmentInstance() {
     return maxBytesPerFragmentInstance;
   }
@@ -1683,6 +1783,14 @@ public class IoTDBConfig {
     this.walBufferQueueCapacity = walBufferQueueCapacity;
   }
 
+  public CompressionType getWalCompressionAlgorithm() {
+    return walCompressionAlgorithm;
+  }
+
+  public void setWalCompressionAlgorithm(CompressionType walCompressionAlgorithm) {
+    this.walCompressionAlgorithm = walCompressionAlgorithm;
+  }
+
   public long getWalFileSizeThresholdInByte() {
     return walFileSizeThresholdInByte;
   }
@@ -1817,6 +1925,7 @@ public class IoTDBConfig {
     this.allocateMemoryForBloomFilterCache = allocateMemoryForRead / 1001;
     this.allocateMemoryForTimeSeriesMetaDataCache = allocateMemoryForRead * 200 / 1001;
     this.allocateMemoryForChunkCache = allocateMemoryForRead * 100 / 1001;
+    this.allocateMemoryForModificationCache = allocateMemoryForRead * 10 / 1001;
     this.allocateMemoryForCoordinator = allocateMemoryForRead * 50 / 1001;
     this.allocateMemoryForOperators = allocateMemoryForRead * 200 / 1001;
     this.allocateMemoryForDataExchange = allocateMemoryForRead * 200 / 1001;
@@ -2015,6 +2124,30 @@ public class IoTDBConfig {
     this.allocateMemoryForChunkCache = allocateMemoryForChunkCache;
   }
 
+  public double getPageCacheProportion() {
+    return pageCacheProportion;
+  }
+
+  public void setPageCacheProportion(double pageCacheProportion) {
+    this.pageCacheProportion = pageCacheProportion;
+  }
+
+  public long getAllocateMemoryForPageCache() {
+    return allocateMemoryForPageCache;
+  }
+
+  public void setAllocateMemoryForPageCache(long allocateMemoryForPageCache) {
+    this.allocateMemoryForPageCache = allocateMemoryForPageCache;
+  }
+
+  public long getAllocateMemoryForModificationCache() {
+    return allocateMemoryForModificationCache;
+  }
+
+  public void setAllocateMemoryForModificationCache(long allocateMemoryForModificationCache) {
+    this.allocateMemoryForModificationCache = allocateMemoryForModificationCache;
+  }
+
   public long getAllocateMemoryForCoordinator() {
     return allocateMemoryForCoordinator;
   }
@@ -2566,6 +2699,14 @@ public class IoTDBConfig {
     this.recoveryLogIntervalInMs = recoveryLogIntervalInMs;
   }
 
+  public int getTsFileRecoveryThreadCount() {
+    return tsFileRecoveryThreadCount;
+  }
+
+  public void setTsFileRecoveryThreadCount(int tsFileRecoveryThreadCount) {
+    this.tsFileRecoveryThreadCount = tsFileRecoveryThreadCount;
+  }
+
   public boolean isRpcAdvancedCompressionEnable() {
     return rpcAdvancedCompressionEnable;
   }
@@ -2996,6 +3137,23 @@ public class IoTDBConfig {
     this.mppDataExchangeKeepAliveTimeInMs = mppDataExchangeKeepAliveTimeInMs;
   }
 
+  public boolean isEnableMppDataExchangeCompactEncoding() {
+    return enableMppDataExchangeCompactEncoding;
+  }
+
+  public void setEnableMppDataExchangeCompactEncoding(
+      boolean enableMppDataExchangeCompactEncoding) {
+    this.enableMppDataExchangeCompactEncoding = enableMppDataExchangeCompactEncoding;
+  }
+
+  public CompressionType getMppDataExchangeCompressor() {
+    return mppDataExchangeCompressor;
+  }
+
+  public void setMppDataExchangeCompressor(CompressionType mppDataExchangeCompressor) {
+    this.mppDataExchangeCompressor = mppDataExchangeCompressor;
+  }
+
   public int getConnectionTimeoutInMS() {
     return connectionTimeoutInMS;
   }
@@ -3069,6 +3227,14 @@ public class IoTDBConfig {
     this.partitionCacheSize = partitionCacheSize;
   }
 
+  public String getDataNodeSchemaCacheEvictionPolicy() {
+    return dataNodeSchemaCacheEvictionPolicy;
+  }
+
+  public void setDataNodeSchemaCacheEvictionPolicy(String dataNodeSchemaCacheEvictionPolicy) {
+    this.dataNodeSchemaCacheEvictionPolicy = dataNodeSchemaCacheEvictionPolicy;
+  }
+
   public int getAuthorCacheSize() {
     return authorCacheSize;
   }
@@ -3255,6 +3421,14 @@ public class IoTDBConfig {
     this.throttleThreshold = throttleThreshold;
   }
 
+  public long getMaxPendingBatchesSizeInByte() {
+    return maxPendingBatchesSizeInByte;
+  }
+
+  public void setMaxPendingBatchesSizeInByte(long maxPendingBatchesSizeInByte) {
+    this.maxPendingBatchesSizeInByte = maxPendingBatchesSizeInByte;
+  }
+
   public double getChunkMetadataSizeProportion() {
     return chunkMetadataSizeProportion;
   }
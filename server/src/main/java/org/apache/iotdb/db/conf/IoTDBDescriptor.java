@@ -52,6 +52,7 @@ import org.apache.iotdb.metrics.utils.InternalReporterType;
 import org.apache.iotdb.metrics.utils.NodeType;
 import org.apache.iotdb.rpc.RpcTransportFactory;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.fileSystem.FSType;
@@ -511,6 +512,16 @@ public class IoTDBDescriptor {
       conf.setFlushThreadCount(Runtime.getRuntime().availableProcessors());
     }
 
+    conf.setFlushEncodingThreadCount(
+        Integer.parseInt(
+            properties.getProperty(
+                "flush_encoding_thread_count",
+                Integer.toString(conf.getFlushEncodingThreadCount()))));
+
+    if (conf.getFlushEncodingThreadCount() <= 0) {
+      conf.setFlushEncodingThreadCount(Runtime.getRuntime().availableProcessors());
+    }
+
     // start: index parameter setting
     conf.setIndexRootFolder(properties.getProperty("index_root_dir", conf.getIndexRootFolder()));
 
@@ -561,6 +572,32 @@ public class IoTDBDescriptor {
       conf.setMaxAllowedConcurrentQueries(1000);
     }
 
+    conf.setSortBufferSizeInBytes(
+        Long.parseLong(
+            properties.getProperty(
+                "sort_buffer_size_in_bytes", Long.toString(conf.getSortBufferSizeInBytes()))));
+
+    conf.setMaxMergedSortRunsNum(
+        Integer.parseInt(
+            properties.getProperty(
+                "max_merged_sort_runs_num", Integer.toString(conf.getMaxMergedSortRunsNum()))));
+
+    // at least two runs should be merged at once, otherwise the runs can never be reduced
+    if (conf.getMaxMergedSortRunsNum() < 2) {
+      conf.setMaxMergedSortRunsNum(2);
+    }
+
+    conf.setEnableMmapTsFileRead(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_mmap_tsfile_read", Boolean.toString(conf.isEnableMmapTsFileRead()))));
+
+    conf.setMmapTsFileReadMaxMappedSizeInBytes(
+        Long.parseLong(
+            properties.getProperty(
+                "mmap_tsfile_read_max_mapped_size_in_bytes",
+                Long.toString(conf.getMmapTsFileReadMaxMappedSizeInBytes()))));
+
     conf.setmRemoteSchemaCacheSize(
         Integer.parseInt(
             properties
@@ -790,6 +827,16 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "recovery_log_interval_in_ms", String.valueOf(conf.getRecoveryLogIntervalInMs()))));
 
+    conf.setTsFileRecoveryThreadCount(
+        Integer.parseInt(
+            properties.getProperty(
+                "tsfile_recovery_thread_count",
+                Integer.toString(conf.getTsFileRecoveryThreadCount()))));
+
+    if (conf.getTsFileRecoveryThreadCount() <= 0) {
+      conf.setTsFileRecoveryThreadCount(Runtime.getRuntime().availableProcessors());
+    }
+
     conf.setEnableDiscardOutOfOrderData(
         Boolean.parseBoolean(
             properties.getProperty(
@@ -1040,6 +1087,13 @@ public class IoTDBDescriptor {
       conf.setWalBufferQueueCapacity(walBufferQueueCapacity);
     }
 
+    conf.setWalCompressionAlgorithm(
+        CompressionType.valueOf(
+            properties
+                .getProperty(
+                    "wal_compression_algorithm", conf.getWalCompressionAlgorithm().toString())
+                .trim()));
+
     loadWALHotModifiedProps(properties);
   }
 
@@ -1114,6 +1168,15 @@ public class IoTDBDescriptor {
     if (cacheWindowInMs > 0) {
       conf.setCacheWindowTimeInMs(cacheWindowInMs);
     }
+
+    long maxPendingBatchesSizeInByte =
+        Long.parseLong(
+            properties.getProperty(
+                "iot_consensus_max_pending_batches_size_in_byte",
+                Long.toString(conf.getMaxPendingBatchesSizeInByte())));
+    if (maxPendingBatchesSizeInByte > 0) {
+      conf.setMaxPendingBatchesSizeInByte(maxPendingBatchesSizeInByte);
+    }
   }
 
   private void loadAutoCreateSchemaProps(Properties properties) {
@@ -1246,6 +1309,16 @@ public class IoTDBDescriptor {
                     "max_degree_of_index_node",
                     Integer.toString(
                         TSFileDescriptor.getInstance().getConfig().getMaxDegreeOfIndexNode()))));
+    TSFileDescriptor.getInstance()
+        .getConfig()
+        .setEnableDistinctSketchInStatistics(
+            Boolean.parseBoolean(
+                properties.getProperty(
+                    "enable_distinct_sketch_in_statistics",
+                    Boolean.toString(
+                        TSFileDescriptor.getInstance()
+                            .getConfig()
+                            .isEnableDistinctSketchInStatistics()))));
     TSFileDescriptor.getInstance()
         .getConfig()
         .setMaxTsBlockSizeInBytes(
@@ -1569,6 +1642,18 @@ public class IoTDBDescriptor {
               maxMemoryAvailable * Integer.parseInt(proportions[5].trim()) / proportionSum);
           conf.setAllocateMemoryForTimeIndex(
               maxMemoryAvailable * Integer.parseInt(proportions[6].trim()) / proportionSum);
+          if (proportions.length > 8) {
+            conf.setAllocateMemoryForModificationCache(
+                maxMemoryAvailable * Integer.parseInt(proportions[8].trim()) / proportionSum);
+          } else {
+            // without its own part, the modification cache is taken from the part of others
+            long memoryForOthers =
+                proportions.length > 7
+                    ? maxMemoryAvailable * Integer.parseInt(proportions[7].trim()) / proportionSum
+                    : 0;
+            conf.setAllocateMemoryForModificationCache(
+                Math.min(conf.getAllocateMemoryForModificationCache(), memoryForOthers));
+          }
         } catch (Exception e) {
           throw new RuntimeException(
               "Each subsection of configuration item chunkmeta_chunk_timeseriesmeta_free_memory_proportion"
@@ -1578,15 +1663,35 @@ public class IoTDBDescriptor {
       }
     }
 
+    // a part of the chunk cache holds the uncompressed pages of the hottest chunks
+    conf.setPageCacheProportion(
+        Double.parseDouble(
+            properties
+                .getProperty(
+                    "page_cache_proportion", Double.toString(conf.getPageCacheProportion()))
+                .trim()));
+    if (conf.getPageCacheProportion() < 0 || conf.getPageCacheProportion() >= 1) {
+      throw new RuntimeException(
+          "page_cache_proportion should be in [0, 1), which is " + conf.getPageCacheProportion());
+    }
+    long pageCacheMemory =
+        (long) (conf.getAllocateMemoryForChunkCache() * conf.getPageCacheProportion());
+    conf.setAllocateMemoryForPageCache(pageCacheMemory);
+    conf.setAllocateMemoryForChunkCache(conf.getAllocateMemoryForChunkCache() - pageCacheMemory);
+
     // metadata cache is disabled, we need to move all their allocated memory to other parts
     if (!conf.isMetaDataCacheEnable()) {
       long sum =
           conf.getAllocateMemoryForBloomFilterCache()
               + conf.getAllocateMemoryForChunkCache()
-              + conf.getAllocateMemoryForTimeSeriesMetaDataCache();
+              + conf.getAllocateMemoryForTimeSeriesMetaDataCache()
+              + conf.getAllocateMemoryForPageCache()
+              + conf.getAllocateMemoryForModificationCache();
       conf.setAllocateMemoryForBloomFilterCache(0);
       conf.setAllocateMemoryForChunkCache(0);
       conf.setAllocateMemoryForTimeSeriesMetaDataCache(0);
+      conf.setAllocateMemoryForPageCache(0);
+      conf.setAllocateMemoryForModificationCache(0);
       long partForDataExchange = sum / 2;
       long partForOperators = sum - partForDataExchange;
       conf.setAllocateMemoryForDataExchange(
@@ -1833,12 +1938,30 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "mpp_data_exchange_keep_alive_time_in_ms",
                 Integer.toString(conf.getMppDataExchangeKeepAliveTimeInMs()))));
+    conf.setEnableMppDataExchangeCompactEncoding(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_mpp_data_exchange_compact_encoding",
+                Boolean.toString(conf.isEnableMppDataExchangeCompactEncoding()))));
+    conf.setMppDataExchangeCompressor(
+        CompressionType.valueOf(
+            properties
+                .getProperty(
+                    "mpp_data_exchange_compressor", conf.getMppDataExchangeCompressor().toString())
+                .trim()));
 
     conf.setPartitionCacheSize(
         Integer.parseInt(
             properties.getProperty(
                 "partition_cache_size", Integer.toString(conf.getPartitionCacheSize()))));
 
+    conf.setDataNodeSchemaCacheEvictionPolicy(
+        properties
+            .getProperty(
+                "datanode_schema_cache_eviction_policy",
+                conf.getDataNodeSchemaCacheEvictionPolicy())
+            .trim());
+
     conf.setDriverTaskExecutionTimeSliceInMs(
         Integer.parseInt(
             properties.getProperty(
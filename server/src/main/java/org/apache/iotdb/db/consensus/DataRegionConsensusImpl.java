@@ -99,6 +99,8 @@ public class DataRegionConsensusImpl {
                                       .setWalThrottleThreshold(conf.getThrottleThreshold())
                                       .setAllocateMemoryForConsensus(
                                           conf.getAllocateMemoryForConsensus())
+                                      .setMaxPendingBatchesSize(
+                                          conf.getMaxPendingBatchesSizeInByte())
                                       .build())
                               .build())
                       .setRatisConfig(
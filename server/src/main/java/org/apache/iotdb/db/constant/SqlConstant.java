@@ -54,6 +54,15 @@ public class SqlConstant {
   public static final String AVG = "avg";
   public static final String SUM = "sum";
   public static final String COUNT_IF = "count_if";
+  public static final String APPROX_COUNT_DISTINCT = "approx_count_distinct";
+  public static final String VAR_SAMP = "var_samp";
+  public static final String VAR_POP = "var_pop";
+  public static final String STDDEV_SAMP = "stddev_samp";
+  public static final String STDDEV_POP = "stddev_pop";
+  public static final String APPROX_PERCENTILE = "approx_percentile";
+
+  // suffix of the names of serialized intermediate results of aggregations
+  public static final String PARTIAL_STATE_SUFFIX = "_state";
 
   // names of scalar functions
   public static final String DIFF = "diff";
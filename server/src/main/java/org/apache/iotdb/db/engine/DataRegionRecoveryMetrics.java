@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine;
+
+import org.apache.iotdb.commons.service.metric.enums.Metric;
+import org.apache.iotdb.commons.service.metric.enums.Tag;
+import org.apache.iotdb.metrics.AbstractMetricService;
+import org.apache.iotdb.metrics.metricsets.IMetricSet;
+import org.apache.iotdb.metrics.utils.MetricLevel;
+import org.apache.iotdb.metrics.utils.MetricType;
+
+import java.util.Objects;
+
+/** Progress of recovering data regions and their TsFiles when starting iotdb. */
+public class DataRegionRecoveryMetrics implements IMetricSet {
+  private static final String DATA_REGION = "data_region";
+  private static final String TSFILE = "tsfile";
+  private static final String TOTAL = "total";
+  private static final String RECOVERED = "recovered";
+
+  private final StorageEngine storageEngine;
+
+  public DataRegionRecoveryMetrics(StorageEngine storageEngine) {
+    this.storageEngine = storageEngine;
+  }
+
+  @Override
+  public void bindTo(AbstractMetricService metricService) {
+    metricService.createAutoGauge(
+        Metric.DATA_REGION_RECOVERY.toString(),
+        MetricLevel.IMPORTANT,
+        storageEngine,
+        StorageEngine::getDataRegionNumToRecover,
+        Tag.TYPE.toString(),
+        DATA_REGION,
+        Tag.STATUS.toString(),
+        TOTAL);
+    metricService.createAutoGauge(
+        Metric.DATA_REGION_RECOVERY.toString(),
+        MetricLevel.IMPORTANT,
+        storageEngine,
+        StorageEngine::getRecoveredDataRegionNum,
+        Tag.TYPE.toString(),
+        DATA_REGION,
+        Tag.STATUS.toString(),
+        RECOVERED);
+    metricService.createAutoGauge(
+        Metric.DATA_REGION_RECOVERY.toString(),
+        MetricLevel.IMPORTANT,
+        storageEngine,
+        StorageEngine::getTsFileNumToRecover,
+        Tag.TYPE.toString(),
+        TSFILE,
+        Tag.STATUS.toString(),
+        TOTAL);
+    metricService.createAutoGauge(
+        Metric.DATA_REGION_RECOVERY.toString(),
+        MetricLevel.IMPORTANT,
+        storageEngine,
+        StorageEngine::getRecoveredTsFileNum,
+        Tag.TYPE.toString(),
+        TSFILE,
+        Tag.STATUS.toString(),
+        RECOVERED);
+  }
+
+  @Override
+  public void unbindFrom(AbstractMetricService metricService) {
+    for (String type : new String[] {DATA_REGION, TSFILE}) {
+      for (String status : new String[] {TOTAL, RECOVERED}) {
+        metricService.remove(
+            MetricType.AUTO_GAUGE,
+            Metric.DATA_REGION_RECOVERY.toString(),
+            Tag.TYPE.toString(),
+            type,
+            Tag.STATUS.toString(),
+            status);
+      }
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    DataRegionRecoveryMetrics that = (DataRegionRecoveryMetrics) o;
+    return Objects.equals(storageEngine, that.storageEngine);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(storageEngine);
+  }
+}
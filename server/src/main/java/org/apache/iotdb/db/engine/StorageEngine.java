@@ -31,6 +31,7 @@ import org.apache.iotdb.commons.exception.ShutdownException;
 import org.apache.iotdb.commons.file.SystemFileFactory;
 import org.apache.iotdb.commons.service.IService;
 import org.apache.iotdb.commons.service.ServiceType;
+import org.apache.iotdb.commons.service.metric.MetricService;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.consensus.ConsensusFactory;
 import org.apache.iotdb.db.conf.IoTDBConfig;
@@ -38,6 +39,8 @@ import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.consensus.statemachine.visitor.DataExecutionVisitor;
 import org.apache.iotdb.db.engine.cache.BloomFilterCache;
 import org.apache.iotdb.db.engine.cache.ChunkCache;
+import org.apache.iotdb.db.engine.cache.ModificationCache;
+import org.apache.iotdb.db.engine.cache.PageCache;
 import org.apache.iotdb.db.engine.cache.TimeSeriesMetadataCache;
 import org.apache.iotdb.db.engine.flush.CloseFileListener;
 import org.apache.iotdb.db.engine.flush.FlushListener;
@@ -93,6 +96,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static org.apache.iotdb.commons.conf.IoTDBConstant.FILE_NAME_SEPARATOR;
@@ -126,7 +130,12 @@ public class StorageEngine implements IService {
   private final Map<String, Long> ttlMapForRecover = new ConcurrentHashMap<>();
 
   /** number of ready data region */
-  private AtomicInteger readyDataRegionNum;
+  private final AtomicInteger readyDataRegionNum = new AtomicInteger(0);
+
+  /** number of TsFiles to recover and recovered ones of all data regions, for progress metrics */
+  private final AtomicLong tsFileNumToRecover = new AtomicLong(0);
+
+  private final AtomicLong recoveredTsFileNum = new AtomicLong(0);
 
   private AtomicBoolean isAllSgReady = new AtomicBoolean(false);
 
@@ -137,6 +146,8 @@ public class StorageEngine implements IService {
   private TsFileFlushPolicy fileFlushPolicy = new DirectFlushPolicy();
   /** used to do short-lived asynchronous tasks */
   private ExecutorService cachedThreadPool;
+  /** used to recover sealed TsFiles of all data regions in parallel, only alive when recovering */
+  private volatile ExecutorService tsFileRecoverThreadPool;
   // add customized listeners here for flush and close events
   private List<CloseFileListener> customCloseFileListeners = new ArrayList<>();
   private List<FlushListener> customFlushListeners = new ArrayList<>();
@@ -214,6 +225,10 @@ public class StorageEngine implements IService {
     cachedThreadPool =
         IoTDBThreadPoolFactory.newCachedThreadPool(
             ThreadName.STORAGE_ENGINE_CACHED_SERVICE.getName());
+    ExecutorService recoverThreadPool =
+        IoTDBThreadPoolFactory.newFixedThreadPool(
+            config.getTsFileRecoveryThreadCount(), ThreadName.TSFILE_RECOVER.getName());
+    tsFileRecoverThreadPool = recoverThreadPool;
 
     List<Future<Void>> futures = new LinkedList<>();
     asyncRecover(futures);
@@ -233,6 +248,10 @@ public class StorageEngine implements IService {
         new Thread(
             () -> {
               checkResults(futures, "StorageEngine failed to recover.");
+              if (tsFileRecoverThreadPool == recoverThreadPool) {
+                tsFileRecoverThreadPool = null;
+              }
+              recoverThreadPool.shutdown();
               setAllSgReady(true);
               ttlMapForRecover.clear();
             });
@@ -242,7 +261,9 @@ public class StorageEngine implements IService {
   private void asyncRecover(List<Future<Void>> futures) {
     Map<String, List<DataRegionId>> localDataRegionInfo = getLocalDataRegionInfo();
     localDataRegionInfo.values().forEach(list -> recoverDataRegionNum += list.size());
-    readyDataRegionNum = new AtomicInteger(0);
+    readyDataRegionNum.set(0);
+    tsFileNumToRecover.set(0);
+    recoveredTsFileNum.set(0);
     // init wal recover manager
     WALRecoverManager.getInstance()
         .setAllDataRegionScannedLatch(new CountDownLatch(recoverDataRegionNum));
@@ -274,6 +295,44 @@ public class StorageEngine implements IService {
     }
   }
 
+  /**
+   * The pool shared by data regions to recover their sealed TsFiles in parallel.
+   *
+   * @return null if the storage engine is not recovering
+   */
+  public ExecutorService getTsFileRecoverThreadPool() {
+    return tsFileRecoverThreadPool;
+  }
+
+  @TestOnly
+  public void setTsFileRecoverThreadPool(ExecutorService tsFileRecoverThreadPool) {
+    this.tsFileRecoverThreadPool = tsFileRecoverThreadPool;
+  }
+
+  public int getDataRegionNumToRecover() {
+    return recoverDataRegionNum;
+  }
+
+  public int getRecoveredDataRegionNum() {
+    return readyDataRegionNum.get();
+  }
+
+  public void increaseTsFileNumToRecover(long num) {
+    tsFileNumToRecover.addAndGet(num);
+  }
+
+  public long getTsFileNumToRecover() {
+    return tsFileNumToRecover.get();
+  }
+
+  public void increaseRecoveredTsFileNum() {
+    recoveredTsFileNum.incrementAndGet();
+  }
+
+  public long getRecoveredTsFileNum() {
+    return recoveredTsFileNum.get();
+  }
+
   /** get StorageGroup -> DataRegionIdList map from data/system directory. */
   public Map<String, List<DataRegionId>> getLocalDataRegionInfo() {
     File system = SystemFileFactory.INSTANCE.getFile(systemDir);
@@ -313,6 +372,7 @@ public class StorageEngine implements IService {
     // recover upgrade process
     UpgradeUtils.recoverUpgrade();
 
+    MetricService.getInstance().addMetricSet(new DataRegionRecoveryMetrics(this));
     recover();
 
     ttlCheckThread = IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor("TTL-Check");
@@ -403,6 +463,7 @@ public class StorageEngine implements IService {
     if (cachedThreadPool != null) {
       cachedThreadPool.shutdownNow();
     }
+    shutdownTsFileRecoverThreadPool();
     dataRegionMap.clear();
   }
 
@@ -421,9 +482,18 @@ public class StorageEngine implements IService {
     shutdownTimedService(seqMemtableTimedFlushCheckThread, "SeqMemtableTimedFlushCheckThread");
     shutdownTimedService(unseqMemtableTimedFlushCheckThread, "UnseqMemtableTimedFlushCheckThread");
     cachedThreadPool.shutdownNow();
+    shutdownTsFileRecoverThreadPool();
     dataRegionMap.clear();
   }
 
+  private void shutdownTsFileRecoverThreadPool() {
+    ExecutorService pool = tsFileRecoverThreadPool;
+    tsFileRecoverThreadPool = null;
+    if (pool != null) {
+      pool.shutdown();
+    }
+  }
+
   private void shutdownTimedService(ScheduledExecutorService pool, String poolName) {
     if (pool != null) {
       pool.shutdownNow();
@@ -587,6 +657,8 @@ public class StorageEngine implements IService {
     ChunkCache.getInstance().clear();
     TimeSeriesMetadataCache.getInstance().clear();
     BloomFilterCache.getInstance().clear();
+    ModificationCache.getInstance().clear();
+    PageCache.getInstance().clear();
   }
 
   public void setTTL(List<DataRegionId> dataRegionIdList, long dataTTL) {
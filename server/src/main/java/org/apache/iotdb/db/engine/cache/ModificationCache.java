@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.path.PatternTreeMap;
+import org.apache.iotdb.commons.service.metric.MetricService;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.modification.Modification;
+import org.apache.iotdb.db.engine.modification.ModificationFile;
+import org.apache.iotdb.db.metadata.path.PatternTreeMapFactory;
+import org.apache.iotdb.db.metadata.path.PatternTreeMapFactory.ModsSerializer;
+import org.apache.iotdb.db.mpp.metric.ModificationCacheMetrics;
+import org.apache.iotdb.tsfile.utils.RamUsageEstimator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * This class is used to cache the parsed modifications of a <code>ModificationFile</code> in
+ * IoTDB, so that queries on a file with deletions don't read and parse its whole mods file again.
+ * The caching strategy is LRU.
+ *
+ * <p>A mods file is only appended, even an abort appends a mark, so the cache key contains the
+ * length of the file and an entry becomes unreachable once the file grows. Every path that deletes
+ * or moves a mods file invalidates its entries, as a new file may be created with the same path
+ * and length. The modification time in the key guards against the paths outside the server, e.g.
+ * files replaced by hand.
+ */
+public class ModificationCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(ModificationCache.class);
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private static final long MEMORY_THRESHOLD_IN_MODIFICATION_CACHE =
+      config.getAllocateMemoryForModificationCache();
+  private static final boolean CACHE_ENABLE = config.isMetaDataCacheEnable();
+
+  // estimated size of a Deletion and its entry in the PatternTreeMap except the path
+  private static final long MODIFICATION_BASE_SIZE = 128;
+
+  private final Cache<ModificationCacheKey, ModificationCacheValue> lruCache;
+
+  private ModificationCache() {
+    if (CACHE_ENABLE) {
+      logger.info("ModificationCache size = {}", MEMORY_THRESHOLD_IN_MODIFICATION_CACHE);
+    }
+    lruCache =
+        Caffeine.newBuilder()
+            .maximumWeight(MEMORY_THRESHOLD_IN_MODIFICATION_CACHE)
+            .weigher(
+                (Weigher<ModificationCacheKey, ModificationCacheValue>)
+                    (key, value) ->
+                        (int)
+                            (RamUsageEstimator.shallowSizeOf(key)
+                                + RamUsageEstimator.sizeOf(key.filePath)
+                                + value.size))
+            .recordStats()
+            .build();
+
+    // add metrics
+    MetricService.getInstance().addMetricSet(new ModificationCacheMetrics(this));
+  }
+
+  public static ModificationCache getInstance() {
+    return ModificationCacheHolder.INSTANCE;
+  }
+
+  /**
+   * Get all modifications of modFile indexed by their paths. The returned PatternTreeMap is shared
+   * between queries and should only be read.
+   */
+  public PatternTreeMap<Modification, ModsSerializer> get(ModificationFile modFile) {
+    if (!CACHE_ENABLE) {
+      return load(modFile).modifications;
+    }
+    File file = new File(modFile.getFilePath());
+    ModificationCacheKey key =
+        new ModificationCacheKey(file.getAbsolutePath(), file.length(), file.lastModified());
+    return lruCache.get(key, k -> load(modFile)).modifications;
+  }
+
+  private ModificationCacheValue load(ModificationFile modFile) {
+    PatternTreeMap<Modification, ModsSerializer> modifications =
+        PatternTreeMapFactory.getModsPatternTreeMap();
+    Collection<Modification> allModifications = modFile.getModifications();
+    long size = RamUsageEstimator.shallowSizeOfInstance(ModificationCacheValue.class);
+    for (Modification modification : allModifications) {
+      modifications.append(modification.getPath(), modification);
+      size += MODIFICATION_BASE_SIZE + PartialPath.estimateSize(modification.getPath());
+    }
+    return new ModificationCacheValue(modifications, size);
+  }
+
+  /** Invalidate all cached versions of the mods file, called when it is removed or moved. */
+  public void invalidate(String filePath) {
+    if (!CACHE_ENABLE) {
+      return;
+    }
+    String absolutePath = new File(filePath).getAbsolutePath();
+    lruCache.asMap().keySet().removeIf(key -> key.filePath.equals(absolutePath));
+  }
+
+  public double getHitRate() {
+    return lruCache.stats().hitRate() * 100;
+  }
+
+  public long getEvictionCount() {
+    return lruCache.stats().evictionCount();
+  }
+
+  public long getMaxMemory() {
+    return MEMORY_THRESHOLD_IN_MODIFICATION_CACHE;
+  }
+
+  /** clear LRUCache. */
+  public void clear() {
+    lruCache.invalidateAll();
+    lruCache.cleanUp();
+  }
+
+  @TestOnly
+  public boolean isEmpty() {
+    return lruCache.asMap().isEmpty();
+  }
+
+  private static class ModificationCacheKey {
+
+    private final String filePath;
+    private final long fileLength;
+    private final long lastModified;
+
+    private ModificationCacheKey(String filePath, long fileLength, long lastModified) {
+      this.filePath = filePath;
+      this.fileLength = fileLength;
+      this.lastModified = lastModified;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      ModificationCacheKey that = (ModificationCacheKey) o;
+      return fileLength == that.fileLength
+          && lastModified == that.lastModified
+          && filePath.equals(that.filePath);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(filePath, fileLength, lastModified);
+    }
+  }
+
+  private static class ModificationCacheValue {
+
+    private final PatternTreeMap<Modification, ModsSerializer> modifications;
+    private final long size;
+
+    private ModificationCacheValue(
+        PatternTreeMap<Modification, ModsSerializer> modifications, long size) {
+      this.modifications = modifications;
+      this.size = size;
+    }
+  }
+
+  /** singleton pattern. */
+  private static class ModificationCacheHolder {
+
+    private static final ModificationCache INSTANCE = new ModificationCache();
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import org.apache.iotdb.commons.service.metric.MetricService;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.mpp.metric.PageCacheMetrics;
+import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.read.reader.chunk.IChunkPageCache;
+import org.apache.iotdb.tsfile.utils.RamUsageEstimator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+
+/**
+ * This class is used to cache uncompressed pages of <code>Chunk</code>s in IoTDB, so that pages of
+ * hot chunks are not uncompressed again by every query. It is a tier beneath {@link ChunkCache},
+ * which only keeps the compressed chunk data. The caching strategy is LRU.
+ */
+public class PageCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(PageCache.class);
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+  private static final long MEMORY_THRESHOLD_IN_PAGE_CACHE =
+      config.getAllocateMemoryForPageCache();
+  private static final boolean CACHE_ENABLE =
+      config.isMetaDataCacheEnable() && MEMORY_THRESHOLD_IN_PAGE_CACHE > 0;
+
+  private final Cache<PageCacheKey, byte[]> lruCache;
+
+  private PageCache() {
+    if (CACHE_ENABLE) {
+      logger.info("PageCache size = {}", MEMORY_THRESHOLD_IN_PAGE_CACHE);
+    }
+    lruCache =
+        Caffeine.newBuilder()
+            .maximumWeight(MEMORY_THRESHOLD_IN_PAGE_CACHE)
+            .weigher(
+                (Weigher<PageCacheKey, byte[]>)
+                    (key, page) ->
+                        (int)
+                            (RamUsageEstimator.shallowSizeOf(key)
+                                + RamUsageEstimator.sizeOf(page)))
+            .recordStats()
+            .build();
+
+    // add metrics
+    MetricService.getInstance().addMetricSet(new PageCacheMetrics(this));
+  }
+
+  public static PageCache getInstance() {
+    return PageCacheHolder.INSTANCE;
+  }
+
+  /**
+   * Get the uncompressed pages of the chunk.
+   *
+   * @return null if the cache is disabled
+   */
+  public IChunkPageCache getChunkPageCache(ChunkMetadata chunkMetadata) {
+    if (!CACHE_ENABLE) {
+      return null;
+    }
+    String filePath = chunkMetadata.getFilePath();
+    long offset = chunkMetadata.getOffsetOfChunkHeader();
+    return (pageIndex, loader) -> {
+      PageCacheKey key = new PageCacheKey(filePath, offset, pageIndex);
+      byte[] page = lruCache.getIfPresent(key);
+      if (page == null) {
+        // concurrent readers may uncompress the same page, the pages are the same anyway
+        page = loader.load();
+        lruCache.put(key, page);
+      }
+      return page;
+    };
+  }
+
+  public double getHitRate() {
+    return lruCache.stats().hitRate() * 100;
+  }
+
+  public long getEvictionCount() {
+    return lruCache.stats().evictionCount();
+  }
+
+  public long getMaxMemory() {
+    return MEMORY_THRESHOLD_IN_PAGE_CACHE;
+  }
+
+  /** clear LRUCache. */
+  public void clear() {
+    lruCache.invalidateAll();
+    lruCache.cleanUp();
+  }
+
+  @TestOnly
+  public boolean isEmpty() {
+    return lruCache.asMap().isEmpty();
+  }
+
+  private static class PageCacheKey {
+
+    // There is no need to add this field size while calculating the size of PageCacheKey, because
+    // filePath is get from ChunkMetadata, keys of the same file share this String.
+    private final String filePath;
+    private final long chunkOffset;
+    private final int pageIndex;
+
+    private PageCacheKey(String filePath, long chunkOffset, int pageIndex) {
+      this.filePath = filePath;
+      this.chunkOffset = chunkOffset;
+      this.pageIndex = pageIndex;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      PageCacheKey that = (PageCacheKey) o;
+      return chunkOffset == that.chunkOffset
+          && pageIndex == that.pageIndex
+          && filePath.equals(that.filePath);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(filePath, chunkOffset, pageIndex);
+    }
+  }
+
+  /** singleton pattern. */
+  private static class PageCacheHolder {
+
+    private static final PageCache INSTANCE = new PageCache();
+  }
+}
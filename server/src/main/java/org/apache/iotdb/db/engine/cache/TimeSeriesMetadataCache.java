@@ -101,6 +101,9 @@ public class TimeSeriesMetadataCache {
                                 + RamUsageEstimator.shallowSizeOf(value)
                                 + RamUsageEstimator.sizeOf(value.getMeasurementId())
                                 + RamUsageEstimator.shallowSizeOf(value.getStatistics())
+                                + (value.getStatistics().getDistinctSketch() == null
+                                    ? 0
+                                    : value.getStatistics().getDistinctSketch().getSerializedSize())
                                 + (value.getChunkMetadataList().get(0) == null
                                         ? 0
                                         : ((ChunkMetadata) value.getChunkMetadataList().get(0))
@@ -22,6 +22,7 @@ import org.apache.iotdb.commons.cluster.NodeStatus;
 import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.conf.IoTDBConstant;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.cache.ModificationCache;
 import org.apache.iotdb.db.engine.compaction.execute.utils.CompactionUtils;
 import org.apache.iotdb.db.engine.compaction.execute.utils.log.CompactionLogAnalyzer;
 import org.apache.iotdb.db.engine.compaction.execute.utils.log.CompactionLogger;
@@ -314,7 +315,7 @@ public class CompactionRecoverTask {
 
     // delete mods file
     file = getFileFromDataDirs(tsFileIdentifier.getFilePath() + ModificationFile.FILE_SUFFIX);
-    if (!checkAndDeleteFile(file)) {
+    if (!checkAndDeleteModFile(file)) {
       success = false;
     }
 
@@ -322,7 +323,7 @@ public class CompactionRecoverTask {
     file =
         getFileFromDataDirs(
             tsFileIdentifier.getFilePath() + ModificationFile.COMPACTION_FILE_SUFFIX);
-    if (!checkAndDeleteFile(file)) {
+    if (!checkAndDeleteModFile(file)) {
       success = false;
     }
 
@@ -341,6 +342,15 @@ public class CompactionRecoverTask {
     return true;
   }
 
+  /** Delete the mods file like {@link #checkAndDeleteFile(File)} and drop its cached content. */
+  private boolean checkAndDeleteModFile(File file) {
+    boolean success = checkAndDeleteFile(file);
+    if (file != null) {
+      ModificationCache.getInstance().invalidate(file.getPath());
+    }
+    return success;
+  }
+
   /**
    * Used to check whether it is recoverd from last version (<0.13) and perform corresponding
    * process.
@@ -383,7 +393,7 @@ public class CompactionRecoverTask {
               tsFileManager.getStorageGroupDir()
                   + File.separator
                   + IoTDBConstant.COMPACTION_MODIFICATION_FILE_NAME_FROM_OLD);
-      return checkAndDeleteFile(compactionModsFileFromOld);
+      return checkAndDeleteModFile(compactionModsFileFromOld);
     }
 
     /**
@@ -486,13 +496,13 @@ public class CompactionRecoverTask {
           sourceFile =
               getFileFromDataDirs(
                   sourceFileIdentifier.getFilePath() + ModificationFile.FILE_SUFFIX);
-          if (!checkAndDeleteFile(sourceFile)) {
+          if (!checkAndDeleteModFile(sourceFile)) {
             return false;
           }
         }
 
         // delete compaction mods file
-        if (!checkAndDeleteFile(compactionModsFileFromOld)) {
+        if (!checkAndDeleteModFile(compactionModsFileFromOld)) {
           return false;
         }
       } catch (Throwable e) {
@@ -95,6 +95,16 @@ public class FlushManager implements FlushManagerMBean, IService {
     return FlushSubTaskPoolManager.getInstance().getWaitingTasksNumber();
   }
 
+  @Override
+  public int getNumberOfWorkingEncodingTasks() {
+    return FlushSubTaskPoolManager.getInstance().getWorkingEncodingTasksNumber();
+  }
+
+  @Override
+  public int getNumberOfPendingEncodingTasks() {
+    return FlushSubTaskPoolManager.getInstance().getWaitingEncodingTasksNumber();
+  }
+
   /** a flush thread handles flush task */
   class FlushThread extends WrappedRunnable {
 
@@ -30,4 +30,8 @@ public interface FlushManagerMBean {
   int getNumberOfWorkingSubTasks();
 
   int getNumberOfPendingSubTasks();
+
+  int getNumberOfWorkingEncodingTasks();
+
+  int getNumberOfPendingEncodingTasks();
 }
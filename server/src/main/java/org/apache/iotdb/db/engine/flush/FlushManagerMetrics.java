@@ -29,6 +29,8 @@ import org.apache.iotdb.metrics.utils.MetricType;
 import java.util.Objects;
 
 public class FlushManagerMetrics implements IMetricSet {
+  private static final String FLUSH_ENCODING = "flush_encoding";
+
   private FlushManager flushManager;
 
   public FlushManagerMetrics(FlushManager flushManager) {
@@ -55,6 +57,24 @@ public class FlushManagerMetrics implements IMetricSet {
         "flush",
         Tag.STATUS.toString(),
         "running");
+    metricService.createAutoGauge(
+        Metric.QUEUE.toString(),
+        MetricLevel.IMPORTANT,
+        flushManager,
+        FlushManager::getNumberOfPendingEncodingTasks,
+        Tag.NAME.toString(),
+        FLUSH_ENCODING,
+        Tag.STATUS.toString(),
+        "waiting");
+    metricService.createAutoGauge(
+        Metric.QUEUE.toString(),
+        MetricLevel.IMPORTANT,
+        flushManager,
+        FlushManager::getNumberOfWorkingEncodingTasks,
+        Tag.NAME.toString(),
+        FLUSH_ENCODING,
+        Tag.STATUS.toString(),
+        "running");
   }
 
   @Override
@@ -73,6 +93,20 @@ public class FlushManagerMetrics implements IMetricSet {
         "flush",
         Tag.STATUS.toString(),
         "running");
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.QUEUE.toString(),
+        Tag.NAME.toString(),
+        FLUSH_ENCODING,
+        Tag.STATUS.toString(),
+        "waiting");
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.QUEUE.toString(),
+        Tag.NAME.toString(),
+        FLUSH_ENCODING,
+        Tag.STATUS.toString(),
+        "running");
   }
 
   @Override
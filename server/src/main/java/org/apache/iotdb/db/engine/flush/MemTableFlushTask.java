@@ -49,10 +49,13 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * flush task to flush one memtable using a pipeline model to flush, which is sort memtable ->
- * encoding -> write to disk (io task)
+ * encoding -> write to disk (io task). When more than one flush encoding thread is configured, the
+ * encoding task hands each series to the shared encoding pool and passes the pending result to the
+ * io task, which still writes chunk groups in device order.
  */
 public class MemTableFlushTask {
 
@@ -76,7 +79,14 @@ public class MemTableFlushTask {
 
   private IMemTable memTable;
 
-  private volatile long memSerializeTime = 0L;
+  private final boolean encodeInParallel = config.getFlushEncodingThreadCount() > 1;
+
+  /** total encoding time of all series, spread over several threads when encoding in parallel */
+  private final AtomicLong memSerializeTime = new AtomicLong(0L);
+  /** wall time of the encoding stage, from the first series encoded to the last series encoded */
+  private final AtomicLong encodingStartTime = new AtomicLong(0L);
+
+  private final AtomicLong encodingEndTime = new AtomicLong(0L);
   private volatile long ioTime = 0L;
 
   /**
@@ -127,7 +137,8 @@ public class MemTableFlushTask {
               ? 0
               : memTable.memSize()
                   / memTable.getSeriesNumber()
-                  * config.getIoTaskQueueSizeForFlushing();
+                  * (config.getIoTaskQueueSizeForFlushing()
+                      + (encodeInParallel ? config.getFlushEncodingThreadCount() : 0));
       SystemInfo.getInstance().applyTemporaryMemoryForFlushing(estimatedTemporaryMemSize);
     }
     long start = System.currentTimeMillis();
@@ -182,6 +193,18 @@ public class MemTableFlushTask {
 
     ioTaskFuture.get();
 
+    // every encoded series has been written, so the encoding stage is over
+    long encodingTime =
+        encodeInParallel
+            ? Math.max(0L, encodingEndTime.get() - encodingStartTime.get())
+            : memSerializeTime.get();
+    LOGGER.info(
+        "Database {}, flushing memtable {} into disk: Encoding data cost " + "{} ms.",
+        storageGroup,
+        writer.getFile().getName(),
+        encodingTime);
+    WRITING_METRICS.recordFlushCost(WritingMetrics.FLUSH_STAGE_ENCODING, encodingTime);
+
     try {
       long writePlanIndicesStartTime = System.currentTimeMillis();
       writer.writePlanIndices();
@@ -196,7 +219,7 @@ public class MemTableFlushTask {
       if (estimatedTemporaryMemSize != 0) {
         SystemInfo.getInstance().releaseTemporaryMemoryForFlushing(estimatedTemporaryMemSize);
       }
-      SystemInfo.getInstance().setEncodingFasterThanIo(ioTime >= memSerializeTime);
+      SystemInfo.getInstance().setEncodingFasterThanIo(ioTime >= encodingTime);
     }
 
     MetricService.getInstance()
@@ -253,21 +276,18 @@ public class MemTableFlushTask {
             } else if (task instanceof TaskEnd) {
               break;
             } else {
-              long starTime = System.currentTimeMillis();
               IWritableMemChunk writableMemChunk = (IWritableMemChunk) task;
-              IChunkWriter seriesWriter = writableMemChunk.createIChunkWriter();
-              writableMemChunk.encode(seriesWriter);
-              seriesWriter.sealCurrentPage();
-              seriesWriter.clearPageWriter();
+              // the io task takes series in the order they are put, whether encoded or pending
+              Object encodedSeries =
+                  encodeInParallel
+                      ? SUB_TASK_POOL_MANAGER.submitEncodingTask(() -> encode(writableMemChunk))
+                      : encode(writableMemChunk);
               try {
-                ioTaskQueue.put(seriesWriter);
+                ioTaskQueue.put(encodedSeries);
               } catch (InterruptedException e) {
                 LOGGER.error("Put task into ioTaskQueue Interrupted");
                 Thread.currentThread().interrupt();
               }
-              long subTaskTime = System.currentTimeMillis() - starTime;
-              WRITING_METRICS.recordFlushSubTaskCost(WritingMetrics.ENCODING_TASK, subTaskTime);
-              memSerializeTime += subTaskTime;
             }
           }
           try {
@@ -294,16 +314,24 @@ public class MemTableFlushTask {
                     Tag.REGION.toString(),
                     dataRegionId);
           }
-
-          LOGGER.info(
-              "Database {}, flushing memtable {} into disk: Encoding data cost " + "{} ms.",
-              storageGroup,
-              writer.getFile().getName(),
-              memSerializeTime);
-          WRITING_METRICS.recordFlushCost(WritingMetrics.FLUSH_STAGE_ENCODING, memSerializeTime);
         }
       };
 
+  private IChunkWriter encode(IWritableMemChunk writableMemChunk) {
+    long starTime = System.currentTimeMillis();
+    encodingStartTime.compareAndSet(0L, starTime);
+    IChunkWriter seriesWriter = writableMemChunk.createIChunkWriter();
+    writableMemChunk.encode(seriesWriter);
+    seriesWriter.sealCurrentPage();
+    seriesWriter.clearPageWriter();
+    long endTime = System.currentTimeMillis();
+    long subTaskTime = endTime - starTime;
+    WRITING_METRICS.recordFlushSubTaskCost(WritingMetrics.ENCODING_TASK, subTaskTime);
+    memSerializeTime.addAndGet(subTaskTime);
+    encodingEndTime.accumulateAndGet(endTime, Math::max);
+    return seriesWriter;
+  }
+
   /** io task (third task of pipeline) */
   @SuppressWarnings("squid:S135")
   private Runnable ioTask =
@@ -321,6 +349,23 @@ public class MemTableFlushTask {
             Thread.currentThread().interrupt();
             break;
           }
+          if (ioMessage instanceof Future) {
+            // wait for the series handed to the encoding pool, io time doesn't include the wait
+            long waitStartTime = System.currentTimeMillis();
+            try {
+              ioMessage = ((Future<?>) ioMessage).get();
+            } catch (InterruptedException e) {
+              LOGGER.error("Wait for encoding task Interrupted");
+              Thread.currentThread().interrupt();
+              break;
+            } catch (ExecutionException e) {
+              LOGGER.error(
+                  "Database {} memtable {}, encoding task meets error.", storageGroup, memTable, e);
+              throw new FlushRunTimeException(e);
+            }
+            WRITING_METRICS.recordFlushSubTaskCost(
+                WritingMetrics.ENCODING_WAIT_TASK, System.currentTimeMillis() - waitStartTime);
+          }
           long starTime = System.currentTimeMillis();
           try {
             if (ioMessage instanceof StartFlushGroupIOTask) {
@@ -21,18 +21,67 @@ package org.apache.iotdb.db.engine.flush.pool;
 
 import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
 import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.rescon.AbstractPoolManager;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 public class FlushSubTaskPoolManager extends AbstractPoolManager {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(FlushSubTaskPoolManager.class);
+  private static final long WAIT_ENCODING_TIMEOUT_IN_MS = 2000;
+
+  /**
+   * Encodes single series for the encoding sub tasks. The sub tasks of a flush block on each other
+   * for the whole flush, so series are encoded in this separate bounded pool shared by all flushes.
+   */
+  private volatile ExecutorService encodingPool;
 
   private FlushSubTaskPoolManager() {
     this.pool =
         IoTDBThreadPoolFactory.newCachedThreadPool(ThreadName.FLUSH_SUB_TASK_SERVICE.getName());
+    this.encodingPool = newEncodingPool();
+  }
+
+  private static ExecutorService newEncodingPool() {
+    return IoTDBThreadPoolFactory.newFixedThreadPool(
+        IoTDBDescriptor.getInstance().getConfig().getFlushEncodingThreadCount(),
+        ThreadName.FLUSH_ENCODING_SERVICE.getName());
+  }
+
+  public <T> Future<T> submitEncodingTask(Callable<T> task) {
+    return encodingPool.submit(task);
+  }
+
+  public int getWorkingEncodingTasksNumber() {
+    // in ITs, pool may be closed and therefore pool will be null
+    if (encodingPool == null) {
+      return 0;
+    }
+    return ((ThreadPoolExecutor) encodingPool).getActiveCount();
+  }
+
+  public int getEncodingPoolSize() {
+    // in ITs, pool may be closed and therefore pool will be null
+    if (encodingPool == null) {
+      return 0;
+    }
+    return ((ThreadPoolExecutor) encodingPool).getCorePoolSize();
+  }
+
+  public int getWaitingEncodingTasksNumber() {
+    // in ITs, pool may be closed and therefore pool will be null
+    if (encodingPool == null) {
+      return 0;
+    }
+    return ((ThreadPoolExecutor) encodingPool).getQueue().size();
   }
 
   public static FlushSubTaskPoolManager getInstance() {
@@ -55,12 +104,29 @@ public class FlushSubTaskPoolManager extends AbstractPoolManager {
       this.pool =
           IoTDBThreadPoolFactory.newCachedThreadPool(ThreadName.FLUSH_SUB_TASK_SERVICE.getName());
     }
+    if (encodingPool == null) {
+      this.encodingPool = newEncodingPool();
+    }
     LOGGER.info("Flush sub task manager started.");
   }
 
   @Override
   public void stop() {
+    // stop the sub tasks first, they are the only ones waiting for encoding results
     super.stop();
+    if (encodingPool != null) {
+      encodingPool.shutdownNow();
+      try {
+        if (!encodingPool.awaitTermination(WAIT_ENCODING_TIMEOUT_IN_MS, TimeUnit.MILLISECONDS)) {
+          LOGGER.info(
+              "Flush encoding thread pool doesn't exit after {}ms.", WAIT_ENCODING_TIMEOUT_IN_MS);
+        }
+      } catch (InterruptedException e) {
+        LOGGER.error("Interrupted while waiting flush encoding thread pool to exit. ", e);
+        Thread.currentThread().interrupt();
+      }
+      encodingPool = null;
+    }
     LOGGER.info("Flush sub task manager stopped");
   }
 
@@ -95,6 +95,9 @@ public interface IWritableMemChunk extends WALEntryValue {
    *
    * <p>the mechanism is just like copy on write
    *
+   * <p>the caller should call {@link TVList#decreaseReferenceCount()} once it has copied the data
+   * out, so that later queries can sort the list in place instead of copying it
+   *
    * <p>This interface should be synchronized for concurrent with sortTvListForFlush
    *
    * @return sorted tv list
@@ -104,7 +107,8 @@ public interface IWritableMemChunk extends WALEntryValue {
   /**
    * served for vector query requests.
    *
-   * <p>the mechanism is just like copy on write
+   * <p>the mechanism is just like copy on write, the returned view shares the reference count of
+   * the whole list
    *
    * <p>This interface should be synchronized for concurrent with sortTvListForFlush
    *
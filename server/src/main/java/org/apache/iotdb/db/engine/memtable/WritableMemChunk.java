@@ -251,21 +251,21 @@ public class WritableMemChunk implements IWritableMemChunk {
   }
 
   @Override
-  public long getFirstPoint() {
+  public synchronized long getFirstPoint() {
     if (list.rowCount() == 0) {
       return Long.MAX_VALUE;
     }
-    return getSortedTvListForQuery().getTimeValuePair(0).getTimestamp();
+    sortTVList();
+    return list.getTime(0);
   }
 
   @Override
-  public long getLastPoint() {
+  public synchronized long getLastPoint() {
     if (list.rowCount() == 0) {
       return Long.MIN_VALUE;
     }
-    return getSortedTvListForQuery()
-        .getTimeValuePair(getSortedTvListForQuery().rowCount() - 1)
-        .getTimestamp();
+    sortTVList();
+    return list.getTime(list.rowCount() - 1);
   }
 
   @Override
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.db.engine.modification;
 
+import org.apache.iotdb.db.engine.cache.ModificationCache;
 import org.apache.iotdb.db.engine.modification.io.LocalTextModificationAccessor;
 import org.apache.iotdb.db.engine.modification.io.ModificationReader;
 import org.apache.iotdb.db.engine.modification.io.ModificationWriter;
@@ -137,6 +138,7 @@ public class ModificationFile implements AutoCloseable {
   public void remove() throws IOException {
     close();
     FSFactoryProducer.getFSFactory().getFile(filePath).delete();
+    ModificationCache.getInstance().invalidate(filePath);
   }
 
   public boolean exists() {
@@ -40,6 +40,8 @@ import org.apache.iotdb.db.engine.StorageEngine;
 import org.apache.iotdb.db.engine.TsFileMetricManager;
 import org.apache.iotdb.db.engine.cache.BloomFilterCache;
 import org.apache.iotdb.db.engine.cache.ChunkCache;
+import org.apache.iotdb.db.engine.cache.ModificationCache;
+import org.apache.iotdb.db.engine.cache.PageCache;
 import org.apache.iotdb.db.engine.cache.TimeSeriesMetadataCache;
 import org.apache.iotdb.db.engine.compaction.execute.recover.CompactionRecoverManager;
 import org.apache.iotdb.db.engine.compaction.execute.task.AbstractCompactionTask;
@@ -120,6 +122,7 @@ import java.util.Comparator;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -127,6 +130,11 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -404,10 +412,12 @@ public class DataRegion implements IDataRegionForQuery {
       this.filesNumLogCheckTrigger = this.numOfFilesToRecover / 100;
       this.lastLogTime = System.currentTimeMillis();
       this.lastLogCheckFilesNum = 0;
+      StorageEngine.getInstance().increaseTsFileNumToRecover(numOfFilesToRecover);
     }
 
     public void incrementRecoveredFilesNum() {
       recoveredFilesNum++;
+      StorageEngine.getInstance().increaseRecoveredTsFileNum();
       // check log only when 1% more files have been recovered
       if (lastLogCheckFilesNum + filesNumLogCheckTrigger < recoveredFilesNum) {
         lastLogCheckFilesNum = recoveredFilesNum;
@@ -510,7 +520,10 @@ public class DataRegion implements IDataRegionForQuery {
       }
       // signal wal recover manager to recover this region's files
       WALRecoverManager.getInstance().getAllDataRegionScannedLatch().countDown();
-      // recover sealed TsFiles
+      // recover sealed TsFiles in parallel, then register them in order
+      Map<TsFileResource, Future<Boolean>> sealedTsFileRecoverTasks = new IdentityHashMap<>();
+      submitSealedTsFileRecoverTasks(partitionTmpSeqTsFiles.values(), sealedTsFileRecoverTasks);
+      submitSealedTsFileRecoverTasks(partitionTmpUnseqTsFiles.values(), sealedTsFileRecoverTasks);
       if (!partitionTmpSeqTsFiles.isEmpty()) {
         long latestPartitionId =
             ((TreeMap<Long, List<TsFileResource>>) partitionTmpSeqTsFiles).lastKey();
@@ -519,6 +532,7 @@ public class DataRegion implements IDataRegionForQuery {
               partitionFiles.getKey(),
               dataRegionRecoveryContext,
               partitionFiles.getValue(),
+              sealedTsFileRecoverTasks,
               true,
               partitionFiles.getKey() == latestPartitionId);
         }
@@ -528,6 +542,7 @@ public class DataRegion implements IDataRegionForQuery {
             partitionFiles.getKey(),
             dataRegionRecoveryContext,
             partitionFiles.getValue(),
+            sealedTsFileRecoverTasks,
             false,
             false);
       }
@@ -839,14 +854,53 @@ public class DataRegion implements IDataRegionForQuery {
     }
   }
 
-  /** recover sealed TsFile */
+  /**
+   * Submit the recovery of sealed TsFiles, which loads or reconstructs their .resource files, to
+   * the TsFile recover thread pool shared by all data regions. The TsFiles are recovered in the
+   * current thread if the pool is absent, e.g., the data region is created after the startup.
+   *
+   * @param recoverTasks the recover task of each sealed TsFile is put into it, its result is
+   *     whether the TsFile has crashed
+   */
+  private void submitSealedTsFileRecoverTasks(
+      Collection<List<TsFileResource>> partitionFilesList,
+      Map<TsFileResource, Future<Boolean>> recoverTasks) {
+    ExecutorService recoverThreadPool = StorageEngine.getInstance().getTsFileRecoverThreadPool();
+    for (List<TsFileResource> partitionFiles : partitionFilesList) {
+      for (TsFileResource sealedTsFile : partitionFiles) {
+        FutureTask<Boolean> recoverTask =
+            new FutureTask<>(
+                () -> {
+                  try (SealedTsFileRecoverPerformer recoverPerformer =
+                      new SealedTsFileRecoverPerformer(sealedTsFile)) {
+                    recoverPerformer.recover();
+                    return recoverPerformer.hasCrashed();
+                  }
+                });
+        try {
+          if (recoverThreadPool == null) {
+            recoverTask.run();
+          } else {
+            recoverThreadPool.execute(recoverTask);
+          }
+        } catch (RejectedExecutionException e) {
+          // the pool is shut down as the startup has finished
+          recoverTask.run();
+        }
+        recoverTasks.put(sealedTsFile, recoverTask);
+      }
+    }
+  }
+
+  /** register sealed TsFile after its recover task finishes */
   private void recoverSealedTsFiles(
-      TsFileResource sealedTsFile, DataRegionRecoveryContext context, boolean isSeq) {
-    try (SealedTsFileRecoverPerformer recoverPerformer =
-        new SealedTsFileRecoverPerformer(sealedTsFile)) {
-      recoverPerformer.recover();
+      TsFileResource sealedTsFile,
+      Future<Boolean> recoverTask,
+      DataRegionRecoveryContext context,
+      boolean isSeq) {
+    try {
       // pick up crashed compaction target files
-      if (recoverPerformer.hasCrashed()) {
+      if (recoverTask.get()) {
         if (TsFileResource.getInnerCompactionCount(sealedTsFile.getTsFile().getName()) > 0) {
           tsFileManager.addForRecover(sealedTsFile, isSeq);
           return;
@@ -859,6 +913,12 @@ public class DataRegion implements IDataRegionForQuery {
       sealedTsFile.close();
       tsFileManager.add(sealedTsFile, isSeq);
       tsFileResourceManager.registerSealedTsFileResource(sealedTsFile);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.error("Interrupted when recovering sealed TsFile {}.", sealedTsFile.getTsFilePath());
+    } catch (ExecutionException e) {
+      logger.error(
+          "Fail to recover sealed TsFile {}, skip it.", sealedTsFile.getTsFilePath(), e.getCause());
     } catch (Throwable e) {
       logger.error("Fail to recover sealed TsFile {}, skip it.", sealedTsFile.getTsFilePath(), e);
     } finally {
@@ -871,10 +931,11 @@ public class DataRegion implements IDataRegionForQuery {
       long partitionId,
       DataRegionRecoveryContext context,
       List<TsFileResource> resourceList,
+      Map<TsFileResource, Future<Boolean>> recoverTasks,
       boolean isSeq,
       boolean isLatestPartition) {
     for (TsFileResource tsFileResource : resourceList) {
-      recoverSealedTsFiles(tsFileResource, context, isSeq);
+      recoverSealedTsFiles(tsFileResource, recoverTasks.get(tsFileResource), context, isSeq);
     }
     if (isLatestPartition && isSeq) {
       lastFlushTimeMap.checkAndCreateFlushedTimePartition(partitionId);
@@ -1700,9 +1761,12 @@ public class DataRegion implements IDataRegionForQuery {
       List<PartialPath> pathList, String singleDeviceId, QueryContext context, Filter timeFilter)
       throws QueryProcessException {
     try {
+      // skip the time partitions that the time filter or TTL rule out before checking any file
+      long timeLowerBound =
+          dataTTL != Long.MAX_VALUE ? DateTimeUtils.currentTime() - dataTTL : Long.MIN_VALUE;
       List<TsFileResource> seqResources =
           getFileResourceListForQuery(
-              tsFileManager.getTsFileList(true),
+              tsFileManager.getTsFileList(true, timeFilter, timeLowerBound),
               upgradeSeqFileList,
               pathList,
               singleDeviceId,
@@ -1711,7 +1775,7 @@ public class DataRegion implements IDataRegionForQuery {
               true);
       List<TsFileResource> unseqResources =
           getFileResourceListForQuery(
-              tsFileManager.getTsFileList(false),
+              tsFileManager.getTsFileList(false, timeFilter, timeLowerBound),
               upgradeUnseqFileList,
               pathList,
               singleDeviceId,
@@ -1789,15 +1853,9 @@ public class DataRegion implements IDataRegionForQuery {
 
     // for upgrade files and old files must be closed
     for (TsFileResource tsFileResource : upgradeTsFileResources) {
-      if (!tsFileResource.isSatisfied(
+      if (tsFileResource.isSatisfied(
           singleDeviceId, timeFilter, isSeq, dataTTL, context.isDebug())) {
-        continue;
-      }
-      closeQueryLock.readLock().lock();
-      try {
         tsfileResourcesForQuery.add(tsFileResource);
-      } finally {
-        closeQueryLock.readLock().unlock();
       }
     }
 
@@ -1806,6 +1864,11 @@ public class DataRegion implements IDataRegionForQuery {
           singleDeviceId, timeFilter, isSeq, dataTTL, context.isDebug())) {
         continue;
       }
+      if (tsFileResource.isClosed()) {
+        // a closed file never reopens, so closeQueryLock is only needed for unsealed ones
+        tsfileResourcesForQuery.add(tsFileResource);
+        continue;
+      }
       closeQueryLock.readLock().lock();
       try {
         if (tsFileResource.isClosed()) {
@@ -2241,6 +2304,8 @@ public class DataRegion implements IDataRegionForQuery {
     ChunkCache.getInstance().clear();
     TimeSeriesMetadataCache.getInstance().clear();
     BloomFilterCache.getInstance().clear();
+    ModificationCache.getInstance().clear();
+    PageCache.getInstance().clear();
   }
 
   private void loadUpgradedResources(List<TsFileResource> resources, boolean isseq) {
@@ -2254,10 +2319,10 @@ public class DataRegion implements IDataRegionForQuery {
         tsFileManager.addAll(resource.getUpgradedResources(), isseq);
         // delete old TsFile and resource
         resource.delete();
-        Files.deleteIfExists(
-            fsFactory
-                .getFile(resource.getTsFile().toPath() + ModificationFile.FILE_SUFFIX)
-                .toPath());
+        File oldModFile =
+            fsFactory.getFile(resource.getTsFile().toPath() + ModificationFile.FILE_SUFFIX);
+        Files.deleteIfExists(oldModFile.toPath());
+        ModificationCache.getInstance().invalidate(oldModFile.getPath());
         UpgradeLog.writeUpgradeLogFile(
             resource.getTsFile().getAbsolutePath() + "," + UpgradeCheckStatus.UPGRADE_SUCCESS);
       } catch (IOException e) {
@@ -2760,6 +2825,7 @@ public class DataRegion implements IDataRegionForQuery {
       try {
         if (deleteOriginFile) {
           FileUtils.moveFile(modFileToLoad, targetModFile);
+          ModificationCache.getInstance().invalidate(modFileToLoad.getPath());
         } else {
           Files.copy(modFileToLoad.toPath(), targetModFile.toPath());
         }
@@ -2776,6 +2842,8 @@ public class DataRegion implements IDataRegionForQuery {
       } finally {
         // ModFile will be updated during the next call to `getModFile`
         tsFileResource.setModFile(null);
+        // the loaded mods file replaces whatever was cached for the target path
+        ModificationCache.getInstance().invalidate(targetModFile.getPath());
       }
     }
 
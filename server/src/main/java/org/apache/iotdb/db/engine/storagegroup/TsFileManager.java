@@ -19,9 +19,11 @@
 
 package org.apache.iotdb.db.engine.storagegroup;
 
+import org.apache.iotdb.db.engine.StorageEngine;
 import org.apache.iotdb.db.exception.WriteLockFailedException;
 import org.apache.iotdb.db.rescon.TsFileResourceManager;
 import org.apache.iotdb.db.sync.sender.manager.ISyncManager;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -85,6 +87,58 @@ public class TsFileManager {
     }
   }
 
+  /**
+   * Get the files that may contain data satisfying the time filter and living beyond the time lower
+   * bound, in the same order as {@link #getTsFileList(boolean)}. A TsFile never spans time
+   * partitions, so whole partitions are pruned by their time range before any file is looked at.
+   *
+   * @param timeFilter the time filter of the query, null means all time
+   * @param timeLowerBound data before this time are expired by TTL, Long.MIN_VALUE means no TTL
+   */
+  public List<TsFileResource> getTsFileList(
+      boolean sequence, Filter timeFilter, long timeLowerBound) {
+    readLock();
+    try {
+      List<TsFileResource> allResources = new ArrayList<>();
+      TreeMap<Long, TsFileResourceList> chosenMap = sequence ? sequenceFiles : unsequenceFiles;
+      // partitions before the one holding timeLowerBound only contain expired data
+      Map<Long, TsFileResourceList> aliveMap =
+          timeLowerBound == Long.MIN_VALUE
+              ? chosenMap
+              : chosenMap.tailMap(StorageEngine.getTimePartition(timeLowerBound), true);
+      for (Map.Entry<Long, TsFileResourceList> entry : aliveMap.entrySet()) {
+        if (timeFilter == null || isTimePartitionSatisfied(entry.getKey(), timeFilter)) {
+          allResources.addAll(entry.getValue().getArrayList());
+        }
+      }
+      return allResources;
+    } finally {
+      readUnlock();
+    }
+  }
+
+  private boolean isTimePartitionSatisfied(long timePartition, Filter timeFilter) {
+    long interval = StorageEngine.getTimePartitionInterval();
+    long startTime;
+    long endTime;
+    try {
+      // time partition is time / interval, which rounds towards zero, so partition 0 also holds
+      // the negative times after -interval and a negative partition p holds ((p - 1), p] * interval
+      startTime =
+          timePartition > 0
+              ? Math.multiplyExact(timePartition, interval)
+              : Math.multiplyExact(timePartition - 1, interval) + 1;
+      endTime =
+          timePartition < 0
+              ? Math.multiplyExact(timePartition, interval)
+              : Math.multiplyExact(timePartition + 1, interval) - 1;
+    } catch (ArithmeticException e) {
+      // the partition reaches the end of the time axis, keep it
+      return true;
+    }
+    return timeFilter.satisfyStartEndTime(startTime, endTime);
+  }
+
   public TsFileResourceList getOrCreateSequenceListByTimePartition(long timePartition) {
     writeLock("getOrCreateSequenceListByTimePartition");
     try {
@@ -22,6 +22,7 @@ import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.engine.cache.ModificationCache;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
 import org.apache.iotdb.db.engine.querycontext.ReadOnlyMemChunk;
 import org.apache.iotdb.db.engine.storagegroup.DataRegion.SettleTsFileCallBack;
@@ -553,6 +554,7 @@ public class TsFileResource {
     }
     try {
       fsFactory.deleteIfExists(fsFactory.getFile(file.getPath() + ModificationFile.FILE_SUFFIX));
+      ModificationCache.getInstance().invalidate(file.getPath() + ModificationFile.FILE_SUFFIX);
     } catch (IOException e) {
       LOGGER.error("ModificationFile {} cannot be deleted: {}", file, e.getMessage());
       return false;
@@ -578,9 +580,11 @@ public class TsFileResource {
         fsFactory.getFile(targetDir, file.getName() + RESOURCE_SUFFIX));
     File originModFile = fsFactory.getFile(file.getPath() + ModificationFile.FILE_SUFFIX);
     if (originModFile.exists()) {
-      fsFactory.moveFile(
-          originModFile,
-          fsFactory.getFile(targetDir, file.getName() + ModificationFile.FILE_SUFFIX));
+      File targetModFile =
+          fsFactory.getFile(targetDir, file.getName() + ModificationFile.FILE_SUFFIX);
+      fsFactory.moveFile(originModFile, targetModFile);
+      ModificationCache.getInstance().invalidate(originModFile.getPath());
+      ModificationCache.getInstance().invalidate(targetModFile.getPath());
     }
   }
 
@@ -22,6 +22,7 @@ package org.apache.iotdb.db.metadata.cache.dualkeycache.impl;
 import org.apache.iotdb.db.metadata.cache.dualkeycache.IDualKeyCacheStats;
 
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 class CacheStats implements IDualKeyCacheStats {
 
@@ -33,8 +34,9 @@ class CacheStats implements IDualKeyCacheStats {
 
   private final AtomicLong memoryUsage = new AtomicLong(0);
 
-  private final AtomicLong requestCount = new AtomicLong(0);
-  private final AtomicLong hitCount = new AtomicLong(0);
+  // counters are updated by every cache access, thus LongAdder is used to avoid contention
+  private final LongAdder requestCount = new LongAdder();
+  private final LongAdder hitCount = new LongAdder();
 
   CacheStats(long memoryCapacity) {
     this.memoryCapacity = memoryCapacity;
@@ -54,39 +56,31 @@ class CacheStats implements IDualKeyCacheStats {
   }
 
   void recordHit(int num) {
-    if (requestCount.get() < 0) {
-      requestCount.set(0);
-      hitCount.set(0);
-    }
-    requestCount.getAndAdd(num);
-    hitCount.getAndAdd(num);
+    requestCount.add(num);
+    hitCount.add(num);
   }
 
   void recordMiss(int num) {
-    if (requestCount.get() < 0) {
-      requestCount.set(0);
-      hitCount.set(0);
-    }
-    requestCount.getAndAdd(num);
+    requestCount.add(num);
   }
 
   @Override
   public long requestCount() {
-    return requestCount.get();
+    return requestCount.sum();
   }
 
   @Override
   public long hitCount() {
-    return hitCount.get();
+    return hitCount.sum();
   }
 
   @Override
   public double hitRate() {
-    long hitCount = this.hitCount.get();
+    long hitCount = this.hitCount.sum();
     if (hitCount == 0) {
       return 0;
     }
-    long requestCount = this.requestCount.get();
+    long requestCount = this.requestCount.sum();
     if (requestCount == 0) {
       return 0;
     }
@@ -100,8 +94,8 @@ class CacheStats implements IDualKeyCacheStats {
 
   void reset() {
     resetMemoryUsage();
-    hitCount.set(0);
-    requestCount.set(0);
+    hitCount.reset();
+    requestCount.reset();
   }
 
   void resetMemoryUsage() {
@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.metadata.cache.dualkeycache.impl;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * This class implements the cache entry manager with CLOCK (second chance) policy. Different from
+ * LRU, accessing a cache entry only sets its reference bit without any lock, thus the read path of
+ * the cache is free of contention. Cache entries are spread into several rings to reduce the
+ * contention of put and eviction.
+ *
+ * @param <FK> The first key of cache value.
+ * @param <SK> The second key of cache value.
+ * @param <V> The cache value.
+ */
+class ClockCacheEntryManager<FK, SK, V>
+    implements ICacheEntryManager<FK, SK, V, ClockCacheEntryManager.ClockCacheEntry<SK, V>> {
+
+  private static final int SLOT_NUM = 128;
+
+  // rings are read without lock by evict, thus the ring reference must be safely published
+  private final AtomicReferenceArray<ClockRing> clockRings = new AtomicReferenceArray<>(SLOT_NUM);
+
+  @Override
+  public ClockCacheEntry<SK, V> createCacheEntry(
+      SK secondKey, V value, ICacheEntryGroup<FK, SK, V, ClockCacheEntry<SK, V>> cacheEntryGroup) {
+    return new ClockCacheEntry<>(secondKey, value, cacheEntryGroup);
+  }
+
+  @Override
+  public void access(ClockCacheEntry<SK, V> cacheEntry) {
+    // avoid invalidating the cache line of hot entries when the bit has already been set
+    if (!cacheEntry.referenced) {
+      cacheEntry.referenced = true;
+    }
+  }
+
+  @Override
+  public void put(ClockCacheEntry<SK, V> cacheEntry) {
+    getBelongedRing(cacheEntry).add(cacheEntry);
+  }
+
+  @Override
+  public ClockCacheEntry<SK, V> evict() {
+    int startIndex = ThreadLocalRandom.current().nextInt(SLOT_NUM);
+    ClockRing clockRing;
+    ClockCacheEntry<SK, V> cacheEntry;
+    for (int i = 0; i < SLOT_NUM; i++) {
+      if (startIndex == SLOT_NUM) {
+        startIndex = 0;
+      }
+      clockRing = clockRings.get(startIndex);
+      if (clockRing != null) {
+        cacheEntry = clockRing.evict();
+        if (cacheEntry != null) {
+          return cacheEntry;
+        }
+      }
+      startIndex++;
+    }
+    return null;
+  }
+
+  @Override
+  public void cleanUp() {
+    synchronized (clockRings) {
+      for (int i = 0; i < SLOT_NUM; i++) {
+        clockRings.set(i, null);
+      }
+    }
+  }
+
+  private ClockRing getBelongedRing(ClockCacheEntry<SK, V> cacheEntry) {
+    int slotIndex = cacheEntry.hashCode() % SLOT_NUM;
+    slotIndex = slotIndex < 0 ? slotIndex + SLOT_NUM : slotIndex;
+    ClockRing clockRing = clockRings.get(slotIndex);
+    if (clockRing == null) {
+      synchronized (clockRings) {
+        clockRing = clockRings.get(slotIndex);
+        if (clockRing == null) {
+          clockRing = new ClockRing();
+          clockRings.set(slotIndex, clockRing);
+        }
+      }
+    }
+    return clockRing;
+  }
+
+  static class ClockCacheEntry<SK, V> implements ICacheEntry<SK, V> {
+
+    private final SK secondKey;
+    private final ICacheEntryGroup cacheEntryGroup;
+
+    private volatile V value;
+
+    private volatile boolean referenced = false;
+
+    private ClockCacheEntry(SK secondKey, V value, ICacheEntryGroup cacheEntryGroup) {
+      this.secondKey = secondKey;
+      this.value = value;
+      this.cacheEntryGroup = cacheEntryGroup;
+    }
+
+    @Override
+    public SK getSecondKey() {
+      return secondKey;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public ICacheEntryGroup getBelongedGroup() {
+      return cacheEntryGroup;
+    }
+
+    @Override
+    public void replaceValue(V newValue) {
+      this.value = newValue;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      ClockCacheEntry<?, ?> that = (ClockCacheEntry<?, ?>) o;
+      return Objects.equals(secondKey, that.secondKey)
+          && Objects.equals(cacheEntryGroup, that.cacheEntryGroup);
+    }
+
+    @Override
+    public int hashCode() {
+      return cacheEntryGroup.hashCode() * 31 + secondKey.hashCode();
+    }
+  }
+
+  /**
+   * The entries of one ring are kept in an array and the clock hand sweeps over it. An evicted
+   * entry is replaced by the last entry of the array, so the order of the ring is only roughly
+   * kept, which is enough for approximating LRU.
+   */
+  private static class ClockRing {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private ClockCacheEntry[] entries = new ClockCacheEntry[INITIAL_CAPACITY];
+    private int size = 0;
+    private int hand = 0;
+
+    synchronized void add(ClockCacheEntry cacheEntry) {
+      if (size == entries.length) {
+        entries = Arrays.copyOf(entries, size << 1);
+      }
+      entries[size++] = cacheEntry;
+    }
+
+    synchronized ClockCacheEntry evict() {
+      // every entry gets at most one second chance, thus two rounds are enough to find a victim
+      for (int i = 0, maxSweep = size << 1; i < maxSweep; i++) {
+        if (hand >= size) {
+          hand = 0;
+        }
+        ClockCacheEntry cacheEntry = entries[hand];
+        if (cacheEntry.referenced) {
+          cacheEntry.referenced = false;
+          hand++;
+        } else {
+          entries[hand] = entries[--size];
+          entries[size] = null;
+          shrinkIfNecessary();
+          return cacheEntry;
+        }
+      }
+      return null;
+    }
+
+    private void shrinkIfNecessary() {
+      if (entries.length > INITIAL_CAPACITY && size < entries.length >> 2) {
+        entries = Arrays.copyOf(entries, entries.length >> 1);
+      }
+    }
+  }
+}
@@ -32,7 +32,7 @@ import java.util.function.Function;
  */
 public class DualKeyCacheBuilder<FK, SK, V> {
 
-  private LRUCacheEntryManager<FK, SK, V> cacheEntryManager;
+  private DualKeyCachePolicy policy;
 
   private long memoryCapacity;
 
@@ -44,19 +44,22 @@ public class DualKeyCacheBuilder<FK, SK, V> {
 
   /** Initiate and return a dual key cache instance. */
   public IDualKeyCache<FK, SK, V> build() {
-    return new DualKeyCacheImpl<>(
-        cacheEntryManager,
-        new CacheSizeComputerImpl<>(firstKeySizeComputer, secondKeySizeComputer, valueSizeComputer),
-        memoryCapacity);
+    ICacheSizeComputer<FK, SK, V> sizeComputer =
+        new CacheSizeComputerImpl<>(firstKeySizeComputer, secondKeySizeComputer, valueSizeComputer);
+    if (policy == DualKeyCachePolicy.LRU) {
+      return new DualKeyCacheImpl<>(new LRUCacheEntryManager<>(), sizeComputer, memoryCapacity);
+    } else if (policy == DualKeyCachePolicy.CLOCK) {
+      // CLOCK access is lock free, thus the cache could be read without any lock
+      return new DualKeyCacheImpl<>(
+          new ClockCacheEntryManager<>(), sizeComputer, memoryCapacity, true);
+    }
+    throw new IllegalStateException();
   }
 
   /** Define the cache eviction policy of dual key cache. */
   public DualKeyCacheBuilder<FK, SK, V> cacheEvictionPolicy(DualKeyCachePolicy policy) {
-    if (policy == DualKeyCachePolicy.LRU) {
-      this.cacheEntryManager = new LRUCacheEntryManager<>();
-      return this;
-    }
-    throw new IllegalStateException();
+    this.policy = policy;
+    return this;
   }
 
   /** Define the memory capacity of dual key cache. */
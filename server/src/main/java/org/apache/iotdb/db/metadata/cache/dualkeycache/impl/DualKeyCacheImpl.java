@@ -26,6 +26,7 @@ import org.apache.iotdb.db.metadata.cache.dualkeycache.IDualKeyCacheStats;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.BiFunction;
 
@@ -41,76 +42,121 @@ class DualKeyCacheImpl<FK, SK, V, T extends ICacheEntry<SK, V>>
 
   private final CacheStats cacheStats;
 
-  private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock(true);
+  private static final int LOCK_STRIPE_NUM = 64;
+
+  /**
+   * The read locks guard cache access against invalidateAll and cleanUp, which acquire all the
+   * write locks. If the cache is lock striped, puts of different first keys are guarded by
+   * different locks and get and compute are executed without any lock, which requires the cache
+   * entry manager to support concurrent access.
+   */
+  private final ReentrantReadWriteLock[] readWriteLocks;
+
+  private final boolean lockFreeRead;
 
   DualKeyCacheImpl(
       ICacheEntryManager<FK, SK, V, T> cacheEntryManager,
       ICacheSizeComputer<FK, SK, V> sizeComputer,
       long memoryCapacity) {
+    this(cacheEntryManager, sizeComputer, memoryCapacity, false);
+  }
+
+  DualKeyCacheImpl(
+      ICacheEntryManager<FK, SK, V, T> cacheEntryManager,
+      ICacheSizeComputer<FK, SK, V> sizeComputer,
+      long memoryCapacity,
+      boolean lockStriped) {
     this.cacheEntryManager = cacheEntryManager;
     this.sizeComputer = sizeComputer;
     this.cacheStats = new CacheStats(memoryCapacity);
+    if (lockStriped) {
+      this.readWriteLocks = new ReentrantReadWriteLock[LOCK_STRIPE_NUM];
+      for (int i = 0; i < LOCK_STRIPE_NUM; i++) {
+        readWriteLocks[i] = new ReentrantReadWriteLock(false);
+      }
+    } else {
+      this.readWriteLocks = new ReentrantReadWriteLock[] {new ReentrantReadWriteLock(true)};
+    }
+    this.lockFreeRead = lockStriped;
   }
 
   @Override
   public V get(FK firstKey, SK secondKey) {
+    if (lockFreeRead) {
+      return getFromCache(firstKey, secondKey);
+    }
+    ReentrantReadWriteLock readWriteLock = getBelongedLock(firstKey);
     readWriteLock.readLock().lock();
     try {
-      ICacheEntryGroup<FK, SK, V, T> cacheEntryGroup = firstKeyMap.get(firstKey);
-      if (cacheEntryGroup == null) {
+      return getFromCache(firstKey, secondKey);
+    } finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  private V getFromCache(FK firstKey, SK secondKey) {
+    ICacheEntryGroup<FK, SK, V, T> cacheEntryGroup = firstKeyMap.get(firstKey);
+    if (cacheEntryGroup == null) {
+      cacheStats.recordMiss(1);
+      return null;
+    } else {
+      T cacheEntry = cacheEntryGroup.getCacheEntry(secondKey);
+      if (cacheEntry == null) {
         cacheStats.recordMiss(1);
         return null;
       } else {
-        T cacheEntry = cacheEntryGroup.getCacheEntry(secondKey);
-        if (cacheEntry == null) {
-          cacheStats.recordMiss(1);
-          return null;
-        } else {
-          cacheEntryManager.access(cacheEntry);
-          cacheStats.recordHit(1);
-          return cacheEntry.getValue();
-        }
+        cacheEntryManager.access(cacheEntry);
+        cacheStats.recordHit(1);
+        return cacheEntry.getValue();
       }
-    } finally {
-      readWriteLock.readLock().unlock();
     }
   }
 
   @Override
   public void compute(IDualKeyCacheComputation<FK, SK, V> computation) {
+    if (lockFreeRead) {
+      computeFromCache(computation);
+      return;
+    }
+    ReentrantReadWriteLock readWriteLock = getBelongedLock(computation.getFirstKey());
     readWriteLock.readLock().lock();
     try {
-      FK firstKey = computation.getFirstKey();
-      ICacheEntryGroup<FK, SK, V, T> cacheEntryGroup = firstKeyMap.get(firstKey);
-      SK[] secondKeyList = computation.getSecondKeyList();
-      if (cacheEntryGroup == null) {
-        for (int i = 0; i < secondKeyList.length; i++) {
+      computeFromCache(computation);
+    } finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  private void computeFromCache(IDualKeyCacheComputation<FK, SK, V> computation) {
+    FK firstKey = computation.getFirstKey();
+    ICacheEntryGroup<FK, SK, V, T> cacheEntryGroup = firstKeyMap.get(firstKey);
+    SK[] secondKeyList = computation.getSecondKeyList();
+    if (cacheEntryGroup == null) {
+      for (int i = 0; i < secondKeyList.length; i++) {
+        computation.computeValue(i, null);
+      }
+      cacheStats.recordMiss(secondKeyList.length);
+    } else {
+      T cacheEntry;
+      int hitCount = 0;
+      for (int i = 0; i < secondKeyList.length; i++) {
+        cacheEntry = cacheEntryGroup.getCacheEntry(secondKeyList[i]);
+        if (cacheEntry == null) {
           computation.computeValue(i, null);
+        } else {
+          computation.computeValue(i, cacheEntry.getValue());
+          cacheEntryManager.access(cacheEntry);
+          hitCount++;
         }
-        cacheStats.recordMiss(secondKeyList.length);
-      } else {
-        T cacheEntry;
-        int hitCount = 0;
-        for (int i = 0; i < secondKeyList.length; i++) {
-          cacheEntry = cacheEntryGroup.getCacheEntry(secondKeyList[i]);
-          if (cacheEntry == null) {
-            computation.computeValue(i, null);
-          } else {
-            computation.computeValue(i, cacheEntry.getValue());
-            cacheEntryManager.access(cacheEntry);
-            hitCount++;
-          }
-        }
-        cacheStats.recordHit(hitCount);
-        cacheStats.recordMiss(secondKeyList.length - hitCount);
       }
-    } finally {
-      readWriteLock.readLock().unlock();
+      cacheStats.recordHit(hitCount);
+      cacheStats.recordMiss(secondKeyList.length - hitCount);
     }
   }
 
   @Override
   public void put(FK firstKey, SK secondKey, V value) {
+    ReentrantReadWriteLock readWriteLock = getBelongedLock(firstKey);
     readWriteLock.readLock().lock();
     try {
       int usedMemorySize = putToCache(firstKey, secondKey, value);
@@ -204,13 +250,34 @@ class DualKeyCacheImpl<FK, SK, V, T extends ICacheEntry<SK, V>>
     return evictedSize.get();
   }
 
+  private ReentrantReadWriteLock getBelongedLock(FK firstKey) {
+    if (readWriteLocks.length == 1) {
+      return readWriteLocks[0];
+    }
+    int slotIndex = firstKey.hashCode() % readWriteLocks.length;
+    return readWriteLocks[slotIndex < 0 ? slotIndex + readWriteLocks.length : slotIndex];
+  }
+
+  /** Always lock in the same order to avoid deadlock between concurrent invalidation. */
+  private void lockAll() {
+    for (ReentrantReadWriteLock readWriteLock : readWriteLocks) {
+      readWriteLock.writeLock().lock();
+    }
+  }
+
+  private void unlockAll() {
+    for (int i = readWriteLocks.length - 1; i >= 0; i--) {
+      readWriteLocks[i].writeLock().unlock();
+    }
+  }
+
   @Override
   public void invalidateAll() {
-    readWriteLock.writeLock().lock();
+    lockAll();
     try {
       executeInvalidateAll();
     } finally {
-      readWriteLock.writeLock().unlock();
+      unlockAll();
     }
   }
 
@@ -222,12 +289,12 @@ class DualKeyCacheImpl<FK, SK, V, T extends ICacheEntry<SK, V>>
 
   @Override
   public void cleanUp() {
-    readWriteLock.writeLock().lock();
+    lockAll();
     try {
       executeInvalidateAll();
       cacheStats.reset();
     } finally {
-      readWriteLock.writeLock().unlock();
+      unlockAll();
     }
   }
 
@@ -244,7 +311,8 @@ class DualKeyCacheImpl<FK, SK, V, T extends ICacheEntry<SK, V>>
 
     private static final int SLOT_NUM = 31;
 
-    private final Map<K, V>[] maps = new ConcurrentHashMap[SLOT_NUM];
+    // slots are read without lock by lock free get, thus the slot reference must be visible
+    private final AtomicReferenceArray<Map<K, V>> maps = new AtomicReferenceArray<>(SLOT_NUM);
 
     V get(K key) {
       return getBelongedMap(key).get(key);
@@ -257,7 +325,7 @@ class DualKeyCacheImpl<FK, SK, V, T extends ICacheEntry<SK, V>>
     void clear() {
       synchronized (maps) {
         for (int i = 0; i < SLOT_NUM; i++) {
-          maps[i] = null;
+          maps.set(i, null);
         }
       }
     }
@@ -265,13 +333,13 @@ class DualKeyCacheImpl<FK, SK, V, T extends ICacheEntry<SK, V>>
     Map<K, V> getBelongedMap(K key) {
       int slotIndex = key.hashCode() % SLOT_NUM;
       slotIndex = slotIndex < 0 ? slotIndex + SLOT_NUM : slotIndex;
-      Map<K, V> map = maps[slotIndex];
+      Map<K, V> map = maps.get(slotIndex);
       if (map == null) {
         synchronized (maps) {
-          map = maps[slotIndex];
+          map = maps.get(slotIndex);
           if (map == null) {
             map = new ConcurrentHashMap<>();
-            maps[slotIndex] = map;
+            maps.set(slotIndex, map);
           }
         }
       }
@@ -35,7 +35,11 @@ import java.nio.ByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 
 public class TagLogFile implements AutoCloseable {
@@ -54,6 +58,9 @@ public class TagLogFile implements AutoCloseable {
       IoTDBDescriptor.getInstance().getConfig().getTagAttributeFlushInterval();
   private int unFlushedRecordNum = 0;
 
+  // max number of records fetched by one read of a batched read
+  private static final int MAX_BATCH_READ_NUM = 64;
+
   public TagLogFile(String schemaDir, String logFileName) throws IOException {
 
     File metadataDir = SystemFileFactory.INSTANCE.getFile(schemaDir);
@@ -99,6 +106,54 @@ public class TagLogFile implements AutoCloseable {
     return new Pair<>(ReadWriteIOUtils.readMap(byteBuffer), ReadWriteIOUtils.readMap(byteBuffer));
   }
 
+  /**
+   * Read the records at positions in one pass. Positions are visited in ascending order and
+   * records close to each other are fetched with a single read, at most MAX_BATCH_READ_NUM records
+   * at a time.
+   *
+   * @return tags map and attributes map of each position, in the order of positions
+   */
+  public List<Pair<Map<String, String>, Map<String, String>>> read(int size, long[] positions)
+      throws IOException {
+    List<Pair<Map<String, String>, Map<String, String>>> result =
+        new ArrayList<>(Collections.nCopies(positions.length, null));
+    Integer[] order = new Integer[positions.length];
+    for (int i = 0; i < order.length; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, Comparator.comparingLong(i -> positions[i]));
+
+    int start = 0;
+    while (start < order.length && positions[order[start]] < 0) {
+      result.set(order[start++], new Pair<>(Collections.emptyMap(), Collections.emptyMap()));
+    }
+    while (start < order.length) {
+      // extend the batch while the gap to the next record is at most one record
+      long batchStart = positions[order[start]];
+      int end = start + 1;
+      while (end < order.length
+          && positions[order[end]] - positions[order[end - 1]] <= 2L * size
+          && positions[order[end]] - batchStart < (long) MAX_BATCH_READ_NUM * size) {
+        end++;
+      }
+      ByteBuffer byteBuffer =
+          ByteBuffer.allocate((int) (positions[order[end - 1]] - batchStart + size));
+      while (byteBuffer.hasRemaining()
+          && fileChannel.read(byteBuffer, batchStart + byteBuffer.position()) > 0) {
+        // read until the buffer is full or the end of file
+      }
+      for (int i = start; i < end; i++) {
+        byteBuffer.limit((int) (positions[order[i]] - batchStart) + size);
+        byteBuffer.position((int) (positions[order[i]] - batchStart));
+        result.set(
+            order[i],
+            new Pair<>(ReadWriteIOUtils.readMap(byteBuffer), ReadWriteIOUtils.readMap(byteBuffer)));
+      }
+      start = end;
+    }
+    return result;
+  }
+
   public Map<String, String> readTag(int size, long position) throws IOException {
     ByteBuffer byteBuffer = ByteBuffer.allocate(size);
     fileChannel.read(byteBuffer, position);
@@ -34,22 +34,22 @@ import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
 import org.apache.commons.io.FileUtils;
+import org.roaringbitmap.RoaringBitmap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.stream.Collectors.toList;
 
@@ -65,10 +65,13 @@ public class TagManager {
   private static final Logger logger = LoggerFactory.getLogger(TagManager.class);
   private static IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
 
+  // max number of timeseries whose tags and attributes are read from tagLogFile at a time
+  private static final int TAG_READ_BATCH_SIZE = 256;
+
   private String sgSchemaDirPath;
   private TagLogFile tagLogFile;
-  // tag key -> tag value -> LeafMNode
-  private Map<String, Map<String, Set<IMeasurementMNode>>> tagIndex = new ConcurrentHashMap<>();
+  // tag key -> tag value -> ids of LeafMNode
+  private final TagPostingIndex tagIndex = new TagPostingIndex();
 
   public TagManager(String sgSchemaDirPath) throws IOException {
     this.sgSchemaDirPath = sgSchemaDirPath;
@@ -139,10 +142,7 @@ public class TagManager {
     if (tagKey == null || tagValue == null || measurementMNode == null) {
       return;
     }
-    tagIndex
-        .computeIfAbsent(tagKey, k -> new ConcurrentHashMap<>())
-        .computeIfAbsent(tagValue, v -> Collections.synchronizedSet(new HashSet<>()))
-        .add(measurementMNode);
+    tagIndex.add(tagKey, tagValue, measurementMNode);
   }
 
   public void addIndex(Map<String, String> tagsMap, IMeasurementMNode measurementMNode) {
@@ -154,50 +154,32 @@ public class TagManager {
   }
 
   public void removeIndex(String tagKey, String tagValue, IMeasurementMNode measurementMNode) {
-    tagIndex.get(tagKey).get(tagValue).remove(measurementMNode);
-    if (tagIndex.get(tagKey).get(tagValue).isEmpty()) {
-      tagIndex.get(tagKey).remove(tagValue);
-    }
+    tagIndex.remove(tagKey, tagValue, measurementMNode);
   }
 
   private List<IMeasurementMNode> getMatchedTimeseriesInIndex(IShowTimeSeriesPlan plan) {
-    if (!tagIndex.containsKey(plan.getKey())) {
-      return Collections.emptyList();
-    }
-    Map<String, Set<IMeasurementMNode>> value2Node = tagIndex.get(plan.getKey());
-    if (value2Node.isEmpty()) {
-      return Collections.emptyList();
-    }
+    RoaringBitmap matchedIds =
+        plan.isContains()
+            ? tagIndex.getContains(plan.getKey(), plan.getValue())
+            : tagIndex.getExact(plan.getKey(), plan.getValue());
+    return sortByFullPath(tagIndex.getNodes(matchedIds));
+  }
 
-    List<IMeasurementMNode> allMatchedNodes = new ArrayList<>();
-    if (plan.isContains()) {
-      for (Map.Entry<String, Set<IMeasurementMNode>> entry : value2Node.entrySet()) {
-        if (entry.getKey() == null || entry.getValue() == null) {
-          continue;
-        }
-        String tagValue = entry.getKey();
-        if (tagValue.contains(plan.getValue())) {
-          allMatchedNodes.addAll(entry.getValue());
-        }
-      }
-    } else {
-      for (Map.Entry<String, Set<IMeasurementMNode>> entry : value2Node.entrySet()) {
-        if (entry.getKey() == null || entry.getValue() == null) {
-          continue;
-        }
-        String tagValue = entry.getKey();
-        if (plan.getValue().equals(tagValue)) {
-          allMatchedNodes.addAll(entry.getValue());
-        }
-      }
-    }
-    // we just sort them by the alphabetical order
-    allMatchedNodes =
-        allMatchedNodes.stream()
-            .sorted(Comparator.comparing(IMNode::getFullPath))
-            .collect(toList());
+  /**
+   * Get the timeseries matching multiple tags.
+   *
+   * @param tags tag key -> tag value, or the prefix of tag value if isPrefixMatch
+   * @param isAnd whether the timeseries should have all of the tags, or any of them
+   * @return the matched timeseries sorted by full path
+   */
+  public List<IMeasurementMNode> getMatchedTimeseriesInIndex(
+      Map<String, String> tags, boolean isAnd, boolean isPrefixMatch) {
+    return sortByFullPath(tagIndex.getNodes(tagIndex.getMatched(tags, isAnd, isPrefixMatch)));
+  }
 
-    return allMatchedNodes;
+  private List<IMeasurementMNode> sortByFullPath(List<IMeasurementMNode> nodes) {
+    // we just sort them by the alphabetical order
+    return nodes.stream().sorted(Comparator.comparing(IMNode::getFullPath)).collect(toList());
   }
 
   public ISchemaReader<ITimeSeriesSchemaInfo> getTimeSeriesReaderWithIndex(
@@ -220,6 +202,8 @@ public class TagManager {
     return new ISchemaReader<ITimeSeriesSchemaInfo>() {
       private ITimeSeriesSchemaInfo nextMatched;
       private Throwable throwable;
+      // matched timeseries whose tags and attributes have been read in a batch
+      private final Deque<ITimeSeriesSchemaInfo> batch = new ArrayDeque<>();
 
       @Override
       public boolean isSuccess() {
@@ -261,25 +245,44 @@ public class TagManager {
       }
 
       private void getNext() throws IOException {
-        nextMatched = null;
-        while (allMatchedNodes.hasNext()) {
+        if (batch.isEmpty()) {
+          readNextBatch();
+        }
+        nextMatched = batch.poll();
+      }
+
+      /** Collect the next matched nodes and read their tlog records in one pass. */
+      private void readNextBatch() throws IOException {
+        long batchSize = TAG_READ_BATCH_SIZE;
+        if (hasLimit) {
+          batchSize = Math.min(batchSize, limit - count);
+        }
+        List<IMeasurementMNode> nodes = new ArrayList<>();
+        while (nodes.size() < batchSize && allMatchedNodes.hasNext()) {
           IMeasurementMNode node = allMatchedNodes.next();
           if (plan.isPrefixMatch()
               ? pathPattern.prefixMatchFullPath(node.getPartialPath())
               : pathPattern.matchFullPath(node.getPartialPath())) {
-            Pair<Map<String, String>, Map<String, String>> tagAndAttributePair =
-                readTagFile(node.getOffset());
-            nextMatched =
-                new ShowTimeSeriesResult(
-                    node.getFullPath(),
-                    node.getAlias(),
-                    (MeasurementSchema) node.getSchema(),
-                    tagAndAttributePair.left,
-                    tagAndAttributePair.right,
-                    node.getParent().isAligned());
-            break;
+            nodes.add(node);
           }
         }
+        long[] tagFileOffsets = new long[nodes.size()];
+        for (int i = 0; i < tagFileOffsets.length; i++) {
+          tagFileOffsets[i] = nodes.get(i).getOffset();
+        }
+        List<Pair<Map<String, String>, Map<String, String>>> tagAndAttributePairs =
+            tagLogFile.read(config.getTagAttributeTotalSize(), tagFileOffsets);
+        for (int i = 0; i < tagFileOffsets.length; i++) {
+          IMeasurementMNode node = nodes.get(i);
+          batch.add(
+              new ShowTimeSeriesResult(
+                  node.getFullPath(),
+                  node.getAlias(),
+                  (MeasurementSchema) node.getSchema(),
+                  tagAndAttributePairs.get(i).left,
+                  tagAndAttributePairs.get(i).right,
+                  node.getParent().isAligned()));
+        }
       }
     };
   }
@@ -293,8 +296,7 @@ public class TagManager {
         tagLogFile.readTag(config.getTagAttributeTotalSize(), node.getOffset());
     if (tagMap != null) {
       for (Map.Entry<String, String> entry : tagMap.entrySet()) {
-        if (tagIndex.containsKey(entry.getKey())
-            && tagIndex.get(entry.getKey()).containsKey(entry.getValue())) {
+        if (tagIndex.contains(entry.getKey(), entry.getValue())) {
           if (logger.isDebugEnabled()) {
             logger.debug(
                 String.format(
@@ -303,13 +305,7 @@ public class TagManager {
                     entry.getValue(),
                     node.getOffset()));
           }
-          tagIndex.get(entry.getKey()).get(entry.getValue()).remove(node);
-          if (tagIndex.get(entry.getKey()).get(entry.getValue()).isEmpty()) {
-            tagIndex.get(entry.getKey()).remove(entry.getValue());
-            if (tagIndex.get(entry.getKey()).isEmpty()) {
-              tagIndex.remove(entry.getKey());
-            }
-          }
+          tagIndex.remove(entry.getKey(), entry.getValue(), node);
         } else {
           if (logger.isDebugEnabled()) {
             logger.debug(
@@ -323,6 +319,7 @@ public class TagManager {
         }
       }
     }
+    tagIndex.removeSeries(node);
   }
 
   /**
@@ -346,7 +343,7 @@ public class TagManager {
         // we should remove before key-value from inverted index map
         if (beforeValue != null && !beforeValue.equals(value)) {
 
-          if (tagIndex.containsKey(key) && tagIndex.get(key).containsKey(beforeValue)) {
+          if (tagIndex.contains(key, beforeValue)) {
             if (logger.isDebugEnabled()) {
               logger.debug(
                   String.format(
@@ -475,33 +472,21 @@ public class TagManager {
     // persist the change to disk
     tagLogFile.write(pair.left, pair.right, leafMNode.getOffset());
 
-    Map<String, Set<IMeasurementMNode>> tagVal2LeafMNodeSet;
-    Set<IMeasurementMNode> MMNodes;
     for (Map.Entry<String, String> entry : deleteTag.entrySet()) {
       String key = entry.getKey();
       String value = entry.getValue();
       // change the tag inverted index map
-      tagVal2LeafMNodeSet = tagIndex.get(key);
-      if (tagVal2LeafMNodeSet != null) {
-        MMNodes = tagVal2LeafMNodeSet.get(value);
-        if (MMNodes != null) {
-          if (logger.isDebugEnabled()) {
-            logger.debug(
-                String.format(
-                    String.format(DEBUG_MSG, "Drop" + TAG_FORMAT, leafMNode.getFullPath()),
-                    entry.getKey(),
-                    entry.getValue(),
-                    leafMNode.getOffset()));
-          }
-
-          MMNodes.remove(leafMNode);
-          if (MMNodes.isEmpty()) {
-            tagVal2LeafMNodeSet.remove(value);
-            if (tagVal2LeafMNodeSet.isEmpty()) {
-              tagIndex.remove(key);
-            }
-          }
+      if (tagIndex.contains(key, value)) {
+        if (logger.isDebugEnabled()) {
+          logger.debug(
+              String.format(
+                  String.format(DEBUG_MSG, "Drop" + TAG_FORMAT, leafMNode.getFullPath()),
+                  entry.getKey(),
+                  entry.getValue(),
+                  leafMNode.getOffset()));
         }
+
+        tagIndex.remove(key, value, leafMNode);
       } else {
         if (logger.isDebugEnabled()) {
           logger.debug(
@@ -557,7 +542,7 @@ public class TagManager {
       String beforeValue = entry.getValue();
       String currentValue = newTagValue.get(key);
       // change the tag inverted index map
-      if (tagIndex.containsKey(key) && tagIndex.get(key).containsKey(beforeValue)) {
+      if (tagIndex.contains(key, beforeValue)) {
 
         if (logger.isDebugEnabled()) {
           logger.debug(
@@ -568,7 +553,7 @@ public class TagManager {
                   leafMNode.getOffset()));
         }
 
-        tagIndex.get(key).get(beforeValue).remove(leafMNode);
+        tagIndex.remove(key, beforeValue, leafMNode);
       } else {
         if (logger.isDebugEnabled()) {
           logger.debug(
@@ -614,7 +599,7 @@ public class TagManager {
       // persist the change to disk
       tagLogFile.write(pair.left, pair.right, leafMNode.getOffset());
       // change the tag inverted index map
-      if (tagIndex.containsKey(oldKey) && tagIndex.get(oldKey).containsKey(value)) {
+      if (tagIndex.contains(oldKey, value)) {
 
         if (logger.isDebugEnabled()) {
           logger.debug(
@@ -625,7 +610,7 @@ public class TagManager {
                   leafMNode.getOffset()));
         }
 
-        tagIndex.get(oldKey).get(value).remove(leafMNode);
+        tagIndex.remove(oldKey, value, leafMNode);
 
       } else {
         if (logger.isDebugEnabled()) {
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.tag;
+
+import org.apache.iotdb.db.metadata.mnode.IMeasurementMNode;
+
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tag inverted index of a schema region. Every indexed timeseries gets a dense int id and each tag
+ * key-value keeps the ids of its timeseries in a compressed {@link RoaringBitmap}, so a timeseries
+ * costs a few bytes per tag instead of a set entry per tag.
+ *
+ * <p>Tag values of a key are sorted, which supports prefix matching. Multi-tag conditions are
+ * evaluated by intersecting or unioning the bitmaps before any node is touched.
+ */
+public class TagPostingIndex {
+
+  private static final int INITIAL_CAPACITY = 1024;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  // tag key -> tag value -> ids of timeseries
+  private final Map<String, NavigableMap<String, RoaringBitmap>> index = new HashMap<>();
+
+  // id -> timeseries, null if the timeseries has been removed
+  private IMeasurementMNode[] nodes = new IMeasurementMNode[INITIAL_CAPACITY];
+  private final Map<IMeasurementMNode, Integer> ids = new HashMap<>();
+  private int nextId = 0;
+
+  public void add(String tagKey, String tagValue, IMeasurementMNode node) {
+    lock.writeLock().lock();
+    try {
+      int id = ids.computeIfAbsent(node, this::allocateId);
+      index
+          .computeIfAbsent(tagKey, k -> new TreeMap<>())
+          .computeIfAbsent(tagValue, v -> new RoaringBitmap())
+          .add(id);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** @return false if the tag key-value of the timeseries is not in the index */
+  public boolean remove(String tagKey, String tagValue, IMeasurementMNode node) {
+    lock.writeLock().lock();
+    try {
+      Integer id = ids.get(node);
+      NavigableMap<String, RoaringBitmap> value2Ids = index.get(tagKey);
+      if (id == null || value2Ids == null) {
+        return false;
+      }
+      RoaringBitmap posting = value2Ids.get(tagValue);
+      if (posting == null || !posting.checkedRemove(id)) {
+        return false;
+      }
+      if (posting.isEmpty()) {
+        value2Ids.remove(tagValue);
+        if (value2Ids.isEmpty()) {
+          index.remove(tagKey);
+        }
+      }
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Forget a deleted timeseries. Its id is not reused until the index is rebuilt, so a posting that
+   * still holds the id can never match another timeseries.
+   */
+  public void removeSeries(IMeasurementMNode node) {
+    lock.writeLock().lock();
+    try {
+      Integer id = ids.remove(node);
+      if (id != null) {
+        nodes[id] = null;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public boolean containsKey(String tagKey) {
+    lock.readLock().lock();
+    try {
+      return index.containsKey(tagKey);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public boolean contains(String tagKey, String tagValue) {
+    lock.readLock().lock();
+    try {
+      NavigableMap<String, RoaringBitmap> value2Ids = index.get(tagKey);
+      return value2Ids != null && value2Ids.containsKey(tagValue);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** @return ids of the timeseries whose tag value of tagKey equals tagValue */
+  public RoaringBitmap getExact(String tagKey, String tagValue) {
+    lock.readLock().lock();
+    try {
+      NavigableMap<String, RoaringBitmap> value2Ids = index.get(tagKey);
+      RoaringBitmap posting = value2Ids == null ? null : value2Ids.get(tagValue);
+      return posting == null ? new RoaringBitmap() : posting.clone();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** @return ids of the timeseries whose tag value of tagKey starts with prefix */
+  public RoaringBitmap getPrefix(String tagKey, String prefix) {
+    lock.readLock().lock();
+    try {
+      RoaringBitmap result = new RoaringBitmap();
+      NavigableMap<String, RoaringBitmap> value2Ids = index.get(tagKey);
+      if (value2Ids == null) {
+        return result;
+      }
+      for (Map.Entry<String, RoaringBitmap> entry : value2Ids.tailMap(prefix, true).entrySet()) {
+        if (!entry.getKey().startsWith(prefix)) {
+          break;
+        }
+        result.or(entry.getValue());
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** @return ids of the timeseries whose tag value of tagKey contains subString */
+  public RoaringBitmap getContains(String tagKey, String subString) {
+    lock.readLock().lock();
+    try {
+      RoaringBitmap result = new RoaringBitmap();
+      NavigableMap<String, RoaringBitmap> value2Ids = index.get(tagKey);
+      if (value2Ids == null) {
+        return result;
+      }
+      for (Map.Entry<String, RoaringBitmap> entry : value2Ids.entrySet()) {
+        if (entry.getKey().contains(subString)) {
+          result.or(entry.getValue());
+        }
+      }
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * @param tags tag key -> tag value, or the prefix of it if isPrefixMatch
+   * @param isAnd whether the timeseries should match all of the tags, or any of them
+   * @return ids of the matched timeseries
+   */
+  public RoaringBitmap getMatched(Map<String, String> tags, boolean isAnd, boolean isPrefixMatch) {
+    RoaringBitmap result = null;
+    for (Map.Entry<String, String> entry : tags.entrySet()) {
+      RoaringBitmap posting =
+          isPrefixMatch
+              ? getPrefix(entry.getKey(), entry.getValue())
+              : getExact(entry.getKey(), entry.getValue());
+      if (result == null) {
+        result = posting;
+      } else if (isAnd) {
+        result.and(posting);
+      } else {
+        result.or(posting);
+      }
+      if (isAnd && result.isEmpty()) {
+        break;
+      }
+    }
+    return result == null ? new RoaringBitmap() : result;
+  }
+
+  /** @return the timeseries of ids, skipping the ones removed since ids were matched */
+  public List<IMeasurementMNode> getNodes(RoaringBitmap seriesIds) {
+    lock.readLock().lock();
+    try {
+      List<IMeasurementMNode> result = new ArrayList<>(seriesIds.getCardinality());
+      seriesIds.forEach(
+          (int id) -> {
+            if (id < nodes.length && nodes[id] != null) {
+              result.add(nodes[id]);
+            }
+          });
+      return result;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  public void clear() {
+    lock.writeLock().lock();
+    try {
+      index.clear();
+      ids.clear();
+      nodes = new IMeasurementMNode[INITIAL_CAPACITY];
+      nextId = 0;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private int allocateId(IMeasurementMNode node) {
+    int id = nextId++;
+    if (id == nodes.length) {
+      nodes = Arrays.copyOf(nodes, nodes.length * 2);
+    }
+    nodes[id] = node;
+    return id;
+  }
+}
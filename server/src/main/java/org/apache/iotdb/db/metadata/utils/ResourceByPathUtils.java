@@ -208,11 +208,16 @@ class AlignedResourceByPathUtils extends ResourceByPathUtils {
     }
     // get sorted tv list is synchronized so different query can get right sorted list reference
     TVList alignedTvListCopy = alignedMemChunk.getSortedTvListForQuery(partialPath.getSchemaList());
-    List<List<TimeRange>> deletionList = null;
-    if (modsToMemtable != null) {
-      deletionList = constructDeletionList(memTable, modsToMemtable, timeLowerBound);
+    try {
+      List<List<TimeRange>> deletionList = null;
+      if (modsToMemtable != null) {
+        deletionList = constructDeletionList(memTable, modsToMemtable, timeLowerBound);
+      }
+      return new AlignedReadOnlyMemChunk(getMeasurementSchema(), alignedTvListCopy, deletionList);
+    } finally {
+      // the data has been copied into the read only chunk, the list can be sorted in place again
+      alignedTvListCopy.decreaseReferenceCount();
     }
-    return new AlignedReadOnlyMemChunk(getMeasurementSchema(), alignedTvListCopy, deletionList);
   }
 
   public VectorMeasurementSchema getMeasurementSchema() {
@@ -351,17 +356,22 @@ class MeasurementResourceByPathUtils extends ResourceByPathUtils {
         memTableMap.get(deviceID).getMemChunkMap().get(partialPath.getMeasurement());
     // get sorted tv list is synchronized so different query can get right sorted list reference
     TVList chunkCopy = memChunk.getSortedTvListForQuery();
-    List<TimeRange> deletionList = null;
-    if (modsToMemtable != null) {
-      deletionList = constructDeletionList(memTable, modsToMemtable, timeLowerBound);
+    try {
+      List<TimeRange> deletionList = null;
+      if (modsToMemtable != null) {
+        deletionList = constructDeletionList(memTable, modsToMemtable, timeLowerBound);
+      }
+      return new ReadOnlyMemChunk(
+          partialPath.getMeasurement(),
+          partialPath.getMeasurementSchema().getType(),
+          partialPath.getMeasurementSchema().getEncodingType(),
+          chunkCopy,
+          partialPath.getMeasurementSchema().getProps(),
+          deletionList);
+    } finally {
+      // the data has been copied into the read only chunk, the list can be sorted in place again
+      chunkCopy.decreaseReferenceCount();
     }
-    return new ReadOnlyMemChunk(
-        partialPath.getMeasurement(),
-        partialPath.getMeasurementSchema().getType(),
-        partialPath.getMeasurementSchema().getEncodingType(),
-        chunkCopy,
-        partialPath.getMeasurementSchema().getProps(),
-        deletionList);
   }
   /**
    * construct a deletion list from a memtable.
@@ -51,6 +51,14 @@ public interface Accumulator {
    */
   void addStatistics(Statistics statistics);
 
+  /**
+   * This method can only be used in seriesAggregateScanOperator. Some accumulators can only be
+   * calculated from statistics in special cases, raw data will be read instead if it returns false.
+   */
+  default boolean canUseStatistics(Statistics statistics) {
+    return true;
+  }
+
   /**
    * Attention: setFinal should be invoked only once, and addInput() and addIntermediate() are not
    * allowed again.
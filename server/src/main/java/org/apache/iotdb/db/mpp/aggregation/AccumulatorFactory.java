@@ -69,6 +69,21 @@ public class AccumulatorFactory {
             Boolean.parseBoolean(inputAttributes.getOrDefault("ignoreNull", "true")));
       case TIME_DURATION:
         return new TimeDurationAccumulator();
+      case APPROX_COUNT_DISTINCT:
+        return new ApproxCountDistinctAccumulator(tsDataType);
+      case VAR_SAMP:
+        return new VarianceAccumulator(tsDataType, VarianceAccumulator.VarianceType.VAR_SAMP);
+      case VAR_POP:
+        return new VarianceAccumulator(tsDataType, VarianceAccumulator.VarianceType.VAR_POP);
+      case STDDEV_SAMP:
+        return new VarianceAccumulator(tsDataType, VarianceAccumulator.VarianceType.STDDEV_SAMP);
+      case STDDEV_POP:
+        return new VarianceAccumulator(tsDataType, VarianceAccumulator.VarianceType.STDDEV_POP);
+      case APPROX_PERCENTILE:
+        return new ApproxPercentileAccumulator(
+            tsDataType,
+            Double.parseDouble(inputAttributes.getOrDefault("rank", "0.5")),
+            Double.parseDouble(inputAttributes.getOrDefault("error", "0.01")));
       default:
         throw new IllegalArgumentException("Invalid Aggregation function: " + aggregationType);
     }
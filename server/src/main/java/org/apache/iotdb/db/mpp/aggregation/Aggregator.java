@@ -130,6 +130,17 @@ public class Aggregator {
     }
   }
 
+  /** Used for SeriesAggregateScanOperator. */
+  public boolean canProcessStatistics(Statistics[] statistics) {
+    for (InputLocation[] inputLocations : inputLocationList) {
+      int valueIndex = inputLocations[0].getValueColumnIndex();
+      if (!accumulator.canUseStatistics(statistics[valueIndex])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public TSDataType[] getOutputType() {
     if (step.isOutputPartial()) {
       return accumulator.getIntermediateType();
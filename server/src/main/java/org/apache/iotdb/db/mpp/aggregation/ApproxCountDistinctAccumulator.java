@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.aggregation;
+
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.BitMap;
+import org.apache.iotdb.tsfile.utils.HyperLogLog;
+
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Estimates the number of distinct values with a {@link HyperLogLog} sketch. The intermediate
+ * result is the serialized sketch, so partial results of different regions can be merged.
+ *
+ * <p>Statistics are used when they carry a distinct sketch (see {@link
+ * Statistics#getDistinctSketch()}) or when all values of the chunk/page are the same, otherwise the
+ * raw data is read.
+ */
+public class ApproxCountDistinctAccumulator implements Accumulator {
+
+  private final TSDataType seriesDataType;
+  private final HyperLogLog sketch = new HyperLogLog();
+  private long finalResult = -1;
+
+  public ApproxCountDistinctAccumulator(TSDataType seriesDataType) {
+    this.seriesDataType = seriesDataType;
+  }
+
+  // Column should be like: | Time | Value |
+  @Override
+  public void addInput(Column[] column, BitMap bitMap, int lastIndex) {
+    for (int i = 0; i <= lastIndex; i++) {
+      if (bitMap != null && !bitMap.isMarked(i)) {
+        continue;
+      }
+      if (column[1].isNull(i)) {
+        continue;
+      }
+      switch (seriesDataType) {
+        case INT32:
+          sketch.add(column[1].getInt(i));
+          break;
+        case INT64:
+          sketch.add(column[1].getLong(i));
+          break;
+        case FLOAT:
+          sketch.add(column[1].getFloat(i));
+          break;
+        case DOUBLE:
+          sketch.add(column[1].getDouble(i));
+          break;
+        case TEXT:
+          sketch.add(column[1].getBinary(i));
+          break;
+        case BOOLEAN:
+          sketch.add(column[1].getBoolean(i));
+          break;
+        default:
+          throw new UnSupportedDataTypeException(
+              String.format("Unsupported data type in ApproxCountDistinct: %s", seriesDataType));
+      }
+    }
+  }
+
+  // partialResult should be like: | serializedSketch |
+  @Override
+  public void addIntermediate(Column[] partialResult) {
+    checkArgument(partialResult.length == 1, "partialResult of ApproxCountDistinct should be 1");
+    if (partialResult[0].isNull(0)) {
+      return;
+    }
+    sketch.merge(
+        HyperLogLog.deserialize(ByteBuffer.wrap(partialResult[0].getBinary(0).getValues())));
+  }
+
+  @Override
+  public boolean canUseStatistics(Statistics statistics) {
+    if (statistics == null || statistics.getCount() == 0) {
+      return true;
+    }
+    HyperLogLog distinctSketch = statistics.getDistinctSketch();
+    if (distinctSketch != null && distinctSketch.getPrecision() == sketch.getPrecision()) {
+      return true;
+    }
+    switch (seriesDataType) {
+      case INT32:
+      case INT64:
+      case FLOAT:
+      case DOUBLE:
+        return statistics.getMinValue().equals(statistics.getMaxValue());
+      case BOOLEAN:
+        long trueCount = statistics.getSumLongValue();
+        return trueCount == 0 || trueCount == statistics.getCount();
+      case TEXT:
+      default:
+        return false;
+    }
+  }
+
+  @Override
+  public void addStatistics(Statistics statistics) {
+    if (statistics == null || statistics.getCount() == 0) {
+      return;
+    }
+    HyperLogLog distinctSketch = statistics.getDistinctSketch();
+    if (distinctSketch != null && distinctSketch.getPrecision() == sketch.getPrecision()) {
+      sketch.merge(distinctSketch);
+      return;
+    }
+    switch (seriesDataType) {
+      case INT32:
+        sketch.add((int) statistics.getMinValue());
+        break;
+      case INT64:
+        sketch.add((long) statistics.getMinValue());
+        break;
+      case FLOAT:
+        sketch.add((float) statistics.getMinValue());
+        break;
+      case DOUBLE:
+        sketch.add((double) statistics.getMinValue());
+        break;
+      case BOOLEAN:
+        sketch.add(statistics.getSumLongValue() != 0);
+        break;
+      case TEXT:
+      default:
+        throw new UnSupportedDataTypeException(
+            String.format("Unsupported data type in ApproxCountDistinct: %s", seriesDataType));
+    }
+  }
+
+  // finalResult should be single column, like: | finalCountValue |
+  @Override
+  public void setFinal(Column finalResult) {
+    if (finalResult.isNull(0)) {
+      return;
+    }
+    this.finalResult = finalResult.getLong(0);
+  }
+
+  @Override
+  public void outputIntermediate(ColumnBuilder[] columnBuilders) {
+    checkArgument(columnBuilders.length == 1, "partialResult of ApproxCountDistinct should be 1");
+    if (sketch.isEmpty()) {
+      columnBuilders[0].appendNull();
+    } else {
+      columnBuilders[0].writeBinary(new Binary(sketch.serialize()));
+    }
+  }
+
+  @Override
+  public void outputFinal(ColumnBuilder columnBuilder) {
+    columnBuilder.writeLong(finalResult >= 0 ? finalResult : sketch.cardinality());
+  }
+
+  @Override
+  public void reset() {
+    sketch.reset();
+    finalResult = -1;
+  }
+
+  @Override
+  public boolean hasFinalResult() {
+    return false;
+  }
+
+  @Override
+  public TSDataType[] getIntermediateType() {
+    return new TSDataType[] {TSDataType.TEXT};
+  }
+
+  @Override
+  public TSDataType getFinalType() {
+    return TSDataType.INT64;
+  }
+}
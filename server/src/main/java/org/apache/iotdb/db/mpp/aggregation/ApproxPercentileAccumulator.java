@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.aggregation;
+
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.BitMap;
+import org.apache.iotdb.tsfile.utils.QuantileSketch;
+
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Estimates the value at the given rank with a {@link QuantileSketch}, the result is within the
+ * given relative error of the exact one. The intermediate result is the serialized sketch.
+ *
+ * <p>Statistics are used when all values of the chunk/page are the same, otherwise the raw data is
+ * read.
+ */
+public class ApproxPercentileAccumulator implements Accumulator {
+
+  private final TSDataType seriesDataType;
+  private final double rank;
+  private final QuantileSketch sketch;
+
+  private boolean isFinalResultSet;
+  private boolean isFinalResultNull;
+  private double finalResult;
+
+  public ApproxPercentileAccumulator(TSDataType seriesDataType, double rank, double relativeError) {
+    this.seriesDataType = seriesDataType;
+    this.rank = rank;
+    this.sketch = new QuantileSketch(relativeError);
+  }
+
+  // Column should be like: | Time | Value |
+  @Override
+  public void addInput(Column[] column, BitMap bitMap, int lastIndex) {
+    for (int i = 0; i <= lastIndex; i++) {
+      if (bitMap != null && !bitMap.isMarked(i)) {
+        continue;
+      }
+      if (column[1].isNull(i)) {
+        continue;
+      }
+      switch (seriesDataType) {
+        case INT32:
+          sketch.add(column[1].getInt(i));
+          break;
+        case INT64:
+          sketch.add(column[1].getLong(i));
+          break;
+        case FLOAT:
+          sketch.add(column[1].getFloat(i));
+          break;
+        case DOUBLE:
+          sketch.add(column[1].getDouble(i));
+          break;
+        case TEXT:
+        case BOOLEAN:
+        default:
+          throw new UnSupportedDataTypeException(
+              String.format("Unsupported data type in ApproxPercentile: %s", seriesDataType));
+      }
+    }
+  }
+
+  // partialResult should be like: | serializedSketch |
+  @Override
+  public void addIntermediate(Column[] partialResult) {
+    checkArgument(partialResult.length == 1, "partialResult of ApproxPercentile should be 1");
+    if (partialResult[0].isNull(0)) {
+      return;
+    }
+    sketch.merge(
+        QuantileSketch.deserialize(ByteBuffer.wrap(partialResult[0].getBinary(0).getValues())));
+  }
+
+  @Override
+  public boolean canUseStatistics(Statistics statistics) {
+    return statistics == null
+        || statistics.getCount() == 0
+        || statistics.getMinValue().equals(statistics.getMaxValue());
+  }
+
+  @Override
+  public void addStatistics(Statistics statistics) {
+    if (statistics == null || statistics.getCount() == 0) {
+      return;
+    }
+    sketch.add(((Number) statistics.getMinValue()).doubleValue(), statistics.getCount());
+  }
+
+  // finalResult should be single column, like: | finalPercentileValue |
+  @Override
+  public void setFinal(Column finalResult) {
+    isFinalResultSet = true;
+    if (finalResult.isNull(0)) {
+      isFinalResultNull = true;
+      return;
+    }
+    this.finalResult = finalResult.getDouble(0);
+  }
+
+  @Override
+  public void outputIntermediate(ColumnBuilder[] columnBuilders) {
+    checkArgument(columnBuilders.length == 1, "partialResult of ApproxPercentile should be 1");
+    if (sketch.isEmpty()) {
+      columnBuilders[0].appendNull();
+    } else {
+      columnBuilders[0].writeBinary(new Binary(sketch.serialize()));
+    }
+  }
+
+  @Override
+  public void outputFinal(ColumnBuilder columnBuilder) {
+    if (isFinalResultSet) {
+      if (isFinalResultNull) {
+        columnBuilder.appendNull();
+      } else {
+        columnBuilder.writeDouble(finalResult);
+      }
+    } else if (sketch.isEmpty()) {
+      columnBuilder.appendNull();
+    } else {
+      columnBuilder.writeDouble(sketch.quantile(rank));
+    }
+  }
+
+  @Override
+  public void reset() {
+    sketch.reset();
+    isFinalResultSet = false;
+    isFinalResultNull = false;
+    finalResult = 0;
+  }
+
+  @Override
+  public boolean hasFinalResult() {
+    return false;
+  }
+
+  @Override
+  public TSDataType[] getIntermediateType() {
+    return new TSDataType[] {TSDataType.TEXT};
+  }
+
+  @Override
+  public TSDataType getFinalType() {
+    return TSDataType.DOUBLE;
+  }
+}
@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.mpp.aggregation;
+
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.BitMap;
+
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Calculates the variance or standard deviation with Welford's algorithm. The intermediate result
+ * is the serialized count, mean and sum of squared differences from the mean (M2), partial results
+ * are combined with the parallel formula of Chan et al.
+ *
+ * <p>Statistics don't keep the sum of squares, they are used when all values of the chunk/page are
+ * the same, otherwise the raw data is read.
+ */
+public class VarianceAccumulator implements Accumulator {
+
+  public enum VarianceType {
+    VAR_SAMP,
+    VAR_POP,
+    STDDEV_SAMP,
+    STDDEV_POP
+  }
+
+  private static final int STATE_SIZE = Long.BYTES + 2 * Double.BYTES;
+
+  private final TSDataType seriesDataType;
+  private final VarianceType varianceType;
+
+  private long count;
+  private double mean;
+  private double m2;
+
+  private boolean isFinalResultSet;
+  private boolean isFinalResultNull;
+  private double finalResult;
+
+  public VarianceAccumulator(TSDataType seriesDataType, VarianceType varianceType) {
+    this.seriesDataType = seriesDataType;
+    this.varianceType = varianceType;
+  }
+
+  // Column should be like: | Time | Value |
+  @Override
+  public void addInput(Column[] column, BitMap bitMap, int lastIndex) {
+    for (int i = 0; i <= lastIndex; i++) {
+      if (bitMap != null && !bitMap.isMarked(i)) {
+        continue;
+      }
+      if (column[1].isNull(i)) {
+        continue;
+      }
+      switch (seriesDataType) {
+        case INT32:
+          update(column[1].getInt(i));
+          break;
+        case INT64:
+          update(column[1].getLong(i));
+          break;
+        case FLOAT:
+          update(column[1].getFloat(i));
+          break;
+        case DOUBLE:
+          update(column[1].getDouble(i));
+          break;
+        case TEXT:
+        case BOOLEAN:
+        default:
+          throw new UnSupportedDataTypeException(
+              String.format("Unsupported data type in Variance: %s", seriesDataType));
+      }
+    }
+  }
+
+  // partialResult should be like: | serializedState |
+  @Override
+  public void addIntermediate(Column[] partialResult) {
+    checkArgument(partialResult.length == 1, "partialResult of Variance should be 1");
+    if (partialResult[0].isNull(0)) {
+      return;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(partialResult[0].getBinary(0).getValues());
+    merge(buffer.getLong(), buffer.getDouble(), buffer.getDouble());
+  }
+
+  @Override
+  public boolean canUseStatistics(Statistics statistics) {
+    return statistics == null
+        || statistics.getCount() == 0
+        || statistics.getMinValue().equals(statistics.getMaxValue());
+  }
+
+  @Override
+  public void addStatistics(Statistics statistics) {
+    if (statistics == null || statistics.getCount() == 0) {
+      return;
+    }
+    // all values are the same, so they contribute nothing to M2
+    merge(statistics.getCount(), ((Number) statistics.getMinValue()).doubleValue(), 0);
+  }
+
+  // finalResult should be single column, like: | finalVarianceValue |
+  @Override
+  public void setFinal(Column finalResult) {
+    isFinalResultSet = true;
+    if (finalResult.isNull(0)) {
+      isFinalResultNull = true;
+      return;
+    }
+    this.finalResult = finalResult.getDouble(0);
+  }
+
+  @Override
+  public void outputIntermediate(ColumnBuilder[] columnBuilders) {
+    checkArgument(columnBuilders.length == 1, "partialResult of Variance should be 1");
+    if (count == 0) {
+      columnBuilders[0].appendNull();
+      return;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(STATE_SIZE);
+    buffer.putLong(count);
+    buffer.putDouble(mean);
+    buffer.putDouble(m2);
+    columnBuilders[0].writeBinary(new Binary(buffer.array()));
+  }
+
+  @Override
+  public void outputFinal(ColumnBuilder columnBuilder) {
+    if (isFinalResultSet) {
+      if (isFinalResultNull) {
+        columnBuilder.appendNull();
+      } else {
+        columnBuilder.writeDouble(finalResult);
+      }
+      return;
+    }
+    switch (varianceType) {
+      case VAR_SAMP:
+      case STDDEV_SAMP:
+        if (count < 2) {
+          columnBuilder.appendNull();
+          return;
+        }
+        double sampleVariance = m2 / (count - 1);
+        columnBuilder.writeDouble(
+            varianceType == VarianceType.VAR_SAMP ? sampleVariance : Math.sqrt(sampleVariance));
+        return;
+      case VAR_POP:
+      case STDDEV_POP:
+        if (count == 0) {
+          columnBuilder.appendNull();
+          return;
+        }
+        double populationVariance = m2 / count;
+        columnBuilder.writeDouble(
+            varianceType == VarianceType.VAR_POP
+                ? populationVariance
+                : Math.sqrt(populationVariance));
+        return;
+      default:
+        throw new IllegalArgumentException("Unknown variance type: " + varianceType);
+    }
+  }
+
+  @Override
+  public void reset() {
+    count = 0;
+    mean = 0;
+    m2 = 0;
+    isFinalResultSet = false;
+    isFinalResultNull = false;
+    finalResult = 0;
+  }
+
+  @Override
+  public boolean hasFinalResult() {
+    return false;
+  }
+
+  @Override
+  public TSDataType[] getIntermediateType() {
+    return new TSDataType[] {TSDataType.TEXT};
+  }
+
+  @Override
+  public TSDataType getFinalType() {
+    return TSDataType.DOUBLE;
+  }
+
+  private void update(double value) {
+    count++;
+    double delta = value - mean;
+    mean += delta / count;
+    m2 += delta * (value - mean);
+  }
+
+  private void merge(long otherCount, double otherMean, double otherM2) {
+    if (otherCount == 0) {
+      return;
+    }
+    long newCount = count + otherCount;
+    double delta = otherMean - mean;
+    mean += delta * otherCount / newCount;
+    m2 += otherM2 + delta * delta * count * otherCount / newCount;
+    count = newCount;
+  }
+}
@@ -154,6 +154,14 @@ public class SlidingWindowAggregatorFactory {
         throw new SemanticException("COUNT_IF with slidingWindow is not supported now");
       case TIME_DURATION:
         throw new SemanticException("TIME_DURATION with slidingWindow is not supported now");
+      case APPROX_COUNT_DISTINCT:
+      case VAR_SAMP:
+      case VAR_POP:
+      case STDDEV_SAMP:
+      case STDDEV_POP:
+      case APPROX_PERCENTILE:
+        throw new SemanticException(
+            String.format("%s with slidingWindow is not supported now", aggregationType));
       default:
         throw new IllegalArgumentException("Invalid Aggregation Type: " + aggregationType);
     }
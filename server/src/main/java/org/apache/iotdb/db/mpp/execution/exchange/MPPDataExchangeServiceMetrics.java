@@ -29,6 +29,15 @@ import org.apache.iotdb.metrics.utils.MetricLevel;
 import org.apache.iotdb.metrics.utils.MetricType;
 
 public class MPPDataExchangeServiceMetrics implements IMetricSet {
+
+  /** Retained size of TsBlocks sent to other nodes */
+  public static final String LOGICAL_BYTES = "logical_bytes";
+
+  /**
+   * Serialized size of TsBlocks sent to other nodes, which may be encoded compactly or compressed
+   */
+  public static final String WIRE_BYTES = "wire_bytes";
+
   private AbstractThriftServiceThread thriftServiceThread;
 
   public MPPDataExchangeServiceMetrics(AbstractThriftServiceThread thriftServiceThread) {
@@ -44,6 +53,10 @@ public class MPPDataExchangeServiceMetrics implements IMetricSet {
         AbstractThriftServiceThread::getActiveThreadCount,
         Tag.NAME.toString(),
         ThreadName.MPP_DATA_EXCHANGE_RPC_SERVICE.getName());
+    for (String type : new String[] {LOGICAL_BYTES, WIRE_BYTES}) {
+      metricService.getOrCreateCounter(
+          Metric.DATA_EXCHANGE_SIZE.toString(), MetricLevel.IMPORTANT, Tag.TYPE.toString(), type);
+    }
   }
 
   @Override
@@ -53,6 +66,10 @@ public class MPPDataExchangeServiceMetrics implements IMetricSet {
         Metric.THRIFT_ACTIVE_THREADS.toString(),
         Tag.NAME.toString(),
         ThreadName.MPP_DATA_EXCHANGE_RPC_SERVICE.getName());
+    for (String type : new String[] {LOGICAL_BYTES, WIRE_BYTES}) {
+      metricService.remove(
+          MetricType.COUNTER, Metric.DATA_EXCHANGE_SIZE.toString(), Tag.TYPE.toString(), type);
+    }
   }
 
   public AbstractThriftServiceThread getThriftServiceThread() {
@@ -19,13 +19,23 @@
 
 package org.apache.iotdb.db.mpp.execution.exchange;
 
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.tsfile.read.common.block.column.TsBlockSerde;
 
 import java.util.function.Supplier;
 
 public class TsBlockSerdeFactory implements Supplier<TsBlockSerde> {
+
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  /**
+   * The format of serialized TsBlocks is decided by the sender, and receivers can deserialize all
+   * formats.
+   */
   @Override
   public TsBlockSerde get() {
-    return new TsBlockSerde();
+    return new TsBlockSerde(
+        CONFIG.isEnableMppDataExchangeCompactEncoding(), CONFIG.getMppDataExchangeCompressor());
   }
 }
@@ -289,7 +289,9 @@ public class SinkChannel implements ISinkChannel {
           sequenceIdToTsBlock.entrySet());
       throw new IllegalStateException("The data block doesn't exist. Sequence ID: " + sequenceId);
     }
-    return serde.serialize(pair.left);
+    ByteBuffer serializedTsBlock = serde.serialize(pair.left);
+    QUERY_METRICS.recordDataExchangeSize(pair.right, serializedTsBlock.remaining());
+    return serializedTsBlock;
   }
 
   public void acknowledgeTsBlock(int startSequenceId, int endSequenceId) {
@@ -22,6 +22,7 @@ package org.apache.iotdb.db.mpp.execution.exchange.source;
 import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.commons.client.IClientManager;
 import org.apache.iotdb.commons.client.sync.SyncDataNodeMPPDataExchangeServiceClient;
+import org.apache.iotdb.commons.exception.IoTDBException;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
@@ -33,6 +34,7 @@ import org.apache.iotdb.mpp.rpc.thrift.TAcknowledgeDataBlockEvent;
 import org.apache.iotdb.mpp.rpc.thrift.TFragmentInstanceId;
 import org.apache.iotdb.mpp.rpc.thrift.TGetDataBlockRequest;
 import org.apache.iotdb.mpp.rpc.thrift.TGetDataBlockResponse;
+import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.common.block.column.TsBlockSerde;
 import org.apache.iotdb.tsfile.utils.Pair;
@@ -77,6 +79,8 @@ public class SourceHandle implements ISourceHandle {
   private final LocalMemoryManager localMemoryManager;
   private final ExecutorService executorService;
   private final TsBlockSerde serde;
+  // clients can only read the tsblocks serialized without compression or compact encodings
+  private static final TsBlockSerde PLAIN_SERDE = new TsBlockSerde();
   private final SourceHandleListener sourceHandleListener;
 
   private final Map<Integer, Long> sequenceIdToDataBlockSize = new HashMap<>();
@@ -145,7 +149,7 @@ public class SourceHandle implements ISourceHandle {
 
   @Override
   public synchronized TsBlock receive() {
-    ByteBuffer tsBlock = getSerializedTsBlock();
+    ByteBuffer tsBlock = pollSerializedTsBlock();
     if (tsBlock != null) {
       long startTime = System.nanoTime();
       try {
@@ -159,8 +163,28 @@ public class SourceHandle implements ISourceHandle {
     }
   }
 
+  /**
+   * The tsblocks may be compressed or use compact encodings by the upstream DataNode, they are
+   * converted into the plain format here, as the result is returned to clients as it is.
+   */
   @Override
-  public synchronized ByteBuffer getSerializedTsBlock() {
+  public synchronized ByteBuffer getSerializedTsBlock() throws IoTDBException {
+    ByteBuffer tsBlock = pollSerializedTsBlock();
+    if (tsBlock == null || TsBlockSerde.isPlainFormat(tsBlock)) {
+      return tsBlock;
+    }
+    long startTime = System.nanoTime();
+    try {
+      return PLAIN_SERDE.serialize(serde.deserialize(tsBlock));
+    } catch (Exception e) {
+      throw new IoTDBException(e, TSStatusCode.TSBLOCK_SERIALIZE_ERROR.getStatusCode());
+    } finally {
+      QUERY_METRICS.recordDataExchangeCost(
+          SOURCE_HANDLE_DESERIALIZE_TSBLOCK_REMOTE, System.nanoTime() - startTime);
+    }
+  }
+
+  private synchronized ByteBuffer pollSerializedTsBlock() {
     long startTime = System.nanoTime();
     try (SetThreadName sourceHandleName = new SetThreadName(threadName)) {
       checkState();
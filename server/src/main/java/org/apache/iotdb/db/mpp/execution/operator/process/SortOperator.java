@@ -18,39 +18,97 @@
  */
 package org.apache.iotdb.db.mpp.execution.operator.process;
 
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.mpp.execution.operator.Operator;
 import org.apache.iotdb.db.mpp.execution.operator.OperatorContext;
+import org.apache.iotdb.db.utils.datastructure.MergeSortHeap;
 import org.apache.iotdb.db.utils.datastructure.MergeSortKey;
+import org.apache.iotdb.db.utils.sort.DiskSpiller;
+import org.apache.iotdb.db.utils.sort.FileSpillerReader;
+import org.apache.iotdb.db.utils.sort.MemoryReader;
+import org.apache.iotdb.db.utils.sort.SortReader;
+import org.apache.iotdb.db.utils.sort.SortUtils;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
-import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
-import org.apache.iotdb.tsfile.read.common.block.column.TimeColumnBuilder;
+import org.apache.iotdb.tsfile.utils.RamUsageEstimator;
 
 import com.google.common.util.concurrent.ListenableFuture;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 
+/**
+ * Sort all the rows of its child. The input TsBlocks are buffered as they are, and once the
+ * buffered size exceeds sortBufferSize, the buffered rows are sorted and spilled into disk as a
+ * sorted run. After all the input is consumed, the in-memory run and the spilled runs are merged.
+ * If there are more than maxMergedRunsNum spilled runs, they are merged into fewer runs on disk
+ * first, so that the memory used to read the runs is bounded.
+ *
+ * <p>If only the first topK rows are needed, e.g. there is a LimitNode above the SortNode, only
+ * topK rows are kept in a bounded heap and nothing will be spilled.
+ */
 public class SortOperator implements ProcessOperator {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(SortOperator.class);
+
+  private static final String SORT_FOLDER_NAME = "sort";
+
   private final OperatorContext operatorContext;
   private final Operator inputOperator;
+  private final List<TSDataType> dataTypes;
   private final TsBlockBuilder tsBlockBuilder;
-
-  private List<MergeSortKey> cachedData;
   private final Comparator<MergeSortKey> comparator;
 
+  private final long sortBufferSize;
+  // max number of spilled runs read at the same time
+  private final int maxMergedRunsNum;
+  // -1 means all the rows are needed
+  private final int topK;
+
+  private List<TsBlock> cachedTsBlocks;
+  private long cachedBytes;
+
+  // only used in top-K mode, whose top is the largest one among the kept rows
+  private MergeSortHeap topKHeap;
+  private int topKHeapSize;
+  private MergeSortKey candidateKey;
+  private long compactedBytes;
+
+  private DiskSpiller diskSpiller;
+
+  private boolean inputFinished;
+  private List<SortReader> sortReaders;
+  private MergeSortHeap mergeSortHeap;
+
   public SortOperator(
       OperatorContext operatorContext,
       Operator inputOperator,
       List<TSDataType> dataTypes,
-      Comparator<MergeSortKey> comparator) {
+      Comparator<MergeSortKey> comparator,
+      long sortBufferSize,
+      int maxMergedRunsNum,
+      int topK) {
     this.operatorContext = operatorContext;
     this.inputOperator = inputOperator;
+    this.dataTypes = dataTypes;
     this.tsBlockBuilder = new TsBlockBuilder(dataTypes);
-    this.cachedData = new ArrayList<>();
+    this.cachedTsBlocks = new ArrayList<>();
     this.comparator = comparator;
+    this.sortBufferSize = sortBufferSize;
+    this.maxMergedRunsNum = maxMergedRunsNum;
+    this.topK = topK;
+    if (topK > 0) {
+      this.topKHeap = new MergeSortHeap(topK, comparator.reversed());
+      this.candidateKey = new MergeSortKey(null, 0);
+    }
   }
 
   @Override
@@ -60,78 +118,241 @@ public class SortOperator implements ProcessOperator {
 
   @Override
   public ListenableFuture<?> isBlocked() {
-    return inputOperator.isBlocked();
+    return inputFinished ? NOT_BLOCKED : inputOperator.isBlocked();
   }
 
   @Override
   public TsBlock next() {
-    TsBlock tsBlock = inputOperator.nextWithTimer();
-    if (tsBlock == null) {
-      return null;
+    if (!inputFinished) {
+      TsBlock tsBlock = inputOperator.nextWithTimer();
+      if (tsBlock != null && !tsBlock.isEmpty()) {
+        if (topK > 0) {
+          cacheTopK(tsBlock);
+        } else {
+          cacheTsBlock(tsBlock);
+        }
+      }
+      // child has more data, can't calculate
+      if (inputOperator.hasNextWithTimer()) {
+        return null;
+      }
+      inputFinished = true;
+      prepareSortReaders();
     }
-    // add data of each TsBlock from child into list
-    for (int i = 0; i < tsBlock.getPositionCount(); i++) {
-      cachedData.add(new MergeSortKey(tsBlock, i));
+
+    // merge the sorted runs until one TsBlock is full
+    tsBlockBuilder.reset();
+    try {
+      while (!mergeSortHeap.isEmpty()) {
+        MergeSortKey mergeSortKey = mergeSortHeap.poll();
+        SortUtils.appendRow(tsBlockBuilder, mergeSortKey);
+        SortReader sortReader = sortReaders.get(mergeSortKey.columnIndex);
+        if (sortReader.hasNext()) {
+          mergeSortHeap.push(sortReader.next());
+        }
+        if (tsBlockBuilder.isFull()) {
+          break;
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Error happened while reading the spilled sorted data", e);
     }
-    // child has more data, can't calculate
-    if (inputOperator.hasNextWithTimer()) {
-      return null;
+    return tsBlockBuilder.isEmpty() ? null : tsBlockBuilder.build();
+  }
+
+  private void cacheTsBlock(TsBlock tsBlock) {
+    cachedTsBlocks.add(tsBlock);
+    cachedBytes += tsBlock.getRetainedSizeInBytes();
+    if (cachedBytes < sortBufferSize) {
+      return;
     }
 
-    if (cachedData.size() > 1) {
-      cachedData.sort(comparator);
+    if (diskSpiller == null) {
+      diskSpiller = new DiskSpiller(getSpillFolderPath(), dataTypes);
+    }
+    try {
+      diskSpiller.spill(new MemoryReader(cachedTsBlocks, comparator, 0));
+    } catch (IOException e) {
+      throw new RuntimeException("Error happened while spilling the sorted data", e);
     }
-    TsBlock result = buildTsBlock();
-    cachedData = null;
-    return result;
+    cachedTsBlocks = new ArrayList<>();
+    cachedBytes = 0;
   }
 
-  private TsBlock buildTsBlock() {
-    TimeColumnBuilder timeColumnBuilder = tsBlockBuilder.getTimeColumnBuilder();
-    ColumnBuilder[] valueColumnBuilders = tsBlockBuilder.getValueColumnBuilders();
-    cachedData.forEach(
-        mergeSortKey -> {
-          TsBlock tsBlock = mergeSortKey.tsBlock;
-          int row = mergeSortKey.rowIndex;
-          timeColumnBuilder.writeLong(tsBlock.getTimeByIndex(row));
-          for (int i = 0; i < valueColumnBuilders.length; i++) {
-            valueColumnBuilders[i].write(tsBlock.getColumn(i), row);
-          }
-          tsBlockBuilder.declarePosition();
-        });
-    return tsBlockBuilder.build();
+  private void cacheTopK(TsBlock tsBlock) {
+    cachedTsBlocks.add(tsBlock);
+    cachedBytes += tsBlock.getRetainedSizeInBytes();
+    for (int i = 0, size = tsBlock.getPositionCount(); i < size; i++) {
+      if (topKHeapSize < topK) {
+        topKHeap.push(new MergeSortKey(tsBlock, i));
+        topKHeapSize++;
+        continue;
+      }
+      candidateKey.tsBlock = tsBlock;
+      candidateKey.rowIndex = i;
+      if (comparator.compare(candidateKey, topKHeap.peek()) < 0) {
+        // replace the largest one with the current row
+        MergeSortKey largest = topKHeap.poll();
+        largest.tsBlock = tsBlock;
+        largest.rowIndex = i;
+        topKHeap.push(largest);
+      }
+    }
+    // the kept rows may refer to many TsBlocks, copy them into one TsBlock to release the others
+    if (cachedBytes > Math.max(sortBufferSize, 2 * compactedBytes)) {
+      compactTopK();
+    }
+  }
+
+  /** Copy the rows kept in topKHeap into one TsBlock in order. */
+  private void compactTopK() {
+    MergeSortKey[] keptKeys = new MergeSortKey[topKHeapSize];
+    for (int i = topKHeapSize - 1; i >= 0; i--) {
+      keptKeys[i] = topKHeap.poll();
+    }
+    TsBlockBuilder builder = new TsBlockBuilder(topKHeapSize, dataTypes);
+    for (MergeSortKey keptKey : keptKeys) {
+      SortUtils.appendRow(builder, keptKey);
+    }
+    TsBlock compactedTsBlock = builder.build();
+    for (int i = 0; i < keptKeys.length; i++) {
+      keptKeys[i].tsBlock = compactedTsBlock;
+      keptKeys[i].rowIndex = i;
+      topKHeap.push(keptKeys[i]);
+    }
+    cachedTsBlocks = new ArrayList<>(Collections.singletonList(compactedTsBlock));
+    compactedBytes = cachedBytes = compactedTsBlock.getRetainedSizeInBytes();
+  }
+
+  private void prepareSortReaders() {
+    if (topK > 0) {
+      if (topKHeapSize > 0) {
+        compactTopK();
+      }
+      topKHeap = null;
+    }
+
+    sortReaders = new ArrayList<>();
+    if (!cachedTsBlocks.isEmpty()) {
+      sortReaders.add(new MemoryReader(cachedTsBlocks, comparator, 0));
+    }
+    try {
+      if (diskSpiller != null) {
+        LOGGER.debug(
+            "{} sorted runs are spilled by {}",
+            diskSpiller.getSpilledRunCount(),
+            operatorContext.getOperatorId());
+        diskSpiller.mergeRuns(maxMergedRunsNum, comparator);
+        sortReaders.addAll(diskSpiller.getReaders(sortReaders.size()));
+      }
+      mergeSortHeap = new MergeSortHeap(Math.max(1, sortReaders.size()), comparator);
+      for (SortReader sortReader : sortReaders) {
+        if (sortReader.hasNext()) {
+          mergeSortHeap.push(sortReader.next());
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Error happened while reading the spilled sorted data", e);
+    }
+  }
+
+  private String getSpillFolderPath() {
+    return IoTDBDescriptor.getInstance().getConfig().getQueryDir()
+        + File.separator
+        + SORT_FOLDER_NAME
+        + File.separator
+        + operatorContext.getInstanceContext().getId().getFullId()
+        + "-"
+        + operatorContext.getOperatorId();
   }
 
   @Override
   public boolean hasNext() {
-    return inputOperator.hasNextWithTimer();
+    if (!inputFinished) {
+      return inputOperator.hasNextWithTimer();
+    }
+    return !mergeSortHeap.isEmpty();
   }
 
   @Override
   public void close() throws Exception {
+    cachedTsBlocks = null;
+    topKHeap = null;
+    if (sortReaders != null) {
+      for (SortReader sortReader : sortReaders) {
+        sortReader.close();
+      }
+      sortReaders = null;
+    }
+    if (diskSpiller != null) {
+      diskSpiller.clear();
+    }
     inputOperator.close();
   }
 
   @Override
   public boolean isFinished() {
-    return cachedData == null;
+    return inputFinished ? mergeSortHeap.isEmpty() : inputOperator.isFinished();
   }
 
   @Override
   public long calculateMaxPeekMemory() {
-    // In fact, we need to cache all data from input.
-    // Now the child of this Operator only will be ShowQueries, it only returns one Block.
-    return inputOperator.calculateMaxPeekMemory()
-        + inputOperator.calculateRetainedSizeAfterCallingNext();
+    // the buffered data is spilled once it exceeds sortBufferSize, so at most one buffer, one input
+    // TsBlock or the spilled runs being read, and one output TsBlock are held at the same time
+    return Math.max(
+        inputOperator.calculateMaxPeekMemory(),
+        sortBufferSize
+            + calculateTopKRetainedSize()
+            + Math.max(
+                inputOperator.calculateMaxReturnSize()
+                    + inputOperator.calculateRetainedSizeAfterCallingNext(),
+                calculateSpilledRunsReadingSize())
+            + calculateMaxReturnSize());
   }
 
   @Override
   public long calculateMaxReturnSize() {
-    return inputOperator.calculateMaxReturnSize();
+    return (1L + dataTypes.size()) * TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
   }
 
   @Override
   public long calculateRetainedSizeAfterCallingNext() {
-    return inputOperator.calculateRetainedSizeAfterCallingNext();
+    return sortBufferSize
+        + calculateTopKRetainedSize()
+        + inputOperator.calculateRetainedSizeAfterCallingNext();
+  }
+
+  /**
+   * Memory held by the spilled runs read at the same time, each of which holds a deserialized
+   * TsBlock, its serialized bytes and the buffer of the file.
+   */
+  private long calculateSpilledRunsReadingSize() {
+    // nothing is spilled in top-K mode
+    if (topK > 0) {
+      return 0;
+    }
+    return maxMergedRunsNum * (2 * calculateMaxReturnSize() + FileSpillerReader.READ_BUFFER_SIZE);
+  }
+
+  /**
+   * Memory held by the top-K mode besides the buffer: the keys in topKHeap, and the kept rows, as
+   * the buffer is compacted only when it exceeds twice the size of the last compacted rows.
+   */
+  private long calculateTopKRetainedSize() {
+    if (topK <= 0) {
+      return 0;
+    }
+    long keySize =
+        RamUsageEstimator.alignObjectSize(
+                RamUsageEstimator.NUM_BYTES_OBJECT_HEADER
+                    + RamUsageEstimator.NUM_BYTES_OBJECT_REF
+                    + 2L * Integer.BYTES)
+            + RamUsageEstimator.NUM_BYTES_OBJECT_REF;
+    // time column and value columns, TEXT values are counted by their references
+    long rowSize = Long.BYTES;
+    for (TSDataType dataType : dataTypes) {
+      rowSize += dataType.getDataTypeSize();
+    }
+    return topK * (keySize + 2 * rowSize);
   }
 }
@@ -121,7 +121,8 @@ public class LastQueryUtil {
   }
 
   public static boolean satisfyFilter(Filter filter, TimeValuePair tvPair) {
-    return filter == null || filter.satisfy(tvPair.getTimestamp(), tvPair.getValue().getValue());
+    return filter == null
+        || filter.satisfyTsPrimitiveType(tvPair.getTimestamp(), tvPair.getValue());
   }
 
   public static List<Aggregator> createAggregators(TSDataType dataType) {
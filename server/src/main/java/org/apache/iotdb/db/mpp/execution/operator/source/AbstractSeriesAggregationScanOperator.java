@@ -208,6 +208,19 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
     }
   }
 
+  /**
+   * Some aggregators can only be answered by statistics in special cases, the lower level
+   * statistics or the raw data are read instead if any of them cannot use the statistics.
+   */
+  protected boolean canAllAggregatorsUseStatistics(Statistics[] statistics) {
+    for (Aggregator aggregator : aggregators) {
+      if (!aggregator.hasFinalResult() && !aggregator.canProcessStatistics(statistics)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   protected boolean readAndCalcFromFile() throws IOException {
     while (seriesScanUtil.hasNextFile()) {
       if (canUseCurrentFileStatistics()) {
@@ -227,12 +240,14 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
           for (int i = 0; i < subSensorSize; i++) {
             statisticsList[i] = seriesScanUtil.currentFileStatistics(i);
           }
-          calcFromStatistics(statisticsList);
-          seriesScanUtil.skipCurrentFile();
-          if (isAllAggregatorsHasFinalResult(aggregators) && !isGroupByQuery) {
-            return true;
-          } else {
-            continue;
+          if (canAllAggregatorsUseStatistics(statisticsList)) {
+            calcFromStatistics(statisticsList);
+            seriesScanUtil.skipCurrentFile();
+            if (isAllAggregatorsHasFinalResult(aggregators) && !isGroupByQuery) {
+              return true;
+            } else {
+              continue;
+            }
           }
         }
       }
@@ -266,12 +281,14 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
           for (int i = 0; i < subSensorSize; i++) {
             statisticsList[i] = seriesScanUtil.currentChunkStatistics(i);
           }
-          calcFromStatistics(statisticsList);
-          seriesScanUtil.skipCurrentChunk();
-          if (isAllAggregatorsHasFinalResult(aggregators) && !isGroupByQuery) {
-            return true;
-          } else {
-            continue;
+          if (canAllAggregatorsUseStatistics(statisticsList)) {
+            calcFromStatistics(statisticsList);
+            seriesScanUtil.skipCurrentChunk();
+            if (isAllAggregatorsHasFinalResult(aggregators) && !isGroupByQuery) {
+              return true;
+            } else {
+              continue;
+            }
           }
         }
       }
@@ -304,12 +321,14 @@ public abstract class AbstractSeriesAggregationScanOperator extends AbstractData
           for (int i = 0; i < subSensorSize; i++) {
             statisticsList[i] = seriesScanUtil.currentPageStatistics(i);
           }
-          calcFromStatistics(statisticsList);
-          seriesScanUtil.skipCurrentPage();
-          if (isAllAggregatorsHasFinalResult(aggregators) && !isGroupByQuery) {
-            return true;
-          } else {
-            continue;
+          if (canAllAggregatorsUseStatistics(statisticsList)) {
+            calcFromStatistics(statisticsList);
+            seriesScanUtil.skipCurrentPage();
+            if (isAllAggregatorsHasFinalResult(aggregators) && !isGroupByQuery) {
+              return true;
+            } else {
+              continue;
+            }
           }
         }
       }
@@ -759,14 +759,14 @@ public class SeriesScanUtil {
              */
             timeValuePair = mergeReader.nextTimeValuePair();
 
-            Object valueForFilter = timeValuePair.getValue().getValue();
+            TsPrimitiveType valueForFilter = timeValuePair.getValue();
 
             // TODO fix value filter firstNotNullObject, currently, if it's a value filter, it will
             // only accept AlignedPath with only one sub sensor
             if (timeValuePair.getValue().getDataType() == TSDataType.VECTOR) {
               for (TsPrimitiveType tsPrimitiveType : timeValuePair.getValue().getVector()) {
                 if (tsPrimitiveType != null) {
-                  valueForFilter = tsPrimitiveType.getValue();
+                  valueForFilter = tsPrimitiveType;
                   break;
                 }
               }
@@ -774,7 +774,8 @@ public class SeriesScanUtil {
 
             Filter queryFilter = scanOptions.getQueryFilter();
             if (queryFilter != null
-                && !queryFilter.satisfy(timeValuePair.getTimestamp(), valueForFilter)) {
+                && !queryFilter.satisfyTsPrimitiveType(
+                    timeValuePair.getTimestamp(), valueForFilter)) {
               continue;
             }
             if (paginationController.hasCurOffset()) {
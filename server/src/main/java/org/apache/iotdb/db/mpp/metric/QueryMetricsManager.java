@@ -22,6 +22,7 @@ package org.apache.iotdb.db.mpp.metric;
 import org.apache.iotdb.commons.service.metric.MetricService;
 import org.apache.iotdb.commons.service.metric.enums.Metric;
 import org.apache.iotdb.commons.service.metric.enums.Tag;
+import org.apache.iotdb.db.mpp.execution.exchange.MPPDataExchangeServiceMetrics;
 import org.apache.iotdb.metrics.utils.MetricInfo;
 import org.apache.iotdb.metrics.utils.MetricLevel;
 
@@ -101,6 +102,21 @@ public class QueryMetricsManager {
         num, metricInfo.getName(), MetricLevel.IMPORTANT, metricInfo.getTagsInArray());
   }
 
+  public void recordDataExchangeSize(long logicalBytes, long wireBytes) {
+    metricService.count(
+        logicalBytes,
+        Metric.DATA_EXCHANGE_SIZE.toString(),
+        MetricLevel.IMPORTANT,
+        Tag.TYPE.toString(),
+        MPPDataExchangeServiceMetrics.LOGICAL_BYTES);
+    metricService.count(
+        wireBytes,
+        Metric.DATA_EXCHANGE_SIZE.toString(),
+        MetricLevel.IMPORTANT,
+        Tag.TYPE.toString(),
+        MPPDataExchangeServiceMetrics.WIRE_BYTES);
+  }
+
   public void recordTaskQueueTime(String name, long queueTimeInNanos) {
     metricService.timer(
         queueTimeInNanos,
@@ -46,6 +46,7 @@ import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.sql.StatementAnalyzeException;
 import org.apache.iotdb.db.mpp.plan.analyze.cache.PartitionCache;
+import org.apache.iotdb.db.service.metrics.recorder.CacheMetricsRecorder;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionRouteReq;
 import org.apache.iotdb.rpc.TSStatusCode;
 import org.apache.iotdb.tsfile.utils.PublicBAOS;
@@ -96,64 +97,76 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
 
   @Override
   public SchemaPartition getSchemaPartition(PathPatternTree patternTree) {
+    patternTree.constructTree();
+    List<String> devicePaths = patternTree.getAllDevicePatterns();
+    Map<String, List<String>> storageGroupToDeviceMap =
+        partitionCache.getStorageGroupToDevice(devicePaths, true, false);
+    SchemaPartition schemaPartition = partitionCache.getSchemaPartition(storageGroupToDeviceMap);
+    if (null != schemaPartition) {
+      return schemaPartition;
+    }
+    // only borrow a confignode client on cache miss
+    long startTime = System.nanoTime();
     try (ConfigNodeClient client =
         configNodeClientManager.borrowClient(ConfigNodeInfo.CONFIG_REGION_ID)) {
-      patternTree.constructTree();
-      List<String> devicePaths = patternTree.getAllDevicePatterns();
-      Map<String, List<String>> storageGroupToDeviceMap =
-          partitionCache.getStorageGroupToDevice(devicePaths, true, false);
-      SchemaPartition schemaPartition = partitionCache.getSchemaPartition(storageGroupToDeviceMap);
-      if (null == schemaPartition) {
-        TSchemaPartitionTableResp schemaPartitionTableResp =
-            client.getSchemaPartitionTable(constructSchemaPartitionReq(patternTree));
-        if (schemaPartitionTableResp.getStatus().getCode()
-            == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
-          schemaPartition = parseSchemaPartitionTableResp(schemaPartitionTableResp);
-          partitionCache.updateSchemaPartitionCache(
-              schemaPartitionTableResp.getSchemaPartitionTable());
-        } else {
-          throw new RuntimeException(
-              new IoTDBException(
-                  schemaPartitionTableResp.getStatus().getMessage(),
-                  schemaPartitionTableResp.getStatus().getCode()));
-        }
+      TSchemaPartitionTableResp schemaPartitionTableResp =
+          client.getSchemaPartitionTable(constructSchemaPartitionReq(patternTree));
+      if (schemaPartitionTableResp.getStatus().getCode()
+          == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        schemaPartition = parseSchemaPartitionTableResp(schemaPartitionTableResp);
+        partitionCache.updateSchemaPartitionCache(
+            schemaPartitionTableResp.getSchemaPartitionTable());
+      } else {
+        throw new RuntimeException(
+            new IoTDBException(
+                schemaPartitionTableResp.getStatus().getMessage(),
+                schemaPartitionTableResp.getStatus().getCode()));
       }
       return schemaPartition;
     } catch (ClientManagerException | TException e) {
       logger.warn("Get Schema Partition error", e);
       throw new StatementAnalyzeException(
           "An error occurred when executing getSchemaPartition():" + e.getMessage());
+    } finally {
+      CacheMetricsRecorder.recordLoad(
+          System.nanoTime() - startTime, PartitionCache.SCHEMA_PARTITION_CACHE_NAME);
     }
   }
 
   @Override
   public SchemaPartition getOrCreateSchemaPartition(PathPatternTree patternTree) {
+    patternTree.constructTree();
+    List<String> devicePaths = patternTree.getAllDevicePatterns();
+    Map<String, List<String>> storageGroupToDeviceMap =
+        partitionCache.getStorageGroupToDevice(devicePaths, true, true);
+    SchemaPartition schemaPartition = partitionCache.getSchemaPartition(storageGroupToDeviceMap);
+    if (null != schemaPartition) {
+      return schemaPartition;
+    }
+    // only borrow a confignode client on cache miss
+    long startTime = System.nanoTime();
     try (ConfigNodeClient client =
         configNodeClientManager.borrowClient(ConfigNodeInfo.CONFIG_REGION_ID)) {
-      patternTree.constructTree();
-      List<String> devicePaths = patternTree.getAllDevicePatterns();
-      Map<String, List<String>> storageGroupToDeviceMap =
-          partitionCache.getStorageGroupToDevice(devicePaths, true, true);
-      SchemaPartition schemaPartition = partitionCache.getSchemaPartition(storageGroupToDeviceMap);
-      if (null == schemaPartition) {
-        TSchemaPartitionTableResp schemaPartitionTableResp =
-            client.getOrCreateSchemaPartitionTable(constructSchemaPartitionReq(patternTree));
-        if (schemaPartitionTableResp.getStatus().getCode()
-            == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
-          schemaPartition = parseSchemaPartitionTableResp(schemaPartitionTableResp);
-          partitionCache.updateSchemaPartitionCache(
-              schemaPartitionTableResp.getSchemaPartitionTable());
-        } else {
-          throw new RuntimeException(
-              new IoTDBException(
-                  schemaPartitionTableResp.getStatus().getMessage(),
-                  schemaPartitionTableResp.getStatus().getCode()));
-        }
+      TSchemaPartitionTableResp schemaPartitionTableResp =
+          client.getOrCreateSchemaPartitionTable(constructSchemaPartitionReq(patternTree));
+      if (schemaPartitionTableResp.getStatus().getCode()
+          == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        schemaPartition = parseSchemaPartitionTableResp(schemaPartitionTableResp);
+        partitionCache.updateSchemaPartitionCache(
+            schemaPartitionTableResp.getSchemaPartitionTable());
+      } else {
+        throw new RuntimeException(
+            new IoTDBException(
+                schemaPartitionTableResp.getStatus().getMessage(),
+                schemaPartitionTableResp.getStatus().getCode()));
       }
       return schemaPartition;
     } catch (ClientManagerException | TException e) {
       throw new StatementAnalyzeException(
           "An error occurred when executing getOrCreateSchemaPartition():" + e.getMessage());
+    } finally {
+      CacheMetricsRecorder.recordLoad(
+          System.nanoTime() - startTime, PartitionCache.SCHEMA_PARTITION_CACHE_NAME);
     }
   }
 
@@ -179,6 +192,7 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
       Map<String, List<DataPartitionQueryParam>> sgNameToQueryParamsMap) {
     DataPartition dataPartition = partitionCache.getDataPartition(sgNameToQueryParamsMap);
     if (null == dataPartition) {
+      long startTime = System.nanoTime();
       try (ConfigNodeClient client =
           configNodeClientManager.borrowClient(ConfigNodeInfo.CONFIG_REGION_ID)) {
         TDataPartitionTableResp dataPartitionTableResp =
@@ -195,6 +209,9 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
       } catch (ClientManagerException | TException e) {
         throw new StatementAnalyzeException(
             "An error occurred when executing getDataPartition():" + e.getMessage());
+      } finally {
+        CacheMetricsRecorder.recordLoad(
+            System.nanoTime() - startTime, PartitionCache.DATA_PARTITION_CACHE_NAME);
       }
     }
     return dataPartition;
@@ -229,6 +246,7 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
       Map<String, List<DataPartitionQueryParam>> sgNameToQueryParamsMap) {
     DataPartition dataPartition = partitionCache.getDataPartition(sgNameToQueryParamsMap);
     if (null == dataPartition) {
+      long startTime = System.nanoTime();
       // Do not use data partition cache
       try (ConfigNodeClient client =
           configNodeClientManager.borrowClient(ConfigNodeInfo.CONFIG_REGION_ID)) {
@@ -246,6 +264,9 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
       } catch (ClientManagerException | TException e) {
         throw new StatementAnalyzeException(
             "An error occurred when executing getOrCreateDataPartition():" + e.getMessage());
+      } finally {
+        CacheMetricsRecorder.recordLoad(
+            System.nanoTime() - startTime, PartitionCache.DATA_PARTITION_CACHE_NAME);
       }
     }
     return dataPartition;
@@ -260,6 +281,7 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
     DataPartition dataPartition = partitionCache.getDataPartition(splitDataPartitionQueryParams);
 
     if (null == dataPartition) {
+      long startTime = System.nanoTime();
       try (ConfigNodeClient client =
           configNodeClientManager.borrowClient(ConfigNodeInfo.CONFIG_REGION_ID)) {
         TDataPartitionReq req = constructDataPartitionReq(splitDataPartitionQueryParams);
@@ -278,6 +300,9 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
       } catch (ClientManagerException | TException e) {
         throw new StatementAnalyzeException(
             "An error occurred when executing getOrCreateDataPartition():" + e.getMessage());
+      } finally {
+        CacheMetricsRecorder.recordLoad(
+            System.nanoTime() - startTime, PartitionCache.DATA_PARTITION_CACHE_NAME);
       }
     }
     return dataPartition;
@@ -37,6 +37,7 @@ import org.apache.iotdb.commons.partition.SeriesPartitionTable;
 import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.utils.PathUtils;
+import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.confignode.rpc.thrift.TDatabaseSchema;
 import org.apache.iotdb.confignode.rpc.thrift.TDatabaseSchemaResp;
 import org.apache.iotdb.confignode.rpc.thrift.TRegionRouteMapResp;
@@ -65,16 +66,21 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class PartitionCache {
   private static final Logger logger = LoggerFactory.getLogger(PartitionCache.class);
   private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
   private static final List<String> ROOT_PATH = Arrays.asList("root", "**");
   private static final String STORAGE_GROUP_CACHE_NAME = "Database";
-  private static final String SCHEMA_PARTITION_CACHE_NAME = "SchemaPartition";
-  private static final String DATA_PARTITION_CACHE_NAME = "DataPartition";
+  public static final String SCHEMA_PARTITION_CACHE_NAME = "SchemaPartition";
+  public static final String DATA_PARTITION_CACHE_NAME = "DataPartition";
+  private static final String REGION_REPLICA_SET_CACHE_NAME = "RegionReplicaSet";
 
   /** calculate slotId by device */
   private final String seriesSlotExecutorName = config.getSeriesPartitionExecutorClass();
@@ -84,8 +90,11 @@ public class PartitionCache {
 
   /** the size of partitionCache */
   private final int cacheSize = config.getPartitionCacheSize();
-  /** the cache of database */
-  private final Set<String> storageGroupCache = Collections.synchronizedSet(new HashSet<>());
+  /**
+   * the cache of database. Readers work on an immutable snapshot without locking, writers publish
+   * a new snapshot under storageGroupUpdateLock
+   */
+  private volatile Set<String> storageGroupCache = Collections.emptySet();
   /** storage -> schemaPartitionTable */
   private final Cache<String, SchemaPartitionTable> schemaPartitionCache;
   /** storage -> dataPartitionTable */
@@ -93,21 +102,38 @@ public class PartitionCache {
 
   /** the latest time when groupIdToReplicaSetMap updated. */
   private final AtomicLong latestUpdateTime = new AtomicLong(0);
-  /** TConsensusGroupId -> TRegionReplicaSet */
-  private final Map<TConsensusGroupId, TRegionReplicaSet> groupIdToReplicaSetMap = new HashMap<>();
+  /** TConsensusGroupId -> TRegionReplicaSet, immutable snapshot replaced as a whole */
+  private volatile Map<TConsensusGroupId, TRegionReplicaSet> groupIdToReplicaSetMap =
+      Collections.emptyMap();
+
+  /**
+   * The locks only serialize writers. Lookups read the volatile snapshots above or the concurrent
+   * maps inside the partition tables and never block.
+   */
+  private final ReentrantLock storageGroupUpdateLock = new ReentrantLock();
 
-  /** The lock of cache */
-  private final ReentrantReadWriteLock storageGroupCacheLock = new ReentrantReadWriteLock();
+  private final ReentrantLock storageGroupCreateLock = new ReentrantLock();
+  private final ReentrantLock schemaPartitionUpdateLock = new ReentrantLock();
+  private final ReentrantLock dataPartitionUpdateLock = new ReentrantLock();
 
-  private final ReentrantReadWriteLock schemaPartitionCacheLock = new ReentrantReadWriteLock();
-  private final ReentrantReadWriteLock dataPartitionCacheLock = new ReentrantReadWriteLock();
+  private final ReentrantLock regionReplicaSetUpdateLock = new ReentrantLock();
 
-  private final ReentrantReadWriteLock regionReplicaSetLock = new ReentrantReadWriteLock();
+  /** The in-flight fetches, concurrent misses wait for the same ConfigNode call */
+  private final AtomicReference<CompletableFuture<Void>> storageGroupFetch =
+      new AtomicReference<>();
 
-  private final IClientManager<ConfigRegionId, ConfigNodeClient> configNodeClientManager =
-      ConfigNodeClientManager.getInstance();
+  private final AtomicReference<CompletableFuture<Void>> regionReplicaSetFetch =
+      new AtomicReference<>();
+
+  private final IClientManager<ConfigRegionId, ConfigNodeClient> configNodeClientManager;
 
   public PartitionCache() {
+    this(ConfigNodeClientManager.getInstance());
+  }
+
+  @TestOnly
+  PartitionCache(IClientManager<ConfigRegionId, ConfigNodeClient> configNodeClientManager) {
+    this.configNodeClientManager = configNodeClientManager;
     this.schemaPartitionCache = Caffeine.newBuilder().maximumSize(cacheSize).build();
     this.dataPartitionCache = Caffeine.newBuilder().maximumSize(cacheSize).build();
     this.partitionExecutor =
@@ -164,12 +190,10 @@ public class PartitionCache {
    * @param devicePath the path of device
    * @return database name, return null if cache miss
    */
-  private String getStorageGroupName(String devicePath) {
-    synchronized (storageGroupCache) {
-      for (String storageGroupName : storageGroupCache) {
-        if (PathUtils.isStartWith(devicePath, storageGroupName)) {
-          return storageGroupName;
-        }
+  private String getStorageGroupName(Set<String> storageGroupNames, String devicePath) {
+    for (String storageGroupName : storageGroupNames) {
+      if (PathUtils.isStartWith(devicePath, storageGroupName)) {
+        return storageGroupName;
       }
     }
     return null;
@@ -184,22 +208,23 @@ public class PartitionCache {
   private void fetchStorageGroupAndUpdateCache(
       StorageGroupCacheResult<?> result, List<String> devicePaths)
       throws ClientManagerException, TException {
-    try (ConfigNodeClient client =
-        configNodeClientManager.borrowClient(ConfigNodeInfo.CONFIG_REGION_ID)) {
-      storageGroupCacheLock.writeLock().lock();
-      result.reset();
+    if (!fetchOnce(storageGroupFetch, STORAGE_GROUP_CACHE_NAME, this::fetchAllStorageGroups)) {
+      // the joined fetch may have been sent before our miss, so retry once if it did not help.
+      // any fetch started from now on is recent enough.
       getStorageGroupMap(result, devicePaths, true);
       if (!result.isSuccess()) {
-        TDatabaseSchemaResp storageGroupSchemaResp = client.getMatchedDatabaseSchemas(ROOT_PATH);
-        if (storageGroupSchemaResp.getStatus().getCode()
-            == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
-          Set<String> storageGroupNames = storageGroupSchemaResp.getDatabaseSchemaMap().keySet();
-          // update all database into cache
-          updateStorageCache(storageGroupNames);
-        }
+        fetchOnce(storageGroupFetch, STORAGE_GROUP_CACHE_NAME, this::fetchAllStorageGroups);
       }
-    } finally {
-      storageGroupCacheLock.writeLock().unlock();
+    }
+  }
+
+  private void fetchAllStorageGroups(ConfigNodeClient client) throws TException {
+    TDatabaseSchemaResp storageGroupSchemaResp = client.getMatchedDatabaseSchemas(ROOT_PATH);
+    if (storageGroupSchemaResp.getStatus().getCode()
+        == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+      Set<String> storageGroupNames = storageGroupSchemaResp.getDatabaseSchemaMap().keySet();
+      // update all database into cache
+      updateStorageCache(storageGroupNames);
     }
   }
 
@@ -213,9 +238,9 @@ public class PartitionCache {
   private void createStorageGroupAndUpdateCache(
       StorageGroupCacheResult<?> result, List<String> devicePaths)
       throws ClientManagerException, MetadataException, TException {
+    storageGroupCreateLock.lock();
     try (ConfigNodeClient client =
         configNodeClientManager.borrowClient(ConfigNodeInfo.CONFIG_REGION_ID)) {
-      storageGroupCacheLock.writeLock().lock();
       // try to check whether database need to be created
       result.reset();
       // try to hit database with all missed devices
@@ -252,7 +277,7 @@ public class PartitionCache {
         updateStorageCache(storageGroupNamesNeedCreated);
       }
     } finally {
-      storageGroupCacheLock.writeLock().unlock();
+      storageGroupCreateLock.unlock();
     }
   }
 
@@ -265,35 +290,30 @@ public class PartitionCache {
    */
   private void getStorageGroupMap(
       StorageGroupCacheResult<?> result, List<String> devicePaths, boolean failFast) {
-    try {
-      storageGroupCacheLock.readLock().lock();
-      // reset result before try
-      result.reset();
-      boolean status = true;
-      for (String devicePath : devicePaths) {
-        String storageGroupName = getStorageGroupName(devicePath);
-        if (null == storageGroupName) {
-          logger.debug(
-              "[{} Cache] miss when search device {}", STORAGE_GROUP_CACHE_NAME, devicePath);
-          status = false;
-          if (failFast) {
-            break;
-          } else {
-            result.addMissedDevice(devicePath);
-          }
+    Set<String> storageGroupNames = storageGroupCache;
+    // reset result before try
+    result.reset();
+    boolean status = true;
+    for (String devicePath : devicePaths) {
+      String storageGroupName = getStorageGroupName(storageGroupNames, devicePath);
+      if (null == storageGroupName) {
+        logger.debug("[{} Cache] miss when search device {}", STORAGE_GROUP_CACHE_NAME, devicePath);
+        status = false;
+        if (failFast) {
+          break;
         } else {
-          result.put(devicePath, storageGroupName);
+          result.addMissedDevice(devicePath);
         }
+      } else {
+        result.put(devicePath, storageGroupName);
       }
-      // setFailed the result when miss
-      if (!status) {
-        result.setFailed();
-      }
-      logger.debug("[{} Cache] hit when search device {}", STORAGE_GROUP_CACHE_NAME, devicePaths);
-      CacheMetricsRecorder.record(status, STORAGE_GROUP_CACHE_NAME);
-    } finally {
-      storageGroupCacheLock.readLock().unlock();
     }
+    // setFailed the result when miss
+    if (!status) {
+      result.setFailed();
+    }
+    logger.debug("[{} Cache] hit when search device {}", STORAGE_GROUP_CACHE_NAME, devicePaths);
+    CacheMetricsRecorder.record(status, STORAGE_GROUP_CACHE_NAME);
   }
 
   /**
@@ -345,11 +365,13 @@ public class PartitionCache {
    * @param storageGroupNames the database names that need to update
    */
   public void updateStorageCache(Set<String> storageGroupNames) {
-    storageGroupCacheLock.writeLock().lock();
+    storageGroupUpdateLock.lock();
     try {
-      storageGroupCache.addAll(storageGroupNames);
+      Set<String> newStorageGroupCache = new HashSet<>(storageGroupCache);
+      newStorageGroupCache.addAll(storageGroupNames);
+      storageGroupCache = Collections.unmodifiableSet(newStorageGroupCache);
     } finally {
-      storageGroupCacheLock.writeLock().unlock();
+      storageGroupUpdateLock.unlock();
     }
   }
 
@@ -359,23 +381,23 @@ public class PartitionCache {
    * @param storageGroupNames the databases that need to invalid
    */
   public void removeFromStorageGroupCache(List<String> storageGroupNames) {
-    storageGroupCacheLock.writeLock().lock();
+    storageGroupUpdateLock.lock();
     try {
-      for (String storageGroupName : storageGroupNames) {
-        storageGroupCache.remove(storageGroupName);
-      }
+      Set<String> newStorageGroupCache = new HashSet<>(storageGroupCache);
+      storageGroupNames.forEach(newStorageGroupCache::remove);
+      storageGroupCache = Collections.unmodifiableSet(newStorageGroupCache);
     } finally {
-      storageGroupCacheLock.writeLock().unlock();
+      storageGroupUpdateLock.unlock();
     }
   }
 
   /** invalidate all database cache */
   public void removeFromStorageGroupCache() {
-    storageGroupCacheLock.writeLock().lock();
+    storageGroupUpdateLock.lock();
     try {
-      storageGroupCache.clear();
+      storageGroupCache = Collections.emptySet();
     } finally {
-      storageGroupCacheLock.writeLock().unlock();
+      storageGroupUpdateLock.unlock();
     }
   }
 
@@ -391,46 +413,43 @@ public class PartitionCache {
    * @throws StatementAnalyzeException if there are exception when try to get latestRegionRouteMap
    */
   public TRegionReplicaSet getRegionReplicaSet(TConsensusGroupId consensusGroupId) {
-    TRegionReplicaSet result;
     // try to get regionReplicaSet from cache
-    try {
-      regionReplicaSetLock.readLock().lock();
-      result = groupIdToReplicaSetMap.get(consensusGroupId);
-    } finally {
-      regionReplicaSetLock.readLock().unlock();
-    }
+    TRegionReplicaSet result = groupIdToReplicaSetMap.get(consensusGroupId);
+    CacheMetricsRecorder.record(result != null, REGION_REPLICA_SET_CACHE_NAME);
     if (result == null) {
       // if not hit then try to get regionReplicaSet from confignode
       try {
-        regionReplicaSetLock.writeLock().lock();
-        // verify that there are not hit in cache
-        if (!groupIdToReplicaSetMap.containsKey(consensusGroupId)) {
-          try (ConfigNodeClient client =
-              configNodeClientManager.borrowClient(ConfigNodeInfo.CONFIG_REGION_ID)) {
-            TRegionRouteMapResp resp = client.getLatestRegionRouteMap();
-            if (TSStatusCode.SUCCESS_STATUS.getStatusCode() == resp.getStatus().getCode()) {
-              updateGroupIdToReplicaSetMap(resp.getTimestamp(), resp.getRegionRouteMap());
-            }
-            // if confignode don't have then will throw RuntimeException
-            if (!groupIdToReplicaSetMap.containsKey(consensusGroupId)) {
-              // failed to get RegionReplicaSet from confignode
-              throw new RuntimeException(
-                  "Failed to get replicaSet of consensus group[id= " + consensusGroupId + "]");
-            }
-          } catch (ClientManagerException | TException e) {
-            throw new StatementAnalyzeException(
-                "An error occurred when executing getRegionReplicaSet():" + e.getMessage());
+        if (!fetchOnce(
+            regionReplicaSetFetch, REGION_REPLICA_SET_CACHE_NAME, this::fetchRegionRouteMap)) {
+          // the joined fetch may be older than our miss, see fetchStorageGroupAndUpdateCache
+          result = groupIdToReplicaSetMap.get(consensusGroupId);
+          if (result == null) {
+            fetchOnce(
+                regionReplicaSetFetch, REGION_REPLICA_SET_CACHE_NAME, this::fetchRegionRouteMap);
           }
         }
-        result = groupIdToReplicaSetMap.get(consensusGroupId);
-      } finally {
-        regionReplicaSetLock.writeLock().unlock();
+      } catch (ClientManagerException | TException e) {
+        throw new StatementAnalyzeException(
+            "An error occurred when executing getRegionReplicaSet():" + e.getMessage());
+      }
+      result = groupIdToReplicaSetMap.get(consensusGroupId);
+      // if confignode don't have then will throw RuntimeException
+      if (result == null) {
+        // failed to get RegionReplicaSet from confignode
+        throw new RuntimeException(
+            "Failed to get replicaSet of consensus group[id= " + consensusGroupId + "]");
       }
     }
-    // try to get regionReplicaSet by consensusGroupId
     return result;
   }
 
+  private void fetchRegionRouteMap(ConfigNodeClient client) throws TException {
+    TRegionRouteMapResp resp = client.getLatestRegionRouteMap();
+    if (TSStatusCode.SUCCESS_STATUS.getStatusCode() == resp.getStatus().getCode()) {
+      updateGroupIdToReplicaSetMap(resp.getTimestamp(), resp.getRegionRouteMap());
+    }
+  }
+
   /**
    * update regionReplicaSetMap according to timestamp
    *
@@ -440,27 +459,26 @@ public class PartitionCache {
    */
   public boolean updateGroupIdToReplicaSetMap(
       long timestamp, Map<TConsensusGroupId, TRegionReplicaSet> map) {
+    regionReplicaSetUpdateLock.lock();
     try {
-      regionReplicaSetLock.writeLock().lock();
       boolean result = (timestamp == latestUpdateTime.accumulateAndGet(timestamp, Math::max));
       // if timestamp is greater than latestUpdateTime, then update
       if (result) {
-        groupIdToReplicaSetMap.clear();
-        groupIdToReplicaSetMap.putAll(map);
+        groupIdToReplicaSetMap = Collections.unmodifiableMap(new HashMap<>(map));
       }
       return result;
     } finally {
-      regionReplicaSetLock.writeLock().unlock();
+      regionReplicaSetUpdateLock.unlock();
     }
   }
 
   /** invalidate replicaSetCache */
   public void invalidReplicaSetCache() {
+    regionReplicaSetUpdateLock.lock();
     try {
-      regionReplicaSetLock.writeLock().lock();
-      groupIdToReplicaSetMap.clear();
+      groupIdToReplicaSetMap = Collections.emptyMap();
     } finally {
-      regionReplicaSetLock.writeLock().unlock();
+      regionReplicaSetUpdateLock.unlock();
     }
   }
 
@@ -475,57 +493,51 @@ public class PartitionCache {
    * @return SchemaPartition of storageGroupToDeviceMap
    */
   public SchemaPartition getSchemaPartition(Map<String, List<String>> storageGroupToDeviceMap) {
-    schemaPartitionCacheLock.readLock().lock();
-    try {
-      if (storageGroupToDeviceMap.size() == 0) {
+    if (storageGroupToDeviceMap.size() == 0) {
+      CacheMetricsRecorder.record(false, SCHEMA_PARTITION_CACHE_NAME);
+      return null;
+    }
+    Map<String, Map<TSeriesPartitionSlot, TRegionReplicaSet>> schemaPartitionMap =
+        new HashMap<>();
+
+    // check cache for each database
+    for (Map.Entry<String, List<String>> entry : storageGroupToDeviceMap.entrySet()) {
+      String storageGroupName = entry.getKey();
+      Map<TSeriesPartitionSlot, TRegionReplicaSet> regionReplicaSetMap =
+          schemaPartitionMap.computeIfAbsent(storageGroupName, k -> new HashMap<>());
+      SchemaPartitionTable schemaPartitionTable =
+          schemaPartitionCache.getIfPresent(storageGroupName);
+      if (null == schemaPartitionTable) {
+        // if database not find, then return cache miss.
+        logger.debug(
+            "[{} Cache] miss when search database {}",
+            SCHEMA_PARTITION_CACHE_NAME,
+            storageGroupName);
         CacheMetricsRecorder.record(false, SCHEMA_PARTITION_CACHE_NAME);
         return null;
       }
-      Map<String, Map<TSeriesPartitionSlot, TRegionReplicaSet>> schemaPartitionMap =
-          new HashMap<>();
-
-      // check cache for each database
-      for (Map.Entry<String, List<String>> entry : storageGroupToDeviceMap.entrySet()) {
-        String storageGroupName = entry.getKey();
-        Map<TSeriesPartitionSlot, TRegionReplicaSet> regionReplicaSetMap =
-            schemaPartitionMap.computeIfAbsent(storageGroupName, k -> new HashMap<>());
-        SchemaPartitionTable schemaPartitionTable =
-            schemaPartitionCache.getIfPresent(storageGroupName);
-        if (null == schemaPartitionTable) {
-          // if database not find, then return cache miss.
+      Map<TSeriesPartitionSlot, TConsensusGroupId> map =
+          schemaPartitionTable.getSchemaPartitionMap();
+      // check cache for each device
+      for (String device : entry.getValue()) {
+        TSeriesPartitionSlot seriesPartitionSlot =
+            partitionExecutor.getSeriesPartitionSlot(device);
+        if (!map.containsKey(seriesPartitionSlot)) {
+          // if one device not find, then return cache miss.
           logger.debug(
-              "[{} Cache] miss when search database {}",
-              SCHEMA_PARTITION_CACHE_NAME,
-              storageGroupName);
+              "[{} Cache] miss when search device {}", SCHEMA_PARTITION_CACHE_NAME, device);
           CacheMetricsRecorder.record(false, SCHEMA_PARTITION_CACHE_NAME);
           return null;
         }
-        Map<TSeriesPartitionSlot, TConsensusGroupId> map =
-            schemaPartitionTable.getSchemaPartitionMap();
-        // check cache for each device
-        for (String device : entry.getValue()) {
-          TSeriesPartitionSlot seriesPartitionSlot =
-              partitionExecutor.getSeriesPartitionSlot(device);
-          if (!map.containsKey(seriesPartitionSlot)) {
-            // if one device not find, then return cache miss.
-            logger.debug(
-                "[{} Cache] miss when search device {}", SCHEMA_PARTITION_CACHE_NAME, device);
-            CacheMetricsRecorder.record(false, SCHEMA_PARTITION_CACHE_NAME);
-            return null;
-          }
-          TConsensusGroupId consensusGroupId = map.get(seriesPartitionSlot);
-          TRegionReplicaSet regionReplicaSet = getRegionReplicaSet(consensusGroupId);
-          regionReplicaSetMap.put(seriesPartitionSlot, regionReplicaSet);
-        }
+        TConsensusGroupId consensusGroupId = map.get(seriesPartitionSlot);
+        TRegionReplicaSet regionReplicaSet = getRegionReplicaSet(consensusGroupId);
+        regionReplicaSetMap.put(seriesPartitionSlot, regionReplicaSet);
       }
-      logger.debug("[{} Cache] hit", SCHEMA_PARTITION_CACHE_NAME);
-      // cache hit
-      CacheMetricsRecorder.record(true, SCHEMA_PARTITION_CACHE_NAME);
-      return new SchemaPartition(
-          schemaPartitionMap, seriesSlotExecutorName, seriesPartitionSlotNum);
-    } finally {
-      schemaPartitionCacheLock.readLock().unlock();
     }
+    logger.debug("[{} Cache] hit", SCHEMA_PARTITION_CACHE_NAME);
+    // cache hit
+    CacheMetricsRecorder.record(true, SCHEMA_PARTITION_CACHE_NAME);
+    return new SchemaPartition(schemaPartitionMap, seriesSlotExecutorName, seriesPartitionSlotNum);
   }
 
   /**
@@ -535,22 +547,24 @@ public class PartitionCache {
    */
   public void updateSchemaPartitionCache(
       Map<String, Map<TSeriesPartitionSlot, TConsensusGroupId>> schemaPartitionTable) {
-    schemaPartitionCacheLock.writeLock().lock();
+    schemaPartitionUpdateLock.lock();
     try {
       for (Map.Entry<String, Map<TSeriesPartitionSlot, TConsensusGroupId>> entry1 :
           schemaPartitionTable.entrySet()) {
         String storageGroupName = entry1.getKey();
         SchemaPartitionTable result = schemaPartitionCache.getIfPresent(storageGroupName);
         if (null == result) {
-          result = new SchemaPartitionTable();
-          schemaPartitionCache.put(storageGroupName, result);
+          // publish the table only after it is filled, lookups don't take any lock
+          schemaPartitionCache.put(
+              storageGroupName,
+              new SchemaPartitionTable(new ConcurrentHashMap<>(entry1.getValue())));
+        } else {
+          // the map of a cached table is concurrent, so merging in place is safe for lookups
+          result.getSchemaPartitionMap().putAll(entry1.getValue());
         }
-        Map<TSeriesPartitionSlot, TConsensusGroupId> seriesPartitionSlotTConsensusGroupIdMap =
-            result.getSchemaPartitionMap();
-        seriesPartitionSlotTConsensusGroupIdMap.putAll(entry1.getValue());
       }
     } finally {
-      schemaPartitionCacheLock.writeLock().unlock();
+      schemaPartitionUpdateLock.unlock();
     }
   }
 
@@ -560,21 +574,21 @@ public class PartitionCache {
    * @param storageGroupName the databases that need to invalid
    */
   public void invalidSchemaPartitionCache(String storageGroupName) {
-    schemaPartitionCacheLock.writeLock().lock();
+    schemaPartitionUpdateLock.lock();
     try {
       schemaPartitionCache.invalidate(storageGroupName);
     } finally {
-      schemaPartitionCacheLock.writeLock().unlock();
+      schemaPartitionUpdateLock.unlock();
     }
   }
 
   /** invalid all schemaPartitionCache */
   public void invalidAllSchemaPartitionCache() {
-    schemaPartitionCacheLock.writeLock().lock();
+    schemaPartitionUpdateLock.lock();
     try {
       schemaPartitionCache.invalidateAll();
     } finally {
-      schemaPartitionCacheLock.writeLock().unlock();
+      schemaPartitionUpdateLock.unlock();
     }
   }
   // endregion
@@ -589,31 +603,26 @@ public class PartitionCache {
    */
   public DataPartition getDataPartition(
       Map<String, List<DataPartitionQueryParam>> storageGroupToQueryParamsMap) {
-    dataPartitionCacheLock.readLock().lock();
-    try {
-      if (storageGroupToQueryParamsMap.size() == 0) {
+    if (storageGroupToQueryParamsMap.size() == 0) {
+      CacheMetricsRecorder.record(false, DATA_PARTITION_CACHE_NAME);
+      return null;
+    }
+    Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TRegionReplicaSet>>>>
+        dataPartitionMap = new HashMap<>();
+    // check cache for each database
+    for (Map.Entry<String, List<DataPartitionQueryParam>> entry :
+        storageGroupToQueryParamsMap.entrySet()) {
+      if (null == entry.getValue()
+          || entry.getValue().isEmpty()
+          || !getStorageGroupDataPartition(dataPartitionMap, entry.getKey(), entry.getValue())) {
         CacheMetricsRecorder.record(false, DATA_PARTITION_CACHE_NAME);
         return null;
       }
-      Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TRegionReplicaSet>>>>
-          dataPartitionMap = new HashMap<>();
-      // check cache for each database
-      for (Map.Entry<String, List<DataPartitionQueryParam>> entry :
-          storageGroupToQueryParamsMap.entrySet()) {
-        if (null == entry.getValue()
-            || entry.getValue().isEmpty()
-            || !getStorageGroupDataPartition(dataPartitionMap, entry.getKey(), entry.getValue())) {
-          CacheMetricsRecorder.record(false, DATA_PARTITION_CACHE_NAME);
-          return null;
-        }
-      }
-      logger.debug("[{} Cache] hit", DATA_PARTITION_CACHE_NAME);
-      // cache hit
-      CacheMetricsRecorder.record(true, DATA_PARTITION_CACHE_NAME);
-      return new DataPartition(dataPartitionMap, seriesSlotExecutorName, seriesPartitionSlotNum);
-    } finally {
-      dataPartitionCacheLock.readLock().unlock();
     }
+    logger.debug("[{} Cache] hit", DATA_PARTITION_CACHE_NAME);
+    // cache hit
+    CacheMetricsRecorder.record(true, DATA_PARTITION_CACHE_NAME);
+    return new DataPartition(dataPartitionMap, seriesSlotExecutorName, seriesPartitionSlotNum);
   }
 
   /**
@@ -737,7 +746,7 @@ public class PartitionCache {
   public void updateDataPartitionCache(
       Map<String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
           dataPartitionTable) {
-    dataPartitionCacheLock.writeLock().lock();
+    dataPartitionUpdateLock.lock();
     try {
       for (Map.Entry<
               String, Map<TSeriesPartitionSlot, Map<TTimePartitionSlot, List<TConsensusGroupId>>>>
@@ -757,8 +766,10 @@ public class PartitionCache {
             if (null != seriesPartitionSlot) {
               SeriesPartitionTable seriesPartitionTable;
               if (!seriesPartitionSlotSeriesPartitionTableMap.containsKey(seriesPartitionSlot)) {
-                // if device not exists, then add new seriesPartitionTable
-                seriesPartitionTable = new SeriesPartitionTable(entry2.getValue());
+                // if device not exists, then add new seriesPartitionTable. copy the response map
+                // into a concurrent one because later merges happen while lookups read it
+                seriesPartitionTable =
+                    new SeriesPartitionTable(new ConcurrentHashMap<>(entry2.getValue()));
                 seriesPartitionSlotSeriesPartitionTableMap.put(
                     seriesPartitionSlot, seriesPartitionTable);
               } else {
@@ -777,7 +788,7 @@ public class PartitionCache {
         }
       }
     } finally {
-      dataPartitionCacheLock.writeLock().unlock();
+      dataPartitionUpdateLock.unlock();
     }
   }
 
@@ -787,21 +798,95 @@ public class PartitionCache {
    * @param storageGroup the databases that need to invalid
    */
   public void invalidDataPartitionCache(String storageGroup) {
-    dataPartitionCacheLock.writeLock().lock();
+    dataPartitionUpdateLock.lock();
     try {
       dataPartitionCache.invalidate(storageGroup);
     } finally {
-      dataPartitionCacheLock.writeLock().unlock();
+      dataPartitionUpdateLock.unlock();
     }
   }
 
   /** invalid all dataPartitionCache */
   public void invalidAllDataPartitionCache() {
-    dataPartitionCacheLock.writeLock().lock();
+    dataPartitionUpdateLock.lock();
     try {
       dataPartitionCache.invalidateAll();
     } finally {
-      dataPartitionCacheLock.writeLock().unlock();
+      dataPartitionUpdateLock.unlock();
+    }
+  }
+
+  // endregion
+
+  // region coalesced fetch
+
+  @FunctionalInterface
+  private interface ConfigNodeFetcher {
+    void fetch(ConfigNodeClient client) throws TException;
+  }
+
+  /**
+   * Run fetcher against confignode unless the same kind of fetch is already in flight, in which
+   * case wait for that one instead of sending another request.
+   *
+   * @param inFlight the slot holding the in-flight fetch of this kind
+   * @param cacheName the name of the cache level, used for metrics
+   * @param fetcher the request to send and the cache update to apply
+   * @return true if this thread sent the request, false if it joined an in-flight one
+   */
+  private boolean fetchOnce(
+      AtomicReference<CompletableFuture<Void>> inFlight,
+      String cacheName,
+      ConfigNodeFetcher fetcher)
+      throws ClientManagerException, TException {
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    while (!inFlight.compareAndSet(null, future)) {
+      CompletableFuture<Void> running = inFlight.get();
+      if (running != null) {
+        waitForFetch(running);
+        return false;
+      }
+    }
+    long startTime = System.nanoTime();
+    Throwable failure = null;
+    try (ConfigNodeClient client =
+        configNodeClientManager.borrowClient(ConfigNodeInfo.CONFIG_REGION_ID)) {
+      fetcher.fetch(client);
+    } catch (Throwable e) {
+      failure = e;
+      throw e;
+    } finally {
+      // free the slot before waking up the waiters, so that their retry never joins this fetch
+      inFlight.compareAndSet(future, null);
+      if (failure == null) {
+        future.complete(null);
+      } else {
+        future.completeExceptionally(failure);
+      }
+      CacheMetricsRecorder.recordLoad(System.nanoTime() - startTime, cacheName);
+    }
+    return true;
+  }
+
+  private void waitForFetch(CompletableFuture<Void> running)
+      throws ClientManagerException, TException {
+    try {
+      running.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new StatementAnalyzeException("Interrupted when waiting for partition fetch");
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof ClientManagerException) {
+        throw (ClientManagerException) cause;
+      } else if (cause instanceof TException) {
+        throw (TException) cause;
+      } else if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new StatementAnalyzeException(cause.getMessage());
     }
   }
 
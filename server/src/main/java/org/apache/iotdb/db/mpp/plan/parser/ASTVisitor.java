@@ -2399,11 +2399,23 @@ public class ASTVisitor extends IoTDBSqlParserBaseVisitor<Statement> {
       case SqlConstant.AVG:
       case SqlConstant.SUM:
       case SqlConstant.TIME_DURATION:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
+      case SqlConstant.VAR_SAMP:
+      case SqlConstant.VAR_POP:
+      case SqlConstant.STDDEV_SAMP:
+      case SqlConstant.STDDEV_POP:
         checkFunctionExpressionInputSize(
             functionExpression.getExpressionString(),
             functionExpression.getExpressions().size(),
             1);
         return;
+      case SqlConstant.APPROX_PERCENTILE:
+        checkFunctionExpressionInputSize(
+            functionExpression.getExpressionString(),
+            functionExpression.getExpressions().size(),
+            1);
+        checkApproxPercentileAttributes(functionExpression);
+        return;
       case SqlConstant.COUNT_IF:
         checkFunctionExpressionInputSize(
             functionExpression.getExpressionString(),
@@ -2431,6 +2443,23 @@ public class ASTVisitor extends IoTDBSqlParserBaseVisitor<Statement> {
     }
   }
 
+  private void checkApproxPercentileAttributes(FunctionExpression functionExpression) {
+    Map<String, String> attributes = functionExpression.getFunctionAttributes();
+    try {
+      double rank = Double.parseDouble(attributes.getOrDefault("rank", "0.5"));
+      double error = Double.parseDouble(attributes.getOrDefault("error", "0.01"));
+      if (rank >= 0 && rank <= 1 && error > 0 && error < 1) {
+        return;
+      }
+    } catch (NumberFormatException e) {
+      // fall through to report the illegal attributes
+    }
+    throw new SemanticException(
+        String.format(
+            "Attribute rank of %s should be in [0, 1] and attribute error should be in (0, 1)",
+            functionExpression.getExpressionString()));
+  }
+
   private void checkFunctionExpressionInputSize(
       String expressionString, int actual, int... expected) {
     for (int expect : expected) {
@@ -289,6 +289,7 @@ public class StatementGenerator {
         QueryDataSetUtils.readBitMapsFromBuffer(
             insertTabletReq.values, insertTabletReq.types.size(), insertTabletReq.size));
     insertStatement.setRowCount(insertTabletReq.size);
+    insertStatement.sortByTimeIfNeeded();
     TSDataType[] dataTypes = new TSDataType[insertTabletReq.types.size()];
     for (int i = 0; i < insertTabletReq.types.size(); i++) {
       dataTypes[i] = TSDataType.deserialize((byte) insertTabletReq.types.get(i).intValue());
@@ -321,6 +322,7 @@ public class StatementGenerator {
           QueryDataSetUtils.readBitMapsFromBuffer(
               req.valuesList.get(i), req.measurementsList.get(i).size(), req.sizeList.get(i)));
       insertTabletStatement.setRowCount(req.sizeList.get(i));
+      insertTabletStatement.sortByTimeIfNeeded();
       TSDataType[] dataTypes = new TSDataType[req.typesList.get(i).size()];
       for (int j = 0; j < dataTypes.length; j++) {
         dataTypes[j] = TSDataType.deserialize((byte) req.typesList.get(i).get(j).intValue());
@@ -30,6 +30,7 @@ import org.apache.iotdb.db.mpp.execution.operator.Operator;
 import org.apache.iotdb.db.mpp.execution.operator.source.ExchangeOperator;
 import org.apache.iotdb.db.mpp.execution.timer.RuleBasedTimeSliceAllocator;
 import org.apache.iotdb.db.mpp.plan.analyze.TypeProvider;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.TimeValuePair;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
@@ -69,6 +70,9 @@ public class LocalExecutionPlanContext {
 
   private final long dataRegionTTL;
 
+  // only the first K rows of these SortNodes are needed, because of the LimitNodes above them
+  private final Map<PlanNodeId, Integer> sortTopKMap;
+
   private List<TSDataType> cachedDataTypes;
 
   // left is cached last value in last query
@@ -85,6 +89,7 @@ public class LocalExecutionPlanContext {
     this.typeProvider = typeProvider;
     this.allSensorsMap = new ConcurrentHashMap<>();
     this.dataRegionTTL = instanceContext.getDataRegion().getDataTTL();
+    this.sortTopKMap = new ConcurrentHashMap<>();
     this.nextOperatorId = new AtomicInteger(0);
     this.nextPipelineId = new AtomicInteger(0);
     this.driverContext = new DataDriverContext(instanceContext, getNextPipelineId());
@@ -97,6 +102,7 @@ public class LocalExecutionPlanContext {
     this.typeProvider = parentContext.typeProvider;
     this.allSensorsMap = parentContext.allSensorsMap;
     this.dataRegionTTL = parentContext.dataRegionTTL;
+    this.sortTopKMap = parentContext.sortTopKMap;
     this.nextPipelineId = parentContext.nextPipelineId;
     this.pipelineDriverFactories = parentContext.pipelineDriverFactories;
     this.degreeOfParallelism = parentContext.degreeOfParallelism;
@@ -117,6 +123,7 @@ public class LocalExecutionPlanContext {
 
     // there is no ttl in schema region, so we don't care this field
     this.dataRegionTTL = Long.MAX_VALUE;
+    this.sortTopKMap = new ConcurrentHashMap<>();
     this.driverContext =
         new SchemaDriverContext(instanceContext, schemaRegion, getNextPipelineId());
     this.pipelineDriverFactories = new ArrayList<>();
@@ -259,6 +266,15 @@ public class LocalExecutionPlanContext {
     return lastQueryTimeFilter;
   }
 
+  public void setSortTopK(PlanNodeId sortNodeId, int topK) {
+    sortTopKMap.put(sortNodeId, topK);
+  }
+
+  /** @return K if only the first K rows of the SortNode are needed, otherwise -1 */
+  public int getSortTopK(PlanNodeId sortNodeId) {
+    return sortTopKMap.getOrDefault(sortNodeId, -1);
+  }
+
   public boolean isNeedUpdateLastCache() {
     return needUpdateLastCache;
   }
@@ -503,6 +503,10 @@ public class LogicalPlanBuilder {
           String.format("%s(%s)", functionName, inputExpressionStr),
           aggregationType == null ? typeProvider.getType(inputExpressionStr) : aggregationType);
     }
+    String stateColumnName = aggregationDescriptor.getPartialStateColumnName();
+    if (stateColumnName != null) {
+      typeProvider.setType(stateColumnName, TSDataType.TEXT);
+    }
   }
 
   public static void updateTypeProviderByPartialAggregation(
@@ -516,6 +520,10 @@ public class LogicalPlanBuilder {
           String.format("%s(%s)", functionName, path.getFullPath()),
           SchemaUtils.getSeriesTypeByPath(path, functionName));
     }
+    String stateColumnName = aggregationDescriptor.getPartialStateColumnName();
+    if (stateColumnName != null) {
+      typeProvider.setType(stateColumnName, TSDataType.TEXT);
+    }
   }
 
   private PlanNode convergeWithTimeJoin(List<PlanNode> sourceNodes, Ordering mergeOrder) {
@@ -262,6 +262,9 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
 
   private static final Comparator<Binary> DESC_BINARY_COMPARATOR = Comparator.reverseOrder();
 
+  // a larger top-K makes the bounded heap itself expensive, the spillable sort is used instead
+  private static final int MAX_SORT_TOP_K = 100_000;
+
   @Override
   public Operator visitPlan(PlanNode node, LocalExecutionPlanContext context) {
     throw new UnsupportedOperationException("should call the concrete visitXX() method");
@@ -1384,6 +1387,17 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
 
   @Override
   public Operator visitLimit(LimitNode node, LocalExecutionPlanContext context) {
+    // Limit(Sort) or Limit(Offset(Sort)) only needs the first limit + offset rows of the SortNode
+    PlanNode childNode = node.getChild();
+    long topK = node.getLimit();
+    if (childNode instanceof OffsetNode) {
+      topK += ((OffsetNode) childNode).getOffset();
+      childNode = ((OffsetNode) childNode).getChild();
+    }
+    if (childNode instanceof SortNode && topK > 0 && topK <= MAX_SORT_TOP_K) {
+      context.setSortTopK(childNode.getPlanNodeId(), (int) topK);
+    }
+
     Operator child = node.getChild().accept(this, context);
     OperatorContext operatorContext =
         context
@@ -1576,7 +1590,7 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
             .addOperatorContext(
                 context.getNextOperatorId(),
                 node.getPlanNodeId(),
-                DeviceViewIntoOperator.class.getSimpleName());
+                SortOperator.class.getSimpleName());
     List<TSDataType> dataTypes = getOutputColumnTypes(node, context.getTypeProvider());
 
     List<SortItem> sortItemList = node.getOrderByParameter().getSortItemList();
@@ -1594,7 +1608,10 @@ public class OperatorTreeGenerator extends PlanVisitor<Operator, LocalExecutionP
         operatorContext,
         child,
         dataTypes,
-        MergeSortComparator.getComparator(sortItemList, sortItemIndexList, sortItemDataTypeList));
+        MergeSortComparator.getComparator(sortItemList, sortItemIndexList, sortItemDataTypeList),
+        IoTDBDescriptor.getInstance().getConfig().getSortBufferSizeInBytes(),
+        IoTDBDescriptor.getInstance().getConfig().getMaxMergedSortRunsNum(),
+        context.getSortTopK(node.getPlanNodeId()));
   }
 
   @Override
@@ -23,6 +23,7 @@ import org.apache.iotdb.common.rpc.thrift.TAggregationType;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.constant.SqlConstant;
 import org.apache.iotdb.db.mpp.plan.expression.Expression;
+import org.apache.iotdb.db.utils.SchemaUtils;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.DataOutputStream;
@@ -124,6 +125,15 @@ public class AggregationDescriptor {
     return inputColumnNames;
   }
 
+  /**
+   * @return the column name of the serialized intermediate result, or null if the intermediate
+   *     results of the aggregation are results of other aggregations
+   */
+  public String getPartialStateColumnName() {
+    String stateName = SchemaUtils.getPartialStateName(aggregationType);
+    return stateName == null ? null : stateName + "(" + getParametersString() + ")";
+  }
+
   /** Keep the lower case of function name for partial result, and origin value for others. */
   protected List<String> getActualAggregationNames(boolean isPartial) {
     List<String> outputAggregationNames = new ArrayList<>();
@@ -145,6 +155,14 @@ public class AggregationDescriptor {
           outputAggregationNames.add(SqlConstant.MAX_TIME);
           outputAggregationNames.add(SqlConstant.MIN_TIME);
           break;
+        case APPROX_COUNT_DISTINCT:
+        case VAR_SAMP:
+        case VAR_POP:
+        case STDDEV_SAMP:
+        case STDDEV_POP:
+        case APPROX_PERCENTILE:
+          outputAggregationNames.add(SchemaUtils.getPartialStateName(aggregationType));
+          break;
         default:
           outputAggregationNames.add(aggregationFuncName);
       }
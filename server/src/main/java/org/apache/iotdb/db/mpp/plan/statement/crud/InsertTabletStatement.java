@@ -27,6 +27,7 @@ import org.apache.iotdb.db.mpp.plan.statement.StatementType;
 import org.apache.iotdb.db.mpp.plan.statement.StatementVisitor;
 import org.apache.iotdb.db.utils.TimePartitionUtils;
 import org.apache.iotdb.tsfile.utils.BitMap;
+import org.apache.iotdb.tsfile.utils.TimeSortUtils;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -34,7 +35,7 @@ import java.util.List;
 
 public class InsertTabletStatement extends InsertBaseStatement {
 
-  private long[] times; // times should be sorted. It is done in the session API.
+  private long[] times; // times should be sorted, see sortByTimeIfNeeded()
   private BitMap[] bitMaps;
   private Object[] columns;
 
@@ -77,6 +78,14 @@ public class InsertTabletStatement extends InsertBaseStatement {
     this.times = times;
   }
 
+  /**
+   * Sort the rows by time in place if the client did not do it. Sessions always send sorted
+   * tablets, so in the common case this is a single scan of times.
+   */
+  public void sortByTimeIfNeeded() {
+    TimeSortUtils.sortByTime(times, columns, bitMaps, rowCount);
+  }
+
   @Override
   public boolean isEmpty() {
     return rowCount == 0
@@ -93,7 +102,7 @@ public class InsertTabletStatement extends InsertBaseStatement {
             * TimePartitionUtils.timePartitionInterval; // included
     long endTime = startTime + TimePartitionUtils.timePartitionInterval; // excluded
     TTimePartitionSlot timePartitionSlot = TimePartitionUtils.getTimePartition(times[0]);
-    for (int i = 1; i < times.length; i++) { // times are sorted in session API.
+    for (int i = 1; i < times.length; i++) { // times are sorted, see sortByTimeIfNeeded()
       if (times[i] >= endTime) {
         result.add(timePartitionSlot);
         // next init
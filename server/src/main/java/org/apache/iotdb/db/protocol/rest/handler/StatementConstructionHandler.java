@@ -159,6 +159,7 @@ public class StatementConstructionHandler {
     insertStatement.setColumns(columns);
     insertStatement.setBitMaps(bitMaps);
     insertStatement.setRowCount(insertTabletRequest.getTimestamps().size());
+    insertStatement.sortByTimeIfNeeded();
     insertStatement.setDataTypes(dataTypes);
     insertStatement.setAligned(insertTabletRequest.getIsAligned());
     return insertStatement;
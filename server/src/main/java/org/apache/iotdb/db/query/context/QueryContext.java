@@ -22,10 +22,10 @@ package org.apache.iotdb.db.query.context;
 import org.apache.iotdb.commons.path.AlignedPath;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.path.PatternTreeMap;
+import org.apache.iotdb.db.engine.cache.ModificationCache;
 import org.apache.iotdb.db.engine.modification.Deletion;
 import org.apache.iotdb.db.engine.modification.Modification;
 import org.apache.iotdb.db.engine.modification.ModificationFile;
-import org.apache.iotdb.db.metadata.path.PatternTreeMapFactory;
 import org.apache.iotdb.db.metadata.path.PatternTreeMapFactory.ModsSerializer;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
 
@@ -46,9 +46,9 @@ public class QueryContext {
   private final Map<String, Map<String, List<Modification>>> filePathModCache =
       new ConcurrentHashMap<>();
   /**
-   * The key is the path of a ModificationFile and the value is all Modifications in this file. We
-   * use this field because each call of Modification.getModifications() return a copy of the
-   * Modifications, and we do not want it to create multiple copies within a query.
+   * The key is the path of a ModificationFile and the value is all Modifications in this file. The
+   * parsed Modifications are shared by queries through ModificationCache, we keep the first one we
+   * get so that a query sees the same Modifications of a file even if it is appended meanwhile.
    */
   private final Map<String, PatternTreeMap<Modification, ModsSerializer>> fileModCache =
       new HashMap<>();
@@ -105,10 +105,7 @@ public class QueryContext {
           PatternTreeMap<Modification, ModsSerializer> allModifications =
               fileModCache.get(modFile.getFilePath());
           if (allModifications == null) {
-            allModifications = PatternTreeMapFactory.getModsPatternTreeMap();
-            for (Modification modification : modFile.getModifications()) {
-              allModifications.append(modification.getPath(), modification);
-            }
+            allModifications = ModificationCache.getInstance().get(modFile);
             fileModCache.put(modFile.getFilePath(), allModifications);
           }
           return sortAndMerge(allModifications.getOverlapped(path));
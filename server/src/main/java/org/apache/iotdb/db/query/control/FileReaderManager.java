@@ -19,16 +19,23 @@
 package org.apache.iotdb.db.query.control;
 
 import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
 import org.apache.iotdb.tsfile.common.conf.TSFileConfig;
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
+import org.apache.iotdb.tsfile.fileSystem.FSType;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
 import org.apache.iotdb.tsfile.read.UnClosedTsFileReader;
+import org.apache.iotdb.tsfile.read.reader.MmapTsFileInput;
 import org.apache.iotdb.tsfile.v2.read.TsFileSequenceReaderForV2;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -44,6 +51,8 @@ public class FileReaderManager {
   private static final Logger resourceLogger = LoggerFactory.getLogger("FileMonitor");
   private static final Logger DEBUG_LOGGER = LoggerFactory.getLogger("QUERY_DEBUG");
 
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
   /** max number of file streams being cached, must be lower than 65535. */
   private static final int MAX_CACHED_FILE_SIZE = 30000;
 
@@ -75,11 +84,21 @@ public class FileReaderManager {
    */
   private Map<String, AtomicInteger> unclosedReferenceMap;
 
+  /**
+   * the key of mappedFileSizeMap is the path of a closed file whose reader is memory mapped and the
+   * value is its mapped size.
+   */
+  private Map<String, Long> mappedFileSizeMap;
+
+  /** total mapped size of all memory mapped readers, guarded by this */
+  private long totalMappedSize = 0;
+
   private FileReaderManager() {
     closedFileReaderMap = new ConcurrentHashMap<>();
     unclosedFileReaderMap = new ConcurrentHashMap<>();
     closedReferenceMap = new ConcurrentHashMap<>();
     unclosedReferenceMap = new ConcurrentHashMap<>();
+    mappedFileSizeMap = new ConcurrentHashMap<>();
   }
 
   public static FileReaderManager getInstance() {
@@ -89,8 +108,13 @@ public class FileReaderManager {
   public synchronized void closeFileAndRemoveReader(String filePath) throws IOException {
     closedReferenceMap.remove(filePath);
     TsFileSequenceReader reader = closedFileReaderMap.remove(filePath);
-    if (reader != null) {
-      reader.close();
+    try {
+      if (reader != null) {
+        reader.close();
+      }
+    } finally {
+      // mapped regions are unmapped before closing the channel, even if closing fails
+      releaseMappedSize(filePath);
     }
     unclosedReferenceMap.remove(filePath);
     reader = unclosedFileReaderMap.remove(filePath);
@@ -127,9 +151,10 @@ public class FileReaderManager {
       if (!isClosed) {
         tsFileReader = new UnClosedTsFileReader(filePath);
       } else {
-        tsFileReader = new TsFileSequenceReader(filePath);
+        tsFileReader = createClosedFileReader(filePath);
         if (tsFileReader.readVersionNumber() != TSFileConfig.VERSION_NUMBER) {
           tsFileReader.close();
+          releaseMappedSize(filePath);
           tsFileReader = new TsFileSequenceReaderForV2(filePath);
           if (!((TsFileSequenceReaderForV2) tsFileReader)
               .readVersionNumberV2()
@@ -145,6 +170,36 @@ public class FileReaderManager {
     return readerMap.get(filePath);
   }
 
+  /**
+   * Sealed files are never modified, so they can be memory mapped to avoid copying chunks from the
+   * page cache. Files are mapped only when the total mapped size is still under the limit,
+   * otherwise they are read by file channels as usual. The mapped size is held until the reader is
+   * closed, which unmaps the file.
+   */
+  private TsFileSequenceReader createClosedFileReader(String filePath) throws IOException {
+    if (CONFIG.isEnableMmapTsFileRead()
+        && MmapTsFileInput.isSupported()
+        && TSFileDescriptor.getInstance().getConfig().getTSFileStorageFs() == FSType.LOCAL) {
+      long fileSize = new File(filePath).length();
+      if (fileSize > 0
+          && totalMappedSize + fileSize <= CONFIG.getMmapTsFileReadMaxMappedSizeInBytes()) {
+        TsFileSequenceReader reader =
+            new TsFileSequenceReader(new MmapTsFileInput(Paths.get(filePath)));
+        mappedFileSizeMap.put(filePath, fileSize);
+        totalMappedSize += fileSize;
+        return reader;
+      }
+    }
+    return new TsFileSequenceReader(filePath);
+  }
+
+  private void releaseMappedSize(String filePath) {
+    Long mappedSize = mappedFileSizeMap.remove(filePath);
+    if (mappedSize != null) {
+      totalMappedSize -= mappedSize;
+    }
+  }
+
   /**
    * Increase the reference count of the reader specified by filePath. Only when the reference count
    * of a reader equals zero, the reader can be closed and removed.
@@ -203,6 +258,9 @@ public class FileReaderManager {
       }
       readerMap.remove(tsFilePath);
       refMap.remove(tsFilePath);
+      if (isClosed) {
+        releaseMappedSize(tsFilePath);
+      }
       if (resourceLogger.isDebugEnabled()) {
         resourceLogger.debug("{} TsFileReader is closed because of no reference.", tsFilePath);
       }
@@ -223,6 +281,7 @@ public class FileReaderManager {
         resourceLogger.debug("{} closedTsFileReader is closed.", entry.getKey());
       }
       closedReferenceMap.remove(entry.getKey());
+      releaseMappedSize(entry.getKey());
       iterator.remove();
     }
     iterator = unclosedFileReaderMap.entrySet().iterator();
@@ -20,6 +20,7 @@
 package org.apache.iotdb.db.query.reader.chunk;
 
 import org.apache.iotdb.db.engine.cache.ChunkCache;
+import org.apache.iotdb.db.engine.cache.PageCache;
 import org.apache.iotdb.db.mpp.metric.QueryMetricsManager;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
@@ -64,7 +65,11 @@ public class DiskChunkLoader implements IChunkLoader {
       chunk.setFromOldFile(chunkMetaData.isFromOldTsFile());
 
       long t2 = System.nanoTime();
-      IChunkReader chunkReader = new ChunkReader(chunk, timeFilter);
+      IChunkReader chunkReader =
+          new ChunkReader(
+              chunk,
+              timeFilter,
+              PageCache.getInstance().getChunkPageCache((ChunkMetadata) chunkMetaData));
       QUERY_METRICS.recordSeriesScanCost(INIT_CHUNK_READER_NONALIGNED_DISK, System.nanoTime() - t2);
 
       return chunkReader;
@@ -57,7 +57,8 @@ public class MemChunkReader implements IChunkReader, IPointReader {
     while (timeValuePairIterator.hasNextTimeValuePair()) {
       TimeValuePair timeValuePair = timeValuePairIterator.nextTimeValuePair();
       if (filter == null
-          || filter.satisfy(timeValuePair.getTimestamp(), timeValuePair.getValue().getValue())) {
+          || filter.satisfyTsPrimitiveType(
+              timeValuePair.getTimestamp(), timeValuePair.getValue())) {
         hasCachedTimeValuePair = true;
         cachedTimeValuePair = timeValuePair;
         break;
@@ -118,7 +118,7 @@ public class MemPageReader implements IPageReader {
           for (int i = 0; i < tsBlock.getPositionCount(); i++) {
             long time = tsBlock.getTimeColumn().getLong(i);
             boolean value = tsBlock.getColumn(0).getBoolean(i);
-            if (valueFilter != null && !valueFilter.satisfy(time, value)) {
+            if (valueFilter != null && !valueFilter.satisfyBoolean(time, value)) {
               continue;
             }
             if (paginationController.hasCurOffset()) {
@@ -139,7 +139,7 @@ public class MemPageReader implements IPageReader {
           for (int i = 0; i < tsBlock.getPositionCount(); i++) {
             long time = tsBlock.getTimeColumn().getLong(i);
             int value = tsBlock.getColumn(0).getInt(i);
-            if (valueFilter != null && !valueFilter.satisfy(time, value)) {
+            if (valueFilter != null && !valueFilter.satisfyInteger(time, value)) {
               continue;
             }
             if (paginationController.hasCurOffset()) {
@@ -160,7 +160,7 @@ public class MemPageReader implements IPageReader {
           for (int i = 0; i < tsBlock.getPositionCount(); i++) {
             long time = tsBlock.getTimeColumn().getLong(i);
             long value = tsBlock.getColumn(0).getLong(i);
-            if (valueFilter != null && !valueFilter.satisfy(time, value)) {
+            if (valueFilter != null && !valueFilter.satisfyLong(time, value)) {
               continue;
             }
             if (paginationController.hasCurOffset()) {
@@ -181,7 +181,7 @@ public class MemPageReader implements IPageReader {
           for (int i = 0; i < tsBlock.getPositionCount(); i++) {
             long time = tsBlock.getTimeColumn().getLong(i);
             float value = tsBlock.getColumn(0).getFloat(i);
-            if (valueFilter != null && !valueFilter.satisfy(time, value)) {
+            if (valueFilter != null && !valueFilter.satisfyFloat(time, value)) {
               continue;
             }
             if (paginationController.hasCurOffset()) {
@@ -202,7 +202,7 @@ public class MemPageReader implements IPageReader {
           for (int i = 0; i < tsBlock.getPositionCount(); i++) {
             long time = tsBlock.getTimeColumn().getLong(i);
             double value = tsBlock.getColumn(0).getDouble(i);
-            if (valueFilter != null && !valueFilter.satisfy(time, value)) {
+            if (valueFilter != null && !valueFilter.satisfyDouble(time, value)) {
               continue;
             }
             if (paginationController.hasCurOffset()) {
@@ -223,7 +223,7 @@ public class MemPageReader implements IPageReader {
           for (int i = 0; i < tsBlock.getPositionCount(); i++) {
             long time = tsBlock.getTimeColumn().getLong(i);
             Binary value = tsBlock.getColumn(0).getBinary(i);
-            if (valueFilter != null && !valueFilter.satisfy(time, value)) {
+            if (valueFilter != null && !valueFilter.satisfyBinary(time, value)) {
               continue;
             }
             if (paginationController.hasCurOffset()) {
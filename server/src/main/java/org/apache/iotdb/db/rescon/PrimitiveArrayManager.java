@@ -28,11 +28,19 @@ import org.apache.iotdb.tsfile.utils.Binary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
-/** Manage all primitive data lists in memory, including get and release operations. */
+/**
+ * Manage all primitive data lists in memory, including get and release operations.
+ *
+ * <p>Released arrays are kept in a lock-free pool per data type, whose size is limited by LIMITS.
+ * Each thread also keeps a few arrays of each type in a local cache, so a thread allocating and
+ * releasing arrays repeatedly (e.g. the buffers of sorting) doesn't touch the shared pool at all.
+ */
 public class PrimitiveArrayManager {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PrimitiveArrayManager.class);
@@ -55,27 +63,44 @@ public class PrimitiveArrayManager {
           * CONFIG.getBufferedArraysMemoryProportion()
           / AMPLIFICATION_FACTOR;
 
-  /** TSDataType#serialize() -> ArrayDeque<Array>, VECTOR is ignored */
-  private static final ArrayDeque[] POOLED_ARRAYS = new ArrayDeque[TSDataType.values().length - 1];
+  /**
+   * max number of arrays of each type kept in the local cache of a thread, they are not counted in
+   * LIMITS but are only a few small arrays per thread
+   */
+  private static final int THREAD_LOCAL_CACHE_SIZE = 16;
+
+  /** TSDataType#serialize() -> Queue<Array>, VECTOR is ignored */
+  @SuppressWarnings("unchecked")
+  private static final Queue<Object>[] POOLED_ARRAYS = new Queue[TSDataType.values().length - 1];
+
+  /**
+   * TSDataType#serialize() -> number of arrays in POOLED_ARRAYS, as the size of a lock-free queue
+   * is not constant time. VECTOR is ignored
+   */
+  private static final AtomicInteger[] POOLED_ARRAY_COUNTS =
+      new AtomicInteger[TSDataType.values().length - 1];
+
+  private static final ThreadLocal<LocalCache> LOCAL_CACHE =
+      ThreadLocal.withInitial(LocalCache::new);
 
-  /** TSDataType#serialize() -> max size of ArrayDeque<Array>, VECTOR is ignored */
+  /** TSDataType#serialize() -> max size of POOLED_ARRAYS, VECTOR is ignored */
   private static final int[] LIMITS = new int[TSDataType.values().length - 1];
 
   /** LIMITS should be updated if (TOTAL_ALLOCATION_REQUEST_COUNT.get() > limitUpdateThreshold) */
   private static long limitUpdateThreshold;
 
   /** TSDataType#serialize() -> count of allocation requests, VECTOR is ignored */
-  private static final AtomicLong[] ALLOCATION_REQUEST_COUNTS =
-      new AtomicLong[] {
-        new AtomicLong(0),
-        new AtomicLong(0),
-        new AtomicLong(0),
-        new AtomicLong(0),
-        new AtomicLong(0),
-        new AtomicLong(0)
+  private static final LongAdder[] ALLOCATION_REQUEST_COUNTS =
+      new LongAdder[] {
+        new LongAdder(),
+        new LongAdder(),
+        new LongAdder(),
+        new LongAdder(),
+        new LongAdder(),
+        new LongAdder()
       };
 
-  private static final AtomicLong TOTAL_ALLOCATION_REQUEST_COUNT = new AtomicLong(0);
+  private static final LongAdder TOTAL_ALLOCATION_REQUEST_COUNT = new LongAdder();
 
   static {
     init();
@@ -103,14 +128,16 @@ public class PrimitiveArrayManager {
     limitUpdateThreshold = (long) ((TSDataType.values().length - 1) * limit);
 
     for (int i = 0; i < POOLED_ARRAYS.length; ++i) {
-      POOLED_ARRAYS[i] = new ArrayDeque<>((int) limit);
+      POOLED_ARRAYS[i] = new ConcurrentLinkedQueue<>();
+      POOLED_ARRAY_COUNTS[i] = new AtomicInteger(0);
     }
 
-    for (AtomicLong allocationRequestCount : ALLOCATION_REQUEST_COUNTS) {
-      allocationRequestCount.set(0);
+    for (LongAdder allocationRequestCount : ALLOCATION_REQUEST_COUNTS) {
+      allocationRequestCount.reset();
     }
 
-    TOTAL_ALLOCATION_REQUEST_COUNT.set(0);
+    TOTAL_ALLOCATION_REQUEST_COUNT.reset();
+    LOCAL_CACHE.remove();
   }
 
   private PrimitiveArrayManager() {}
@@ -125,9 +152,9 @@ public class PrimitiveArrayManager {
       throw new UnSupportedDataTypeException(TSDataType.VECTOR.name());
     }
 
-    if (TOTAL_ALLOCATION_REQUEST_COUNT.get() > limitUpdateThreshold) {
+    if (TOTAL_ALLOCATION_REQUEST_COUNT.sum() > limitUpdateThreshold) {
       synchronized (TOTAL_ALLOCATION_REQUEST_COUNT) {
-        if (TOTAL_ALLOCATION_REQUEST_COUNT.get() > limitUpdateThreshold) {
+        if (TOTAL_ALLOCATION_REQUEST_COUNT.sum() > limitUpdateThreshold) {
           updateLimits();
         }
       }
@@ -135,12 +162,15 @@ public class PrimitiveArrayManager {
 
     int order = dataType.serialize();
 
-    ALLOCATION_REQUEST_COUNTS[order].incrementAndGet();
-    TOTAL_ALLOCATION_REQUEST_COUNT.incrementAndGet();
+    ALLOCATION_REQUEST_COUNTS[order].increment();
+    TOTAL_ALLOCATION_REQUEST_COUNT.increment();
 
-    Object array;
-    synchronized (POOLED_ARRAYS[order]) {
+    Object array = LOCAL_CACHE.get().poll(order);
+    if (array == null) {
       array = POOLED_ARRAYS[order].poll();
+      if (array != null) {
+        POOLED_ARRAY_COUNTS[order].decrementAndGet();
+      }
     }
     if (array == null) {
       array = createPrimitiveArray(dataType);
@@ -151,9 +181,9 @@ public class PrimitiveArrayManager {
   private static void updateLimits() {
     // we want to update LIMITS[i] according to ratios[i]
     double[] ratios = new double[ALLOCATION_REQUEST_COUNTS.length];
+    long totalAllocationRequestCount = TOTAL_ALLOCATION_REQUEST_COUNT.sum();
     for (int i = 0; i < ALLOCATION_REQUEST_COUNTS.length; ++i) {
-      ratios[i] =
-          ALLOCATION_REQUEST_COUNTS[i].get() / (double) TOTAL_ALLOCATION_REQUEST_COUNT.get();
+      ratios[i] = ALLOCATION_REQUEST_COUNTS[i].sum() / (double) totalAllocationRequestCount;
     }
 
     // initially we have:
@@ -202,11 +232,11 @@ public class PrimitiveArrayManager {
         oldLimitUpdateThreshold,
         limitUpdateThreshold);
 
-    for (AtomicLong allocationRequestCount : ALLOCATION_REQUEST_COUNTS) {
-      allocationRequestCount.set(0);
+    for (LongAdder allocationRequestCount : ALLOCATION_REQUEST_COUNTS) {
+      allocationRequestCount.reset();
     }
 
-    TOTAL_ALLOCATION_REQUEST_COUNT.set(0);
+    TOTAL_ALLOCATION_REQUEST_COUNT.reset();
   }
 
   private static Object createPrimitiveArray(TSDataType dataType) {
@@ -261,11 +291,14 @@ public class PrimitiveArrayManager {
       throw new UnSupportedDataTypeException(array.getClass().toString());
     }
 
-    synchronized (POOLED_ARRAYS[order]) {
-      ArrayDeque<Object> arrays = POOLED_ARRAYS[order];
-      if (arrays.size() < LIMITS[order]) {
-        arrays.add(array);
-      }
+    if (LOCAL_CACHE.get().offer(order, array)) {
+      return;
+    }
+    // reserve a place first so that concurrent releases can't exceed the limit
+    if (POOLED_ARRAY_COUNTS[order].incrementAndGet() <= LIMITS[order]) {
+      POOLED_ARRAYS[order].offer(array);
+    } else {
+      POOLED_ARRAY_COUNTS[order].decrementAndGet();
     }
   }
 
@@ -327,4 +360,31 @@ public class PrimitiveArrayManager {
   public static int getArrayRowCount(int size) {
     return size / ARRAY_SIZE + (size % ARRAY_SIZE == 0 ? 0 : 1);
   }
+
+  /** Arrays cached by one thread, a stack for each data type. */
+  private static class LocalCache {
+
+    private final Object[][] arrays =
+        new Object[TSDataType.values().length - 1][THREAD_LOCAL_CACHE_SIZE];
+    private final int[] sizes = new int[TSDataType.values().length - 1];
+
+    private Object poll(int order) {
+      if (sizes[order] == 0) {
+        return null;
+      }
+      int index = --sizes[order];
+      Object array = arrays[order][index];
+      arrays[order][index] = null;
+      return array;
+    }
+
+    private boolean offer(int order, Object array) {
+      // arrays are not cached when pooling of this type is limited to a few arrays
+      if (sizes[order] == THREAD_LOCAL_CACHE_SIZE || sizes[order] >= LIMITS[order]) {
+        return false;
+      }
+      arrays[order][sizes[order]++] = array;
+      return true;
+    }
+  }
 }
@@ -41,12 +41,14 @@ public class WritingMetrics implements IMetricSet {
   public static final String SYNC = "sync";
   public static final String FSYNC = "fsync";
   public static final String SYNC_WAL_BUFFER = "sync_wal_buffer";
+  public static final String COMPRESS_WAL_BUFFER = "compress_wal_buffer";
   public static final String FLUSH_STAGE_SORT = "sort";
   public static final String FLUSH_STAGE_ENCODING = "encoding";
   public static final String FLUSH_STAGE_IO = "io";
   public static final String WRITE_PLAN_INDICES = "write_plan_indices";
   public static final String SORT_TASK = "sort_task";
   public static final String ENCODING_TASK = "encoding_task";
+  public static final String ENCODING_WAIT_TASK = "encoding_wait_task";
   public static final String IO_TASK = "io_task";
   public static final String MEM_TABLE_SIZE = "mem_table_size";
   public static final String POINTS_NUM = "total_points_num";
@@ -106,7 +108,7 @@ public class WritingMetrics implements IMetricSet {
   }
 
   private void bindFlushSubTaskMetrics(AbstractMetricService metricService) {
-    Arrays.asList(SORT_TASK, ENCODING_TASK, IO_TASK)
+    Arrays.asList(SORT_TASK, ENCODING_TASK, ENCODING_WAIT_TASK, IO_TASK)
         .forEach(
             type ->
                 metricService.getOrCreateTimer(
@@ -117,7 +119,7 @@ public class WritingMetrics implements IMetricSet {
   }
 
   private void unbindFlushSubTaskMetrics(AbstractMetricService metricService) {
-    Arrays.asList(SORT_TASK, ENCODING_TASK, IO_TASK)
+    Arrays.asList(SORT_TASK, ENCODING_TASK, ENCODING_WAIT_TASK, IO_TASK)
         .forEach(
             type ->
                 metricService.remove(
@@ -135,7 +137,7 @@ public class WritingMetrics implements IMetricSet {
         WALManager::getWALNodesNum,
         Tag.NAME.toString(),
         WAL_NODES_NUM);
-    Arrays.asList(USED_RATIO, ENTRIES_COUNT)
+    Arrays.asList(USED_RATIO, ENTRIES_COUNT, COMPRESSION_RATIO)
         .forEach(
             name ->
                 metricService.getOrCreateHistogram(
@@ -148,7 +150,7 @@ public class WritingMetrics implements IMetricSet {
   private void unbindWALMetrics(AbstractMetricService metricService) {
     metricService.remove(
         MetricType.AUTO_GAUGE, Metric.WAL_NODE_NUM.toString(), Tag.NAME.toString(), WAL_NODES_NUM);
-    Arrays.asList(USED_RATIO, ENTRIES_COUNT)
+    Arrays.asList(USED_RATIO, ENTRIES_COUNT, COMPRESSION_RATIO)
         .forEach(
             name ->
                 metricService.remove(
@@ -189,6 +191,11 @@ public class WritingMetrics implements IMetricSet {
                     SYNC_WAL_BUFFER,
                     Tag.TYPE.toString(),
                     type));
+    metricService.getOrCreateTimer(
+        Metric.WAL_COST.toString(),
+        MetricLevel.IMPORTANT,
+        Tag.STAGE.toString(),
+        COMPRESS_WAL_BUFFER);
   }
 
   private void unbindWALCostMetrics(AbstractMetricService metricService) {
@@ -225,6 +232,8 @@ public class WritingMetrics implements IMetricSet {
                     SYNC_WAL_BUFFER,
                     Tag.TYPE.toString(),
                     type));
+    metricService.remove(
+        MetricType.TIMER, Metric.WAL_COST.toString(), Tag.STAGE.toString(), COMPRESS_WAL_BUFFER);
   }
 
   @Override
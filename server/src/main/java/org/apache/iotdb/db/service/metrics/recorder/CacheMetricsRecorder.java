@@ -23,6 +23,8 @@ import org.apache.iotdb.commons.service.metric.enums.Metric;
 import org.apache.iotdb.commons.service.metric.enums.Tag;
 import org.apache.iotdb.metrics.utils.MetricLevel;
 
+import java.util.concurrent.TimeUnit;
+
 public class CacheMetricsRecorder {
 
   /**
@@ -43,6 +45,17 @@ public class CacheMetricsRecorder {
               name,
               Tag.TYPE.toString(),
               "hit");
+    } else {
+      // cache miss
+      MetricService.getInstance()
+          .count(
+              1,
+              Metric.CACHE.toString(),
+              MetricLevel.IMPORTANT,
+              Tag.NAME.toString(),
+              name,
+              Tag.TYPE.toString(),
+              "miss");
     }
     MetricService.getInstance()
         .count(
@@ -54,4 +67,21 @@ public class CacheMetricsRecorder {
             Tag.TYPE.toString(),
             "all");
   }
+
+  /**
+   * Record the time spent loading missed entries into cache
+   *
+   * @param costTimeInNanos the time cost of the load
+   * @param name the name of object that cached
+   */
+  public static void recordLoad(long costTimeInNanos, String name) {
+    MetricService.getInstance()
+        .timer(
+            costTimeInNanos,
+            TimeUnit.NANOSECONDS,
+            Metric.CACHE_LOAD_TIME.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            name);
+  }
 }
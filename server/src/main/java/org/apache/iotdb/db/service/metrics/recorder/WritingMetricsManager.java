@@ -325,6 +325,27 @@ public class WritingMetricsManager {
             syncType);
   }
 
+  public void recordCompressWALBufferCost(long costTimeInNanos) {
+    MetricService.getInstance()
+        .timer(
+            costTimeInNanos,
+            TimeUnit.NANOSECONDS,
+            Metric.WAL_COST.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.STAGE.toString(),
+            WritingMetrics.COMPRESS_WAL_BUFFER);
+  }
+
+  public void recordWALCompressionRatio(double compressionRatio) {
+    MetricService.getInstance()
+        .histogram(
+            (long) (compressionRatio * 100),
+            Metric.WAL_BUFFER.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            WritingMetrics.COMPRESSION_RATIO);
+  }
+
   public void recordWALBufferUsedRatio(double usedRatio) {
     MetricService.getInstance()
         .histogram(
@@ -125,9 +125,15 @@ public class SchemaUtils {
       case SqlConstant.MAX_TIME:
       case SqlConstant.COUNT:
       case SqlConstant.TIME_DURATION:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
         return TSDataType.INT64;
       case SqlConstant.AVG:
       case SqlConstant.SUM:
+      case SqlConstant.VAR_SAMP:
+      case SqlConstant.VAR_POP:
+      case SqlConstant.STDDEV_SAMP:
+      case SqlConstant.STDDEV_POP:
+      case SqlConstant.APPROX_PERCENTILE:
         return TSDataType.DOUBLE;
       case SqlConstant.LAST_VALUE:
       case SqlConstant.FIRST_VALUE:
@@ -159,6 +165,12 @@ public class SchemaUtils {
       case COUNT:
       case AVG:
       case TIME_DURATION:
+      case APPROX_COUNT_DISTINCT:
+      case VAR_SAMP:
+      case VAR_POP:
+      case STDDEV_SAMP:
+      case STDDEV_POP:
+      case APPROX_PERCENTILE:
         return true;
       default:
         throw new IllegalArgumentException(
@@ -192,10 +204,36 @@ public class SchemaUtils {
       case MIN_TIME:
       case MAX_TIME:
       case COUNT_IF:
+      case APPROX_COUNT_DISTINCT:
+      case VAR_SAMP:
+      case VAR_POP:
+      case STDDEV_SAMP:
+      case STDDEV_POP:
+      case APPROX_PERCENTILE:
         return Collections.emptyList();
       default:
         throw new IllegalArgumentException(
             String.format("Invalid Aggregation function: %s", aggregationType));
     }
   }
+
+  /**
+   * Some aggregations output their intermediate result as a serialized state instead of the results
+   * of other aggregations, the state is a single TEXT column named by this method.
+   *
+   * @return the name of the intermediate state, or null if the aggregation has none
+   */
+  public static String getPartialStateName(TAggregationType aggregationType) {
+    switch (aggregationType) {
+      case APPROX_COUNT_DISTINCT:
+      case VAR_SAMP:
+      case VAR_POP:
+      case STDDEV_SAMP:
+      case STDDEV_POP:
+      case APPROX_PERCENTILE:
+        return aggregationType.toString().toLowerCase() + SqlConstant.PARTIAL_STATE_SUFFIX;
+      default:
+        return null;
+    }
+  }
 }
@@ -131,6 +131,7 @@ public class TypeInferenceUtils {
       case SqlConstant.COUNT:
       case SqlConstant.COUNT_IF:
       case SqlConstant.TIME_DURATION:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
         return TSDataType.INT64;
       case SqlConstant.MIN_VALUE:
       case SqlConstant.LAST_VALUE:
@@ -140,6 +141,11 @@ public class TypeInferenceUtils {
         return dataType;
       case SqlConstant.AVG:
       case SqlConstant.SUM:
+      case SqlConstant.VAR_SAMP:
+      case SqlConstant.VAR_POP:
+      case SqlConstant.STDDEV_SAMP:
+      case SqlConstant.STDDEV_POP:
+      case SqlConstant.APPROX_PERCENTILE:
         return TSDataType.DOUBLE;
       default:
         throw new IllegalArgumentException("Invalid Aggregation function: " + aggrFuncName);
@@ -157,17 +163,23 @@ public class TypeInferenceUtils {
       case SqlConstant.EXTREME:
       case SqlConstant.MIN_VALUE:
       case SqlConstant.MAX_VALUE:
+      case SqlConstant.VAR_SAMP:
+      case SqlConstant.VAR_POP:
+      case SqlConstant.STDDEV_SAMP:
+      case SqlConstant.STDDEV_POP:
+      case SqlConstant.APPROX_PERCENTILE:
         if (dataType.isNumeric()) {
           return;
         }
         throw new SemanticException(
-            "Aggregate functions [AVG, SUM, EXTREME, MIN_VALUE, MAX_VALUE] only support numeric data types [INT32, INT64, FLOAT, DOUBLE]");
+            "Aggregate functions [AVG, SUM, EXTREME, MIN_VALUE, MAX_VALUE, VAR_SAMP, VAR_POP, STDDEV_SAMP, STDDEV_POP, APPROX_PERCENTILE] only support numeric data types [INT32, INT64, FLOAT, DOUBLE]");
       case SqlConstant.COUNT:
       case SqlConstant.MIN_TIME:
       case SqlConstant.MAX_TIME:
       case SqlConstant.FIRST_VALUE:
       case SqlConstant.LAST_VALUE:
       case SqlConstant.TIME_DURATION:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
         return;
       case SqlConstant.COUNT_IF:
         if (dataType != TSDataType.BOOLEAN) {
@@ -204,6 +216,12 @@ public class TypeInferenceUtils {
       case SqlConstant.FIRST_VALUE:
       case SqlConstant.LAST_VALUE:
       case SqlConstant.TIME_DURATION:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
+      case SqlConstant.VAR_SAMP:
+      case SqlConstant.VAR_POP:
+      case SqlConstant.STDDEV_SAMP:
+      case SqlConstant.STDDEV_POP:
+      case SqlConstant.APPROX_PERCENTILE:
         return;
       case SqlConstant.COUNT_IF:
         Expression keepExpression = inputExpressions.get(1);
@@ -126,6 +126,8 @@ public abstract class AlignedTVList extends TVList {
     alignedTvList.values = values;
     alignedTvList.bitMaps = bitMaps;
     alignedTvList.rowCount = this.rowCount;
+    // the view shares the arrays, so releasing it releases this list
+    alignedTvList.referenceCount = this.referenceCount;
     return alignedTvList;
   }
 
@@ -38,10 +38,16 @@ public class BackAlignedTVList extends QuickAlignedTVList implements BackwardSor
   @Override
   public void sort() {
     if (!sorted) {
-      backwardSort(timestamps, rowCount);
+      if (sortedRowCount > 0) {
+        // sorted before, only the rows appended since then need to be sorted and merged
+        backwardSortAppended(getSortedPrefixEnd(), rowCount);
+      } else {
+        backwardSort(timestamps, rowCount);
+      }
       clearTmp();
     }
     sorted = true;
+    sortedRowCount = rowCount;
   }
 
   @Override
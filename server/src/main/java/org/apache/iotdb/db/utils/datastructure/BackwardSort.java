@@ -50,6 +50,20 @@ public interface BackwardSort extends QuickSort {
     }
   }
 
+  /**
+   * sort [0, rowCount) whose prefix [0, sortedEnd) is already sorted, only the appended part is
+   * sorted and then merged backward with the overlapping part of the prefix.
+   */
+  default void backwardSortAppended(int sortedEnd, int rowCount) {
+    if (sortedEnd >= rowCount) {
+      return;
+    }
+    sortBlock(sortedEnd, rowCount - 1);
+    if (sortedEnd > 0) {
+      backwardMergeBlocks(0, sortedEnd - 1, rowCount);
+    }
+  }
+
   /**
    * check block-inversions to find the proper block_size, which is a multiple of array_size. For
    * totally ordered, the block_size will equals to array_size For totally reverse ordered, the
@@ -57,9 +57,12 @@ public abstract class TVList implements WALEntryValue {
   protected int rowCount;
 
   protected boolean sorted = true;
+  // rows in [0, sortedRowCount) are sorted by the last sort, rows appended after them only need to
+  // be sorted and merged into them instead of sorting the whole list again
+  protected int sortedRowCount;
   protected long maxTime;
-  // record reference count of this tv list
-  // currently this reference will only be increase because we can't know when to decrease it
+  // record reference count of this tv list, a query holds a reference until it has copied the
+  // data out, a referenced list is cloned instead of being sorted in place
   protected AtomicInteger referenceCount;
   private long version;
 
@@ -113,6 +116,10 @@ public abstract class TVList implements WALEntryValue {
     referenceCount.incrementAndGet();
   }
 
+  public void decreaseReferenceCount() {
+    referenceCount.decrementAndGet();
+  }
+
   public int getReferenceCount() {
     return referenceCount.get();
   }
@@ -256,8 +263,13 @@ public abstract class TVList implements WALEntryValue {
 
   public int delete(long lowerBound, long upperBound) {
     int newSize = 0;
+    int newSortedRowCount = 0;
     maxTime = Long.MIN_VALUE;
     for (int i = 0; i < rowCount; i++) {
+      if (i == sortedRowCount) {
+        // the remaining rows keep their order, so the sorted prefix only shrinks
+        newSortedRowCount = newSize;
+      }
       long time = getTime(i);
       if (time < lowerBound || time > upperBound) {
         set(i, newSize++);
@@ -265,6 +277,7 @@ public abstract class TVList implements WALEntryValue {
       }
     }
     int deletedNumber = rowCount - newSize;
+    sortedRowCount = sortedRowCount >= rowCount ? newSize : newSortedRowCount;
     rowCount = newSize;
     // release primitive arrays that are empty
     int newArrayNum = newSize / ARRAY_SIZE;
@@ -285,12 +298,14 @@ public abstract class TVList implements WALEntryValue {
     }
     cloneList.rowCount = rowCount;
     cloneList.sorted = sorted;
+    cloneList.sortedRowCount = sortedRowCount;
     cloneList.maxTime = maxTime;
   }
 
   public void clear() {
     rowCount = 0;
     sorted = true;
+    sortedRowCount = 0;
     maxTime = Long.MIN_VALUE;
     clearTime();
     clearValue();
@@ -324,6 +339,18 @@ public abstract class TVList implements WALEntryValue {
     return cloneArray;
   }
 
+  /**
+   * Get the end of the sorted prefix, i.e. the rows sorted by the last sort extended with the rows
+   * appended in order after them. Only the rows after it need to be sorted and merged.
+   */
+  protected int getSortedPrefixEnd() {
+    int end = Math.max(1, Math.min(sortedRowCount, rowCount));
+    while (end < rowCount && getTime(end - 1) <= getTime(end)) {
+      end++;
+    }
+    return Math.min(end, rowCount);
+  }
+
   void updateMaxTimeAndSorted(long[] time, int start, int end) {
     int length = time.length;
     long inPutMinTime = Long.MAX_VALUE;
@@ -44,10 +44,13 @@ public class TimBinaryTVList extends BinaryTVList implements TimSort {
       sortedValues =
           (Binary[][]) PrimitiveArrayManager.createDataListsByType(TSDataType.TEXT, rowCount);
     }
-    sort(0, rowCount);
+    if (!sorted) {
+      sortAppended(0, getSortedPrefixEnd(), rowCount);
+    }
     clearSortedValue();
     clearSortedTime();
     sorted = true;
+    sortedRowCount = rowCount;
   }
 
   @Override
@@ -43,11 +43,12 @@ public class TimBooleanTVList extends BooleanTVList implements TimSort {
           (boolean[][]) PrimitiveArrayManager.createDataListsByType(TSDataType.BOOLEAN, rowCount);
     }
     if (!sorted) {
-      sort(0, rowCount);
+      sortAppended(0, getSortedPrefixEnd(), rowCount);
     }
     clearSortedValue();
     clearSortedTime();
     sorted = true;
+    sortedRowCount = rowCount;
   }
 
   @Override
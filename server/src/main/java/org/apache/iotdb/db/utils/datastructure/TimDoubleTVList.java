@@ -43,11 +43,12 @@ public class TimDoubleTVList extends DoubleTVList implements TimSort {
           (double[][]) PrimitiveArrayManager.createDataListsByType(TSDataType.DOUBLE, rowCount);
     }
     if (!sorted) {
-      sort(0, rowCount);
+      sortAppended(0, getSortedPrefixEnd(), rowCount);
     }
     clearSortedValue();
     clearSortedTime();
     sorted = true;
+    sortedRowCount = rowCount;
   }
 
   @Override
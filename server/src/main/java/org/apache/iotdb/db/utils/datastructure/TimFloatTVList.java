@@ -44,11 +44,12 @@ public class TimFloatTVList extends FloatTVList implements TimSort {
           (float[][]) PrimitiveArrayManager.createDataListsByType(TSDataType.FLOAT, rowCount);
     }
     if (!sorted) {
-      sort(0, rowCount);
+      sortAppended(0, getSortedPrefixEnd(), rowCount);
     }
     clearSortedValue();
     clearSortedTime();
     sorted = true;
+    sortedRowCount = rowCount;
   }
 
   @Override
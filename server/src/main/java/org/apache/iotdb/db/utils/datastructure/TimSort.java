@@ -70,6 +70,36 @@ public interface TimSort {
     merge(lo, mid, hi);
   }
 
+  /**
+   * sort [lo, hi) whose prefix [lo, sortedEnd) is already sorted. Only the appended part is sorted,
+   * then it is merged with the part of the prefix that is larger than its first element, so the
+   * cost depends on how many rows are appended and how far back they go instead of the list size.
+   */
+  default void sortAppended(int lo, int sortedEnd, int hi) {
+    if (sortedEnd >= hi) {
+      return;
+    }
+    if (sortedEnd <= lo) {
+      sort(lo, hi);
+      return;
+    }
+    sort(sortedEnd, hi);
+    // the elements of the prefix not larger than the first appended one are already in place
+    int left = lo;
+    int right = sortedEnd;
+    while (left < right) {
+      int mid = (left + right) >>> 1;
+      if (compare(mid, sortedEnd) <= 0) {
+        left = mid + 1;
+      } else {
+        right = mid;
+      }
+    }
+    if (left < sortedEnd) {
+      merge(left, sortedEnd, hi);
+    }
+  }
+
   default int countRunAndMakeAscending(int lo, int hi) {
     assert lo < hi;
     int runHi = lo + 1;
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.utils.sort;
+
+import org.apache.iotdb.commons.file.SystemFileFactory;
+import org.apache.iotdb.db.utils.datastructure.MergeSortHeap;
+import org.apache.iotdb.db.utils.datastructure.MergeSortKey;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.TsBlockSerde;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Spill sorted runs into files of one folder. Each file is a sequence of serialized TsBlocks, and
+ * each TsBlock is prefixed with its length.
+ *
+ * <p>Each run being read holds a TsBlock in memory, so the runs can be merged into fewer runs in
+ * several passes before they are read at the same time.
+ */
+public class DiskSpiller {
+
+  private static final String FILE_SUFFIX = ".sort";
+
+  private final File folder;
+  private final TsBlockBuilder tsBlockBuilder;
+  private final TsBlockSerde serde = new TsBlockSerde();
+  private final List<File> spilledFiles = new ArrayList<>();
+  // used to name the spilled files, as the merged files are removed from spilledFiles
+  private int fileIndex;
+
+  public DiskSpiller(String folderPath, List<TSDataType> dataTypes) {
+    this.folder = SystemFileFactory.INSTANCE.getFile(folderPath);
+    this.tsBlockBuilder = new TsBlockBuilder(dataTypes);
+  }
+
+  /** Write all the remaining rows of the sorted run into a new file. */
+  public void spill(SortReader sortedRun) throws IOException {
+    if (spilledFiles.isEmpty()) {
+      FileUtils.forceMkdir(folder);
+    }
+    File file = SystemFileFactory.INSTANCE.getFile(folder, fileIndex++ + FILE_SUFFIX);
+    spilledFiles.add(file);
+    try (DataOutputStream outputStream =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+      tsBlockBuilder.reset();
+      while (sortedRun.hasNext()) {
+        SortUtils.appendRow(tsBlockBuilder, sortedRun.next());
+        if (tsBlockBuilder.isFull()) {
+          writeTsBlock(outputStream);
+        }
+      }
+      if (!tsBlockBuilder.isEmpty()) {
+        writeTsBlock(outputStream);
+      }
+    }
+  }
+
+  private void writeTsBlock(DataOutputStream outputStream) throws IOException {
+    ByteBuffer buffer = serde.serialize(tsBlockBuilder.build());
+    outputStream.writeInt(buffer.remaining());
+    outputStream.write(
+        buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    tsBlockBuilder.reset();
+  }
+
+  public int getSpilledRunCount() {
+    return spilledFiles.size();
+  }
+
+  /**
+   * Merge the spilled runs until there are at most maxMergedRunsNum runs. Each pass merges the
+   * earliest maxMergedRunsNum runs into a new run, so at most maxMergedRunsNum runs are read at the
+   * same time.
+   */
+  public void mergeRuns(int maxMergedRunsNum, Comparator<MergeSortKey> comparator)
+      throws IOException {
+    while (spilledFiles.size() > maxMergedRunsNum) {
+      List<File> mergedFiles = new ArrayList<>(spilledFiles.subList(0, maxMergedRunsNum));
+      spilledFiles.subList(0, maxMergedRunsNum).clear();
+      List<SortReader> readers = getReaders(mergedFiles, 0);
+      try {
+        spill(new MergedRunReader(readers, comparator));
+      } finally {
+        for (SortReader reader : readers) {
+          reader.close();
+        }
+      }
+      for (File mergedFile : mergedFiles) {
+        Files.delete(mergedFile.toPath());
+      }
+    }
+  }
+
+  /**
+   * @param startColumnIndex the column index of the first returned reader, which is used to
+   *     identify the reader in merge sort
+   */
+  public List<SortReader> getReaders(int startColumnIndex) throws IOException {
+    return getReaders(spilledFiles, startColumnIndex);
+  }
+
+  private List<SortReader> getReaders(List<File> files, int startColumnIndex) throws IOException {
+    List<SortReader> readers = new ArrayList<>(files.size());
+    try {
+      for (int i = 0; i < files.size(); i++) {
+        readers.add(new FileSpillerReader(files.get(i), serde, startColumnIndex + i));
+      }
+    } catch (IOException e) {
+      for (SortReader reader : readers) {
+        reader.close();
+      }
+      throw e;
+    }
+    return readers;
+  }
+
+  /** Delete all the spilled files. */
+  public void clear() throws IOException {
+    spilledFiles.clear();
+    if (folder.exists()) {
+      FileUtils.deleteDirectory(folder);
+    }
+  }
+
+  /** Merge several sorted runs into one sorted run. */
+  private static class MergedRunReader implements SortReader {
+
+    private final List<SortReader> readers;
+    private final MergeSortHeap mergeSortHeap;
+    // the key returned last time, whose reader is moved forward in the next call of hasNext()
+    private MergeSortKey lastKey;
+
+    private MergedRunReader(List<SortReader> readers, Comparator<MergeSortKey> comparator)
+        throws IOException {
+      this.readers = readers;
+      this.mergeSortHeap = new MergeSortHeap(readers.size(), comparator);
+      for (SortReader reader : readers) {
+        if (reader.hasNext()) {
+          mergeSortHeap.push(reader.next());
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+      if (lastKey != null) {
+        SortReader reader = readers.get(lastKey.columnIndex);
+        if (reader.hasNext()) {
+          mergeSortHeap.push(reader.next());
+        }
+        lastKey = null;
+      }
+      return !mergeSortHeap.isEmpty();
+    }
+
+    @Override
+    public MergeSortKey next() {
+      lastKey = mergeSortHeap.poll();
+      return lastKey;
+    }
+
+    @Override
+    public void close() throws IOException {
+      for (SortReader reader : readers) {
+        reader.close();
+      }
+    }
+  }
+}
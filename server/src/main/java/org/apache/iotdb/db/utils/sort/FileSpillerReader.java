@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.utils.sort;
+
+import org.apache.iotdb.db.utils.datastructure.MergeSortKey;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.column.TsBlockSerde;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+/** Sorted run spilled by {@link DiskSpiller}, TsBlocks are loaded one by one while reading. */
+public class FileSpillerReader implements SortReader {
+
+  /** Size of the buffer used to read the file */
+  public static final int READ_BUFFER_SIZE = 8192;
+
+  private final DataInputStream inputStream;
+  private final TsBlockSerde serde;
+  private long remainingBytes;
+
+  private final MergeSortKey sortKey;
+  private TsBlock cachedTsBlock;
+  private int rowIndex;
+
+  public FileSpillerReader(File file, TsBlockSerde serde, int columnIndex) throws IOException {
+    this.inputStream =
+        new DataInputStream(
+            new BufferedInputStream(Files.newInputStream(file.toPath()), READ_BUFFER_SIZE));
+    this.serde = serde;
+    this.remainingBytes = file.length();
+    this.sortKey = new MergeSortKey(null, 0, columnIndex);
+  }
+
+  @Override
+  public boolean hasNext() throws IOException {
+    while (cachedTsBlock == null || rowIndex >= cachedTsBlock.getPositionCount()) {
+      if (remainingBytes <= 0) {
+        cachedTsBlock = null;
+        return false;
+      }
+      int length = inputStream.readInt();
+      byte[] bytes = new byte[length];
+      inputStream.readFully(bytes);
+      remainingBytes -= Integer.BYTES + length;
+      cachedTsBlock = serde.deserialize(ByteBuffer.wrap(bytes));
+      rowIndex = 0;
+    }
+    return true;
+  }
+
+  @Override
+  public MergeSortKey next() {
+    sortKey.tsBlock = cachedTsBlock;
+    sortKey.rowIndex = rowIndex++;
+    return sortKey;
+  }
+
+  @Override
+  public void close() throws IOException {
+    cachedTsBlock = null;
+    inputStream.close();
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.utils.sort;
+
+import org.apache.iotdb.db.utils.datastructure.MergeSortKey;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Sorted run over the TsBlocks buffered in memory. Instead of creating a {@link MergeSortKey} for
+ * each row, rows are addressed by a long whose high 32 bits are the index of the TsBlock and low 32
+ * bits are the row index, and only these longs are sorted.
+ */
+public class MemoryReader implements SortReader {
+
+  private static final int INSERTION_SORT_THRESHOLD = 7;
+
+  private final List<TsBlock> tsBlocks;
+  private final Comparator<MergeSortKey> comparator;
+  private final long[] sortedRows;
+
+  // keys reused by the comparisons while sorting
+  private final MergeSortKey left = new MergeSortKey(null, 0);
+  private final MergeSortKey right = new MergeSortKey(null, 0);
+
+  private final MergeSortKey sortKey;
+  private int cursor;
+
+  public MemoryReader(
+      List<TsBlock> tsBlocks, Comparator<MergeSortKey> comparator, int columnIndex) {
+    this.tsBlocks = tsBlocks;
+    this.comparator = comparator;
+    this.sortKey = new MergeSortKey(null, 0, columnIndex);
+
+    int rowCount = 0;
+    for (TsBlock tsBlock : tsBlocks) {
+      rowCount += tsBlock.getPositionCount();
+    }
+    this.sortedRows = new long[rowCount];
+    int index = 0;
+    for (int i = 0; i < tsBlocks.size(); i++) {
+      int positionCount = tsBlocks.get(i).getPositionCount();
+      for (int j = 0; j < positionCount; j++) {
+        sortedRows[index++] = ((long) i << 32) | j;
+      }
+    }
+    if (rowCount > 1) {
+      mergeSort(sortedRows.clone(), sortedRows, 0, rowCount);
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    return cursor < sortedRows.length;
+  }
+
+  @Override
+  public MergeSortKey next() {
+    long row = sortedRows[cursor++];
+    sortKey.tsBlock = tsBlocks.get((int) (row >>> 32));
+    sortKey.rowIndex = (int) row;
+    return sortKey;
+  }
+
+  @Override
+  public void close() {
+    // nothing to release, the buffered TsBlocks are held by the caller
+  }
+
+  /** Stable merge sort, src and dest should hold the same content in range [low, high). */
+  private void mergeSort(long[] src, long[] dest, int low, int high) {
+    int length = high - low;
+    if (length < INSERTION_SORT_THRESHOLD) {
+      for (int i = low + 1; i < high; i++) {
+        long current = dest[i];
+        int j = i;
+        while (j > low && compare(dest[j - 1], current) > 0) {
+          dest[j] = dest[j - 1];
+          j--;
+        }
+        dest[j] = current;
+      }
+      return;
+    }
+
+    int mid = (low + high) >>> 1;
+    mergeSort(dest, src, low, mid);
+    mergeSort(dest, src, mid, high);
+
+    // the two halves are already in order
+    if (compare(src[mid - 1], src[mid]) <= 0) {
+      System.arraycopy(src, low, dest, low, length);
+      return;
+    }
+    for (int i = low, p = low, q = mid; i < high; i++) {
+      if (q >= high || (p < mid && compare(src[p], src[q]) <= 0)) {
+        dest[i] = src[p++];
+      } else {
+        dest[i] = src[q++];
+      }
+    }
+  }
+
+  private int compare(long leftRow, long rightRow) {
+    left.tsBlock = tsBlocks.get((int) (leftRow >>> 32));
+    left.rowIndex = (int) leftRow;
+    right.tsBlock = tsBlocks.get((int) (rightRow >>> 32));
+    right.rowIndex = (int) rightRow;
+    return comparator.compare(left, right);
+  }
+}
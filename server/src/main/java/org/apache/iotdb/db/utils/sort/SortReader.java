@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.utils.sort;
+
+import org.apache.iotdb.db.utils.datastructure.MergeSortKey;
+
+import java.io.IOException;
+
+/** A sorted run of rows, which can be merged with other sorted runs. */
+public interface SortReader {
+
+  /** @return true if there are remaining rows in this run, the next TsBlock may be loaded */
+  boolean hasNext() throws IOException;
+
+  /**
+   * @return the key of the next row. The returned key is reused by this reader, so it should not be
+   *     held after the following call of this method.
+   */
+  MergeSortKey next();
+
+  void close() throws IOException;
+}
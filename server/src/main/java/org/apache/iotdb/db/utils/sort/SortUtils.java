@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.utils.sort;
+
+import org.apache.iotdb.db.utils.datastructure.MergeSortKey;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.Column;
+import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
+
+public class SortUtils {
+
+  private SortUtils() {
+    // util class
+  }
+
+  /** Append the row referred by the sort key into the builder. */
+  public static void appendRow(TsBlockBuilder tsBlockBuilder, MergeSortKey sortKey) {
+    TsBlock tsBlock = sortKey.tsBlock;
+    int rowIndex = sortKey.rowIndex;
+    tsBlockBuilder.getTimeColumnBuilder().writeLong(tsBlock.getTimeByIndex(rowIndex));
+    ColumnBuilder[] valueColumnBuilders = tsBlockBuilder.getValueColumnBuilders();
+    for (int i = 0; i < valueColumnBuilders.length; i++) {
+      Column column = tsBlock.getColumn(i);
+      if (column.isNull(rowIndex)) {
+        valueColumnBuilders[i].appendNull();
+      } else {
+        valueColumnBuilders[i].write(column, rowIndex);
+      }
+    }
+    tsBlockBuilder.declarePosition();
+  }
+}
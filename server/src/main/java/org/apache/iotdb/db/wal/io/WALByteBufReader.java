@@ -20,10 +20,13 @@ package org.apache.iotdb.db.wal.io;
 
 import org.apache.iotdb.db.wal.buffer.WALEntry;
 
+import java.io.BufferedInputStream;
 import java.io.Closeable;
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
 import java.util.Iterator;
@@ -40,6 +43,8 @@ public class WALByteBufReader implements Closeable {
   private final FileChannel channel;
   private final WALMetaData metaData;
   private final Iterator<Integer> sizeIterator;
+  /** only used when the buffers of the file are compressed */
+  private final DataInputStream compressedStream;
 
   public WALByteBufReader(File logFile) throws IOException {
     this.logFile = logFile;
@@ -61,6 +66,13 @@ public class WALByteBufReader implements Closeable {
     // init iterator
     sizeIterator = metaData.getBuffersSize().iterator();
     channel.position(0);
+    if (WALInputStream.isCompressed(channel)) {
+      compressedStream =
+          new DataInputStream(
+              new WALInputStream(new BufferedInputStream(Channels.newInputStream(channel))));
+    } else {
+      compressedStream = null;
+    }
   }
 
   /** Like {@link Iterator#hasNext()} */
@@ -72,7 +84,11 @@ public class WALByteBufReader implements Closeable {
   public ByteBuffer next() throws IOException {
     int size = sizeIterator.next();
     ByteBuffer buffer = ByteBuffer.allocate(size);
-    channel.read(buffer);
+    if (compressedStream == null) {
+      channel.read(buffer);
+    } else {
+      compressedStream.readFully(buffer.array());
+    }
     buffer.clear();
     return buffer;
   }
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.wal.io;
+
+import org.apache.iotdb.tsfile.compress.IUnCompressor;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import static org.apache.iotdb.db.wal.io.WALWriter.COMPRESSED_FILE_HEAD;
+import static org.apache.iotdb.db.wal.io.WALWriter.COMPRESSED_FILE_HEAD_BYTES;
+
+/**
+ * This stream returns the uncompressed content of a .wal file, no matter whether its buffers are
+ * compressed or not, see {@link WALWriter} for the layout of compressed files.
+ */
+public class WALInputStream extends InputStream {
+  private static final byte[] COMPRESSED_FILE_HEAD_ARRAY = COMPRESSED_FILE_HEAD.getBytes();
+
+  private final InputStream in;
+  private final boolean compressed;
+  /** true when all blocks have been read and the rest of the file is not compressed */
+  private boolean reachUncompressedTail = false;
+  /** uncompressed content of current block */
+  private byte[] block = new byte[0];
+
+  private int blockPosition = 0;
+  private int blockLimit = 0;
+  private byte[] compressedBlock = new byte[0];
+
+  public WALInputStream(InputStream in) throws IOException {
+    this.in = in.markSupported() ? in : new BufferedInputStream(in);
+    this.in.mark(COMPRESSED_FILE_HEAD_BYTES);
+    byte[] head = new byte[COMPRESSED_FILE_HEAD_BYTES];
+    int readBytes = 0;
+    int n;
+    while (readBytes < head.length
+        && (n = this.in.read(head, readBytes, head.length - readBytes)) > 0) {
+      readBytes += n;
+    }
+    this.compressed = Arrays.equals(head, COMPRESSED_FILE_HEAD_ARRAY);
+    if (!compressed) {
+      this.in.reset();
+    }
+  }
+
+  /** Returns true if the buffers of this .wal file are compressed. */
+  public static boolean isCompressed(FileChannel channel) throws IOException {
+    if (channel.size() < COMPRESSED_FILE_HEAD_BYTES) {
+      return false;
+    }
+    ByteBuffer head = ByteBuffer.allocate(COMPRESSED_FILE_HEAD_BYTES);
+    channel.read(head, 0);
+    return Arrays.equals(head.array(), COMPRESSED_FILE_HEAD_ARRAY);
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (hasBlockData()) {
+      return block[blockPosition++] & 0xFF;
+    }
+    return in.read();
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (hasBlockData()) {
+      int readBytes = Math.min(len, blockLimit - blockPosition);
+      System.arraycopy(block, blockPosition, b, off, readBytes);
+      blockPosition += readBytes;
+      return readBytes;
+    }
+    return in.read(b, off, len);
+  }
+
+  @Override
+  public int available() throws IOException {
+    return blockLimit - blockPosition + in.available();
+  }
+
+  /** Returns false if the remaining data should be read from the underlying stream directly. */
+  private boolean hasBlockData() throws IOException {
+    if (!compressed || reachUncompressedTail) {
+      return false;
+    }
+    while (blockPosition == blockLimit) {
+      if (!loadNextBlock()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private boolean loadNextBlock() throws IOException {
+    in.mark(1);
+    int typeCode = in.read();
+    if (typeCode == -1) {
+      return false;
+    }
+    CompressionType type;
+    try {
+      type = CompressionType.deserialize((byte) typeCode);
+    } catch (IllegalArgumentException e) {
+      // reach the info end marker, which is not compressed
+      in.reset();
+      reachUncompressedTail = true;
+      return false;
+    }
+    int uncompressedSize = readInt();
+    int compressedSize = readInt();
+    if (block.length < uncompressedSize) {
+      block = new byte[uncompressedSize];
+    }
+    if (type == CompressionType.UNCOMPRESSED) {
+      readFully(block, uncompressedSize);
+    } else {
+      if (compressedBlock.length < compressedSize) {
+        compressedBlock = new byte[compressedSize];
+      }
+      readFully(compressedBlock, compressedSize);
+      IUnCompressor.getUnCompressor(type).uncompress(compressedBlock, 0, compressedSize, block, 0);
+    }
+    blockPosition = 0;
+    blockLimit = uncompressedSize;
+    return true;
+  }
+
+  private int readInt() throws IOException {
+    int ch1 = in.read();
+    int ch2 = in.read();
+    int ch3 = in.read();
+    int ch4 = in.read();
+    if ((ch1 | ch2 | ch3 | ch4) < 0) {
+      throw new EOFException();
+    }
+    return (ch1 << 24) + (ch2 << 16) + (ch3 << 8) + ch4;
+  }
+
+  private void readFully(byte[] bytes, int length) throws IOException {
+    int readBytes = 0;
+    while (readBytes < length) {
+      int n = in.read(bytes, readBytes, length - readBytes);
+      if (n < 0) {
+        throw new EOFException();
+      }
+      readBytes += n;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+}
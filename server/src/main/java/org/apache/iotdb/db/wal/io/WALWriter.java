@@ -18,28 +18,68 @@
  */
 package org.apache.iotdb.db.wal.io;
 
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.service.metrics.recorder.WritingMetricsManager;
 import org.apache.iotdb.db.wal.buffer.WALEntry;
 import org.apache.iotdb.db.wal.buffer.WALEntryType;
 import org.apache.iotdb.db.wal.buffer.WALSignalEntry;
 import org.apache.iotdb.db.wal.utils.WALFileStatus;
+import org.apache.iotdb.tsfile.compress.ICompressor;
+import org.apache.iotdb.tsfile.exception.compress.GZIPCompressOverflowException;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 
-/** WALWriter writes the binary {@link WALEntry} into .wal file. */
+/**
+ * WALWriter writes the binary {@link WALEntry} into .wal file. When wal compression is enabled, the
+ * file starts with {@link #COMPRESSED_FILE_HEAD} and each synced buffer is written as a block of
+ * compression type (1 byte) + uncompressed size (4 bytes) + compressed size (4 bytes) + compressed
+ * bytes. The info end marker, metadata and magic string at the end of file are never compressed.
+ * Use {@link WALInputStream} to read the uncompressed content.
+ */
 public class WALWriter extends LogWriter {
   public static final String MAGIC_STRING = "WAL";
   public static final int MAGIC_STRING_BYTES = MAGIC_STRING.getBytes().length;
+  // first byte differs from all WALEntryType codes, last bytes differ from the magic string
+  public static final String COMPRESSED_FILE_HEAD = "WAL-C";
+  public static final int COMPRESSED_FILE_HEAD_BYTES = COMPRESSED_FILE_HEAD.getBytes().length;
+  public static final int COMPRESSED_BLOCK_HEADER_BYTES = Byte.BYTES + 2 * Integer.BYTES;
+
+  private static final WritingMetricsManager WRITING_METRICS = WritingMetricsManager.getInstance();
 
   private WALFileStatus walFileStatus = WALFileStatus.CONTAINS_NONE_SEARCH_INDEX;
 
   /** wal files' metadata */
   protected final WALMetaData metaData = new WALMetaData();
 
+  /** null when buffers are written without compression */
+  private final ICompressor compressor;
+  /** file head is written together with the first block */
+  private boolean needFileHead = false;
+  // reused between blocks to avoid allocation, only accessed by the sync thread
+  private byte[] uncompressedBytes = new byte[0];
+  private byte[] compressedBytes = new byte[0];
+  private ByteBuffer blockBuffer = ByteBuffer.allocate(0);
+
   public WALWriter(File logFile) throws FileNotFoundException {
+    this(logFile, IoTDBDescriptor.getInstance().getConfig().getWalCompressionAlgorithm());
+  }
+
+  /**
+   * Compression only takes effect on new files. An existing file is only reopened to append its
+   * metadata when it's recovered, which is never compressed.
+   */
+  public WALWriter(File logFile, CompressionType compressionType) throws FileNotFoundException {
     super(logFile);
+    if (compressionType != CompressionType.UNCOMPRESSED && logFile.length() == 0) {
+      this.compressor = ICompressor.getCompressor(compressionType);
+      this.needFileHead = true;
+    } else {
+      this.compressor = null;
+    }
   }
 
   /** Writes buffer and update its' metadata */
@@ -47,7 +87,64 @@ public class WALWriter extends LogWriter {
     // update metadata
     updateMetaData(metaData);
     // flush buffer
-    write(buffer);
+    if (compressor == null) {
+      write(buffer);
+    } else {
+      writeCompressedBlock(buffer);
+    }
+  }
+
+  /** Notice: like {@link #write(ByteBuffer)}, do not flip the buffer before calling this method */
+  private void writeCompressedBlock(ByteBuffer buffer) throws IOException {
+    int uncompressedSize = buffer.position();
+    if (uncompressedSize == 0) {
+      return;
+    }
+    long start = System.nanoTime();
+    if (uncompressedBytes.length < uncompressedSize) {
+      uncompressedBytes = new byte[uncompressedSize];
+    }
+    buffer.flip();
+    buffer.get(uncompressedBytes, 0, uncompressedSize);
+
+    int maxCompressedSize = compressor.getMaxBytesForCompression(uncompressedSize);
+    if (compressedBytes.length < maxCompressedSize) {
+      compressedBytes = new byte[maxCompressedSize];
+    }
+    CompressionType type = compressor.getType();
+    int compressedSize;
+    try {
+      compressedSize = compressor.compress(uncompressedBytes, 0, uncompressedSize, compressedBytes);
+    } catch (GZIPCompressOverflowException e) {
+      compressedSize = uncompressedSize;
+    }
+    byte[] blockBytes = compressedBytes;
+    if (compressedSize >= uncompressedSize) {
+      // keep incompressible data as it is to save the decompression
+      type = CompressionType.UNCOMPRESSED;
+      compressedSize = uncompressedSize;
+      blockBytes = uncompressedBytes;
+    }
+
+    int blockSize = COMPRESSED_FILE_HEAD_BYTES + COMPRESSED_BLOCK_HEADER_BYTES + compressedSize;
+    if (blockBuffer.capacity() < blockSize) {
+      blockBuffer = ByteBuffer.allocate(blockSize);
+    }
+    blockBuffer.clear();
+    if (needFileHead) {
+      blockBuffer.put(COMPRESSED_FILE_HEAD.getBytes());
+      needFileHead = false;
+    }
+    blockBuffer.put(type.serialize());
+    blockBuffer.putInt(uncompressedSize);
+    blockBuffer.putInt(compressedSize);
+    blockBuffer.put(blockBytes, 0, compressedSize);
+    WRITING_METRICS.recordCompressWALBufferCost(System.nanoTime() - start);
+    if (compressedSize > 0) {
+      WRITING_METRICS.recordWALCompressionRatio((double) uncompressedSize / compressedSize);
+    }
+
+    write(blockBuffer);
   }
 
   public void updateMetaData(WALMetaData metaData) {
@@ -18,8 +18,11 @@
  */
 package org.apache.iotdb.db.wal.recover;
 
+import org.apache.iotdb.db.wal.io.WALInputStream;
 import org.apache.iotdb.db.wal.io.WALMetaData;
 import org.apache.iotdb.db.wal.io.WALWriter;
+import org.apache.iotdb.tsfile.compress.IUnCompressor;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 
 import java.io.File;
 import java.io.IOException;
@@ -27,6 +30,8 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.StandardOpenOption;
 
+import static org.apache.iotdb.db.wal.io.WALWriter.COMPRESSED_BLOCK_HEADER_BYTES;
+import static org.apache.iotdb.db.wal.io.WALWriter.COMPRESSED_FILE_HEAD_BYTES;
 import static org.apache.iotdb.db.wal.io.WALWriter.MAGIC_STRING;
 import static org.apache.iotdb.db.wal.io.WALWriter.MAGIC_STRING_BYTES;
 
@@ -51,8 +56,13 @@ public class WALRecoverWriter {
       }
     }
     // truncate broken data
-    try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.APPEND)) {
-      channel.truncate(truncateSize);
+    try (FileChannel channel =
+        FileChannel.open(logFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      if (WALInputStream.isCompressed(channel)) {
+        truncateCompressedFile(channel, truncateSize);
+      } else {
+        channel.truncate(truncateSize);
+      }
     }
     // flush metadata
     try (WALWriter walWriter = new WALWriter(logFile)) {
@@ -60,6 +70,52 @@ public class WALRecoverWriter {
     }
   }
 
+  /**
+   * The valid size of a compressed file is measured before compression, and compressed blocks can
+   * only be truncated as a whole, so the valid part of the block where valid data ends is rewritten
+   * as an uncompressed block.
+   */
+  private void truncateCompressedFile(FileChannel channel, int validSize) throws IOException {
+    long fileSize = channel.size();
+    long position = COMPRESSED_FILE_HEAD_BYTES;
+    long uncompressedOffset = 0;
+    ByteBuffer header = ByteBuffer.allocate(COMPRESSED_BLOCK_HEADER_BYTES);
+    ByteBuffer lastBlock = null;
+    while (uncompressedOffset < validSize && position + COMPRESSED_BLOCK_HEADER_BYTES <= fileSize) {
+      header.clear();
+      channel.read(header, position);
+      header.flip();
+      CompressionType type = CompressionType.deserialize(header.get());
+      int uncompressedSize = header.getInt();
+      int compressedSize = header.getInt();
+      if (uncompressedOffset + uncompressedSize > validSize) {
+        // valid data ends inside this block
+        ByteBuffer compressed = ByteBuffer.allocate(compressedSize);
+        channel.read(compressed, position + COMPRESSED_BLOCK_HEADER_BYTES);
+        byte[] uncompressed = compressed.array();
+        if (type != CompressionType.UNCOMPRESSED) {
+          uncompressed = new byte[uncompressedSize];
+          IUnCompressor.getUnCompressor(type)
+              .uncompress(compressed.array(), 0, compressedSize, uncompressed, 0);
+        }
+        int remainingSize = (int) (validSize - uncompressedOffset);
+        lastBlock = ByteBuffer.allocate(COMPRESSED_BLOCK_HEADER_BYTES + remainingSize);
+        lastBlock.put(CompressionType.UNCOMPRESSED.serialize());
+        lastBlock.putInt(remainingSize);
+        lastBlock.putInt(remainingSize);
+        lastBlock.put(uncompressed, 0, remainingSize);
+        lastBlock.flip();
+        break;
+      }
+      position += COMPRESSED_BLOCK_HEADER_BYTES + compressedSize;
+      uncompressedOffset += uncompressedSize;
+    }
+    channel.truncate(position);
+    if (lastBlock != null) {
+      channel.write(lastBlock, position);
+    }
+  }
+
   private String readTailMagic() throws IOException {
     try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.READ)) {
       ByteBuffer magicStringBytes = ByteBuffer.allocate(MAGIC_STRING_BYTES);
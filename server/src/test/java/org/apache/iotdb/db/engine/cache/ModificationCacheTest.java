@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.engine.cache;
+
+import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.path.PatternTreeMap;
+import org.apache.iotdb.db.constant.TestConstant;
+import org.apache.iotdb.db.engine.modification.Deletion;
+import org.apache.iotdb.db.engine.modification.Modification;
+import org.apache.iotdb.db.engine.modification.ModificationFile;
+import org.apache.iotdb.db.engine.storagegroup.TsFileResource;
+import org.apache.iotdb.db.metadata.path.PatternTreeMapFactory.ModsSerializer;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+public class ModificationCacheTest {
+
+  private final String tsFilePath = TestConstant.BASE_OUTPUT_PATH.concat("cache.tsfile");
+  private final String modFilePath = tsFilePath + ModificationFile.FILE_SUFFIX;
+  private final ModificationCache modificationCache = ModificationCache.getInstance();
+
+  @Before
+  public void setUp() {
+    modificationCache.clear();
+  }
+
+  @After
+  public void tearDown() {
+    modificationCache.clear();
+    new File(modFilePath).delete();
+  }
+
+  @Test
+  public void testGetAndAppend() throws IOException, IllegalPathException {
+    try (ModificationFile modFile = new ModificationFile(modFilePath)) {
+      modFile.write(new Deletion(new PartialPath("root.sg.d1.s1"), 1, 0, 100));
+      PatternTreeMap<Modification, ModsSerializer> modifications = modificationCache.get(modFile);
+      Assert.assertEquals(1, modifications.getOverlapped(new PartialPath("root.sg.d1.s1")).size());
+      // the same file is not parsed again
+      Assert.assertSame(modifications, modificationCache.get(modFile));
+
+      modFile.write(new Deletion(new PartialPath("root.sg.d1.*"), 2, 200, 300));
+      PatternTreeMap<Modification, ModsSerializer> appended = modificationCache.get(modFile);
+      Assert.assertNotSame(modifications, appended);
+      List<Modification> overlapped = appended.getOverlapped(new PartialPath("root.sg.d1.s1"));
+      Assert.assertEquals(2, overlapped.size());
+      Assert.assertEquals(0, appended.getOverlapped(new PartialPath("root.sg.d2.s1")).size());
+    }
+  }
+
+  @Test
+  public void testRemove() throws IOException, IllegalPathException {
+    ModificationFile modFile = new ModificationFile(modFilePath);
+    modFile.write(new Deletion(new PartialPath("root.sg.d1.s1"), 1, 0, 100));
+    modificationCache.get(modFile);
+    Assert.assertFalse(modificationCache.isEmpty());
+    modFile.remove();
+    Assert.assertTrue(modificationCache.isEmpty());
+  }
+
+  @Test
+  public void testRecreateAfterResourceRemoved() throws IOException, IllegalPathException {
+    try (ModificationFile modFile = new ModificationFile(modFilePath)) {
+      modFile.write(new Deletion(new PartialPath("root.sg.d1.s1"), 1, 0, 100));
+      Assert.assertEquals(
+          1, modificationCache.get(modFile).getOverlapped(new PartialPath("root.sg.d1.s1")).size());
+    }
+    // the mods file is deleted together with its TsFile
+    new TsFileResource(new File(tsFilePath)).remove();
+    Assert.assertFalse(new File(modFilePath).exists());
+
+    // a mods file of the same length at the same path
+    try (ModificationFile modFile = new ModificationFile(modFilePath)) {
+      modFile.write(new Deletion(new PartialPath("root.sg.d1.s2"), 1, 0, 100));
+      PatternTreeMap<Modification, ModsSerializer> modifications = modificationCache.get(modFile);
+      Assert.assertEquals(0, modifications.getOverlapped(new PartialPath("root.sg.d1.s1")).size());
+      Assert.assertEquals(1, modifications.getOverlapped(new PartialPath("root.sg.d1.s2")).size());
+    }
+  }
+
+  @Test
+  public void testRecreateWithoutInvalidation() throws IOException, IllegalPathException {
+    File file = new File(modFilePath);
+    try (ModificationFile modFile = new ModificationFile(modFilePath)) {
+      modFile.write(new Deletion(new PartialPath("root.sg.d1.s1"), 1, 0, 100));
+      Assert.assertEquals(
+          1, modificationCache.get(modFile).getOverlapped(new PartialPath("root.sg.d1.s1")).size());
+    }
+    long lastModified = file.lastModified();
+    long length = file.length();
+    // replaced outside of the server, e.g. by hand
+    Assert.assertTrue(file.delete());
+    try (ModificationFile modFile = new ModificationFile(modFilePath)) {
+      modFile.write(new Deletion(new PartialPath("root.sg.d1.s2"), 1, 0, 100));
+      Assert.assertEquals(length, file.length());
+      // the clock may not have ticked since the first file was written
+      Assert.assertTrue(file.setLastModified(lastModified + 1000));
+      PatternTreeMap<Modification, ModsSerializer> modifications = modificationCache.get(modFile);
+      Assert.assertEquals(0, modifications.getOverlapped(new PartialPath("root.sg.d1.s1")).size());
+      Assert.assertEquals(1, modifications.getOverlapped(new PartialPath("root.sg.d1.s2")).size());
+    }
+  }
+}
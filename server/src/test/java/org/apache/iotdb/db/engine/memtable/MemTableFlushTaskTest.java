@@ -19,8 +19,11 @@
 package org.apache.iotdb.db.engine.memtable;
 
 import org.apache.iotdb.commons.exception.IllegalPathException;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.constant.TestConstant;
 import org.apache.iotdb.db.engine.flush.MemTableFlushTask;
+import org.apache.iotdb.db.engine.flush.pool.FlushSubTaskPoolManager;
 import org.apache.iotdb.db.exception.WriteProcessException;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
@@ -32,6 +35,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 
 import static org.junit.Assert.assertEquals;
@@ -39,6 +43,8 @@ import static org.junit.Assert.assertTrue;
 
 public class MemTableFlushTaskTest {
 
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
   private RestorableTsFileIOWriter writer;
   private String storageGroup = "storage_group1";
   private String dataRegionId = "DataRegion-1";
@@ -105,6 +111,52 @@ public class MemTableFlushTaskTest {
     assertEquals(endTime - startTime + 1, chunkMetaData.getNumOfPoints());
   }
 
+  @Test
+  public void testFlushMultiSeriesMemTable()
+      throws ExecutionException, InterruptedException, IllegalPathException {
+    // encode series in parallel even if there is only one CPU, the encoding pool is sized when
+    // the manager starts
+    int prevFlushEncodingThreadCount = config.getFlushEncodingThreadCount();
+    config.setFlushEncodingThreadCount(4);
+    restartFlushSubTaskPool();
+    try {
+      assertEquals(4, FlushSubTaskPoolManager.getInstance().getEncodingPoolSize());
+      // enough series for the encoding pool to finish them out of order
+      int deviceNum = 4;
+      int measurementNum = 50;
+      for (int i = 0; i < deviceNum; i++) {
+        for (int j = 0; j < measurementNum; j++) {
+          MemTableTestUtils.produceData(
+              memTable, startTime, endTime + i + j, "d" + i, "s" + j, TSDataType.INT32);
+        }
+      }
+      MemTableFlushTask memTableFlushTask =
+          new MemTableFlushTask(memTable, writer, storageGroup, dataRegionId);
+      memTableFlushTask.syncFlushMemTable();
+      writer.makeMetadataVisible();
+      assertEquals(deviceNum, writer.getChunkGroupMetadataList().size());
+      for (int i = 0; i < deviceNum; i++) {
+        // chunk groups are written in device order
+        assertEquals("d" + i, writer.getChunkGroupMetadataList().get(i).getDevice());
+        for (int j = 0; j < measurementNum; j++) {
+          List<ChunkMetadata> chunkMetadataList =
+              writer.getVisibleMetadataList("d" + i, "s" + j, TSDataType.INT32);
+          assertEquals(1, chunkMetadataList.size());
+          assertEquals(endTime + i + j, chunkMetadataList.get(0).getEndTime());
+          assertEquals(endTime + i + j - startTime + 1, chunkMetadataList.get(0).getNumOfPoints());
+        }
+      }
+    } finally {
+      config.setFlushEncodingThreadCount(prevFlushEncodingThreadCount);
+      restartFlushSubTaskPool();
+    }
+  }
+
+  private void restartFlushSubTaskPool() {
+    FlushSubTaskPoolManager.getInstance().stop();
+    FlushSubTaskPoolManager.getInstance().start();
+  }
+
   @Test
   public void testFlushVectorMemTable()
       throws ExecutionException, InterruptedException, IllegalPathException, WriteProcessException {
@@ -28,6 +28,7 @@ import org.apache.iotdb.commons.path.MeasurementPath;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.conf.directories.DirectoryManager;
 import org.apache.iotdb.db.constant.TestConstant;
 import org.apache.iotdb.db.engine.StorageEngine;
 import org.apache.iotdb.db.engine.compaction.execute.performer.ICompactionPerformer;
@@ -58,6 +59,7 @@ import org.apache.iotdb.tsfile.write.record.TSRecord;
 import org.apache.iotdb.tsfile.write.record.datapoint.DataPoint;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
+import org.apache.commons.io.FileUtils;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -68,9 +70,15 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class DataRegionTest {
@@ -1139,6 +1147,112 @@ public class DataRegionTest {
         dataRegion.getWorkSequenceTsFileProcessors().contains(tsFileResource.getProcessor()));
   }
 
+  @Test
+  public void testRecoverSealedTsFilesInRecoverThreadPool() throws Exception {
+    long timePartitionInterval = StorageEngine.getTimePartitionInterval();
+    for (int partition = 0; partition < 3; partition++) {
+      long partitionStartTime = partition * timePartitionInterval;
+      insertAndSyncClose(partitionStartTime + 21, partitionStartTime + 30);
+      insertAndSyncClose(partitionStartTime + 31, partitionStartTime + 40);
+      insertAndSyncClose(partitionStartTime + 1, partitionStartTime + 10);
+    }
+    // replace the first seq file of partition 1 by a half written inner compaction target
+    TsFileResource compactionSource = dataRegion.getTsFileManager().getTsFileList(true).get(2);
+    File sourceFile = compactionSource.getTsFile();
+    File crashedTarget =
+        TsFileNameGenerator.increaseInnerCompactionCnt(new TsFileResource(sourceFile)).getTsFile();
+    try (FileChannel source = FileChannel.open(sourceFile.toPath());
+        FileChannel target =
+            FileChannel.open(
+                crashedTarget.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+      source.transferTo(0, source.size() - 1, target);
+    }
+    compactionSource.remove();
+
+    List<String> dataFolders = new ArrayList<>();
+    dataFolders.addAll(DirectoryManager.getInstance().getAllSequenceFileFolders());
+    dataFolders.addAll(DirectoryManager.getInstance().getAllUnSequenceFileFolders());
+    File backupDir = new File(TestConstant.OUTPUT_DATA_DIR, "recover_backup");
+    for (int i = 0; i < dataFolders.size(); i++) {
+      FileUtils.copyDirectory(new File(dataFolders.get(i)), new File(backupDir, String.valueOf(i)));
+    }
+
+    // recover through the pool shared by all data regions during the startup
+    ThreadPoolExecutor recoverThreadPool =
+        new ThreadPoolExecutor(3, 3, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+    long tsFileNumToRecover = StorageEngine.getInstance().getTsFileNumToRecover();
+    long recoveredTsFileNum = StorageEngine.getInstance().getRecoveredTsFileNum();
+    List<List<String>> filesRecoveredInPool;
+    StorageEngine.getInstance().setTsFileRecoverThreadPool(recoverThreadPool);
+    try {
+      filesRecoveredInPool = recoverAndCollectFileNames();
+    } finally {
+      StorageEngine.getInstance().setTsFileRecoverThreadPool(null);
+      recoverThreadPool.shutdown();
+    }
+    Assert.assertTrue(recoverThreadPool.awaitTermination(1, TimeUnit.MINUTES));
+    Assert.assertEquals(9, recoverThreadPool.getCompletedTaskCount());
+    Assert.assertEquals(
+        9, StorageEngine.getInstance().getTsFileNumToRecover() - tsFileNumToRecover);
+    Assert.assertEquals(
+        9, StorageEngine.getInstance().getRecoveredTsFileNum() - recoveredTsFileNum);
+
+    // recover the same files again in the current thread
+    for (int i = 0; i < dataFolders.size(); i++) {
+      File dataFolder = new File(dataFolders.get(i));
+      FileUtils.deleteDirectory(dataFolder);
+      FileUtils.copyDirectory(new File(backupDir, String.valueOf(i)), dataFolder);
+    }
+    FileUtils.deleteDirectory(backupDir);
+    List<List<String>> filesRecoveredInline = recoverAndCollectFileNames();
+
+    Assert.assertEquals(filesRecoveredInline, filesRecoveredInPool);
+    Assert.assertEquals(5, filesRecoveredInPool.get(0).size());
+    Assert.assertEquals(3, filesRecoveredInPool.get(1).size());
+    Assert.assertEquals(
+        Collections.singletonList(crashedTarget.getName()), filesRecoveredInPool.get(2));
+    Assert.assertTrue(filesRecoveredInPool.get(3).isEmpty());
+    Assert.assertEquals(
+        StorageEngine.getInstance().getTsFileNumToRecover(),
+        StorageEngine.getInstance().getRecoveredTsFileNum());
+  }
+
+  private void insertAndSyncClose(long startTime, long endTime)
+      throws IllegalPathException, WriteProcessException {
+    for (long time = startTime; time <= endTime; time++) {
+      TSRecord record = new TSRecord(time, deviceId);
+      record.addTuple(
+          DataPoint.getDataPoint(TSDataType.INT32, measurementId, String.valueOf(time)));
+      dataRegion.insert(buildInsertRowNodeByTSRecord(record));
+    }
+    dataRegion.syncCloseAllWorkingTsFileProcessors();
+  }
+
+  /** @return names of seq files, unseq files, seq and unseq crashed compaction targets in order */
+  private List<List<String>> recoverAndCollectFileNames() throws DataRegionException {
+    DataRegion recoveredRegion = new DummyDataRegion(systemDir, storageGroup);
+    try {
+      TsFileManager tsFileManager = recoveredRegion.getTsFileManager();
+      return Arrays.asList(
+          getFileNames(tsFileManager.getTsFileList(true)),
+          getFileNames(tsFileManager.getTsFileList(false)),
+          getFileNames(tsFileManager.getSequenceRecoverTsFileResources()),
+          getFileNames(tsFileManager.getUnsequenceRecoverTsFileResources()));
+    } finally {
+      if (recoveredRegion.getTimedCompactionScheduleTask() != null) {
+        recoveredRegion.getTimedCompactionScheduleTask().shutdownNow();
+      }
+    }
+  }
+
+  private List<String> getFileNames(List<TsFileResource> resources) {
+    List<String> fileNames = new ArrayList<>();
+    for (TsFileResource resource : resources) {
+      fileNames.add(resource.getTsFile().getName());
+    }
+    return fileNames;
+  }
+
   static class DummyDataRegion extends DataRegion {
 
     DummyDataRegion(String systemInfoDir, String storageGroupName) throws DataRegionException {
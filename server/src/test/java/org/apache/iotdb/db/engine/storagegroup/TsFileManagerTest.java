@@ -22,8 +22,11 @@ package org.apache.iotdb.db.engine.storagegroup;
 import org.apache.iotdb.commons.conf.IoTDBConstant;
 import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.db.constant.TestConstant;
+import org.apache.iotdb.db.engine.StorageEngine;
 import org.apache.iotdb.db.exception.StorageEngineException;
 import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 
 import org.apache.commons.io.FileUtils;
 import org.junit.After;
@@ -237,4 +240,35 @@ public class TsFileManagerTest {
     }
     assertEquals(8, count);
   }
+
+  @Test
+  public void testGetTsFileListByTimeFilter() {
+    long interval = StorageEngine.getTimePartitionInterval();
+    for (int i = 0; i < seqResources.size(); i++) {
+      tsFileManager.insertToPartitionFileList(seqResources.get(i), i, true, 0);
+    }
+    assertEquals(5, tsFileManager.getTsFileList(true, null, Long.MIN_VALUE).size());
+
+    // [interval, 3 * interval) only covers partition 1 and 2
+    List<TsFileResource> resources =
+        tsFileManager.getTsFileList(
+            true,
+            FilterFactory.and(TimeFilter.gtEq(interval), TimeFilter.lt(3 * interval)),
+            Long.MIN_VALUE);
+    assertEquals(2, resources.size());
+    assertEquals(seqResources.get(1), resources.get(0));
+    assertEquals(seqResources.get(2), resources.get(1));
+
+    // negative times fall into partition 0 as long as they are after -interval
+    resources = tsFileManager.getTsFileList(true, TimeFilter.lt(-1), Long.MIN_VALUE);
+    assertEquals(1, resources.size());
+    assertEquals(seqResources.get(0), resources.get(0));
+
+    // partitions before the TTL lower bound are skipped
+    resources = tsFileManager.getTsFileList(true, null, 4 * interval + 1);
+    assertEquals(1, resources.size());
+    assertEquals(seqResources.get(4), resources.get(0));
+    resources = tsFileManager.getTsFileList(true, null, 4 * interval - 1);
+    assertEquals(2, resources.size());
+  }
 }
@@ -25,14 +25,77 @@ import org.apache.iotdb.db.metadata.cache.dualkeycache.impl.DualKeyCachePolicy;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 public class DualKeyCacheTest {
 
   @Test
   public void testBasicReadPut() {
+    testBasicReadPut(DualKeyCachePolicy.LRU);
+  }
+
+  @Test
+  public void testBasicReadPutWithClockPolicy() {
+    testBasicReadPut(DualKeyCachePolicy.CLOCK);
+  }
+
+  @Test
+  public void testConcurrentReadPutWithClockPolicy() throws Exception {
+    IDualKeyCache<String, String, String> dualKeyCache =
+        new DualKeyCacheBuilder<String, String, String>()
+            .cacheEvictionPolicy(DualKeyCachePolicy.CLOCK)
+            .memoryCapacity(10000)
+            .firstKeySizeComputer(this::computeStringSize)
+            .secondKeySizeComputer(this::computeStringSize)
+            .valueSizeComputer(this::computeStringSize)
+            .build();
+
+    int threadNum = 4;
+    int loop = 2000;
+    ExecutorService executorService = Executors.newFixedThreadPool(threadNum);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threadNum; t++) {
+        int finalT = t;
+        futures.add(
+            executorService.submit(
+                () -> {
+                  for (int i = 0; i < loop; i++) {
+                    String firstKey = "root.db.d" + (i % 50);
+                    String secondKey = "s" + finalT;
+                    String value = firstKey + "." + secondKey;
+                    dualKeyCache.put(firstKey, secondKey, value);
+                    String cachedValue = dualKeyCache.get(firstKey, secondKey);
+                    if (cachedValue != null) {
+                      Assert.assertEquals(value, cachedValue);
+                    }
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    Assert.assertTrue(dualKeyCache.stats().memoryUsage() <= 10000);
+    Assert.assertEquals(threadNum * loop, dualKeyCache.stats().requestCount());
+
+    dualKeyCache.invalidateAll();
+    Assert.assertEquals(0, dualKeyCache.stats().memoryUsage());
+    Assert.assertNull(dualKeyCache.get("root.db.d0", "s0"));
+  }
+
+  private void testBasicReadPut(DualKeyCachePolicy policy) {
     DualKeyCacheBuilder<String, String, String> dualKeyCacheBuilder = new DualKeyCacheBuilder<>();
     IDualKeyCache<String, String, String> dualKeyCache =
         dualKeyCacheBuilder
-            .cacheEvictionPolicy(DualKeyCachePolicy.LRU)
+            .cacheEvictionPolicy(policy)
             .memoryCapacity(300)
             .firstKeySizeComputer(this::computeStringSize)
             .secondKeySizeComputer(this::computeStringSize)
@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.tag;
+
+import org.apache.iotdb.commons.exception.MetadataException;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.constant.TestConstant;
+import org.apache.iotdb.tsfile.utils.Pair;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class TagLogFileTest {
+
+  private final int size = IoTDBDescriptor.getInstance().getConfig().getTagAttributeTotalSize();
+  private File testFolder;
+  private TagLogFile tagLogFile;
+
+  @Before
+  public void setUp() throws IOException {
+    testFolder = new File(TestConstant.BASE_OUTPUT_PATH.concat("tagLogFileTest"));
+    tagLogFile = new TagLogFile(testFolder.getPath(), "tlog.txt");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    tagLogFile.close();
+    FileUtils.deleteDirectory(testFolder);
+  }
+
+  @Test
+  public void testBatchRead() throws IOException, MetadataException {
+    int recordNum = 200;
+    long[] offsets = new long[recordNum];
+    for (int i = 0; i < recordNum; i++) {
+      offsets[i] =
+          tagLogFile.write(
+              Collections.singletonMap("tag", "t" + i), Collections.singletonMap("attr", "a" + i));
+    }
+
+    // every third record in reverse order, with a position without record
+    long[] positions = new long[recordNum / 3 + 1];
+    for (int i = 0; i < positions.length - 1; i++) {
+      positions[i] = offsets[recordNum - 1 - i * 3];
+    }
+    positions[positions.length - 1] = -1;
+
+    List<Pair<Map<String, String>, Map<String, String>>> result =
+        tagLogFile.read(size, positions);
+    Assert.assertEquals(positions.length, result.size());
+    for (int i = 0; i < positions.length - 1; i++) {
+      int record = recordNum - 1 - i * 3;
+      Assert.assertEquals(tagLogFile.read(size, positions[i]), result.get(i));
+      Assert.assertEquals("t" + record, result.get(i).left.get("tag"));
+      Assert.assertEquals("a" + record, result.get(i).right.get("attr"));
+    }
+    Assert.assertTrue(result.get(positions.length - 1).left.isEmpty());
+    Assert.assertTrue(result.get(positions.length - 1).right.isEmpty());
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.metadata.tag;
+
+import org.apache.iotdb.db.metadata.mnode.EntityMNode;
+import org.apache.iotdb.db.metadata.mnode.IEntityMNode;
+import org.apache.iotdb.db.metadata.mnode.IMeasurementMNode;
+import org.apache.iotdb.db.metadata.mnode.MeasurementMNode;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+public class TagPostingIndexTest {
+
+  private final IEntityMNode device = new EntityMNode(null, "d");
+  private final IMeasurementMNode s1 = createMeasurement("s1");
+  private final IMeasurementMNode s2 = createMeasurement("s2");
+  private final IMeasurementMNode s3 = createMeasurement("s3");
+
+  @Test
+  public void testExactPrefixAndContains() {
+    TagPostingIndex index = new TagPostingIndex();
+    index.add("city", "beijing", s1);
+    index.add("city", "berlin", s2);
+    index.add("city", "shanghai", s3);
+
+    assertMatched(index, index.getExact("city", "beijing"), s1);
+    assertMatched(index, index.getExact("city", "be"));
+    assertMatched(index, index.getPrefix("city", "be"), s1, s2);
+    assertMatched(index, index.getContains("city", "ai"), s3);
+    assertMatched(index, index.getExact("country", "china"));
+  }
+
+  @Test
+  public void testMultiTag() {
+    TagPostingIndex index = new TagPostingIndex();
+    index.add("city", "beijing", s1);
+    index.add("type", "cpu", s1);
+    index.add("city", "beijing", s2);
+    index.add("type", "mem", s2);
+    index.add("type", "cpu", s3);
+
+    Map<String, String> tags = new HashMap<>();
+    tags.put("city", "beijing");
+    tags.put("type", "cpu");
+    assertMatched(index, index.getMatched(tags, true, false), s1);
+    assertMatched(index, index.getMatched(tags, false, false), s1, s2, s3);
+
+    tags.put("type", "m");
+    assertMatched(index, index.getMatched(tags, true, true), s2);
+    assertMatched(index, index.getMatched(Collections.emptyMap(), true, false));
+  }
+
+  @Test
+  public void testRemove() {
+    TagPostingIndex index = new TagPostingIndex();
+    index.add("city", "beijing", s1);
+    index.add("city", "beijing", s2);
+
+    Assert.assertTrue(index.remove("city", "beijing", s1));
+    Assert.assertFalse(index.remove("city", "beijing", s1));
+    Assert.assertFalse(index.remove("city", "berlin", s2));
+    assertMatched(index, index.getExact("city", "beijing"), s2);
+
+    Assert.assertTrue(index.remove("city", "beijing", s2));
+    Assert.assertFalse(index.containsKey("city"));
+
+    // a removed timeseries is never returned, even if a posting still holds its id
+    index.add("city", "beijing", s3);
+    index.removeSeries(s3);
+    index.add("city", "beijing", s1);
+    assertMatched(index, index.getExact("city", "beijing"), s1);
+  }
+
+  private void assertMatched(
+      TagPostingIndex index, RoaringBitmap ids, IMeasurementMNode... expected) {
+    Assert.assertEquals(
+        new HashSet<>(Arrays.asList(expected)), new HashSet<>(index.getNodes(ids)));
+  }
+
+  private IMeasurementMNode createMeasurement(String name) {
+    return MeasurementMNode.getMeasurementMNode(
+        device, name, new MeasurementSchema(name, TSDataType.INT64), null);
+  }
+}
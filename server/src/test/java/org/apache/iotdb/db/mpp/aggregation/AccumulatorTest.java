@@ -24,6 +24,7 @@ import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.iotdb.tsfile.read.common.block.column.BinaryColumnBuilder;
 import org.apache.iotdb.tsfile.read.common.block.column.Column;
 import org.apache.iotdb.tsfile.read.common.block.column.ColumnBuilder;
 import org.apache.iotdb.tsfile.read.common.block.column.DoubleColumnBuilder;
@@ -488,4 +489,172 @@ public class AccumulatorTest {
     sumAccumulator.outputFinal(finalResult);
     Assert.assertEquals(100d, finalResult.build().getDouble(0), 0.001);
   }
+
+  @Test
+  public void approxCountDistinctAccumulatorTest() {
+    Accumulator approxCountDistinctAccumulator =
+        AccumulatorFactory.createAccumulator(
+            TAggregationType.APPROX_COUNT_DISTINCT,
+            TSDataType.DOUBLE,
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            true);
+    Assert.assertEquals(TSDataType.TEXT, approxCountDistinctAccumulator.getIntermediateType()[0]);
+    Assert.assertEquals(TSDataType.INT64, approxCountDistinctAccumulator.getFinalType());
+    // check returning null while no data
+    ColumnBuilder[] intermediateResult = new ColumnBuilder[1];
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    approxCountDistinctAccumulator.outputIntermediate(intermediateResult);
+    Assert.assertTrue(intermediateResult[0].build().isNull(0));
+    ColumnBuilder finalResult = new LongColumnBuilder(null, 1);
+    approxCountDistinctAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(0, finalResult.build().getLong(0));
+
+    Column[] timeAndValueColumn = getTimeAndValueColumn(0);
+    approxCountDistinctAccumulator.addInput(
+        timeAndValueColumn, null, rawData.getPositionCount() - 1);
+    Assert.assertFalse(approxCountDistinctAccumulator.hasFinalResult());
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    approxCountDistinctAccumulator.outputIntermediate(intermediateResult);
+    Assert.assertFalse(intermediateResult[0].build().isNull(0));
+
+    // merging the same values again doesn't change the result
+    approxCountDistinctAccumulator.addIntermediate(new Column[] {intermediateResult[0].build()});
+    finalResult = new LongColumnBuilder(null, 1);
+    approxCountDistinctAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(100, finalResult.build().getLong(0), 2);
+
+    // statistics can only be used when all values are the same
+    approxCountDistinctAccumulator.reset();
+    Assert.assertTrue(approxCountDistinctAccumulator.canUseStatistics(statistics));
+    approxCountDistinctAccumulator.addStatistics(statistics);
+    finalResult = new LongColumnBuilder(null, 1);
+    approxCountDistinctAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(1, finalResult.build().getLong(0));
+
+    Statistics rangeStatistics = Statistics.getStatsByType(TSDataType.DOUBLE);
+    rangeStatistics.update(1L, 1d);
+    rangeStatistics.update(2L, 2d);
+    Assert.assertFalse(approxCountDistinctAccumulator.canUseStatistics(rangeStatistics));
+
+    // statistics carrying a distinct sketch can always be used
+    Statistics sketchStatistics = Statistics.getStatsByType(TSDataType.DOUBLE);
+    sketchStatistics.enableDistinctSketch();
+    for (int i = 0; i < 200; i++) {
+      sketchStatistics.update(i, (double) (i % 50));
+    }
+    Assert.assertTrue(approxCountDistinctAccumulator.canUseStatistics(sketchStatistics));
+    approxCountDistinctAccumulator.addStatistics(sketchStatistics);
+    finalResult = new LongColumnBuilder(null, 1);
+    approxCountDistinctAccumulator.outputFinal(finalResult);
+    // 100 of the previous statistics and 0~49 of the sketch
+    Assert.assertEquals(51, finalResult.build().getLong(0), 2);
+  }
+
+  @Test
+  public void varianceAccumulatorTest() {
+    Accumulator varianceAccumulator =
+        AccumulatorFactory.createAccumulator(
+            TAggregationType.VAR_SAMP,
+            TSDataType.DOUBLE,
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            true);
+    Assert.assertEquals(TSDataType.TEXT, varianceAccumulator.getIntermediateType()[0]);
+    Assert.assertEquals(TSDataType.DOUBLE, varianceAccumulator.getFinalType());
+    // check returning null while no data
+    ColumnBuilder[] intermediateResult = new ColumnBuilder[1];
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    varianceAccumulator.outputIntermediate(intermediateResult);
+    Assert.assertTrue(intermediateResult[0].build().isNull(0));
+    ColumnBuilder finalResult = new DoubleColumnBuilder(null, 1);
+    varianceAccumulator.outputFinal(finalResult);
+    Assert.assertTrue(finalResult.build().isNull(0));
+
+    Column[] timeAndValueColumn = getTimeAndValueColumn(0);
+    varianceAccumulator.addInput(timeAndValueColumn, null, rawData.getPositionCount() - 1);
+    Assert.assertFalse(varianceAccumulator.hasFinalResult());
+    finalResult = new DoubleColumnBuilder(null, 1);
+    varianceAccumulator.outputFinal(finalResult);
+    // sample variance of 0, 1, ..., 99
+    Assert.assertEquals(841.6667d, finalResult.build().getDouble(0), 0.001);
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    varianceAccumulator.outputIntermediate(intermediateResult);
+
+    // add intermediate result as input, 0, 0, 1, 1, ..., 99, 99
+    varianceAccumulator.addIntermediate(new Column[] {intermediateResult[0].build()});
+    finalResult = new DoubleColumnBuilder(null, 1);
+    varianceAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(837.4372d, finalResult.build().getDouble(0), 0.001);
+
+    // statistics can only be used when all values are the same
+    varianceAccumulator.reset();
+    Assert.assertTrue(varianceAccumulator.canUseStatistics(statistics));
+    varianceAccumulator.addStatistics(statistics);
+    varianceAccumulator.addStatistics(statistics);
+    finalResult = new DoubleColumnBuilder(null, 1);
+    varianceAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(0d, finalResult.build().getDouble(0), 0.001);
+  }
+
+  @Test
+  public void stddevPopAccumulatorTest() {
+    Accumulator stddevAccumulator =
+        AccumulatorFactory.createAccumulator(
+            TAggregationType.STDDEV_POP,
+            TSDataType.DOUBLE,
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            true);
+    Column[] timeAndValueColumn = getTimeAndValueColumn(0);
+    stddevAccumulator.addInput(timeAndValueColumn, null, rawData.getPositionCount() - 1);
+    ColumnBuilder finalResult = new DoubleColumnBuilder(null, 1);
+    stddevAccumulator.outputFinal(finalResult);
+    // population standard deviation of 0, 1, ..., 99
+    Assert.assertEquals(28.8661d, finalResult.build().getDouble(0), 0.001);
+  }
+
+  @Test
+  public void approxPercentileAccumulatorTest() {
+    Accumulator percentileAccumulator =
+        AccumulatorFactory.createAccumulator(
+            TAggregationType.APPROX_PERCENTILE,
+            TSDataType.DOUBLE,
+            Collections.emptyList(),
+            Collections.singletonMap("rank", "0.9"),
+            true);
+    Assert.assertEquals(TSDataType.TEXT, percentileAccumulator.getIntermediateType()[0]);
+    Assert.assertEquals(TSDataType.DOUBLE, percentileAccumulator.getFinalType());
+    // check returning null while no data
+    ColumnBuilder[] intermediateResult = new ColumnBuilder[1];
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    percentileAccumulator.outputIntermediate(intermediateResult);
+    Assert.assertTrue(intermediateResult[0].build().isNull(0));
+    ColumnBuilder finalResult = new DoubleColumnBuilder(null, 1);
+    percentileAccumulator.outputFinal(finalResult);
+    Assert.assertTrue(finalResult.build().isNull(0));
+
+    Column[] timeAndValueColumn = getTimeAndValueColumn(0);
+    percentileAccumulator.addInput(timeAndValueColumn, null, rawData.getPositionCount() - 1);
+    Assert.assertFalse(percentileAccumulator.hasFinalResult());
+    finalResult = new DoubleColumnBuilder(null, 1);
+    percentileAccumulator.outputFinal(finalResult);
+    // within the default relative error 1%
+    Assert.assertEquals(89d, finalResult.build().getDouble(0), 0.89);
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    percentileAccumulator.outputIntermediate(intermediateResult);
+
+    // add intermediate result as input, the distribution is the same
+    percentileAccumulator.addIntermediate(new Column[] {intermediateResult[0].build()});
+    finalResult = new DoubleColumnBuilder(null, 1);
+    percentileAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(89d, finalResult.build().getDouble(0), 0.89);
+
+    percentileAccumulator.reset();
+    Assert.assertTrue(percentileAccumulator.canUseStatistics(statistics));
+    percentileAccumulator.addStatistics(statistics);
+    finalResult = new DoubleColumnBuilder(null, 1);
+    percentileAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(100d, finalResult.build().getDouble(0), 1);
+  }
 }
@@ -33,7 +33,12 @@ import org.apache.iotdb.mpp.rpc.thrift.TAcknowledgeDataBlockEvent;
 import org.apache.iotdb.mpp.rpc.thrift.TFragmentInstanceId;
 import org.apache.iotdb.mpp.rpc.thrift.TGetDataBlockRequest;
 import org.apache.iotdb.mpp.rpc.thrift.TGetDataBlockResponse;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
 import org.apache.iotdb.tsfile.read.common.block.column.TsBlockSerde;
+import org.apache.iotdb.tsfile.utils.Binary;
 
 import org.apache.thrift.TException;
 import org.junit.AfterClass;
@@ -44,6 +49,7 @@ import org.mockito.Mockito;
 
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -674,4 +680,74 @@ public class SourceHandleTest {
     Mockito.verify(mockSourceHandleListener, Mockito.timeout(10_0000).times(1))
         .onAborted(sourceHandle);
   }
+
+  @Test
+  public void testGetCompressedTsBlockForClient() throws Exception {
+    final String queryId = "q0";
+    final TEndPoint remoteEndpoint =
+        new TEndPoint("remote", IoTDBDescriptor.getInstance().getConfig().getMppDataExchangePort());
+    final TFragmentInstanceId remoteFragmentInstanceId = new TFragmentInstanceId(queryId, 1, "0");
+    final String localPlanNodeId = "exchange_0";
+    final TFragmentInstanceId localFragmentInstanceId = new TFragmentInstanceId(queryId, 0, "0");
+
+    // The upstream DataNode compresses the tsblock and uses compact encodings.
+    TsBlockSerde compactTsBlockSerde = new TsBlockSerde(true, CompressionType.LZ4);
+    TsBlockBuilder tsBlockBuilder = new TsBlockBuilder(Collections.singletonList(TSDataType.TEXT));
+    for (int i = 0; i < 1000; i++) {
+      tsBlockBuilder.getTimeColumnBuilder().writeLong(i);
+      tsBlockBuilder.getColumnBuilder(0).writeBinary(new Binary("value" + i % 3));
+      tsBlockBuilder.declarePosition();
+    }
+    TsBlock tsBlock = tsBlockBuilder.build();
+    ByteBuffer compressedTsBlock = compactTsBlockSerde.serialize(tsBlock);
+    Assert.assertFalse(TsBlockSerde.isPlainFormat(compressedTsBlock));
+
+    // Construct a mock LocalMemoryManager that do not block any reservation.
+    LocalMemoryManager mockLocalMemoryManager = Mockito.mock(LocalMemoryManager.class);
+    MemoryPool mockMemoryPool = Utils.createMockNonBlockedMemoryPool();
+    Mockito.when(mockLocalMemoryManager.getQueryPool()).thenReturn(mockMemoryPool);
+    IClientManager<TEndPoint, SyncDataNodeMPPDataExchangeServiceClient> mockClientManager =
+        Mockito.mock(IClientManager.class);
+    // Construct a mock client which returns the compressed tsblock.
+    SyncDataNodeMPPDataExchangeServiceClient mockClient =
+        Mockito.mock(SyncDataNodeMPPDataExchangeServiceClient.class);
+    Mockito.when(mockClientManager.borrowClient(remoteEndpoint)).thenReturn(mockClient);
+    Mockito.doAnswer(
+            invocation ->
+                new TGetDataBlockResponse(
+                    Collections.singletonList(compressedTsBlock.duplicate())))
+        .when(mockClient)
+        .getDataBlock(Mockito.any(TGetDataBlockRequest.class));
+    SourceHandleListener mockSourceHandleListener = Mockito.mock(SourceHandleListener.class);
+
+    // The result handle of a query whose upstream is on another DataNode.
+    SourceHandle sourceHandle =
+        new SourceHandle(
+            remoteEndpoint,
+            remoteFragmentInstanceId,
+            localFragmentInstanceId,
+            localPlanNodeId,
+            0,
+            mockLocalMemoryManager,
+            Executors.newSingleThreadExecutor(),
+            compactTsBlockSerde,
+            mockSourceHandleListener,
+            mockClientManager);
+    sourceHandle.updatePendingDataBlockInfo(0, Collections.singletonList(MOCK_TSBLOCK_SIZE));
+    Mockito.verify(mockClient, Mockito.timeout(10_000).times(1))
+        .onAcknowledgeDataBlockEvent(Mockito.any(TAcknowledgeDataBlockEvent.class));
+    Assert.assertTrue(sourceHandle.isBlocked().isDone());
+
+    // Clients read the value column count first, so the tsblock must be in the plain format.
+    ByteBuffer serializedTsBlock = sourceHandle.getSerializedTsBlock();
+    Assert.assertTrue(TsBlockSerde.isPlainFormat(serializedTsBlock));
+    Assert.assertEquals(1, serializedTsBlock.getInt(serializedTsBlock.position()));
+    TsBlock result = new TsBlockSerde().deserialize(serializedTsBlock);
+    Assert.assertEquals(tsBlock.getPositionCount(), result.getPositionCount());
+    for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+      Assert.assertEquals(tsBlock.getTimeByIndex(i), result.getTimeByIndex(i));
+      Assert.assertEquals(tsBlock.getColumn(0).getBinary(i), result.getColumn(0).getBinary(i));
+    }
+    sourceHandle.abort();
+  }
 }
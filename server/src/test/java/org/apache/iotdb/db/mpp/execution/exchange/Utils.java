@@ -28,6 +28,8 @@ import com.google.common.util.concurrent.SettableFuture;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
@@ -146,6 +148,12 @@ public class Utils {
     Mockito.when(mockTsBlock.getRetainedSizeInBytes()).thenReturn(mockTsBlockSize);
     Mockito.when(mockTsBlockSerde.deserialize(Mockito.any(ByteBuffer.class)))
         .thenReturn(mockTsBlock);
+    try {
+      Mockito.when(mockTsBlockSerde.serialize(Mockito.any(TsBlock.class)))
+          .thenAnswer(invocation -> ByteBuffer.allocate(0));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
     return mockTsBlockSerde;
   }
 }
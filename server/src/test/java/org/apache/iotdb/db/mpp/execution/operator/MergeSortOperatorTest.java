@@ -1549,9 +1549,23 @@ public class MergeSortOperatorTest {
       ShowQueriesOperator showQueriesOperator2 =
           new ShowQueriesOperator(operatorContexts.get(1), planNodeId1, coordinator2);
       SortOperator sortOperator1 =
-          new SortOperator(operatorContexts.get(2), showQueriesOperator1, dataTypes, comparator);
+          new SortOperator(
+              operatorContexts.get(2),
+              showQueriesOperator1,
+              dataTypes,
+              comparator,
+              IoTDBDescriptor.getInstance().getConfig().getSortBufferSizeInBytes(),
+              IoTDBDescriptor.getInstance().getConfig().getMaxMergedSortRunsNum(),
+              -1);
       SortOperator sortOperator2 =
-          new SortOperator(operatorContexts.get(3), showQueriesOperator2, dataTypes, comparator);
+          new SortOperator(
+              operatorContexts.get(3),
+              showQueriesOperator2,
+              dataTypes,
+              comparator,
+              IoTDBDescriptor.getInstance().getConfig().getSortBufferSizeInBytes(),
+              IoTDBDescriptor.getInstance().getConfig().getMaxMergedSortRunsNum(),
+              -1);
       Operator root =
           new MergeSortOperator(
               operatorContexts.get(4),
@@ -86,6 +86,7 @@ import org.apache.iotdb.db.mpp.transformation.dag.column.binary.CompareLessEqual
 import org.apache.iotdb.db.mpp.transformation.dag.column.leaf.ConstantColumnTransformer;
 import org.apache.iotdb.db.mpp.transformation.dag.column.leaf.TimeColumnTransformer;
 import org.apache.iotdb.db.utils.datastructure.TimeSelector;
+import org.apache.iotdb.db.utils.sort.FileSpillerReader;
 import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
@@ -96,6 +97,7 @@ import org.apache.iotdb.tsfile.read.common.block.column.TimeColumn;
 import org.apache.iotdb.tsfile.read.common.type.BooleanType;
 import org.apache.iotdb.tsfile.read.common.type.LongType;
 import org.apache.iotdb.tsfile.read.common.type.TypeEnum;
+import org.apache.iotdb.tsfile.utils.RamUsageEstimator;
 
 import com.google.common.collect.Sets;
 import org.junit.Test;
@@ -476,11 +478,58 @@ public class OperatorMemoryTest {
             Mockito.mock(OperatorContext.class),
             child,
             Collections.singletonList(TSDataType.INT32),
-            null);
+            null,
+            4096,
+            2,
+            -1);
 
-    assertEquals(2048 + 512, sortOperator.calculateMaxPeekMemory());
-    assertEquals(1024, sortOperator.calculateMaxReturnSize());
-    assertEquals(512, sortOperator.calculateRetainedSizeAfterCallingNext());
+    long expectedMaxReturnSize =
+        2L * TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
+    // two spilled runs are read at the same time, each of which holds a TsBlock and its bytes
+    long expectedRunsReadingSize =
+        2 * (2 * expectedMaxReturnSize + FileSpillerReader.READ_BUFFER_SIZE);
+    assertEquals(
+        4096 + expectedRunsReadingSize + expectedMaxReturnSize,
+        sortOperator.calculateMaxPeekMemory());
+    assertEquals(expectedMaxReturnSize, sortOperator.calculateMaxReturnSize());
+    assertEquals(4096 + 512, sortOperator.calculateRetainedSizeAfterCallingNext());
+  }
+
+  @Test
+  public void topKSortOperatorTest() {
+    Operator child = Mockito.mock(Operator.class);
+    Mockito.when(child.calculateMaxPeekMemory()).thenReturn(2048L);
+    Mockito.when(child.calculateMaxReturnSize()).thenReturn(1024L);
+    Mockito.when(child.calculateRetainedSizeAfterCallingNext()).thenReturn(512L);
+
+    int topK = 100;
+    SortOperator sortOperator =
+        new SortOperator(
+            Mockito.mock(OperatorContext.class),
+            child,
+            Collections.singletonList(TSDataType.INT32),
+            (o1, o2) -> 0,
+            4096,
+            2,
+            topK);
+
+    long expectedMaxReturnSize =
+        2L * TSFileDescriptor.getInstance().getConfig().getPageSizeInByte();
+    // the keys of the heap and the kept rows of time and INT32 value, counted twice
+    long expectedTopKSize =
+        topK
+            * (RamUsageEstimator.alignObjectSize(
+                    RamUsageEstimator.NUM_BYTES_OBJECT_HEADER
+                        + RamUsageEstimator.NUM_BYTES_OBJECT_REF
+                        + 2L * Integer.BYTES)
+                + RamUsageEstimator.NUM_BYTES_OBJECT_REF
+                + 2 * (Long.BYTES + Integer.BYTES));
+    assertEquals(
+        4096 + expectedTopKSize + 1024 + 512 + expectedMaxReturnSize,
+        sortOperator.calculateMaxPeekMemory());
+    assertEquals(expectedMaxReturnSize, sortOperator.calculateMaxReturnSize());
+    assertEquals(
+        4096 + expectedTopKSize + 512, sortOperator.calculateRetainedSizeAfterCallingNext());
   }
 
   @Test
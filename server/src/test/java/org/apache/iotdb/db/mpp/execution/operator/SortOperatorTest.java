@@ -0,0 +1,290 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.mpp.execution.operator;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.mpp.common.FragmentInstanceId;
+import org.apache.iotdb.db.mpp.common.PlanFragmentId;
+import org.apache.iotdb.db.mpp.common.QueryId;
+import org.apache.iotdb.db.mpp.execution.driver.DriverContext;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.mpp.execution.operator.process.SortOperator;
+import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.utils.datastructure.MergeSortKey;
+import org.apache.iotdb.db.utils.sort.DiskSpiller;
+import org.apache.iotdb.db.utils.sort.MemoryReader;
+import org.apache.iotdb.db.utils.sort.SortReader;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+
+import static org.apache.iotdb.db.mpp.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SortOperatorTest {
+
+  private static final List<TSDataType> DATA_TYPES =
+      Arrays.asList(TSDataType.INT64, TSDataType.INT32);
+
+  // sort by the first value column in ascending order, then by time in descending order
+  private static final Comparator<MergeSortKey> COMPARATOR =
+      Comparator.<MergeSortKey>comparingLong(key -> key.tsBlock.getColumn(0).getLong(key.rowIndex))
+          .thenComparing(
+              key -> key.tsBlock.getTimeByIndex(key.rowIndex), Comparator.reverseOrder());
+
+  private static final int BLOCK_NUM = 10;
+  private static final int ROW_NUM_PER_BLOCK = 100;
+  private static final int MAX_MERGED_RUNS_NUM = 16;
+
+  private ExecutorService instanceNotificationExecutor;
+  private DriverContext driverContext;
+
+  @Before
+  public void setUp() {
+    instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+    QueryId queryId = new QueryId("stub_query");
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(queryId, 0), "stub-instance");
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+    FragmentInstanceContext fragmentInstanceContext =
+        createFragmentInstanceContext(instanceId, stateMachine);
+    driverContext = new DriverContext(fragmentInstanceContext, 0);
+    driverContext.addOperatorContext(1, new PlanNodeId("1"), SortOperator.class.getSimpleName());
+  }
+
+  @After
+  public void tearDown() {
+    instanceNotificationExecutor.shutdown();
+  }
+
+  @Test
+  public void sortInMemoryTest() throws Exception {
+    List<TsBlock> input = generateInput();
+    checkResult(sortAll(input, Long.MAX_VALUE, MAX_MERGED_RUNS_NUM, -1), input, Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void sortWithSpillTest() throws Exception {
+    List<TsBlock> input = generateInput();
+    // every input TsBlock is spilled as a sorted run
+    checkResult(sortAll(input, 1, MAX_MERGED_RUNS_NUM, -1), input, Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void sortWithMultiPassMergeTest() throws Exception {
+    List<TsBlock> input = generateInput();
+    // the spilled runs are merged in several passes before they are read at the same time
+    checkResult(sortAll(input, 1, 2, -1), input, Integer.MAX_VALUE);
+    checkResult(sortAll(input, 1, 3, -1), input, Integer.MAX_VALUE);
+  }
+
+  @Test
+  public void mergeSpilledRunsTest() throws Exception {
+    List<TsBlock> input = generateInput();
+    DiskSpiller diskSpiller =
+        new DiskSpiller(
+            IoTDBDescriptor.getInstance().getConfig().getQueryDir()
+                + File.separator
+                + "sort"
+                + File.separator
+                + "mergeSpilledRunsTest",
+            DATA_TYPES);
+    try {
+      for (TsBlock tsBlock : input) {
+        diskSpiller.spill(new MemoryReader(Collections.singletonList(tsBlock), COMPARATOR, 0));
+      }
+      assertEquals(BLOCK_NUM, diskSpiller.getSpilledRunCount());
+
+      // each pass merges 3 runs into 1 run: 10 -> 8 -> 6 -> 4 -> 2
+      diskSpiller.mergeRuns(3, COMPARATOR);
+      assertEquals(2, diskSpiller.getSpilledRunCount());
+
+      List<SortReader> sortReaders = diskSpiller.getReaders(0);
+      int rowCount = 0;
+      try {
+        for (SortReader sortReader : sortReaders) {
+          MergeSortKey lastKey = null;
+          while (sortReader.hasNext()) {
+            MergeSortKey key = sortReader.next();
+            if (lastKey != null) {
+              assertTrue(COMPARATOR.compare(lastKey, key) <= 0);
+            }
+            lastKey = new MergeSortKey(key.tsBlock, key.rowIndex);
+            rowCount++;
+          }
+        }
+      } finally {
+        for (SortReader sortReader : sortReaders) {
+          sortReader.close();
+        }
+      }
+      assertEquals(BLOCK_NUM * ROW_NUM_PER_BLOCK, rowCount);
+    } finally {
+      diskSpiller.clear();
+    }
+  }
+
+  @Test
+  public void sortTopKTest() throws Exception {
+    List<TsBlock> input = generateInput();
+    checkResult(sortAll(input, Long.MAX_VALUE, MAX_MERGED_RUNS_NUM, 15), input, 15);
+    // compact the kept rows after each input TsBlock
+    checkResult(sortAll(input, 1, MAX_MERGED_RUNS_NUM, 15), input, 15);
+  }
+
+  private List<TsBlock> sortAll(
+      List<TsBlock> input, long sortBufferSize, int maxMergedRunsNum, int topK) throws Exception {
+    SortOperator sortOperator =
+        new SortOperator(
+            driverContext.getOperatorContexts().get(0),
+            new TsBlockListOperator(driverContext.getOperatorContexts().get(0), input),
+            DATA_TYPES,
+            COMPARATOR,
+            sortBufferSize,
+            maxMergedRunsNum,
+            topK);
+    List<TsBlock> result = new ArrayList<>();
+    while (sortOperator.isBlocked().isDone() && sortOperator.hasNext()) {
+      TsBlock tsBlock = sortOperator.next();
+      if (tsBlock != null) {
+        result.add(tsBlock);
+      }
+    }
+    assertTrue(sortOperator.isFinished());
+    sortOperator.close();
+    return result;
+  }
+
+  private List<TsBlock> generateInput() {
+    Random random = new Random(0);
+    List<TsBlock> input = new ArrayList<>();
+    for (int i = 0; i < BLOCK_NUM; i++) {
+      TsBlockBuilder builder = new TsBlockBuilder(DATA_TYPES);
+      for (int j = 0; j < ROW_NUM_PER_BLOCK; j++) {
+        long time = (long) i * ROW_NUM_PER_BLOCK + j;
+        builder.getTimeColumnBuilder().writeLong(time);
+        builder.getColumnBuilder(0).writeLong(random.nextInt(50));
+        if (time % 7 == 0) {
+          builder.getColumnBuilder(1).appendNull();
+        } else {
+          builder.getColumnBuilder(1).writeInt((int) time);
+        }
+        builder.declarePosition();
+      }
+      input.add(builder.build());
+    }
+    return input;
+  }
+
+  private void checkResult(List<TsBlock> result, List<TsBlock> input, int limit) {
+    List<MergeSortKey> expected = new ArrayList<>();
+    for (TsBlock tsBlock : input) {
+      for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+        expected.add(new MergeSortKey(tsBlock, i));
+      }
+    }
+    expected.sort(COMPARATOR);
+
+    int index = 0;
+    for (TsBlock tsBlock : result) {
+      for (int i = 0; i < tsBlock.getPositionCount(); i++, index++) {
+        MergeSortKey expectedKey = expected.get(index);
+        long time = expectedKey.tsBlock.getTimeByIndex(expectedKey.rowIndex);
+        assertEquals(time, tsBlock.getTimeByIndex(i));
+        assertEquals(
+            expectedKey.tsBlock.getColumn(0).getLong(expectedKey.rowIndex),
+            tsBlock.getColumn(0).getLong(i));
+        if (time % 7 == 0) {
+          assertTrue(tsBlock.getColumn(1).isNull(i));
+        } else {
+          assertFalse(tsBlock.getColumn(1).isNull(i));
+          assertEquals((int) time, tsBlock.getColumn(1).getInt(i));
+        }
+      }
+    }
+    assertEquals(Math.min(limit, expected.size()), index);
+  }
+
+  /** Return the given TsBlocks one by one. */
+  private static class TsBlockListOperator implements Operator {
+
+    private final OperatorContext operatorContext;
+    private final List<TsBlock> tsBlocks;
+    private int index;
+
+    private TsBlockListOperator(OperatorContext operatorContext, List<TsBlock> tsBlocks) {
+      this.operatorContext = operatorContext;
+      this.tsBlocks = tsBlocks;
+    }
+
+    @Override
+    public OperatorContext getOperatorContext() {
+      return operatorContext;
+    }
+
+    @Override
+    public TsBlock next() {
+      return tsBlocks.get(index++);
+    }
+
+    @Override
+    public boolean hasNext() {
+      return index < tsBlocks.size();
+    }
+
+    @Override
+    public boolean isFinished() {
+      return !hasNext();
+    }
+
+    @Override
+    public long calculateMaxPeekMemory() {
+      return 0;
+    }
+
+    @Override
+    public long calculateMaxReturnSize() {
+      return 0;
+    }
+
+    @Override
+    public long calculateRetainedSizeAfterCallingNext() {
+      return 0;
+    }
+  }
+}
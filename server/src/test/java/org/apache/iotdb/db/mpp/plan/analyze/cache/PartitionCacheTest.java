@@ -23,18 +23,26 @@ import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
 import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
 import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
 import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
 import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
+import org.apache.iotdb.commons.client.IClientManager;
+import org.apache.iotdb.commons.client.exception.ClientManagerException;
+import org.apache.iotdb.commons.consensus.ConfigRegionId;
 import org.apache.iotdb.commons.partition.DataPartition;
 import org.apache.iotdb.commons.partition.DataPartitionQueryParam;
 import org.apache.iotdb.commons.partition.SchemaPartition;
 import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor;
+import org.apache.iotdb.confignode.rpc.thrift.TRegionRouteMapResp;
+import org.apache.iotdb.db.client.ConfigNodeClient;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.rpc.TSStatusCode;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -44,11 +52,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class PartitionCacheTest {
@@ -72,6 +83,7 @@ public class PartitionCacheTest {
   private static final String DEVICE_PREFIX = "d";
   private static final Integer DEVICE_PER_STORAGE_GROUP = 10;
   private static final Integer TIME_PARTITION_PER_STORAGE_GROUP = 10;
+  private static final int CONCURRENT_MISS_NUM = 8;
 
   private PartitionCache partitionCache;
 
@@ -207,6 +219,22 @@ public class PartitionCacheTest {
     assertEquals(0, deviceToStorageGroupMap.size());
   }
 
+  @Test
+  public void testStorageGroupCacheRemove() {
+    List<String> devices = Arrays.asList("root.sg1.d1", "root.sg2.d1");
+    assertEquals(2, partitionCache.getDeviceToStorageGroup(devices, false, false).size());
+    // removing one database publishes a snapshot without it and keeps the others
+    partitionCache.removeFromStorageGroupCache(Collections.singletonList("root.sg1"));
+    assertEquals(0, partitionCache.getDeviceToStorageGroup(devices, false, false).size());
+    Map<String, String> deviceToStorageGroupMap =
+        partitionCache.getDeviceToStorageGroup(
+            Collections.singletonList("root.sg2.d1"), false, false);
+    assertEquals("root.sg2", deviceToStorageGroupMap.get("root.sg2.d1"));
+    // adding it back makes both devices hit again
+    partitionCache.updateStorageCache(Collections.singleton("root.sg1"));
+    assertEquals(2, partitionCache.getDeviceToStorageGroup(devices, false, false).size());
+  }
+
   @Test
   public void testRegionReplicaSetCache() {
     // test update regionReplicaSetCache with small timestamp
@@ -402,6 +430,142 @@ public class PartitionCacheTest {
     }
   }
 
+  @Test
+  public void testConcurrentMissesFetchOnce() throws Exception {
+    ConfigNodeClient client = Mockito.mock(ConfigNodeClient.class);
+    AtomicInteger fetchNum = new AtomicInteger(0);
+    CountDownLatch releaseFetch = new CountDownLatch(1);
+    Mockito.when(client.getLatestRegionRouteMap())
+        .thenAnswer(
+            invocation -> {
+              fetchNum.incrementAndGet();
+              releaseFetch.await();
+              return getRegionRouteMapResp(200, consensusGroupIdToRegionReplicaSet);
+            });
+    PartitionCache fetchingCache = createFetchingPartitionCache(client);
+
+    List<Throwable> failures =
+        getRegionReplicaSetConcurrently(fetchingCache, CONCURRENT_MISS_NUM, releaseFetch);
+    assertTrue(failures.isEmpty());
+    assertEquals(1, fetchNum.get());
+  }
+
+  @Test
+  public void testFailedFetchWakesUpAllWaiters() throws Exception {
+    ConfigNodeClient client = Mockito.mock(ConfigNodeClient.class);
+    AtomicInteger fetchNum = new AtomicInteger(0);
+    CountDownLatch releaseFetch = new CountDownLatch(1);
+    Mockito.when(client.getLatestRegionRouteMap())
+        .thenAnswer(
+            invocation -> {
+              if (fetchNum.incrementAndGet() == 1) {
+                releaseFetch.await();
+                throw new Error("mocked fetch failure");
+              }
+              return getRegionRouteMapResp(200, consensusGroupIdToRegionReplicaSet);
+            });
+    PartitionCache fetchingCache = createFetchingPartitionCache(client);
+
+    // both the thread sending the request and the threads waiting for it see the failure
+    List<Throwable> failures =
+        getRegionReplicaSetConcurrently(fetchingCache, CONCURRENT_MISS_NUM, releaseFetch);
+    assertEquals(CONCURRENT_MISS_NUM, failures.size());
+    for (Throwable failure : failures) {
+      assertEquals("mocked fetch failure", failure.getMessage());
+    }
+    assertEquals(1, fetchNum.get());
+
+    // the failed fetch is not left in flight
+    assertNotNull(fetchingCache.getRegionReplicaSet(getAnyConsensusGroupId()));
+    assertEquals(2, fetchNum.get());
+  }
+
+  @Test
+  public void testWaiterRetriesOnceAfterStaleFetch() throws Exception {
+    ConfigNodeClient client = Mockito.mock(ConfigNodeClient.class);
+    AtomicInteger fetchNum = new AtomicInteger(0);
+    CountDownLatch releaseFetch = new CountDownLatch(1);
+    Mockito.when(client.getLatestRegionRouteMap())
+        .thenAnswer(
+            invocation -> {
+              if (fetchNum.incrementAndGet() == 1) {
+                // the in-flight fetch was sent before the region was created
+                releaseFetch.await();
+                return getRegionRouteMapResp(200, Collections.emptyMap());
+              }
+              return getRegionRouteMapResp(300, consensusGroupIdToRegionReplicaSet);
+            });
+    PartitionCache fetchingCache = createFetchingPartitionCache(client);
+
+    // the waiter sends exactly one more request. The sender gives up if it reads the stale result
+    // before that request has updated the cache.
+    List<Throwable> failures = getRegionReplicaSetConcurrently(fetchingCache, 2, releaseFetch);
+    assertTrue(failures.size() <= 1);
+    for (Throwable failure : failures) {
+      assertTrue(failure.getMessage().startsWith("Failed to get replicaSet"));
+    }
+    assertEquals(2, fetchNum.get());
+  }
+
+  @SuppressWarnings("unchecked")
+  private PartitionCache createFetchingPartitionCache(ConfigNodeClient client)
+      throws ClientManagerException {
+    IClientManager<ConfigRegionId, ConfigNodeClient> clientManager =
+        Mockito.mock(IClientManager.class);
+    Mockito.when(clientManager.borrowClient(Mockito.any())).thenReturn(client);
+    return new PartitionCache(clientManager);
+  }
+
+  private TRegionRouteMapResp getRegionRouteMapResp(
+      long timestamp, Map<TConsensusGroupId, TRegionReplicaSet> regionRouteMap) {
+    TRegionRouteMapResp resp =
+        new TRegionRouteMapResp(new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode()));
+    resp.setTimestamp(timestamp);
+    resp.setRegionRouteMap(regionRouteMap);
+    return resp;
+  }
+
+  private TConsensusGroupId getAnyConsensusGroupId() {
+    return consensusGroupIdToRegionReplicaSet.keySet().iterator().next();
+  }
+
+  /**
+   * Miss the region replica set cache in several threads at the same time. The fetch blocks until
+   * every thread has had the chance to join it.
+   *
+   * @return what the threads failed with
+   */
+  private List<Throwable> getRegionReplicaSetConcurrently(
+      PartitionCache fetchingCache, int threadNum, CountDownLatch releaseFetch)
+      throws InterruptedException {
+    TConsensusGroupId consensusGroupId = getAnyConsensusGroupId();
+    CountDownLatch started = new CountDownLatch(threadNum);
+    List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < threadNum; i++) {
+      Thread thread =
+          new Thread(
+              () -> {
+                started.countDown();
+                try {
+                  assertNotNull(fetchingCache.getRegionReplicaSet(consensusGroupId));
+                } catch (Throwable e) {
+                  failures.add(e);
+                }
+              });
+      thread.start();
+      threads.add(thread);
+    }
+    started.await();
+    Thread.sleep(200);
+    releaseFetch.countDown();
+    for (Thread thread : threads) {
+      thread.join(10_000);
+      assertFalse(thread.isAlive());
+    }
+    return failures;
+  }
+
   /**
    * get StorageGroupToQueryParamsMap
    *
@@ -155,4 +155,37 @@ public class LongTVListTest {
       Assert.assertEquals(tvList.getTime((int) i), clonedTvList.getTime((int) i));
     }
   }
+
+  @Test
+  public void testSortAppended() {
+    Random random = new Random();
+    LongTVList timTvList = new TimLongTVList();
+    LongTVList backTvList = new BackLongTVList();
+    List<TimeValuePair> inputs = new ArrayList<>();
+    for (int round = 0; round < 5; round++) {
+      // mostly in order with some late points, like a hot series between two queries
+      for (long i = 0; i < 3000; i++) {
+        long time = round * 3000L + (i % 10 == 0 ? random.nextInt(15000) : i);
+        long value = random.nextInt(10000);
+        timTvList.putLong(time, value);
+        backTvList.putLong(time, value);
+        inputs.add(new TimeValuePair(time, new TsLong(value)));
+      }
+      timTvList.sort();
+      backTvList.sort();
+      // stable, so the last written value of a duplicated time stays the last one
+      inputs.sort(TimeValuePair::compareTo);
+      Assert.assertEquals(inputs.size(), timTvList.rowCount);
+      for (int i = 0; i < timTvList.rowCount; i++) {
+        Assert.assertEquals(inputs.get(i).getTimestamp(), timTvList.getTime(i));
+        Assert.assertEquals(inputs.get(i).getValue().getLong(), timTvList.getLong(i));
+        Assert.assertEquals(inputs.get(i).getTimestamp(), backTvList.getTime(i));
+      }
+      if (round == 2) {
+        timTvList.delete(1000, 2000);
+        backTvList.delete(1000, 2000);
+        inputs.removeIf(pair -> pair.getTimestamp() >= 1000 && pair.getTimestamp() <= 2000);
+      }
+    }
+  }
 }
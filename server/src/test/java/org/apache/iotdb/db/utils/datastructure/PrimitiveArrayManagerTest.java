@@ -22,10 +22,15 @@ package org.apache.iotdb.db.utils.datastructure;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.rescon.PrimitiveArrayManager;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 public class PrimitiveArrayManagerTest {
   private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
 
@@ -47,4 +52,40 @@ public class PrimitiveArrayManagerTest {
     Assert.assertEquals(
         2, PrimitiveArrayManager.getArrayRowCount(config.getPrimitiveArraySize() + 1));
   }
+
+  @Test
+  public void testConcurrentAllocateAndRelease() throws InterruptedException {
+    int threadNum = 4;
+    AtomicBoolean shared = new AtomicBoolean(false);
+    List<Thread> threads = new ArrayList<>();
+    for (int i = 0; i < threadNum; i++) {
+      long threadId = i;
+      Thread thread =
+          new Thread(
+              () -> {
+                List<long[]> arrays = new ArrayList<>();
+                for (int round = 0; round < 1000; round++) {
+                  for (int j = 0; j < 40; j++) {
+                    long[] array = (long[]) PrimitiveArrayManager.allocate(TSDataType.INT64);
+                    array[0] = threadId;
+                    arrays.add(array);
+                  }
+                  // an array handed out to two threads at the same time would be overwritten
+                  for (long[] array : arrays) {
+                    if (array[0] != threadId) {
+                      shared.set(true);
+                    }
+                    PrimitiveArrayManager.release(array);
+                  }
+                  arrays.clear();
+                }
+              });
+      threads.add(thread);
+      thread.start();
+    }
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    Assert.assertFalse(shared.get());
+  }
 }
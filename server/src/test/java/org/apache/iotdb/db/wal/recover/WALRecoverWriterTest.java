@@ -20,23 +20,28 @@ package org.apache.iotdb.db.wal.recover;
 
 import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.constant.TestConstant;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.PlanNodeId;
 import org.apache.iotdb.db.mpp.plan.planner.plan.node.write.InsertRowNode;
 import org.apache.iotdb.db.wal.buffer.WALEntry;
+import org.apache.iotdb.db.wal.buffer.WALEntryType;
 import org.apache.iotdb.db.wal.buffer.WALInfoEntry;
 import org.apache.iotdb.db.wal.io.WALByteBufReader;
 import org.apache.iotdb.db.wal.io.WALMetaData;
+import org.apache.iotdb.db.wal.io.WALReader;
 import org.apache.iotdb.db.wal.io.WALWriter;
 import org.apache.iotdb.db.wal.utils.WALByteBufferForTest;
 import org.apache.iotdb.db.wal.utils.WALFileStatus;
 import org.apache.iotdb.db.wal.utils.WALFileUtils;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
 
 import org.junit.After;
 import org.junit.Assert;
+import org.junit.Before;
 import org.junit.Test;
 
 import java.io.File;
@@ -54,9 +59,19 @@ public class WALRecoverWriterTest {
           TestConstant.BASE_OUTPUT_PATH.concat(
               WALFileUtils.getLogFileName(1, 1, WALFileStatus.CONTAINS_SEARCH_INDEX)));
 
+  private boolean prevIsCluster;
+
+  @Before
+  public void setUp() throws Exception {
+    // entries are deserialized without schema in cluster mode
+    prevIsCluster = IoTDBDescriptor.getInstance().getConfig().isClusterMode();
+    IoTDBDescriptor.getInstance().getConfig().setClusterMode(true);
+  }
+
   @After
   public void tearDown() throws Exception {
     logFile.delete();
+    IoTDBDescriptor.getInstance().getConfig().setClusterMode(prevIsCluster);
   }
 
   @Test
@@ -152,6 +167,88 @@ public class WALRecoverWriterTest {
     }
   }
 
+  @Test
+  public void testCompressedCompleteFile() throws IOException, IllegalPathException {
+    // prepare file, each buffer is written as a compressed block
+    WALEntry walEntry = new WALInfoEntry(1, getInsertRowNode());
+    int size = walEntry.serializedSize();
+    try (WALWriter walWriter = new WALWriter(logFile, CompressionType.LZ4)) {
+      for (int i = 0; i < 2; i++) {
+        WALMetaData walMetaData = new WALMetaData();
+        WALByteBufferForTest buffer = new WALByteBufferForTest(ByteBuffer.allocate(size));
+        walEntry.serialize(buffer);
+        walMetaData.add(size, 1);
+        walWriter.write(buffer.getBuffer(), walMetaData);
+      }
+    }
+    // verify file
+    try (WALByteBufReader reader = new WALByteBufReader(logFile)) {
+      for (int i = 0; i < 2; i++) {
+        Assert.assertTrue(reader.hasNext());
+        ByteBuffer entryBuffer = reader.next();
+        Assert.assertEquals(size, entryBuffer.capacity());
+        Assert.assertEquals(WALEntryType.INSERT_ROW_NODE.getCode(), entryBuffer.get());
+      }
+      Assert.assertFalse(reader.hasNext());
+    }
+    try (WALReader reader = new WALReader(logFile)) {
+      for (int i = 0; i < 2; i++) {
+        Assert.assertTrue(reader.hasNext());
+        Assert.assertEquals(walEntry, reader.next());
+      }
+      Assert.assertFalse(reader.hasNext());
+    }
+  }
+
+  @Test
+  public void testCompressedFileWithBrokenBlock() throws IOException, IllegalPathException {
+    // prepare file, the second entry spans two blocks and the second block is broken
+    WALEntry walEntry = new WALInfoEntry(1, getInsertRowNode());
+    int size = walEntry.serializedSize();
+    WALByteBufferForTest buffer = new WALByteBufferForTest(ByteBuffer.allocate(size * 2));
+    walEntry.serialize(buffer);
+    walEntry.serialize(buffer);
+    byte[] bytes = buffer.getBuffer().array();
+    int firstBlockSize = size + size / 2;
+    try (WALWriter walWriter = new WALWriter(logFile, CompressionType.LZ4)) {
+      ByteBuffer firstBlock = ByteBuffer.allocate(firstBlockSize);
+      firstBlock.put(bytes, 0, firstBlockSize);
+      walWriter.write(firstBlock, new WALMetaData());
+      ByteBuffer secondBlock = ByteBuffer.allocate(size * 2 - firstBlockSize);
+      secondBlock.put(bytes, firstBlockSize, size * 2 - firstBlockSize);
+      walWriter.write(secondBlock, new WALMetaData());
+    }
+    // drop marker + metadata(search index + size number) + metadata size + magic string, and the
+    // last byte of the second block
+    long len = logFile.length();
+    int tailSize =
+        Byte.BYTES + (Long.BYTES + Integer.BYTES) + Integer.BYTES + WALWriter.MAGIC_STRING_BYTES;
+    try (FileChannel channel = FileChannel.open(logFile.toPath(), StandardOpenOption.APPEND)) {
+      channel.truncate(len - tailSize - 1);
+    }
+    // recover like WALNodeRecoverTask
+    WALMetaData walMetaData = new WALMetaData();
+    try (WALReader reader = new WALReader(logFile, true)) {
+      while (reader.hasNext()) {
+        walMetaData.add(reader.next().serializedSize(), 1);
+      }
+    }
+    Assert.assertEquals(1, walMetaData.getBuffersSize().size());
+    WALRecoverWriter walRecoverWriter = new WALRecoverWriter(logFile);
+    walRecoverWriter.recover(walMetaData);
+    // verify file
+    try (WALByteBufReader reader = new WALByteBufReader(logFile)) {
+      Assert.assertTrue(reader.hasNext());
+      Assert.assertEquals(size, reader.next().capacity());
+      Assert.assertFalse(reader.hasNext());
+    }
+    try (WALReader reader = new WALReader(logFile)) {
+      Assert.assertTrue(reader.hasNext());
+      Assert.assertEquals(walEntry, reader.next());
+      Assert.assertFalse(reader.hasNext());
+    }
+  }
+
   public static InsertRowNode getInsertRowNode() throws IllegalPathException {
     String devicePath = "root.test_sg.test_d";
     long time = 110L;
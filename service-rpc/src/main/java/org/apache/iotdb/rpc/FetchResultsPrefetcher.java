@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.rpc;
+
+import org.apache.iotdb.service.rpc.thrift.IClientRPCService;
+import org.apache.iotdb.service.rpc.thrift.TSFetchResultsReq;
+import org.apache.iotdb.service.rpc.thrift.TSFetchResultsResp;
+
+import org.apache.thrift.TException;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fetches the following results of a query in the background while the current ones are consumed.
+ *
+ * <p>Responses are fetched one after another by a background task and buffered in order, the task
+ * pauses once the serialized TsBlocks in the buffer reach maxBufferedBytes and resumes when they
+ * are consumed. At least one response is always fetched, no matter how large it is.
+ *
+ * <p>The client is shared with the caller, it must be thread safe, see {@link
+ * RpcUtils#newSynchronizedClient(IClientRPCService.Iface)}.
+ */
+class FetchResultsPrefetcher {
+
+  private static final AtomicInteger THREAD_COUNT = new AtomicInteger(0);
+
+  private static final ExecutorService PREFETCH_EXECUTOR =
+      Executors.newCachedThreadPool(
+          r -> {
+            Thread thread = new Thread(r, "RpcDataSet-Prefetch-" + THREAD_COUNT.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final IClientRPCService.Iface client;
+  private final TSFetchResultsReq req;
+  private final long maxBufferedBytes;
+
+  // all fields below are guarded by this
+  private final Queue<TSFetchResultsResp> buffered = new ArrayDeque<>();
+  private long bufferedBytes = 0;
+  private boolean running = false;
+  private boolean serverHasMore = true;
+  private TException failure;
+  private boolean closed = false;
+
+  FetchResultsPrefetcher(
+      IClientRPCService.Iface client, TSFetchResultsReq req, long maxBufferedBytes) {
+    this.client = client;
+    this.req = req;
+    this.maxBufferedBytes = maxBufferedBytes;
+  }
+
+  /** Start fetching in the background if there is room in the buffer. */
+  synchronized void start() {
+    if (!running && !closed && serverHasMore && failure == null) {
+      running = true;
+      PREFETCH_EXECUTOR.execute(this::prefetch);
+    }
+  }
+
+  /**
+   * Take the next response in order, wait for it if it has not arrived yet.
+   *
+   * @return null if there are no more results or the prefetcher is closed
+   */
+  synchronized TSFetchResultsResp take() throws TException, InterruptedException {
+    start();
+    while (buffered.isEmpty() && failure == null && running) {
+      wait();
+    }
+    TSFetchResultsResp resp = buffered.poll();
+    if (resp == null) {
+      if (failure != null) {
+        throw failure;
+      }
+      return null;
+    }
+    bufferedBytes -= sizeOf(resp);
+    start();
+    return resp;
+  }
+
+  /** Stop fetching and wait for the request in progress, so that the client can be reused. */
+  synchronized void close() throws InterruptedException {
+    closed = true;
+    buffered.clear();
+    bufferedBytes = 0;
+    while (running) {
+      wait();
+    }
+  }
+
+  private void prefetch() {
+    while (true) {
+      synchronized (this) {
+        if (closed || !serverHasMore || bufferedBytes >= maxBufferedBytes) {
+          running = false;
+          notifyAll();
+          return;
+        }
+      }
+      TSFetchResultsResp resp;
+      try {
+        resp = client.fetchResultsV2(req);
+      } catch (TException | RuntimeException e) {
+        synchronized (this) {
+          failure = e instanceof TException ? (TException) e : new TException(e);
+          running = false;
+          notifyAll();
+        }
+        return;
+      }
+      synchronized (this) {
+        if (!closed) {
+          buffered.add(resp);
+          bufferedBytes += sizeOf(resp);
+        }
+        // an error status is handed over to the consumer, nothing follows it
+        serverHasMore =
+            resp.getStatus().getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()
+                && resp.hasResultSet
+                && resp.moreData;
+        notifyAll();
+      }
+    }
+  }
+
+  private static long sizeOf(TSFetchResultsResp resp) {
+    long size = 0;
+    if (resp.getQueryResult() != null) {
+      for (ByteBuffer buffer : resp.getQueryResult()) {
+        size += buffer.remaining();
+      }
+    }
+    return size;
+  }
+}
@@ -75,6 +75,9 @@ public class IoTDBRpcDataSet {
   public int tsBlockSize; // the size of current tsBlock
   public int tsBlockIndex; // the row index in current tsBlock
 
+  // fetches the following results in background, null if prefetch is disabled
+  private FetchResultsPrefetcher prefetcher;
+
   @SuppressWarnings("squid:S3776") // Suppress high Cognitive Complexity warning
   public IoTDBRpcDataSet(
       String sql,
@@ -247,10 +250,34 @@ public class IoTDBRpcDataSet {
     this.tsBlockIndex = -1;
   }
 
+  /**
+   * Enable fetching the following results in background while the current ones are consumed. The
+   * fetch size at this moment is used for all the following fetches.
+   *
+   * @param maxBufferedBytes max size of the serialized results fetched ahead, 0 to disable
+   */
+  public void setPrefetchBufferSize(long maxBufferedBytes) {
+    if (prefetcher != null || maxBufferedBytes <= 0 || client == null) {
+      return;
+    }
+    prefetcher = new FetchResultsPrefetcher(client, genFetchResultsReq(), maxBufferedBytes);
+    if (moreData) {
+      prefetcher.start();
+    }
+  }
+
   public void close() throws StatementExecutionException, TException {
     if (isClosed) {
       return;
     }
+    if (prefetcher != null) {
+      try {
+        prefetcher.close();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new TException("Interrupted when waiting for the prefetch of results", e);
+      }
+    }
     if (client != null) {
       try {
         TSCloseOperationReq closeReq = new TSCloseOperationReq(sessionId);
@@ -296,11 +323,24 @@ public class IoTDBRpcDataSet {
     }
   }
 
-  public boolean fetchResults() throws StatementExecutionException, IoTDBConnectionException {
+  private TSFetchResultsReq genFetchResultsReq() {
     TSFetchResultsReq req = new TSFetchResultsReq(sessionId, sql, fetchSize, queryId, true);
     req.setTimeout(timeout);
+    return req;
+  }
+
+  public boolean fetchResults() throws StatementExecutionException, IoTDBConnectionException {
     try {
-      TSFetchResultsResp resp = client.fetchResultsV2(req);
+      TSFetchResultsResp resp;
+      if (prefetcher != null) {
+        resp = prefetcher.take();
+        if (resp == null) {
+          moreData = false;
+          return false;
+        }
+      } else {
+        resp = client.fetchResultsV2(genFetchResultsReq());
+      }
       RpcUtils.verifySuccess(resp.getStatus());
       moreData = resp.moreData;
       if (!resp.hasResultSet) {
@@ -319,6 +359,10 @@ public class IoTDBRpcDataSet {
     } catch (TException e) {
       throw new IoTDBConnectionException(
           "Cannot fetch result from server, because of network connection: {} ", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IoTDBConnectionException(
+          "Interrupted when waiting for results from server: {} ", e);
     }
   }
 
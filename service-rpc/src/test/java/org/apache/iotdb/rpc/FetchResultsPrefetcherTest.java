@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.rpc;
+
+import org.apache.iotdb.service.rpc.thrift.IClientRPCService;
+import org.apache.iotdb.service.rpc.thrift.TSFetchResultsReq;
+import org.apache.iotdb.service.rpc.thrift.TSFetchResultsResp;
+
+import org.apache.thrift.TException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class FetchResultsPrefetcherTest {
+
+  private static final int RESULT_SIZE = 100;
+
+  /** A client serving responseNum results of RESULT_SIZE bytes, failing at failAt if positive. */
+  private static IClientRPCService.Iface fakeClient(
+      int responseNum,
+      int failAt,
+      AtomicInteger fetched,
+      AtomicInteger taken,
+      AtomicInteger maxAhead) {
+    return (IClientRPCService.Iface)
+        Proxy.newProxyInstance(
+            IClientRPCService.Iface.class.getClassLoader(),
+            new Class<?>[] {IClientRPCService.Iface.class},
+            (proxy, method, args) -> {
+              if (!"fetchResultsV2".equals(method.getName())) {
+                throw new UnsupportedOperationException(method.getName());
+              }
+              int index = fetched.incrementAndGet();
+              maxAhead.accumulateAndGet(index - taken.get(), Math::max);
+              if (index == failAt) {
+                throw new TException("connection broken");
+              }
+              TSFetchResultsResp resp = new TSFetchResultsResp();
+              resp.setStatus(RpcUtils.SUCCESS_STATUS);
+              resp.setHasResultSet(true);
+              resp.setIsAlign(true);
+              ByteBuffer buffer = ByteBuffer.allocate(RESULT_SIZE);
+              buffer.putInt(0, index);
+              resp.setQueryResult(Collections.singletonList(buffer));
+              resp.setMoreData(index < responseNum);
+              return resp;
+            });
+  }
+
+  @Test
+  public void testPrefetchInOrder() throws Exception {
+    AtomicInteger fetched = new AtomicInteger();
+    AtomicInteger taken = new AtomicInteger();
+    AtomicInteger maxAhead = new AtomicInteger();
+    FetchResultsPrefetcher prefetcher =
+        new FetchResultsPrefetcher(
+            fakeClient(20, -1, fetched, taken, maxAhead),
+            new TSFetchResultsReq(0, "", 10, 0, true),
+            RESULT_SIZE * 3 / 2);
+    prefetcher.start();
+    for (int i = 1; i <= 20; i++) {
+      TSFetchResultsResp resp = prefetcher.take();
+      taken.incrementAndGet();
+      Assert.assertEquals(i, resp.getQueryResult().get(0).getInt(0));
+      Assert.assertEquals(i < 20, resp.moreData);
+    }
+    Assert.assertNull(prefetcher.take());
+    Assert.assertEquals(20, fetched.get());
+    // the buffer holds 2 results at most, one more may have been taken but not counted yet
+    Assert.assertTrue(maxAhead.get() <= 3);
+    prefetcher.close();
+  }
+
+  @Test
+  public void testPrefetchFailure() throws Exception {
+    AtomicInteger fetched = new AtomicInteger();
+    FetchResultsPrefetcher prefetcher =
+        new FetchResultsPrefetcher(
+            fakeClient(20, 3, fetched, new AtomicInteger(), new AtomicInteger()),
+            new TSFetchResultsReq(0, "", 10, 0, true),
+            RESULT_SIZE * 10);
+    // results fetched before the failure are still returned
+    Assert.assertEquals(1, prefetcher.take().getQueryResult().get(0).getInt(0));
+    Assert.assertEquals(2, prefetcher.take().getQueryResult().get(0).getInt(0));
+    try {
+      prefetcher.take();
+      Assert.fail();
+    } catch (TException e) {
+      Assert.assertEquals("connection broken", e.getMessage());
+    }
+    prefetcher.close();
+  }
+}
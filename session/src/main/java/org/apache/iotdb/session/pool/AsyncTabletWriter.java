@@ -0,0 +1,505 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.session.pool;
+
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.isession.SessionConfig;
+import org.apache.iotdb.rpc.IoTDBConnectionException;
+import org.apache.iotdb.rpc.StatementExecutionException;
+import org.apache.iotdb.rpc.TSStatusCode;
+import org.apache.iotdb.session.util.ThreadUtils;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous writer on top of a {@link SessionPool}.
+ *
+ * <p>Rows are accumulated per device into {@link Tablet}s, a tablet is sent when it is full or
+ * when its oldest row has been buffered for maxDelayInMs. Every write returns a future which is
+ * completed once the tablet holding the row has been acknowledged by the server.
+ *
+ * <p>Tablets are grouped by the cached leader of their device, up to maxInFlightPerEndPoint
+ * requests are sent to one endpoint concurrently, each of them on its own session borrowed from
+ * the pool. When the server rejects a write because it is overloaded, the request is retried with
+ * an exponential backoff while keeping its slot, so that the endpoint gets fewer requests. When
+ * more than maxPendingTablets tablets are in flight or waiting to be sent, producers are blocked
+ * until some of them finish.
+ *
+ * <p>Tablets of one device are sent one after another in the order they are sealed, so the rows of
+ * a device reach the server in the order they are written.
+ */
+public class AsyncTabletWriter implements AutoCloseable {
+
+  private static final Logger logger = LoggerFactory.getLogger(AsyncTabletWriter.class);
+  public static final String WRITER_IS_CLOSED = "Async tablet writer is closed";
+
+  /** key of devices whose leader is not cached, they are sent through the default endpoint */
+  private static final TEndPoint DEFAULT_END_POINT = new TEndPoint("", 0);
+
+  private static final long MAX_RETRY_INTERVAL_MS = 30_000;
+
+  private final SessionPool sessionPool;
+  private final int maxRowsPerTablet;
+  private final long maxDelayInMs;
+  private final int maxInFlightPerEndPoint;
+  private final int maxPendingTablets;
+  private final boolean aligned;
+  private final int maxRetryTimes;
+  private final long retryIntervalInMs;
+
+  /** rows not sent yet, guarded by this */
+  private final Map<String, DeviceBuffer> buffers = new HashMap<>();
+
+  /**
+   * sealed tablets of each device which are not finished, in the order they are sealed. Only the
+   * head of each queue is sent. Guarded by this
+   */
+  private final Map<String, Queue<Request>> deviceRequests = new HashMap<>();
+
+  /** number of sealed tablets which are not finished, guarded by this */
+  private int pendingTabletsNum = 0;
+
+  private final Map<TEndPoint, EndPointQueue> endPointQueues = new ConcurrentHashMap<>();
+
+  private final ExecutorService sender;
+  private final ScheduledExecutorService flusher;
+
+  private volatile boolean closed = false;
+
+  private AsyncTabletWriter(Builder builder) {
+    this.sessionPool = builder.sessionPool;
+    this.maxRowsPerTablet = builder.maxRowsPerTablet;
+    this.maxDelayInMs = builder.maxDelayInMs;
+    this.maxInFlightPerEndPoint = builder.maxInFlightPerEndPoint;
+    this.maxPendingTablets = builder.maxPendingTablets;
+    this.aligned = builder.aligned;
+    this.maxRetryTimes = builder.maxRetryTimes;
+    this.retryIntervalInMs = builder.retryIntervalInMs;
+
+    // the number of threads is bounded by the number of endpoints and maxInFlightPerEndPoint
+    this.sender =
+        Executors.newCachedThreadPool(ThreadUtils.createThreadFactory("AsyncTabletWriter", true));
+    this.flusher =
+        Executors.newSingleThreadScheduledExecutor(
+            ThreadUtils.createThreadFactory("AsyncTabletWriter-Flush", true));
+    long checkInterval = Math.max(1, maxDelayInMs / 2);
+    flusher.scheduleWithFixedDelay(
+        this::flushExpired, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Buffer one row of a device. The row is sent together with the other rows of the device.
+   *
+   * <p>If the schemas differ from the ones of the rows buffered for the device, the buffered rows
+   * are sent first.
+   *
+   * @param deviceId device of the row
+   * @param schemas measurements of the row
+   * @param time timestamp of the row
+   * @param values values of the row in the order of schemas, null for missing values
+   * @return future completed when the row is written
+   * @throws InterruptedException if interrupted while waiting for pending tablets to finish
+   */
+  public CompletableFuture<Void> write(
+      String deviceId, List<MeasurementSchema> schemas, long time, Object... values)
+      throws InterruptedException {
+    if (closed) {
+      throw new IllegalStateException(WRITER_IS_CLOSED);
+    }
+    if (schemas.size() != values.length) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Number of values %d does not match number of measurements %d",
+              values.length, schemas.size()));
+    }
+    List<Request> ready = new ArrayList<>(2);
+    CompletableFuture<Void> future;
+    synchronized (this) {
+      DeviceBuffer buffer = buffers.get(deviceId);
+      if (buffer != null && !buffer.schemas.equals(schemas)) {
+        enqueue(buffers.remove(deviceId), ready);
+        buffer = null;
+      }
+      if (buffer == null) {
+        buffer = new DeviceBuffer(deviceId, schemas, maxRowsPerTablet);
+        buffers.put(deviceId, buffer);
+      }
+      buffer.add(time, values);
+      future = buffer.future;
+      if (buffer.tablet.rowSize >= maxRowsPerTablet) {
+        enqueue(buffers.remove(deviceId), ready);
+      }
+    }
+    dispatchAll(ready);
+    awaitPendingTablets();
+    return future;
+  }
+
+  /**
+   * Send a whole tablet asynchronously, rows buffered for the same device are not affected.
+   *
+   * @return future completed when the tablet is written
+   * @throws InterruptedException if interrupted while waiting for pending tablets to finish
+   */
+  public CompletableFuture<Void> writeTablet(Tablet tablet) throws InterruptedException {
+    if (closed) {
+      throw new IllegalStateException(WRITER_IS_CLOSED);
+    }
+    CompletableFuture<Void> future = new CompletableFuture<>();
+    if (tablet.rowSize == 0) {
+      future.complete(null);
+      return future;
+    }
+    List<Request> ready = new ArrayList<>(1);
+    synchronized (this) {
+      enqueue(new Request(tablet, future), ready);
+    }
+    dispatchAll(ready);
+    awaitPendingTablets();
+    return future;
+  }
+
+  /**
+   * Send all buffered rows.
+   *
+   * @return future completed when all rows buffered before this call are written
+   * @throws InterruptedException if interrupted while waiting for pending tablets to finish
+   */
+  public CompletableFuture<Void> flush() throws InterruptedException {
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    List<Request> ready = new ArrayList<>();
+    synchronized (this) {
+      for (DeviceBuffer buffer : buffers.values()) {
+        futures.add(buffer.future);
+        enqueue(buffer, ready);
+      }
+      buffers.clear();
+    }
+    dispatchAll(ready);
+    awaitPendingTablets();
+    return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+  }
+
+  /** Send all buffered rows and wait for every pending tablet to finish. */
+  @Override
+  public void close() throws InterruptedException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    flusher.shutdownNow();
+    if (!flusher.awaitTermination(1, TimeUnit.MINUTES)) {
+      logger.warn("Flush task of async tablet writer can not be stopped");
+    }
+    flush();
+    synchronized (this) {
+      while (pendingTabletsNum > 0) {
+        wait();
+      }
+    }
+    sender.shutdown();
+  }
+
+  public synchronized int getPendingTabletsNumber() {
+    return pendingTabletsNum;
+  }
+
+  private void flushExpired() {
+    List<Request> ready = new ArrayList<>();
+    long now = System.currentTimeMillis();
+    synchronized (this) {
+      for (Iterator<DeviceBuffer> it = buffers.values().iterator(); it.hasNext(); ) {
+        DeviceBuffer buffer = it.next();
+        if (now - buffer.createTime >= maxDelayInMs) {
+          enqueue(buffer, ready);
+          it.remove();
+        }
+      }
+    }
+    dispatchAll(ready);
+    try {
+      awaitPendingTablets();
+    } catch (InterruptedException e) {
+      // the writer is closing
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void enqueue(DeviceBuffer buffer, List<Request> ready) {
+    enqueue(new Request(buffer.tablet, buffer.future), ready);
+  }
+
+  /**
+   * Queue a sealed tablet after the unfinished ones of the same device, it is added to ready if it
+   * can be sent now. Must be called holding this, so tablets of a device are queued in the order
+   * they are sealed.
+   */
+  private void enqueue(Request request, List<Request> ready) {
+    Queue<Request> requests =
+        deviceRequests.computeIfAbsent(request.tablet.deviceId, k -> new ArrayDeque<>());
+    requests.add(request);
+    pendingTabletsNum++;
+    if (requests.size() == 1) {
+      ready.add(request);
+    }
+  }
+
+  /** backpressure, block the producer until pending tablets are no more than the limit */
+  private synchronized void awaitPendingTablets() throws InterruptedException {
+    while (pendingTabletsNum > maxPendingTablets) {
+      wait();
+    }
+  }
+
+  private void dispatchAll(List<Request> ready) {
+    for (Request request : ready) {
+      dispatch(request);
+    }
+  }
+
+  private void dispatch(Request request) {
+    TEndPoint endPoint = sessionPool.getDeviceEndPoint(request.tablet.deviceId);
+    EndPointQueue queue =
+        endPointQueues.computeIfAbsent(
+            endPoint == null ? DEFAULT_END_POINT : endPoint, k -> new EndPointQueue());
+    if (queue.offer(request)) {
+      execute(request, queue);
+    }
+  }
+
+  private void execute(Request request, EndPointQueue queue) {
+    try {
+      sender.execute(() -> send(request, queue));
+    } catch (RejectedExecutionException e) {
+      finish(request, queue, e);
+    }
+  }
+
+  private void send(Request request, EndPointQueue queue) {
+    Throwable failure = null;
+    try {
+      insertWithRetry(request.tablet);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failure = e;
+    } catch (IoTDBConnectionException | StatementExecutionException | RuntimeException e) {
+      failure = e;
+    }
+    finish(request, queue, failure);
+  }
+
+  private void finish(Request request, EndPointQueue queue, Throwable failure) {
+    // hand over the slot and send the next tablet of the device before completing the future,
+    // callbacks of the future may block
+    Request nextOfDevice;
+    synchronized (this) {
+      Queue<Request> requests = deviceRequests.get(request.tablet.deviceId);
+      requests.poll();
+      nextOfDevice = requests.peek();
+      if (nextOfDevice == null) {
+        deviceRequests.remove(request.tablet.deviceId);
+      }
+      pendingTabletsNum--;
+      notifyAll();
+    }
+    Request next = queue.poll();
+    if (next != null) {
+      execute(next, queue);
+    }
+    if (nextOfDevice != null) {
+      dispatch(nextOfDevice);
+    }
+    if (failure == null) {
+      request.future.complete(null);
+    } else {
+      logger.warn("Async insert of device {} failed", request.tablet.deviceId, failure);
+      request.future.completeExceptionally(failure);
+    }
+  }
+
+  private void insertWithRetry(Tablet tablet)
+      throws IoTDBConnectionException, StatementExecutionException, InterruptedException {
+    long interval = retryIntervalInMs;
+    for (int i = 0; ; i++) {
+      try {
+        if (aligned) {
+          sessionPool.insertAlignedTablet(tablet);
+        } else {
+          sessionPool.insertTablet(tablet);
+        }
+        return;
+      } catch (StatementExecutionException e) {
+        if (e.getStatusCode() != TSStatusCode.WRITE_PROCESS_REJECT.getStatusCode()
+            || i >= maxRetryTimes) {
+          throw e;
+        }
+        logger.info(
+            "Insert of device {} is rejected by server, retry in {}ms", tablet.deviceId, interval);
+        Thread.sleep(interval);
+        interval = Math.min(interval * 2, MAX_RETRY_INTERVAL_MS);
+      }
+    }
+  }
+
+  private static class DeviceBuffer {
+
+    private final List<MeasurementSchema> schemas;
+    private final Tablet tablet;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+    private final long createTime = System.currentTimeMillis();
+
+    private DeviceBuffer(String deviceId, List<MeasurementSchema> schemas, int maxRowNumber) {
+      this.schemas = schemas;
+      this.tablet = new Tablet(deviceId, schemas, maxRowNumber);
+    }
+
+    private void add(long time, Object[] values) {
+      int row = tablet.rowSize;
+      tablet.addTimestamp(row, time);
+      for (int i = 0; i < values.length; i++) {
+        tablet.addValue(schemas.get(i).getMeasurementId(), row, values[i]);
+      }
+      // only count the row once all values are accepted
+      tablet.rowSize++;
+    }
+  }
+
+  private static class Request {
+
+    private final Tablet tablet;
+    private final CompletableFuture<Void> future;
+
+    private Request(Tablet tablet, CompletableFuture<Void> future) {
+      this.tablet = tablet;
+      this.future = future;
+    }
+  }
+
+  /** Requests of one endpoint, at most maxInFlightPerEndPoint of them are sent at a time. */
+  private class EndPointQueue {
+
+    private final Queue<Request> waiting = new ArrayDeque<>();
+    private int inFlight = 0;
+
+    /** @return true if the request can be sent now, otherwise it is queued */
+    private synchronized boolean offer(Request request) {
+      if (inFlight < maxInFlightPerEndPoint) {
+        inFlight++;
+        return true;
+      }
+      waiting.add(request);
+      return false;
+    }
+
+    /** Called when a request finishes, @return the next request to send in its slot */
+    private synchronized Request poll() {
+      Request next = waiting.poll();
+      if (next == null) {
+        inFlight--;
+      }
+      return next;
+    }
+  }
+
+  public static class Builder {
+
+    private SessionPool sessionPool;
+    private int maxRowsPerTablet = SessionConfig.DEFAULT_ASYNC_WRITER_MAX_ROWS_PER_TABLET;
+    private long maxDelayInMs = SessionConfig.DEFAULT_ASYNC_WRITER_MAX_DELAY_MS;
+    private int maxInFlightPerEndPoint =
+        SessionConfig.DEFAULT_ASYNC_WRITER_MAX_IN_FLIGHT_PER_ENDPOINT;
+    private int maxPendingTablets = SessionConfig.DEFAULT_ASYNC_WRITER_MAX_PENDING_TABLETS;
+    private boolean aligned = false;
+    private int maxRetryTimes = SessionConfig.RETRY_NUM;
+    private long retryIntervalInMs = SessionConfig.RETRY_INTERVAL_MS;
+
+    public Builder sessionPool(SessionPool sessionPool) {
+      this.sessionPool = sessionPool;
+      return this;
+    }
+
+    public Builder maxRowsPerTablet(int maxRowsPerTablet) {
+      this.maxRowsPerTablet = maxRowsPerTablet;
+      return this;
+    }
+
+    public Builder maxDelayInMs(long maxDelayInMs) {
+      this.maxDelayInMs = maxDelayInMs;
+      return this;
+    }
+
+    public Builder maxInFlightPerEndPoint(int maxInFlightPerEndPoint) {
+      this.maxInFlightPerEndPoint = maxInFlightPerEndPoint;
+      return this;
+    }
+
+    public Builder maxPendingTablets(int maxPendingTablets) {
+      this.maxPendingTablets = maxPendingTablets;
+      return this;
+    }
+
+    public Builder aligned(boolean aligned) {
+      this.aligned = aligned;
+      return this;
+    }
+
+    public Builder maxRetryTimes(int maxRetryTimes) {
+      this.maxRetryTimes = maxRetryTimes;
+      return this;
+    }
+
+    public Builder retryIntervalInMs(long retryIntervalInMs) {
+      this.retryIntervalInMs = retryIntervalInMs;
+      return this;
+    }
+
+    public AsyncTabletWriter build() {
+      if (sessionPool == null) {
+        throw new IllegalArgumentException("Session pool is required");
+      }
+      if (maxRowsPerTablet <= 0
+          || maxDelayInMs <= 0
+          || maxInFlightPerEndPoint <= 0
+          || maxPendingTablets <= 0) {
+        throw new IllegalArgumentException(
+            "maxRowsPerTablet, maxDelayInMs, maxInFlightPerEndPoint and maxPendingTablets should"
+                + " be positive");
+      }
+      return new AsyncTabletWriter(this);
+    }
+  }
+}
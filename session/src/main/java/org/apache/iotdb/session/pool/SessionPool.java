@@ -2774,6 +2774,12 @@ public class SessionPool implements ISessionPool {
     return enableRedirection;
   }
 
+  /** @return the cached leader of the device, null if it is unknown or redirection is disabled */
+  TEndPoint getDeviceEndPoint(String deviceId) {
+    Map<String, TEndPoint> endPoints = deviceIdToEndpoint;
+    return endPoints == null ? null : endPoints.get(deviceId);
+  }
+
   @Override
   public void setEnableQueryRedirection(boolean enableQueryRedirection) {
     this.enableQueryRedirection = enableQueryRedirection;
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.session.pool;
+
+import org.apache.iotdb.rpc.RpcUtils;
+import org.apache.iotdb.rpc.StatementExecutionException;
+import org.apache.iotdb.rpc.TSStatusCode;
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.write.record.Tablet;
+import org.apache.iotdb.tsfile.write.schema.MeasurementSchema;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncTabletWriterTest {
+
+  private static final List<MeasurementSchema> SCHEMAS =
+      Arrays.asList(
+          new MeasurementSchema("s1", TSDataType.INT64),
+          new MeasurementSchema("s2", TSDataType.DOUBLE));
+
+  /** a pool that records the tablets instead of sending them */
+  private static class RecordingSessionPool extends SessionPool {
+
+    private final List<Tablet> tablets = Collections.synchronizedList(new ArrayList<>());
+
+    private RecordingSessionPool() {
+      super("localhost", 6667, "root", "root", 3);
+    }
+
+    @Override
+    public void insertTablet(Tablet tablet) throws StatementExecutionException {
+      tablets.add(tablet);
+    }
+  }
+
+  @Test
+  public void testFlushBySize() throws Exception {
+    RecordingSessionPool pool = new RecordingSessionPool();
+    AsyncTabletWriter writer =
+        new AsyncTabletWriter.Builder()
+            .sessionPool(pool)
+            .maxRowsPerTablet(10)
+            .maxDelayInMs(60_000)
+            .build();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 25; i++) {
+      futures.add(writer.write("root.sg.d1", SCHEMAS, i, (long) i, i * 1.0));
+      futures.add(writer.write("root.sg.d2", SCHEMAS, i, (long) i, null));
+    }
+    for (int i = 0; i < 20; i++) {
+      futures.get(i * 2).get(10, TimeUnit.SECONDS);
+      futures.get(i * 2 + 1).get(10, TimeUnit.SECONDS);
+    }
+    // the last 5 rows of each device are still buffered
+    assertFalse(futures.get(futures.size() - 1).isDone());
+    assertEquals(4, pool.tablets.size());
+
+    writer.flush().get(10, TimeUnit.SECONDS);
+    assertEquals(6, pool.tablets.size());
+    int rows = 0;
+    for (Tablet tablet : pool.tablets) {
+      rows += tablet.rowSize;
+      long[] values = (long[]) tablet.values[0];
+      for (int i = 0; i < tablet.rowSize; i++) {
+        assertEquals(tablet.timestamps[i], values[i]);
+      }
+    }
+    assertEquals(50, rows);
+    writer.close();
+  }
+
+  @Test
+  public void testFlushByDelay() throws Exception {
+    RecordingSessionPool pool = new RecordingSessionPool();
+    AsyncTabletWriter writer =
+        new AsyncTabletWriter.Builder().sessionPool(pool).maxDelayInMs(10).build();
+    writer.write("root.sg.d1", SCHEMAS, 1, 1L, 1.0).get(10, TimeUnit.SECONDS);
+    assertEquals(1, pool.tablets.size());
+    writer.close();
+  }
+
+  @Test
+  public void testMaxInFlightPerEndPoint() throws Exception {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    CountDownLatch latch = new CountDownLatch(1);
+    SessionPool pool =
+        new SessionPool("localhost", 6667, "root", "root", 3) {
+          @Override
+          public void insertTablet(Tablet tablet) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+              latch.await();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+          }
+        };
+    AsyncTabletWriter writer =
+        new AsyncTabletWriter.Builder()
+            .sessionPool(pool)
+            .maxRowsPerTablet(1)
+            .maxInFlightPerEndPoint(2)
+            .maxPendingTablets(8)
+            .build();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      futures.add(writer.write("root.sg.d" + i, SCHEMAS, i, (long) i, 1.0));
+    }
+    assertEquals(8, writer.getPendingTabletsNumber());
+    latch.countDown();
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+    assertEquals(2, maxInFlight.get());
+    assertEquals(0, writer.getPendingTabletsNumber());
+    writer.close();
+  }
+
+  @Test
+  public void testTabletsOfDeviceInOrder() throws Exception {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    List<Long> times = Collections.synchronizedList(new ArrayList<>());
+    SessionPool pool =
+        new SessionPool("localhost", 6667, "root", "root", 3) {
+          @Override
+          public void insertTablet(Tablet tablet) {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+              // let later tablets catch up if they were sent concurrently
+              Thread.sleep(5);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            times.add(tablet.timestamps[0]);
+            inFlight.decrementAndGet();
+          }
+        };
+    AsyncTabletWriter writer =
+        new AsyncTabletWriter.Builder()
+            .sessionPool(pool)
+            .maxRowsPerTablet(1)
+            .maxInFlightPerEndPoint(4)
+            .build();
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      futures.add(writer.write("root.sg.d1", SCHEMAS, i, (long) i, 1.0));
+    }
+    CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+    // tablets of one device are sent one by one even if the endpoint has free slots
+    assertEquals(1, maxInFlight.get());
+    for (int i = 0; i < 20; i++) {
+      assertEquals(i, (long) times.get(i));
+    }
+    writer.close();
+  }
+
+  @Test
+  public void testRetryWhenRejected() throws Exception {
+    AtomicInteger attempts = new AtomicInteger();
+    SessionPool pool =
+        new SessionPool("localhost", 6667, "root", "root", 3) {
+          @Override
+          public void insertTablet(Tablet tablet) throws StatementExecutionException {
+            if (attempts.incrementAndGet() < 3) {
+              throw new StatementExecutionException(
+                  RpcUtils.getStatus(TSStatusCode.WRITE_PROCESS_REJECT, "overloaded"));
+            }
+          }
+        };
+    AsyncTabletWriter writer =
+        new AsyncTabletWriter.Builder()
+            .sessionPool(pool)
+            .maxRowsPerTablet(1)
+            .retryIntervalInMs(1)
+            .build();
+    writer.write("root.sg.d1", SCHEMAS, 1, 1L, 1.0).get(10, TimeUnit.SECONDS);
+    assertEquals(3, attempts.get());
+
+    // other errors are not retried
+    SessionPool failingPool =
+        new SessionPool("localhost", 6667, "root", "root", 3) {
+          @Override
+          public void insertTablet(Tablet tablet) throws StatementExecutionException {
+            throw new StatementExecutionException(
+                RpcUtils.getStatus(TSStatusCode.EXECUTE_STATEMENT_ERROR, "error"));
+          }
+        };
+    AsyncTabletWriter failingWriter =
+        new AsyncTabletWriter.Builder().sessionPool(failingPool).maxRowsPerTablet(1).build();
+    try {
+      failingWriter.write("root.sg.d1", SCHEMAS, 1, 1L, 1.0).get(10, TimeUnit.SECONDS);
+      fail();
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof StatementExecutionException);
+    }
+    writer.close();
+    failingWriter.close();
+  }
+}
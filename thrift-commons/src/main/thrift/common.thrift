@@ -140,7 +140,13 @@ enum TAggregationType {
   MIN_VALUE,
   EXTREME,
   COUNT_IF,
-  TIME_DURATION
+  TIME_DURATION,
+  APPROX_COUNT_DISTINCT,
+  VAR_SAMP,
+  VAR_POP,
+  STDDEV_SAMP,
+  STDDEV_POP,
+  APPROX_PERCENTILE
 }
 
 // for MLNode
@@ -112,6 +112,11 @@ public class TSFileConfig implements Serializable {
   private double freqEncodingSNR = 40;
   /** Default block size for FREQ encoding is 1024. */
   private int freqEncodingBlockSize = 1024;
+  /**
+   * Whether to keep a distinct sketch (4KB) in the statistics of each chunk, files written with it
+   * can not be read by older versions. Default value is false.
+   */
+  private boolean enableDistinctSketchInStatistics = false;
   /** Data compression method, TsFile supports UNCOMPRESSED, SNAPPY or LZ4. */
   private CompressionType compressor = CompressionType.SNAPPY;
   /** Line count threshold for checking page memory occupied size. */
@@ -444,6 +449,14 @@ public class TSFileConfig implements Serializable {
     this.freqEncodingBlockSize = freqEncodingBlockSize;
   }
 
+  public boolean isEnableDistinctSketchInStatistics() {
+    return enableDistinctSketchInStatistics;
+  }
+
+  public void setEnableDistinctSketchInStatistics(boolean enableDistinctSketchInStatistics) {
+    this.enableDistinctSketchInStatistics = enableDistinctSketchInStatistics;
+  }
+
   public int getMaxTsBlockSizeInBytes() {
     return maxTsBlockSizeInBytes;
   }
@@ -83,6 +83,8 @@ public class TSFileDescriptor {
     writer.setInt(conf::setBatchSize, "batch_size");
     writer.setInt(conf::setFreqEncodingBlockSize, "freq_block_size");
     writer.setDouble(conf::setFreqEncodingSNR, "freq_snr");
+    writer.setBoolean(
+        conf::setEnableDistinctSketchInStatistics, "enable_distinct_sketch_in_statistics");
   }
 
   private class PropertiesOverWriter {
@@ -108,6 +110,10 @@ public class TSFileDescriptor {
       set(setter, propertyKey, Function.identity());
     }
 
+    public void setBoolean(Consumer<Boolean> setter, String propertyKey) {
+      set(setter, propertyKey, Boolean::parseBoolean);
+    }
+
     private <T> void set(
         Consumer<T> setter, String propertyKey, Function<String, T> propertyValueConverter) {
       String value = this.properties.getProperty(propertyKey);
@@ -37,6 +37,8 @@ public class TsFileConstant {
 
   public static final byte TIME_COLUMN_MASK = (byte) 0x80;
   public static final byte VALUE_COLUMN_MASK = (byte) 0x40;
+  // set in the TimeseriesMetadata type when the statistics carry distinct sketches
+  public static final byte DISTINCT_SKETCH_MASK = (byte) 0x20;
 
   // measurementID of aligned time chunk
   public static final String TIME_COLUMN_ID = "";
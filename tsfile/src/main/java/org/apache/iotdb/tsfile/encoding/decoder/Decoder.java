@@ -174,6 +174,94 @@ public abstract class Decoder {
     throw new TsFileDecodingException("Method readBigDecimal is not supported by Decoder");
   }
 
+  /**
+   * Decode at most {@code length} booleans into {@code dest} starting from {@code offset}.
+   *
+   * @return the number of values actually decoded, less than {@code length} only if the buffer is
+   *     exhausted
+   */
+  public int readBooleans(ByteBuffer buffer, boolean[] dest, int offset, int length)
+      throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      dest[offset + count++] = readBoolean(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * Decode at most {@code length} ints into {@code dest} starting from {@code offset}.
+   *
+   * @return the number of values actually decoded, less than {@code length} only if the buffer is
+   *     exhausted
+   */
+  public int readInts(ByteBuffer buffer, int[] dest, int offset, int length) throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      dest[offset + count++] = readInt(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * Decode at most {@code length} longs into {@code dest} starting from {@code offset}.
+   *
+   * @return the number of values actually decoded, less than {@code length} only if the buffer is
+   *     exhausted
+   */
+  public int readLongs(ByteBuffer buffer, long[] dest, int offset, int length) throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      dest[offset + count++] = readLong(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * Decode at most {@code length} floats into {@code dest} starting from {@code offset}.
+   *
+   * @return the number of values actually decoded, less than {@code length} only if the buffer is
+   *     exhausted
+   */
+  public int readFloats(ByteBuffer buffer, float[] dest, int offset, int length)
+      throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      dest[offset + count++] = readFloat(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * Decode at most {@code length} doubles into {@code dest} starting from {@code offset}.
+   *
+   * @return the number of values actually decoded, less than {@code length} only if the buffer is
+   *     exhausted
+   */
+  public int readDoubles(ByteBuffer buffer, double[] dest, int offset, int length)
+      throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      dest[offset + count++] = readDouble(buffer);
+    }
+    return count;
+  }
+
+  /**
+   * Decode at most {@code length} binaries into {@code dest} starting from {@code offset}.
+   *
+   * @return the number of values actually decoded, less than {@code length} only if the buffer is
+   *     exhausted
+   */
+  public int readBinaries(ByteBuffer buffer, Binary[] dest, int offset, int length)
+      throws IOException {
+    int count = 0;
+    while (count < length && hasNext(buffer)) {
+      dest[offset + count++] = readBinary(buffer);
+    }
+    return count;
+  }
+
   public abstract boolean hasNext(ByteBuffer buffer) throws IOException;
 
   public abstract void reset();
@@ -106,6 +106,26 @@ public abstract class DeltaBinaryDecoder extends Decoder {
       return readT(buffer);
     }
 
+    /** copy the already decoded pack into {@code dest} in bulk instead of value by value. */
+    @Override
+    public int readInts(ByteBuffer buffer, int[] dest, int offset, int length) {
+      int count = 0;
+      while (count < length) {
+        if (nextReadIndex == readIntTotalCount) {
+          if (!buffer.hasRemaining()) {
+            break;
+          }
+          dest[offset + count++] = loadIntBatch(buffer);
+          continue;
+        }
+        int copyLength = Math.min(length - count, readIntTotalCount - nextReadIndex);
+        System.arraycopy(data, nextReadIndex, dest, offset + count, copyLength);
+        nextReadIndex += copyLength;
+        count += copyLength;
+      }
+      return count;
+    }
+
     /**
      * if remaining data has been run out, load next pack from InputStream.
      *
@@ -222,6 +242,26 @@ public abstract class DeltaBinaryDecoder extends Decoder {
       return readT(buffer);
     }
 
+    /** copy the already decoded pack into {@code dest} in bulk instead of value by value. */
+    @Override
+    public int readLongs(ByteBuffer buffer, long[] dest, int offset, int length) {
+      int count = 0;
+      while (count < length) {
+        if (nextReadIndex == readIntTotalCount) {
+          if (!buffer.hasRemaining()) {
+            break;
+          }
+          dest[offset + count++] = loadIntBatch(buffer);
+          continue;
+        }
+        int copyLength = Math.min(length - count, readIntTotalCount - nextReadIndex);
+        System.arraycopy(data, nextReadIndex, dest, offset + count, copyLength);
+        nextReadIndex += copyLength;
+        count += copyLength;
+      }
+      return count;
+    }
+
     @Override
     protected void readHeader(ByteBuffer buffer) {
       minDeltaBase = ReadWriteIOUtils.readLong(buffer);
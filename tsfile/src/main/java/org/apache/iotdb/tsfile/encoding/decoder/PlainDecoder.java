@@ -71,6 +71,30 @@ public class PlainDecoder extends Decoder {
     return new Binary(buf);
   }
 
+  @Override
+  public int readLongs(ByteBuffer buffer, long[] dest, int offset, int length) {
+    int count = Math.min(length, buffer.remaining() / Long.BYTES);
+    buffer.asLongBuffer().get(dest, offset, count);
+    buffer.position(buffer.position() + count * Long.BYTES);
+    return count;
+  }
+
+  @Override
+  public int readFloats(ByteBuffer buffer, float[] dest, int offset, int length) {
+    int count = Math.min(length, buffer.remaining() / Float.BYTES);
+    buffer.asFloatBuffer().get(dest, offset, count);
+    buffer.position(buffer.position() + count * Float.BYTES);
+    return count;
+  }
+
+  @Override
+  public int readDoubles(ByteBuffer buffer, double[] dest, int offset, int length) {
+    int count = Math.min(length, buffer.remaining() / Double.BYTES);
+    buffer.asDoubleBuffer().get(dest, offset, count);
+    buffer.position(buffer.position() + count * Double.BYTES);
+    return count;
+  }
+
   @Override
   public boolean hasNext(ByteBuffer buffer) {
     return buffer.remaining() > 0;
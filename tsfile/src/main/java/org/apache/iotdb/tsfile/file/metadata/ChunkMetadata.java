@@ -194,8 +194,11 @@ public class ChunkMetadata implements IChunkMetadata {
     chunkMetaData.offsetOfChunkHeader = ReadWriteIOUtils.readLong(buffer);
     // if the TimeSeriesMetadataType is not 0, it means it has more than one chunk
     // and each chunk's metadata has its own statistics
-    if ((timeseriesMetadata.getTimeSeriesMetadataType() & 0x3F) != 0) {
+    if ((timeseriesMetadata.getTimeSeriesMetadataType() & 0x1F) != 0) {
       chunkMetaData.statistics = Statistics.deserialize(buffer, chunkMetaData.tsDataType);
+      if (timeseriesMetadata.hasDistinctSketch()) {
+        chunkMetaData.statistics.deserializeDistinctSketch(buffer);
+      }
     } else {
       // if the TimeSeriesMetadataType is 0, it means it has only one chunk
       // and that chunk's metadata has no statistic
@@ -313,6 +316,9 @@ public class ChunkMetadata implements IChunkMetadata {
     memSize += RamUsageEstimator.sizeOf(tsFilePrefixPath);
     memSize += RamUsageEstimator.sizeOf(measurementUid);
     memSize += statistics.calculateRamSize();
+    if (statistics.getDistinctSketch() != null) {
+      memSize += statistics.getDistinctSketch().getSerializedSize();
+    }
     return memSize;
   }
 
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.tsfile.file.metadata;
 
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.controller.IChunkMetadataLoader;
@@ -49,6 +50,9 @@ public class TimeseriesMetadata implements ITimeSeriesMetadata {
    * <p>if the 8th bit is 1, it means it is the time column of a vector series;
    *
    * <p>if the 7th bit is 1, it means it is the value column of a vector series
+   *
+   * <p>if the 6th bit is 1, it means the statistics of the series and of each chunk are followed
+   * by a distinct sketch
    */
   private byte timeSeriesMetadataType;
 
@@ -109,6 +113,9 @@ public class TimeseriesMetadata implements ITimeSeriesMetadata {
     int chunkMetaDataListDataSize = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
     timeseriesMetaData.setDataSizeOfChunkMetaDataList(chunkMetaDataListDataSize);
     timeseriesMetaData.setStatistics(Statistics.deserialize(buffer, timeseriesMetaData.dataType));
+    if (timeseriesMetaData.hasDistinctSketch()) {
+      timeseriesMetaData.statistics.deserializeDistinctSketch(buffer);
+    }
     if (needChunkMetadata) {
       ByteBuffer byteBuffer = buffer.slice();
       byteBuffer.limit(chunkMetaDataListDataSize);
@@ -135,6 +142,9 @@ public class TimeseriesMetadata implements ITimeSeriesMetadata {
     TSDataType tsDataType = ReadWriteIOUtils.readDataType(buffer);
     int chunkMetaDataListDataSize = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
     Statistics<? extends Serializable> statistics = Statistics.deserialize(buffer, tsDataType);
+    if ((timeseriesType & TsFileConstant.DISTINCT_SKETCH_MASK) != 0) {
+      statistics.deserializeDistinctSketch(buffer);
+    }
 
     TimeseriesMetadata timeseriesMetaData = new TimeseriesMetadata();
     timeseriesMetaData.setMeasurementId(measurementID);
@@ -174,6 +184,9 @@ public class TimeseriesMetadata implements ITimeSeriesMetadata {
     byteLen +=
         ReadWriteForEncodingUtils.writeUnsignedVarInt(chunkMetaDataListDataSize, outputStream);
     byteLen += statistics.serialize(outputStream);
+    if (hasDistinctSketch()) {
+      byteLen += statistics.serializeDistinctSketch(outputStream);
+    }
     chunkMetadataListBuffer.writeTo(outputStream);
     byteLen += chunkMetadataListBuffer.size();
     return byteLen;
@@ -187,6 +200,10 @@ public class TimeseriesMetadata implements ITimeSeriesMetadata {
     this.timeSeriesMetadataType = timeSeriesMetadataType;
   }
 
+  public boolean hasDistinctSketch() {
+    return (timeSeriesMetadataType & TsFileConstant.DISTINCT_SKETCH_MASK) != 0;
+  }
+
   public long getOffsetOfChunkMetaDataList() {
     return startOffsetOfChunkMetaDataList;
   }
@@ -23,6 +23,7 @@ import org.apache.iotdb.tsfile.exception.write.UnknownColumnTypeException;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.HyperLogLog;
 import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
@@ -59,6 +60,15 @@ public abstract class Statistics<T extends Serializable> {
   private long startTime = Long.MAX_VALUE;
   private long endTime = Long.MIN_VALUE;
 
+  /**
+   * optional sketch of the distinct values, null means unknown. It is not a part of {@link
+   * #serialize(OutputStream)}, the owner of the statistics decides whether to persist it.
+   */
+  private HyperLogLog distinctSketch;
+
+  /** version of the serialized distinct sketch, sketches of unknown versions are skipped */
+  static final byte DISTINCT_SKETCH_VERSION = 1;
+
   static final String STATS_UNSUPPORTED_MSG = "%s statistics does not support: %s";
 
   /**
@@ -165,6 +175,8 @@ public abstract class Statistics<T extends Serializable> {
         }
         // must be sure no overlap between two statistics
         this.count += stats.count;
+        // merge the sketch first, mergeStatisticsValue clears isEmpty
+        mergeDistinctSketch(stats);
         mergeStatisticsValue((Statistics<T>) stats);
         isEmpty = false;
       }
@@ -180,31 +192,49 @@ public abstract class Statistics<T extends Serializable> {
   public void update(long time, boolean value) {
     update(time);
     updateStats(value);
+    if (distinctSketch != null) {
+      distinctSketch.add(value);
+    }
   }
 
   public void update(long time, int value) {
     update(time);
     updateStats(value);
+    if (distinctSketch != null) {
+      distinctSketch.add(value);
+    }
   }
 
   public void update(long time, long value) {
     update(time);
     updateStats(value);
+    if (distinctSketch != null) {
+      distinctSketch.add(value);
+    }
   }
 
   public void update(long time, float value) {
     update(time);
     updateStats(value);
+    if (distinctSketch != null) {
+      distinctSketch.add(value);
+    }
   }
 
   public void update(long time, double value) {
     update(time);
     updateStats(value);
+    if (distinctSketch != null) {
+      distinctSketch.add(value);
+    }
   }
 
   public void update(long time, Binary value) {
     update(time);
     updateStats(value);
+    if (distinctSketch != null) {
+      distinctSketch.add(value);
+    }
   }
 
   public void update(long time) {
@@ -220,31 +250,61 @@ public abstract class Statistics<T extends Serializable> {
   public void update(long[] time, boolean[] values, int batchSize) {
     update(time, batchSize);
     updateStats(values, batchSize);
+    if (distinctSketch != null) {
+      for (int i = 0; i < batchSize; i++) {
+        distinctSketch.add(values[i]);
+      }
+    }
   }
 
   public void update(long[] time, int[] values, int batchSize) {
     update(time, batchSize);
     updateStats(values, batchSize);
+    if (distinctSketch != null) {
+      for (int i = 0; i < batchSize; i++) {
+        distinctSketch.add(values[i]);
+      }
+    }
   }
 
   public void update(long[] time, long[] values, int batchSize) {
     update(time, batchSize);
     updateStats(values, batchSize);
+    if (distinctSketch != null) {
+      for (int i = 0; i < batchSize; i++) {
+        distinctSketch.add(values[i]);
+      }
+    }
   }
 
   public void update(long[] time, float[] values, int batchSize) {
     update(time, batchSize);
     updateStats(values, batchSize);
+    if (distinctSketch != null) {
+      for (int i = 0; i < batchSize; i++) {
+        distinctSketch.add(values[i]);
+      }
+    }
   }
 
   public void update(long[] time, double[] values, int batchSize) {
     update(time, batchSize);
     updateStats(values, batchSize);
+    if (distinctSketch != null) {
+      for (int i = 0; i < batchSize; i++) {
+        distinctSketch.add(values[i]);
+      }
+    }
   }
 
   public void update(long[] time, Binary[] values, int batchSize) {
     update(time, batchSize);
     updateStats(values, batchSize);
+    if (distinctSketch != null) {
+      for (int i = 0; i < batchSize; i++) {
+        distinctSketch.add(values[i]);
+      }
+    }
   }
 
   public void update(long[] time, int batchSize) {
@@ -269,6 +329,61 @@ public abstract class Statistics<T extends Serializable> {
 
   protected abstract void mergeStatisticsValue(Statistics<T> stats);
 
+  /**
+   * The merged sketch is only known if the sketches of both sides are known, an empty statistics
+   * takes a copy of the other one.
+   */
+  private void mergeDistinctSketch(Statistics<? extends Serializable> stats) {
+    if (isEmpty) {
+      distinctSketch = stats.distinctSketch == null ? null : stats.distinctSketch.copy();
+    } else if (distinctSketch != null
+        && stats.distinctSketch != null
+        && distinctSketch.getPrecision() == stats.distinctSketch.getPrecision()) {
+      distinctSketch.merge(stats.distinctSketch);
+    } else {
+      distinctSketch = null;
+    }
+  }
+
+  /** Start recording the distinct values, should be called before any value is updated. */
+  public void enableDistinctSketch() {
+    distinctSketch = new HyperLogLog();
+  }
+
+  /** @return the sketch of the distinct values, or null if they are unknown */
+  public HyperLogLog getDistinctSketch() {
+    return distinctSketch;
+  }
+
+  public void setDistinctSketch(HyperLogLog distinctSketch) {
+    this.distinctSketch = distinctSketch;
+  }
+
+  /**
+   * Serialized as | version (1 byte) | size (var int) | sketch |, the distinct sketch should not
+   * be null.
+   */
+  public int serializeDistinctSketch(OutputStream outputStream) throws IOException {
+    byte[] bytes = distinctSketch.serialize();
+    int byteLen = ReadWriteIOUtils.write(DISTINCT_SKETCH_VERSION, outputStream);
+    byteLen += ReadWriteForEncodingUtils.writeUnsignedVarInt(bytes.length, outputStream);
+    outputStream.write(bytes);
+    return byteLen + bytes.length;
+  }
+
+  public void deserializeDistinctSketch(ByteBuffer buffer) {
+    byte version = ReadWriteIOUtils.readByte(buffer);
+    int size = ReadWriteForEncodingUtils.readUnsignedVarInt(buffer);
+    if (version == DISTINCT_SKETCH_VERSION) {
+      ByteBuffer sketchBuffer = buffer.slice();
+      sketchBuffer.limit(size);
+      distinctSketch = HyperLogLog.deserialize(sketchBuffer);
+    } else {
+      distinctSketch = null;
+    }
+    buffer.position(buffer.position() + size);
+  }
+
   public boolean isEmpty() {
     return isEmpty;
   }
@@ -33,7 +33,11 @@ public enum ColumnEncoding {
   /** TEXT. */
   BINARY_ARRAY((byte) 3),
   /** All data types. */
-  RLE((byte) 4);
+  RLE((byte) 4),
+  /** INT64, used for time columns. */
+  DELTA_OF_DELTA((byte) 5),
+  /** TEXT. */
+  DICTIONARY((byte) 6);
 
   private final byte value;
 
@@ -45,6 +49,11 @@ public enum ColumnEncoding {
     return getColumnEncoding(buffer.get());
   }
 
+  /** Compact encodings are only used in the data exchange between DataNodes. */
+  public boolean isCompact() {
+    return this == DELTA_OF_DELTA || this == DICTIONARY;
+  }
+
   public void serializeTo(DataOutputStream stream) throws IOException {
     stream.writeByte(value);
   }
@@ -61,6 +70,10 @@ public enum ColumnEncoding {
         return BINARY_ARRAY;
       case 4:
         return RLE;
+      case 5:
+        return DELTA_OF_DELTA;
+      case 6:
+        return DICTIONARY;
       default:
         throw new IllegalArgumentException("Invalid value: " + value);
     }
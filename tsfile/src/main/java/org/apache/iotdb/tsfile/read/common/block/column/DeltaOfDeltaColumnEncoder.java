@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.common.block.column;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encode INT64 columns, especially time columns, by delta of delta. Timestamps in a TsBlock are
+ * usually increasing with a nearly fixed interval, so most values take one or two bytes.
+ */
+public class DeltaOfDeltaColumnEncoder implements ColumnEncoder {
+
+  @Override
+  public TimeColumn readTimeColumn(ByteBuffer input, int positionCount) {
+
+    // Serialized data layout:
+    //    +---------------+-----------------+-------------+------------------------+
+    //    | may have null | null indicators | first value | deltas of delta        |
+    //    +---------------+-----------------+-------------+------------------------+
+    //    | byte          | list[byte]      | int64       | list[zigzag var int64] |
+    //    +---------------+-----------------+-------------+------------------------+
+
+    boolean[] nullIndicators = ColumnEncoder.deserializeNullIndicators(input, positionCount);
+    if (nullIndicators != null) {
+      throw new IllegalArgumentException("TimeColumn should not contain null values.");
+    }
+    long[] values = new long[positionCount];
+    readValues(input, values, positionCount);
+    return new TimeColumn(0, positionCount, values);
+  }
+
+  @Override
+  public Column readColumn(ByteBuffer input, TSDataType dataType, int positionCount) {
+    if (!TSDataType.INT64.equals(dataType)) {
+      throw new IllegalArgumentException("Invalid data type: " + dataType);
+    }
+
+    boolean[] nullIndicators = ColumnEncoder.deserializeNullIndicators(input, positionCount);
+    long[] values = new long[positionCount];
+    if (nullIndicators == null) {
+      readValues(input, values, positionCount);
+    } else {
+      int nonNullCount = 0;
+      for (boolean isNull : nullIndicators) {
+        if (!isNull) {
+          nonNullCount++;
+        }
+      }
+      long[] nonNullValues = new long[nonNullCount];
+      readValues(input, nonNullValues, nonNullCount);
+      for (int i = 0, j = 0; i < positionCount; i++) {
+        if (!nullIndicators[i]) {
+          values[i] = nonNullValues[j++];
+        }
+      }
+    }
+    return new LongColumn(0, positionCount, nullIndicators, values);
+  }
+
+  private void readValues(ByteBuffer input, long[] values, int count) {
+    if (count == 0) {
+      return;
+    }
+    values[0] = input.getLong();
+    long delta = 0;
+    for (int i = 1; i < count; i++) {
+      delta += decodeZigZag(readUnsignedVarLong(input));
+      values[i] = values[i - 1] + delta;
+    }
+  }
+
+  @Override
+  public void writeColumn(DataOutputStream output, Column column) throws IOException {
+
+    ColumnEncoder.serializeNullIndicators(output, column);
+
+    TSDataType dataType = column.getDataType();
+    if (!TSDataType.INT64.equals(dataType)) {
+      throw new IllegalArgumentException("Invalid data type: " + dataType);
+    }
+    int positionCount = column.getPositionCount();
+    boolean first = true;
+    long previousValue = 0;
+    long previousDelta = 0;
+    for (int i = 0; i < positionCount; i++) {
+      if (column.isNull(i)) {
+        continue;
+      }
+      long value = column.getLong(i);
+      if (first) {
+        output.writeLong(value);
+        first = false;
+      } else {
+        long delta = value - previousValue;
+        writeUnsignedVarLong(output, encodeZigZag(delta - previousDelta));
+        previousDelta = delta;
+      }
+      previousValue = value;
+    }
+  }
+
+  private static long encodeZigZag(long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long decodeZigZag(long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static void writeUnsignedVarLong(DataOutputStream output, long value) throws IOException {
+    while ((value & ~0x7FL) != 0) {
+      output.writeByte((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    output.writeByte((int) value);
+  }
+
+  private static long readUnsignedVarLong(ByteBuffer input) {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = input.get();
+      value |= (long) (b & 0x7F) << shift;
+      shift += 7;
+    } while ((b & 0x80) != 0);
+    return value;
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.common.block.column;
+
+import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** Encode TEXT columns with few distinct values by a dictionary. */
+public class DictionaryColumnEncoder implements ColumnEncoder {
+
+  @Override
+  public Column readColumn(ByteBuffer input, TSDataType dataType, int positionCount) {
+    // Serialized data layout:
+    //    +---------------+-----------------+-----------------+-------------+------------------+
+    //    | may have null | null indicators | dictionary size | dictionary  | ids              |
+    //    +---------------+-----------------+-----------------+-------------+------------------+
+    //    | byte          | list[byte]      | int32           | list[entry] | list[var uint32] |
+    //    +---------------+-----------------+-----------------+-------------+------------------+
+    //
+    // Each entry is represented as:
+    //    +---------------+-------+
+    //    | value length  | value |
+    //    +---------------+-------+
+    //    | int32         | bytes |
+    //    +---------------+-------+
+
+    if (!TSDataType.TEXT.equals(dataType)) {
+      throw new IllegalArgumentException("Invalid data type: " + dataType);
+    }
+
+    boolean[] nullIndicators = ColumnEncoder.deserializeNullIndicators(input, positionCount);
+    Binary[] dictionary = new Binary[input.getInt()];
+    for (int i = 0; i < dictionary.length; i++) {
+      byte[] value = new byte[input.getInt()];
+      input.get(value);
+      dictionary[i] = new Binary(value);
+    }
+    Binary[] values = new Binary[positionCount];
+    for (int i = 0; i < positionCount; i++) {
+      if (nullIndicators == null || !nullIndicators[i]) {
+        values[i] = dictionary[ReadWriteForEncodingUtils.readUnsignedVarInt(input)];
+      }
+    }
+    return new BinaryColumn(0, positionCount, nullIndicators, values);
+  }
+
+  @Override
+  public void writeColumn(DataOutputStream output, Column column) throws IOException {
+
+    ColumnEncoder.serializeNullIndicators(output, column);
+
+    TSDataType dataType = column.getDataType();
+    if (!TSDataType.TEXT.equals(dataType)) {
+      throw new IllegalArgumentException("Invalid data type: " + dataType);
+    }
+    int positionCount = column.getPositionCount();
+    Map<Binary, Integer> valueToId = new HashMap<>();
+    List<Binary> dictionary = new ArrayList<>();
+    int[] ids = new int[positionCount];
+    for (int i = 0; i < positionCount; i++) {
+      if (!column.isNull(i)) {
+        Binary value = column.getBinary(i);
+        Integer id = valueToId.get(value);
+        if (id == null) {
+          id = dictionary.size();
+          valueToId.put(value, id);
+          dictionary.add(value);
+        }
+        ids[i] = id;
+      }
+    }
+
+    output.writeInt(dictionary.size());
+    for (Binary value : dictionary) {
+      output.writeInt(value.getLength());
+      output.write(value.getValues());
+    }
+    for (int i = 0; i < positionCount; i++) {
+      if (!column.isNull(i)) {
+        ReadWriteForEncodingUtils.writeUnsignedVarInt(ids[i], output);
+      }
+    }
+  }
+
+  /**
+   * Whether the dictionary encoding is worthwhile for the column, that is, the number of distinct
+   * values is at most half of the non-null values.
+   */
+  public static boolean isSuitable(Column column) {
+    int positionCount = column.getPositionCount();
+    int maxDistinctCount = positionCount / 2;
+    Map<Binary, Boolean> distinctValues = new HashMap<>();
+    for (int i = 0; i < positionCount; i++) {
+      if (!column.isNull(i)
+          && distinctValues.put(column.getBinary(i), Boolean.TRUE) == null
+          && distinctValues.size() > maxDistinctCount) {
+        return false;
+      }
+    }
+    return positionCount > 1;
+  }
+}
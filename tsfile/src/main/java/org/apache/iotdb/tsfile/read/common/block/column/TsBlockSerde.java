@@ -19,6 +19,9 @@
 
 package org.apache.iotdb.tsfile.read.common.block.column;
 
+import org.apache.iotdb.tsfile.compress.ICompressor;
+import org.apache.iotdb.tsfile.compress.IUnCompressor;
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 
@@ -31,6 +34,30 @@ import java.util.List;
 
 public class TsBlockSerde {
 
+  /**
+   * A compressed tsblock starts with this marker, which never conflicts with the value column count
+   * of an uncompressed tsblock.
+   */
+  private static final int COMPRESSED_MARKER = -1;
+
+  /** Use delta of delta for time columns and dictionary for text columns with few values. */
+  private final boolean compactEncodingEnabled;
+
+  private final CompressionType compressionType;
+
+  public TsBlockSerde() {
+    this(false, CompressionType.UNCOMPRESSED);
+  }
+
+  /**
+   * Tsblocks serialized by any TsBlockSerde can be deserialized by any other one, so the sender can
+   * decide the format by itself.
+   */
+  public TsBlockSerde(boolean compactEncodingEnabled, CompressionType compressionType) {
+    this.compactEncodingEnabled = compactEncodingEnabled;
+    this.compressionType = compressionType;
+  }
+
   /**
    * Deserialize a tsblock.
    *
@@ -38,6 +65,9 @@ public class TsBlockSerde {
    * @return Deserialized tsblock.
    */
   public TsBlock deserialize(ByteBuffer byteBuffer) {
+    if (byteBuffer.getInt(byteBuffer.position()) == COMPRESSED_MARKER) {
+      byteBuffer = uncompress(byteBuffer);
+    }
 
     // Serialized tsblock:
     //    +-------------+---------------+---------+------------+-----------+----------+
@@ -80,6 +110,28 @@ public class TsBlockSerde {
     return new TsBlock(positionCount, timeColumn, valueColumns);
   }
 
+  /**
+   * Whether the serialized tsblock is neither compressed nor using compact encodings, which is the
+   * only format clients can read.
+   *
+   * @param byteBuffer serialized tsblock, whose position is not changed.
+   */
+  public static boolean isPlainFormat(ByteBuffer byteBuffer) {
+    ByteBuffer header = byteBuffer.duplicate();
+    int valueColumnCount = header.getInt();
+    if (valueColumnCount == COMPRESSED_MARKER) {
+      return false;
+    }
+    // skip the value column types and the position count
+    header.position(header.position() + valueColumnCount + Integer.BYTES);
+    for (int i = 0; i < valueColumnCount + 1; i++) {
+      if (ColumnEncoding.deserializeFrom(header).isCompact()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * Serialize a tsblock.
    *
@@ -102,21 +154,84 @@ public class TsBlockSerde {
     dataOutputStream.writeInt(tsBlock.getPositionCount());
 
     // Column encodings.
-    tsBlock.getTimeColumn().getEncoding().serializeTo(dataOutputStream);
+    ColumnEncoding timeColumnEncoding =
+        compactEncodingEnabled && tsBlock.getPositionCount() > 1
+            ? ColumnEncoding.DELTA_OF_DELTA
+            : tsBlock.getTimeColumn().getEncoding();
+    timeColumnEncoding.serializeTo(dataOutputStream);
+    ColumnEncoding[] valueColumnEncodings = new ColumnEncoding[tsBlock.getValueColumnCount()];
     for (int i = 0; i < tsBlock.getValueColumnCount(); i++) {
-      tsBlock.getColumn(i).getEncoding().serializeTo(dataOutputStream);
+      valueColumnEncodings[i] = getEncoding(tsBlock.getColumn(i));
+      valueColumnEncodings[i].serializeTo(dataOutputStream);
     }
 
     // Time column.
-    ColumnEncoder columnEncoder = ColumnEncoderFactory.get(tsBlock.getTimeColumn().getEncoding());
+    ColumnEncoder columnEncoder = ColumnEncoderFactory.get(timeColumnEncoding);
     columnEncoder.writeColumn(dataOutputStream, tsBlock.getTimeColumn());
 
     for (int i = 0; i < tsBlock.getValueColumnCount(); i++) {
       // Value column.
-      columnEncoder = ColumnEncoderFactory.get(tsBlock.getColumn(i).getEncoding());
+      columnEncoder = ColumnEncoderFactory.get(valueColumnEncodings[i]);
       columnEncoder.writeColumn(dataOutputStream, tsBlock.getColumn(i));
     }
 
+    if (compressionType != CompressionType.UNCOMPRESSED) {
+      return compress(byteArrayOutputStream.toByteArray());
+    }
     return ByteBuffer.wrap(byteArrayOutputStream.toByteArray());
   }
+
+  private ColumnEncoding getEncoding(Column column) {
+    ColumnEncoding encoding = column.getEncoding();
+    if (compactEncodingEnabled
+        && encoding == ColumnEncoding.BINARY_ARRAY
+        && DictionaryColumnEncoder.isSuitable(column)) {
+      return ColumnEncoding.DICTIONARY;
+    }
+    return encoding;
+  }
+
+  // Compressed tsblock:
+  //    +--------+------------------+-------------------+------------------+
+  //    | marker | compression type | uncompressed size | compressed bytes |
+  //    +--------+------------------+-------------------+------------------+
+  //    | int32  | byte             | int32             | bytes            |
+  //    +--------+------------------+-------------------+------------------+
+
+  private ByteBuffer compress(byte[] uncompressed) throws IOException {
+    byte[] compressed;
+    try {
+      compressed = ICompressor.getCompressor(compressionType).compress(uncompressed);
+    } catch (IOException e) {
+      // e.g. the data is not compressible by GZIP
+      return ByteBuffer.wrap(uncompressed);
+    }
+    int headerSize = Integer.BYTES + Byte.BYTES + Integer.BYTES;
+    if (compressed.length + headerSize >= uncompressed.length) {
+      // not worth it
+      return ByteBuffer.wrap(uncompressed);
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(headerSize + compressed.length);
+    buffer.putInt(COMPRESSED_MARKER);
+    buffer.put(compressionType.serialize());
+    buffer.putInt(uncompressed.length);
+    buffer.put(compressed);
+    buffer.flip();
+    return buffer;
+  }
+
+  private ByteBuffer uncompress(ByteBuffer byteBuffer) {
+    byteBuffer.getInt();
+    CompressionType type = CompressionType.deserialize(byteBuffer.get());
+    byte[] uncompressed = new byte[byteBuffer.getInt()];
+    byte[] compressed = new byte[byteBuffer.remaining()];
+    byteBuffer.get(compressed);
+    try {
+      IUnCompressor.getUnCompressor(type)
+          .uncompress(compressed, 0, compressed.length, uncompressed, 0);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Failed to uncompress tsblock by " + type, e);
+    }
+    return ByteBuffer.wrap(uncompressed);
+  }
 }
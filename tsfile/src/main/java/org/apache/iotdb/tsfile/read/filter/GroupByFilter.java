@@ -22,6 +22,7 @@ import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterSerializeId;
+import org.apache.iotdb.tsfile.utils.Binary;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -62,6 +63,37 @@ public class GroupByFilter implements Filter, Serializable {
     }
   }
 
+  // group by filters only examine the time, so the value is never boxed
+  @Override
+  public boolean satisfyBoolean(long time, boolean value) {
+    return satisfy(time, null);
+  }
+
+  @Override
+  public boolean satisfyInteger(long time, int value) {
+    return satisfy(time, null);
+  }
+
+  @Override
+  public boolean satisfyLong(long time, long value) {
+    return satisfy(time, null);
+  }
+
+  @Override
+  public boolean satisfyFloat(long time, float value) {
+    return satisfy(time, null);
+  }
+
+  @Override
+  public boolean satisfyDouble(long time, double value) {
+    return satisfy(time, null);
+  }
+
+  @Override
+  public boolean satisfyBinary(long time, Binary value) {
+    return satisfy(time, null);
+  }
+
   @Override
   public boolean satisfyStartEndTime(long startTime, long endTime) {
     if (endTime < this.startTime || startTime >= this.endTime) {
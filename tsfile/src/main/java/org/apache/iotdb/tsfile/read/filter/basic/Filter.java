@@ -21,6 +21,8 @@ package org.apache.iotdb.tsfile.read.filter.basic;
 import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterSerializeId;
+import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.TsPrimitiveType;
 
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
@@ -46,6 +48,133 @@ public interface Filter {
    */
   boolean satisfy(long time, Object value);
 
+  /**
+   * Same as {@link #satisfy(long, Object)} with a boolean value. Filters override the primitive
+   * variants to examine the point without boxing it.
+   */
+  default boolean satisfyBoolean(long time, boolean value) {
+    return satisfy(time, value);
+  }
+
+  /** Same as {@link #satisfy(long, Object)} with an int value. */
+  default boolean satisfyInteger(long time, int value) {
+    return satisfy(time, value);
+  }
+
+  /** Same as {@link #satisfy(long, Object)} with a long value. */
+  default boolean satisfyLong(long time, long value) {
+    return satisfy(time, value);
+  }
+
+  /** Same as {@link #satisfy(long, Object)} with a float value. */
+  default boolean satisfyFloat(long time, float value) {
+    return satisfy(time, value);
+  }
+
+  /** Same as {@link #satisfy(long, Object)} with a double value. */
+  default boolean satisfyDouble(long time, double value) {
+    return satisfy(time, value);
+  }
+
+  /** Same as {@link #satisfy(long, Object)} with a binary value. */
+  default boolean satisfyBinary(long time, Binary value) {
+    return satisfy(time, value);
+  }
+
+  /**
+   * Same as {@link #satisfy(long, Object)} with a {@link TsPrimitiveType} value, which is examined
+   * through the primitive variant of its data type.
+   */
+  default boolean satisfyTsPrimitiveType(long time, TsPrimitiveType value) {
+    switch (value.getDataType()) {
+      case BOOLEAN:
+        return satisfyBoolean(time, value.getBoolean());
+      case INT32:
+        return satisfyInteger(time, value.getInt());
+      case INT64:
+        return satisfyLong(time, value.getLong());
+      case FLOAT:
+        return satisfyFloat(time, value.getFloat());
+      case DOUBLE:
+        return satisfyDouble(time, value.getDouble());
+      case TEXT:
+        return satisfyBinary(time, value.getBinary());
+      default:
+        return satisfy(time, value.getValue());
+    }
+  }
+
+  /**
+   * To examine a batch of timestamps. Only positions whose {@code selection} is true are examined,
+   * and those not satisfied are set to false, so that the result can be combined with other
+   * conditions such as deletions.
+   *
+   * @param times timestamps of the batch
+   * @param size number of valid points in the batch
+   * @param selection selection bitmap of the batch, updated in place
+   */
+  default void satisfyTimeBatch(long[] times, int size, boolean[] selection) {
+    for (int i = 0; i < size; i++) {
+      if (selection[i]) {
+        selection[i] = satisfy(times[i], null);
+      }
+    }
+  }
+
+  /** Same as {@link #satisfyTimeBatch(long[], int, boolean[])} with boolean values. */
+  default void satisfyBatch(long[] times, boolean[] values, int size, boolean[] selection) {
+    for (int i = 0; i < size; i++) {
+      if (selection[i]) {
+        selection[i] = satisfyBoolean(times[i], values[i]);
+      }
+    }
+  }
+
+  /** Same as {@link #satisfyTimeBatch(long[], int, boolean[])} with int values. */
+  default void satisfyBatch(long[] times, int[] values, int size, boolean[] selection) {
+    for (int i = 0; i < size; i++) {
+      if (selection[i]) {
+        selection[i] = satisfyInteger(times[i], values[i]);
+      }
+    }
+  }
+
+  /** Same as {@link #satisfyTimeBatch(long[], int, boolean[])} with long values. */
+  default void satisfyBatch(long[] times, long[] values, int size, boolean[] selection) {
+    for (int i = 0; i < size; i++) {
+      if (selection[i]) {
+        selection[i] = satisfyLong(times[i], values[i]);
+      }
+    }
+  }
+
+  /** Same as {@link #satisfyTimeBatch(long[], int, boolean[])} with float values. */
+  default void satisfyBatch(long[] times, float[] values, int size, boolean[] selection) {
+    for (int i = 0; i < size; i++) {
+      if (selection[i]) {
+        selection[i] = satisfyFloat(times[i], values[i]);
+      }
+    }
+  }
+
+  /** Same as {@link #satisfyTimeBatch(long[], int, boolean[])} with double values. */
+  default void satisfyBatch(long[] times, double[] values, int size, boolean[] selection) {
+    for (int i = 0; i < size; i++) {
+      if (selection[i]) {
+        selection[i] = satisfyDouble(times[i], values[i]);
+      }
+    }
+  }
+
+  /** Same as {@link #satisfyTimeBatch(long[], int, boolean[])} with binary values. */
+  default void satisfyBatch(long[] times, Binary[] values, int size, boolean[] selection) {
+    for (int i = 0; i < size; i++) {
+      if (selection[i]) {
+        selection[i] = satisfyBinary(times[i], values[i]);
+      }
+    }
+  }
+
   /**
    * To examine whether the min time and max time are satisfied with the filter.
    *
@@ -19,6 +19,7 @@
 package org.apache.iotdb.tsfile.read.filter.basic;
 
 import org.apache.iotdb.tsfile.read.filter.factory.FilterType;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.DataOutputStream;
@@ -58,6 +59,180 @@ public abstract class UnaryFilter<T extends Comparable<T>> implements Filter, Se
     return filterType;
   }
 
+  /**
+   * Whether a point is satisfied given the result of comparing the operand of the point with the
+   * value of this filter, i.e. {@code compare(operand, value)}. It is used by the batch methods to
+   * examine primitive values without boxing.
+   */
+  protected abstract boolean satisfyCompareResult(int compareResult);
+
+  @Override
+  public boolean satisfyBoolean(long time, boolean value) {
+    if (filterType == FilterType.TIME_FILTER) {
+      return satisfyCompareResult(Long.compare(time, (Long) this.value));
+    } else if (this.value instanceof Boolean) {
+      return satisfyCompareResult(Boolean.compare(value, (Boolean) this.value));
+    } else {
+      return satisfy(time, value);
+    }
+  }
+
+  @Override
+  public boolean satisfyInteger(long time, int value) {
+    if (filterType == FilterType.TIME_FILTER) {
+      return satisfyCompareResult(Long.compare(time, (Long) this.value));
+    } else if (this.value instanceof Integer) {
+      return satisfyCompareResult(Integer.compare(value, (Integer) this.value));
+    } else {
+      return satisfy(time, value);
+    }
+  }
+
+  @Override
+  public boolean satisfyLong(long time, long value) {
+    if (filterType == FilterType.TIME_FILTER) {
+      return satisfyCompareResult(Long.compare(time, (Long) this.value));
+    } else if (this.value instanceof Long) {
+      return satisfyCompareResult(Long.compare(value, (Long) this.value));
+    } else {
+      return satisfy(time, value);
+    }
+  }
+
+  @Override
+  public boolean satisfyFloat(long time, float value) {
+    if (filterType == FilterType.TIME_FILTER) {
+      return satisfyCompareResult(Long.compare(time, (Long) this.value));
+    } else if (this.value instanceof Float) {
+      return satisfyCompareResult(Float.compare(value, (Float) this.value));
+    } else {
+      return satisfy(time, value);
+    }
+  }
+
+  @Override
+  public boolean satisfyDouble(long time, double value) {
+    if (filterType == FilterType.TIME_FILTER) {
+      return satisfyCompareResult(Long.compare(time, (Long) this.value));
+    } else if (this.value instanceof Double) {
+      return satisfyCompareResult(Double.compare(value, (Double) this.value));
+    } else {
+      return satisfy(time, value);
+    }
+  }
+
+  @Override
+  public boolean satisfyBinary(long time, Binary value) {
+    if (filterType == FilterType.TIME_FILTER) {
+      return satisfyCompareResult(Long.compare(time, (Long) this.value));
+    } else {
+      return satisfy(time, value);
+    }
+  }
+
+  @Override
+  public void satisfyTimeBatch(long[] times, int size, boolean[] selection) {
+    if (filterType != FilterType.TIME_FILTER) {
+      Filter.super.satisfyTimeBatch(times, size, selection);
+      return;
+    }
+    long time = (Long) value;
+    for (int i = 0; i < size; i++) {
+      if (selection[i]) {
+        selection[i] = satisfyCompareResult(Long.compare(times[i], time));
+      }
+    }
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, boolean[] values, int size, boolean[] selection) {
+    if (filterType == FilterType.TIME_FILTER) {
+      satisfyTimeBatch(times, size, selection);
+    } else if (value instanceof Boolean) {
+      boolean v = (Boolean) value;
+      for (int i = 0; i < size; i++) {
+        if (selection[i]) {
+          selection[i] = satisfyCompareResult(Boolean.compare(values[i], v));
+        }
+      }
+    } else {
+      Filter.super.satisfyBatch(times, values, size, selection);
+    }
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, int[] values, int size, boolean[] selection) {
+    if (filterType == FilterType.TIME_FILTER) {
+      satisfyTimeBatch(times, size, selection);
+    } else if (value instanceof Integer) {
+      int v = (Integer) value;
+      for (int i = 0; i < size; i++) {
+        if (selection[i]) {
+          selection[i] = satisfyCompareResult(Integer.compare(values[i], v));
+        }
+      }
+    } else {
+      Filter.super.satisfyBatch(times, values, size, selection);
+    }
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, long[] values, int size, boolean[] selection) {
+    if (filterType == FilterType.TIME_FILTER) {
+      satisfyTimeBatch(times, size, selection);
+    } else if (value instanceof Long) {
+      long v = (Long) value;
+      for (int i = 0; i < size; i++) {
+        if (selection[i]) {
+          selection[i] = satisfyCompareResult(Long.compare(values[i], v));
+        }
+      }
+    } else {
+      Filter.super.satisfyBatch(times, values, size, selection);
+    }
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, float[] values, int size, boolean[] selection) {
+    if (filterType == FilterType.TIME_FILTER) {
+      satisfyTimeBatch(times, size, selection);
+    } else if (value instanceof Float) {
+      float v = (Float) value;
+      for (int i = 0; i < size; i++) {
+        if (selection[i]) {
+          selection[i] = satisfyCompareResult(Float.compare(values[i], v));
+        }
+      }
+    } else {
+      Filter.super.satisfyBatch(times, values, size, selection);
+    }
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, double[] values, int size, boolean[] selection) {
+    if (filterType == FilterType.TIME_FILTER) {
+      satisfyTimeBatch(times, size, selection);
+    } else if (value instanceof Double) {
+      double v = (Double) value;
+      for (int i = 0; i < size; i++) {
+        if (selection[i]) {
+          selection[i] = satisfyCompareResult(Double.compare(values[i], v));
+        }
+      }
+    } else {
+      Filter.super.satisfyBatch(times, values, size, selection);
+    }
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, Binary[] values, int size, boolean[] selection) {
+    if (filterType == FilterType.TIME_FILTER) {
+      satisfyTimeBatch(times, size, selection);
+    } else {
+      Filter.super.satisfyBatch(times, values, size, selection);
+    }
+  }
+
   @Override
   public abstract String toString();
 
@@ -23,6 +23,7 @@ import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.filter.basic.BinaryFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterSerializeId;
+import org.apache.iotdb.tsfile.utils.Binary;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -48,6 +49,78 @@ public class AndFilter extends BinaryFilter {
     return left.satisfy(time, value) && right.satisfy(time, value);
   }
 
+  @Override
+  public boolean satisfyBoolean(long time, boolean value) {
+    return left.satisfyBoolean(time, value) && right.satisfyBoolean(time, value);
+  }
+
+  @Override
+  public boolean satisfyInteger(long time, int value) {
+    return left.satisfyInteger(time, value) && right.satisfyInteger(time, value);
+  }
+
+  @Override
+  public boolean satisfyLong(long time, long value) {
+    return left.satisfyLong(time, value) && right.satisfyLong(time, value);
+  }
+
+  @Override
+  public boolean satisfyFloat(long time, float value) {
+    return left.satisfyFloat(time, value) && right.satisfyFloat(time, value);
+  }
+
+  @Override
+  public boolean satisfyDouble(long time, double value) {
+    return left.satisfyDouble(time, value) && right.satisfyDouble(time, value);
+  }
+
+  @Override
+  public boolean satisfyBinary(long time, Binary value) {
+    return left.satisfyBinary(time, value) && right.satisfyBinary(time, value);
+  }
+
+  @Override
+  public void satisfyTimeBatch(long[] times, int size, boolean[] selection) {
+    left.satisfyTimeBatch(times, size, selection);
+    right.satisfyTimeBatch(times, size, selection);
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, boolean[] values, int size, boolean[] selection) {
+    left.satisfyBatch(times, values, size, selection);
+    right.satisfyBatch(times, values, size, selection);
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, int[] values, int size, boolean[] selection) {
+    left.satisfyBatch(times, values, size, selection);
+    right.satisfyBatch(times, values, size, selection);
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, long[] values, int size, boolean[] selection) {
+    left.satisfyBatch(times, values, size, selection);
+    right.satisfyBatch(times, values, size, selection);
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, float[] values, int size, boolean[] selection) {
+    left.satisfyBatch(times, values, size, selection);
+    right.satisfyBatch(times, values, size, selection);
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, double[] values, int size, boolean[] selection) {
+    left.satisfyBatch(times, values, size, selection);
+    right.satisfyBatch(times, values, size, selection);
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, Binary[] values, int size, boolean[] selection) {
+    left.satisfyBatch(times, values, size, selection);
+    right.satisfyBatch(times, values, size, selection);
+  }
+
   @Override
   public boolean satisfyStartEndTime(long startTime, long endTime) {
     return left.satisfyStartEndTime(startTime, endTime)
@@ -24,6 +24,7 @@ import org.apache.iotdb.tsfile.file.metadata.statistics.Statistics;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterSerializeId;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterType;
+import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 
 import java.io.DataOutputStream;
@@ -106,6 +107,115 @@ public class Between<T extends Comparable<T>> implements Filter {
     return (value1.compareTo((T) v) <= 0 && ((T) v).compareTo(value2) <= 0) ^ not;
   }
 
+  @Override
+  public boolean satisfyBoolean(long time, boolean value) {
+    return filterType == FilterType.TIME_FILTER ? satisfyTime(time) : satisfy(time, value);
+  }
+
+  @Override
+  public boolean satisfyInteger(long time, int value) {
+    if (filterType == FilterType.TIME_FILTER) {
+      return satisfyTime(time);
+    } else if (value1 instanceof Integer && value2 instanceof Integer) {
+      return ((Integer) value1 <= value && value <= (Integer) value2) ^ not;
+    } else {
+      return satisfy(time, value);
+    }
+  }
+
+  @Override
+  public boolean satisfyLong(long time, long value) {
+    if (filterType == FilterType.TIME_FILTER) {
+      return satisfyTime(time);
+    } else if (value1 instanceof Long && value2 instanceof Long) {
+      return ((Long) value1 <= value && value <= (Long) value2) ^ not;
+    } else {
+      return satisfy(time, value);
+    }
+  }
+
+  @Override
+  public boolean satisfyFloat(long time, float value) {
+    if (filterType == FilterType.TIME_FILTER) {
+      return satisfyTime(time);
+    } else if (value1 instanceof Float && value2 instanceof Float) {
+      return (Float.compare((Float) value1, value) <= 0
+              && Float.compare(value, (Float) value2) <= 0)
+          ^ not;
+    } else {
+      return satisfy(time, value);
+    }
+  }
+
+  @Override
+  public boolean satisfyDouble(long time, double value) {
+    if (filterType == FilterType.TIME_FILTER) {
+      return satisfyTime(time);
+    } else if (value1 instanceof Double && value2 instanceof Double) {
+      return (Double.compare((Double) value1, value) <= 0
+              && Double.compare(value, (Double) value2) <= 0)
+          ^ not;
+    } else {
+      return satisfy(time, value);
+    }
+  }
+
+  @Override
+  public boolean satisfyBinary(long time, Binary value) {
+    return filterType == FilterType.TIME_FILTER ? satisfyTime(time) : satisfy(time, value);
+  }
+
+  private boolean satisfyTime(long time) {
+    return ((Long) value1 <= time && time <= (Long) value2) ^ not;
+  }
+
+  @Override
+  public void satisfyTimeBatch(long[] times, int size, boolean[] selection) {
+    if (filterType != FilterType.TIME_FILTER) {
+      Filter.super.satisfyTimeBatch(times, size, selection);
+      return;
+    }
+    long time1 = (Long) value1, time2 = (Long) value2;
+    for (int i = 0; i < size; i++) {
+      if (selection[i]) {
+        selection[i] = (time1 <= times[i] && times[i] <= time2) ^ not;
+      }
+    }
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, long[] values, int size, boolean[] selection) {
+    if (filterType == FilterType.TIME_FILTER) {
+      satisfyTimeBatch(times, size, selection);
+    } else if (value1 instanceof Long && value2 instanceof Long) {
+      long v1 = (Long) value1, v2 = (Long) value2;
+      for (int i = 0; i < size; i++) {
+        if (selection[i]) {
+          selection[i] = (v1 <= values[i] && values[i] <= v2) ^ not;
+        }
+      }
+    } else {
+      Filter.super.satisfyBatch(times, values, size, selection);
+    }
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, double[] values, int size, boolean[] selection) {
+    if (filterType == FilterType.TIME_FILTER) {
+      satisfyTimeBatch(times, size, selection);
+    } else if (value1 instanceof Double && value2 instanceof Double) {
+      double v1 = (Double) value1, v2 = (Double) value2;
+      for (int i = 0; i < size; i++) {
+        if (selection[i]) {
+          selection[i] =
+              (Double.compare(v1, values[i]) <= 0 && Double.compare(values[i], v2) <= 0) ^ not;
+        }
+      }
+    } else {
+      Filter.super.satisfyBatch(times, values, size, selection);
+    }
+  }
+
   @Override
   public boolean satisfyStartEndTime(long startTime, long endTime) {
     if (filterType == FilterType.TIME_FILTER) {
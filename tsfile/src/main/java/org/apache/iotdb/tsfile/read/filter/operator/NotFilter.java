@@ -23,6 +23,7 @@ import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterSerializeId;
+import org.apache.iotdb.tsfile.utils.Binary;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
@@ -54,6 +55,36 @@ public class NotFilter implements Filter, Serializable {
     return !that.satisfy(time, value);
   }
 
+  @Override
+  public boolean satisfyBoolean(long time, boolean value) {
+    return !that.satisfyBoolean(time, value);
+  }
+
+  @Override
+  public boolean satisfyInteger(long time, int value) {
+    return !that.satisfyInteger(time, value);
+  }
+
+  @Override
+  public boolean satisfyLong(long time, long value) {
+    return !that.satisfyLong(time, value);
+  }
+
+  @Override
+  public boolean satisfyFloat(long time, float value) {
+    return !that.satisfyFloat(time, value);
+  }
+
+  @Override
+  public boolean satisfyDouble(long time, double value) {
+    return !that.satisfyDouble(time, value);
+  }
+
+  @Override
+  public boolean satisfyBinary(long time, Binary value) {
+    return !that.satisfyBinary(time, value);
+  }
+
   /**
    * Notice that, if the not filter only contains value filter, this method may return false, this
    * may cause misunderstanding.
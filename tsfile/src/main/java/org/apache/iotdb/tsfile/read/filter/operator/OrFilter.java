@@ -23,6 +23,7 @@ import org.apache.iotdb.tsfile.read.common.TimeRange;
 import org.apache.iotdb.tsfile.read.filter.basic.BinaryFilter;
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterSerializeId;
+import org.apache.iotdb.tsfile.utils.Binary;
 
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -60,6 +61,114 @@ public class OrFilter extends BinaryFilter implements Serializable {
     return left.satisfy(time, value) || right.satisfy(time, value);
   }
 
+  @Override
+  public boolean satisfyBoolean(long time, boolean value) {
+    return left.satisfyBoolean(time, value) || right.satisfyBoolean(time, value);
+  }
+
+  @Override
+  public boolean satisfyInteger(long time, int value) {
+    return left.satisfyInteger(time, value) || right.satisfyInteger(time, value);
+  }
+
+  @Override
+  public boolean satisfyLong(long time, long value) {
+    return left.satisfyLong(time, value) || right.satisfyLong(time, value);
+  }
+
+  @Override
+  public boolean satisfyFloat(long time, float value) {
+    return left.satisfyFloat(time, value) || right.satisfyFloat(time, value);
+  }
+
+  @Override
+  public boolean satisfyDouble(long time, double value) {
+    return left.satisfyDouble(time, value) || right.satisfyDouble(time, value);
+  }
+
+  @Override
+  public boolean satisfyBinary(long time, Binary value) {
+    return left.satisfyBinary(time, value) || right.satisfyBinary(time, value);
+  }
+
+  @Override
+  public void satisfyTimeBatch(long[] times, int size, boolean[] selection) {
+    boolean[] rightSelection = selection.clone();
+    left.satisfyTimeBatch(times, size, selection);
+    excludeSelected(selection, rightSelection, size);
+    right.satisfyTimeBatch(times, size, rightSelection);
+    mergeSelection(selection, rightSelection, size);
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, boolean[] values, int size, boolean[] selection) {
+    boolean[] rightSelection = selection.clone();
+    left.satisfyBatch(times, values, size, selection);
+    excludeSelected(selection, rightSelection, size);
+    right.satisfyBatch(times, values, size, rightSelection);
+    mergeSelection(selection, rightSelection, size);
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, int[] values, int size, boolean[] selection) {
+    boolean[] rightSelection = selection.clone();
+    left.satisfyBatch(times, values, size, selection);
+    excludeSelected(selection, rightSelection, size);
+    right.satisfyBatch(times, values, size, rightSelection);
+    mergeSelection(selection, rightSelection, size);
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, long[] values, int size, boolean[] selection) {
+    boolean[] rightSelection = selection.clone();
+    left.satisfyBatch(times, values, size, selection);
+    excludeSelected(selection, rightSelection, size);
+    right.satisfyBatch(times, values, size, rightSelection);
+    mergeSelection(selection, rightSelection, size);
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, float[] values, int size, boolean[] selection) {
+    boolean[] rightSelection = selection.clone();
+    left.satisfyBatch(times, values, size, selection);
+    excludeSelected(selection, rightSelection, size);
+    right.satisfyBatch(times, values, size, rightSelection);
+    mergeSelection(selection, rightSelection, size);
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, double[] values, int size, boolean[] selection) {
+    boolean[] rightSelection = selection.clone();
+    left.satisfyBatch(times, values, size, selection);
+    excludeSelected(selection, rightSelection, size);
+    right.satisfyBatch(times, values, size, rightSelection);
+    mergeSelection(selection, rightSelection, size);
+  }
+
+  @Override
+  public void satisfyBatch(long[] times, Binary[] values, int size, boolean[] selection) {
+    boolean[] rightSelection = selection.clone();
+    left.satisfyBatch(times, values, size, selection);
+    excludeSelected(selection, rightSelection, size);
+    right.satisfyBatch(times, values, size, rightSelection);
+    mergeSelection(selection, rightSelection, size);
+  }
+
+  /** the right operator only needs to examine the points that the left one rejects. */
+  private static void excludeSelected(boolean[] leftSelection, boolean[] rightSelection, int size) {
+    for (int i = 0; i < size; i++) {
+      if (leftSelection[i]) {
+        rightSelection[i] = false;
+      }
+    }
+  }
+
+  private static void mergeSelection(boolean[] leftSelection, boolean[] rightSelection, int size) {
+    for (int i = 0; i < size; i++) {
+      leftSelection[i] |= rightSelection[i];
+    }
+  }
+
   @Override
   public boolean satisfyStartEndTime(long startTime, long endTime) {
     return left.satisfyStartEndTime(startTime, endTime)
@@ -0,0 +1,268 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.reader;
+
+import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A {@link TsFileInput} of sealed TsFiles, which maps the whole file into memory. Reads copy from
+ * the mapped regions directly instead of reading through the file channel, so no view of the
+ * mapped regions is leaked to the callers.
+ *
+ * <p>Since the file content must not change after mapped, only sealed files could be read by it.
+ * The mapped regions are unmapped in {@link #close()} after the reads in progress finish, so the
+ * mapped memory and the disk space of deleted files are released as soon as the input is closed.
+ */
+public class MmapTsFileInput implements TsFileInput {
+
+  private static final Logger logger = LoggerFactory.getLogger(MmapTsFileInput.class);
+
+  /** each mapped region is at most 1GB */
+  static final int REGION_SIZE = 1 << 30;
+
+  /** null if the running JVM does not support unmapping explicitly */
+  private static final Unmapper UNMAPPER = createUnmapper();
+
+  private final FileChannel channel;
+  private final String filePath;
+  private final long size;
+  private final MappedByteBuffer[] regions;
+
+  /** reads hold the read lock and close holds the write lock, so no read touches unmapped memory */
+  private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+  /** guarded by closeLock */
+  private boolean closed = false;
+
+  public MmapTsFileInput(Path file) throws IOException {
+    if (UNMAPPER == null) {
+      throw new IOException("Unmapping is not supported, can not map " + file);
+    }
+    channel = FileChannel.open(file, StandardOpenOption.READ);
+    filePath = file.toString();
+    try {
+      size = channel.size();
+      regions = new MappedByteBuffer[(int) ((size + REGION_SIZE - 1) / REGION_SIZE)];
+      for (int i = 0; i < regions.length; i++) {
+        long regionStart = (long) i * REGION_SIZE;
+        regions[i] =
+            channel.map(
+                FileChannel.MapMode.READ_ONLY,
+                regionStart,
+                Math.min(REGION_SIZE, size - regionStart));
+      }
+    } catch (IOException e) {
+      logger.error("Error happened while mapping {}", filePath);
+      channel.close();
+      throw e;
+    }
+  }
+
+  /** Whether files could be mapped, i.e., the mappings could be released when closed. */
+  public static boolean isSupported() {
+    return UNMAPPER != null;
+  }
+
+  @Override
+  public long size() {
+    return size;
+  }
+
+  @Override
+  public long position() throws IOException {
+    try {
+      return channel.position();
+    } catch (IOException e) {
+      logger.error("Error happened while getting {} current position", filePath);
+      throw e;
+    }
+  }
+
+  @Override
+  public TsFileInput position(long newPosition) throws IOException {
+    try {
+      channel.position(newPosition);
+      return this;
+    } catch (IOException e) {
+      logger.error("Error happened while changing {} position to {}", filePath, newPosition);
+      throw e;
+    }
+  }
+
+  @Override
+  public int read(ByteBuffer dst) throws IOException {
+    long position = position();
+    int readSize = read(dst, position);
+    if (readSize > 0) {
+      position(position + readSize);
+    }
+    return readSize;
+  }
+
+  @Override
+  public int read(ByteBuffer dst, long position) throws IOException {
+    closeLock.readLock().lock();
+    try {
+      if (closed) {
+        throw new ClosedChannelException();
+      }
+      if (position >= size) {
+        return -1;
+      }
+      int readSize = (int) Math.min(dst.remaining(), size - position);
+      int remaining = readSize;
+      while (remaining > 0) {
+        int offset = (int) (position % REGION_SIZE);
+        ByteBuffer region = regions[(int) (position / REGION_SIZE)].duplicate();
+        int length = Math.min(remaining, region.capacity() - offset);
+        region.position(offset);
+        region.limit(offset + length);
+        dst.put(region);
+        position += length;
+        remaining -= length;
+      }
+      return readSize;
+    } finally {
+      closeLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public int read() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public FileChannel wrapAsFileChannel() {
+    return channel;
+  }
+
+  @Override
+  public InputStream wrapAsInputStream() {
+    return Channels.newInputStream(channel);
+  }
+
+  /** Unmaps the mapped regions after the reads in progress finish, and closes the channel. */
+  @Override
+  public void close() throws IOException {
+    closeLock.writeLock().lock();
+    try {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      unmapRegions();
+      channel.close();
+    } catch (IOException e) {
+      logger.error("Error happened while closing {}", filePath);
+      throw e;
+    } finally {
+      closeLock.writeLock().unlock();
+    }
+  }
+
+  private void unmapRegions() {
+    for (int i = 0; i < regions.length; i++) {
+      if (regions[i] != null) {
+        try {
+          UNMAPPER.unmap(regions[i]);
+        } catch (ReflectiveOperationException e) {
+          logger.warn("Failed to unmap {}, it will be released by GC", filePath, e);
+        }
+        regions[i] = null;
+      }
+    }
+  }
+
+  @Override
+  public int readInt() {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public String readVarIntString(long offset) throws IOException {
+    ByteBuffer byteBuffer = ByteBuffer.allocate(5);
+    read(byteBuffer, offset);
+    byteBuffer.flip();
+    int strLength = ReadWriteForEncodingUtils.readVarInt(byteBuffer);
+    if (strLength < 0) {
+      return null;
+    } else if (strLength == 0) {
+      return "";
+    }
+    int varIntLength = ReadWriteForEncodingUtils.varIntSize(strLength);
+    ByteBuffer strBuffer = ByteBuffer.allocate(strLength);
+    read(strBuffer, offset + varIntLength);
+    return new String(strBuffer.array(), 0, strLength);
+  }
+
+  @Override
+  public String getFilePath() {
+    return filePath;
+  }
+
+  private static Unmapper createUnmapper() {
+    try {
+      // java 9 and later
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      Object unsafe = theUnsafe.get(null);
+      return buffer -> invokeCleaner.invoke(unsafe, buffer);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // fall back to java 8
+    }
+    try {
+      Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+      Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+      return buffer -> clean.invoke(cleaner.invoke(buffer));
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      logger.warn("Unmapping is not supported, TsFiles will not be memory mapped", e);
+      return null;
+    }
+  }
+
+  @FunctionalInterface
+  private interface Unmapper {
+    void unmap(ByteBuffer buffer) throws ReflectiveOperationException;
+  }
+}
@@ -62,6 +62,9 @@ public class ChunkReader implements IChunkReader {
   /** A list of deleted intervals. */
   private List<TimeRange> deleteIntervalList;
 
+  /** Uncompressed pages shared with other readers of the chunk, null if not cached. */
+  private IChunkPageCache pageCache;
+
   /**
    * constructor of ChunkReader.
    *
@@ -69,7 +72,19 @@ public class ChunkReader implements IChunkReader {
    * @param filter filter
    */
   public ChunkReader(Chunk chunk, Filter filter) throws IOException {
+    this(chunk, filter, null);
+  }
+
+  /**
+   * constructor of ChunkReader which gets uncompressed pages from pageCache.
+   *
+   * @param chunk input Chunk object
+   * @param filter filter
+   * @param pageCache uncompressed pages of this chunk, null if they are not cached
+   */
+  public ChunkReader(Chunk chunk, Filter filter, IChunkPageCache pageCache) throws IOException {
     this.filter = filter;
+    this.pageCache = pageCache;
     this.chunkDataBuffer = chunk.getData();
     this.deleteIntervalList = chunk.getDeleteIntervalList();
     this.currentTimestamp = Long.MIN_VALUE;
@@ -110,6 +125,7 @@ public class ChunkReader implements IChunkReader {
   }
 
   private void initAllPageReaders(Statistics chunkStatistic) throws IOException {
+    int pageIndex = 0;
     // construct next satisfied page header
     while (chunkDataBuffer.remaining() > 0) {
       // deserialize a PageHeader from chunkDataBuffer
@@ -121,10 +137,11 @@ public class ChunkReader implements IChunkReader {
       }
       // if the current page satisfies
       if (pageSatisfied(pageHeader)) {
-        pageReaderList.add(constructPageReaderForNextPage(pageHeader));
+        pageReaderList.add(constructPageReaderForNextPage(pageHeader, pageIndex));
       } else {
         skipBytesInStreamByLength(pageHeader.getCompressedSize());
       }
+      pageIndex++;
     }
   }
 
@@ -170,9 +187,9 @@ public class ChunkReader implements IChunkReader {
     return filter == null || filter.satisfy(pageHeader.getStatistics());
   }
 
-  private PageReader constructPageReaderForNextPage(PageHeader pageHeader) throws IOException {
+  private PageReader constructPageReaderForNextPage(PageHeader pageHeader, int pageIndex)
+      throws IOException {
     int compressedPageBodyLength = pageHeader.getCompressedSize();
-    byte[] compressedPageBody = new byte[compressedPageBodyLength];
 
     // doesn't has a complete page body
     if (compressedPageBodyLength > chunkDataBuffer.remaining()) {
@@ -183,9 +200,30 @@ public class ChunkReader implements IChunkReader {
               + chunkDataBuffer.remaining());
     }
 
-    chunkDataBuffer.get(compressedPageBody);
+    byte[] uncompressedPageData;
+    if (pageCache == null) {
+      uncompressedPageData = uncompressNextPage(pageHeader);
+    } else {
+      int pageBodyStart = chunkDataBuffer.position();
+      uncompressedPageData = pageCache.get(pageIndex, () -> uncompressNextPage(pageHeader));
+      // the page body is not read if it is cached
+      chunkDataBuffer.position(pageBodyStart + compressedPageBodyLength);
+    }
+
     Decoder valueDecoder =
         Decoder.getDecoderByType(chunkHeader.getEncodingType(), chunkHeader.getDataType());
+    ByteBuffer pageData = ByteBuffer.wrap(uncompressedPageData);
+    PageReader reader =
+        new PageReader(
+            pageHeader, pageData, chunkHeader.getDataType(), valueDecoder, timeDecoder, filter);
+    reader.setDeleteIntervalList(deleteIntervalList);
+    return reader;
+  }
+
+  private byte[] uncompressNextPage(PageHeader pageHeader) throws IOException {
+    int compressedPageBodyLength = pageHeader.getCompressedSize();
+    byte[] compressedPageBody = new byte[compressedPageBodyLength];
+    chunkDataBuffer.get(compressedPageBody);
     byte[] uncompressedPageData = new byte[pageHeader.getUncompressedSize()];
     try {
       unCompressor.uncompress(
@@ -200,13 +238,7 @@ public class ChunkReader implements IChunkReader {
               + pageHeader
               + e.getMessage());
     }
-
-    ByteBuffer pageData = ByteBuffer.wrap(uncompressedPageData);
-    PageReader reader =
-        new PageReader(
-            pageHeader, pageData, chunkHeader.getDataType(), valueDecoder, timeDecoder, filter);
-    reader.setDeleteIntervalList(deleteIntervalList);
-    return reader;
+    return uncompressedPageData;
   }
 
   /**
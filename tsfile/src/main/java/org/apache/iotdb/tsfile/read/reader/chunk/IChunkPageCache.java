@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.read.reader.chunk;
+
+import java.io.IOException;
+
+/**
+ * Uncompressed page data of one chunk, shared by the ChunkReaders of this chunk so that its pages
+ * are not uncompressed again by every reader.
+ */
+public interface IChunkPageCache {
+
+  /**
+   * Get the uncompressed data of the pageIndex-th page of the chunk. The returned array may be
+   * shared and should not be modified.
+   *
+   * @param pageIndex index of the page in the chunk, starting from 0
+   * @param loader uncompresses the page if it is not cached
+   */
+  byte[] get(int pageIndex, PageLoader loader) throws IOException;
+
+  @FunctionalInterface
+  interface PageLoader {
+    byte[] load() throws IOException;
+  }
+}
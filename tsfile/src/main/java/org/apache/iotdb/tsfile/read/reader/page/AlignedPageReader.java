@@ -152,12 +152,9 @@ public class AlignedPageReader implements IPageReader, IAlignedPageReader {
     // if all the sub sensors' value are null in current row, just discard it
     // if !filter.satisfy, discard this row
     boolean[] keepCurrentRow = new boolean[timeBatch.length];
-    if (filter == null) {
-      Arrays.fill(keepCurrentRow, true);
-    } else {
-      for (int i = 0, n = timeBatch.length; i < n; i++) {
-        keepCurrentRow[i] = filter.satisfy(timeBatch[i], null);
-      }
+    Arrays.fill(keepCurrentRow, true);
+    if (filter != null) {
+      filter.satisfyTimeBatch(timeBatch, timeBatch.length, keepCurrentRow);
     }
 
     // using bitMap in valuePageReaders to indicate whether columns of current row are all null.
@@ -39,6 +39,7 @@ import org.apache.iotdb.tsfile.utils.ReadWriteForEncodingUtils;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -120,37 +121,42 @@ public class PageReader implements IPageReader {
         switch (dataType) {
           case BOOLEAN:
             boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
-            if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aBoolean))) {
+            if (!isDeleted(timestamp)
+                && (filter == null || filter.satisfyBoolean(timestamp, aBoolean))) {
               pageData.putBoolean(timestamp, aBoolean);
             }
             break;
           case INT32:
             int anInt = valueDecoder.readInt(valueBuffer);
-            if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, anInt))) {
+            if (!isDeleted(timestamp)
+                && (filter == null || filter.satisfyInteger(timestamp, anInt))) {
               pageData.putInt(timestamp, anInt);
             }
             break;
           case INT64:
             long aLong = valueDecoder.readLong(valueBuffer);
-            if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aLong))) {
+            if (!isDeleted(timestamp) && (filter == null || filter.satisfyLong(timestamp, aLong))) {
               pageData.putLong(timestamp, aLong);
             }
             break;
           case FLOAT:
             float aFloat = valueDecoder.readFloat(valueBuffer);
-            if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aFloat))) {
+            if (!isDeleted(timestamp)
+                && (filter == null || filter.satisfyFloat(timestamp, aFloat))) {
               pageData.putFloat(timestamp, aFloat);
             }
             break;
           case DOUBLE:
             double aDouble = valueDecoder.readDouble(valueBuffer);
-            if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aDouble))) {
+            if (!isDeleted(timestamp)
+                && (filter == null || filter.satisfyDouble(timestamp, aDouble))) {
               pageData.putDouble(timestamp, aDouble);
             }
             break;
           case TEXT:
             Binary aBinary = valueDecoder.readBinary(valueBuffer);
-            if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aBinary))) {
+            if (!isDeleted(timestamp)
+                && (filter == null || filter.satisfyBinary(timestamp, aBinary))) {
               pageData.putBinary(timestamp, aBinary);
             }
             break;
@@ -180,141 +186,157 @@ public class PageReader implements IPageReader {
     TsBlockBuilder builder = new TsBlockBuilder(Collections.singletonList(dataType));
     TimeColumnBuilder timeBuilder = builder.getTimeColumnBuilder();
     ColumnBuilder valueBuilder = builder.getColumnBuilder(0);
-    if (pageSatisfy()) {
-      switch (dataType) {
-        case BOOLEAN:
-          while (timeDecoder.hasNext(timeBuffer)) {
-            long timestamp = timeDecoder.readLong(timeBuffer);
-            boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
-            if (isDeleted(timestamp) || (filter != null && !filter.satisfy(timestamp, aBoolean))) {
-              continue;
-            }
-            if (paginationController.hasCurOffset()) {
-              paginationController.consumeOffset();
-              continue;
-            }
-            if (paginationController.hasCurLimit()) {
-              timeBuilder.writeLong(timestamp);
-              valueBuilder.writeBoolean(aBoolean);
-              builder.declarePosition();
-              paginationController.consumeLimit();
-            } else {
-              break;
-            }
+    if (!pageSatisfy()) {
+      return builder.build();
+    }
+
+    long[] timeBatch = readTimeBatch();
+    int size = timeBatch.length;
+    // selection[i] indicates whether the i-th point is neither deleted nor filtered out
+    boolean[] selection = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      selection[i] = !isDeleted(timeBatch[i]);
+    }
+
+    int readEndIndex;
+    switch (dataType) {
+      case BOOLEAN:
+        boolean[] booleans = new boolean[size];
+        checkValueCount(valueDecoder.readBooleans(valueBuffer, booleans, 0, size), size);
+        if (filter != null) {
+          filter.satisfyBatch(timeBatch, booleans, size, selection);
+        }
+        readEndIndex = applyPagination(selection, size);
+        for (int i = 0; i < readEndIndex; i++) {
+          if (selection[i]) {
+            valueBuilder.writeBoolean(booleans[i]);
           }
-          break;
-        case INT32:
-          while (timeDecoder.hasNext(timeBuffer)) {
-            long timestamp = timeDecoder.readLong(timeBuffer);
-            int anInt = valueDecoder.readInt(valueBuffer);
-            if (isDeleted(timestamp) || (filter != null && !filter.satisfy(timestamp, anInt))) {
-              continue;
-            }
-            if (paginationController.hasCurOffset()) {
-              paginationController.consumeOffset();
-              continue;
-            }
-            if (paginationController.hasCurLimit()) {
-              timeBuilder.writeLong(timestamp);
-              valueBuilder.writeInt(anInt);
-              builder.declarePosition();
-              paginationController.consumeLimit();
-            } else {
-              break;
-            }
+        }
+        break;
+      case INT32:
+        int[] ints = new int[size];
+        checkValueCount(valueDecoder.readInts(valueBuffer, ints, 0, size), size);
+        if (filter != null) {
+          filter.satisfyBatch(timeBatch, ints, size, selection);
+        }
+        readEndIndex = applyPagination(selection, size);
+        for (int i = 0; i < readEndIndex; i++) {
+          if (selection[i]) {
+            valueBuilder.writeInt(ints[i]);
           }
-          break;
-        case INT64:
-          while (timeDecoder.hasNext(timeBuffer)) {
-            long timestamp = timeDecoder.readLong(timeBuffer);
-            long aLong = valueDecoder.readLong(valueBuffer);
-            if (isDeleted(timestamp) || (filter != null && !filter.satisfy(timestamp, aLong))) {
-              continue;
-            }
-            if (paginationController.hasCurOffset()) {
-              paginationController.consumeOffset();
-              continue;
-            }
-            if (paginationController.hasCurLimit()) {
-              timeBuilder.writeLong(timestamp);
-              valueBuilder.writeLong(aLong);
-              builder.declarePosition();
-              paginationController.consumeLimit();
-            } else {
-              break;
-            }
+        }
+        break;
+      case INT64:
+        long[] longs = new long[size];
+        checkValueCount(valueDecoder.readLongs(valueBuffer, longs, 0, size), size);
+        if (filter != null) {
+          filter.satisfyBatch(timeBatch, longs, size, selection);
+        }
+        readEndIndex = applyPagination(selection, size);
+        for (int i = 0; i < readEndIndex; i++) {
+          if (selection[i]) {
+            valueBuilder.writeLong(longs[i]);
           }
-          break;
-        case FLOAT:
-          while (timeDecoder.hasNext(timeBuffer)) {
-            long timestamp = timeDecoder.readLong(timeBuffer);
-            float aFloat = valueDecoder.readFloat(valueBuffer);
-            if (isDeleted(timestamp) || (filter != null && !filter.satisfy(timestamp, aFloat))) {
-              continue;
-            }
-            if (paginationController.hasCurOffset()) {
-              paginationController.consumeOffset();
-              continue;
-            }
-            if (paginationController.hasCurLimit()) {
-              timeBuilder.writeLong(timestamp);
-              valueBuilder.writeFloat(aFloat);
-              builder.declarePosition();
-              paginationController.consumeLimit();
-            } else {
-              break;
-            }
+        }
+        break;
+      case FLOAT:
+        float[] floats = new float[size];
+        checkValueCount(valueDecoder.readFloats(valueBuffer, floats, 0, size), size);
+        if (filter != null) {
+          filter.satisfyBatch(timeBatch, floats, size, selection);
+        }
+        readEndIndex = applyPagination(selection, size);
+        for (int i = 0; i < readEndIndex; i++) {
+          if (selection[i]) {
+            valueBuilder.writeFloat(floats[i]);
           }
-          break;
-        case DOUBLE:
-          while (timeDecoder.hasNext(timeBuffer)) {
-            long timestamp = timeDecoder.readLong(timeBuffer);
-            double aDouble = valueDecoder.readDouble(valueBuffer);
-            if (isDeleted(timestamp) || (filter != null && !filter.satisfy(timestamp, aDouble))) {
-              continue;
-            }
-            if (paginationController.hasCurOffset()) {
-              paginationController.consumeOffset();
-              continue;
-            }
-            if (paginationController.hasCurLimit()) {
-              timeBuilder.writeLong(timestamp);
-              valueBuilder.writeDouble(aDouble);
-              builder.declarePosition();
-              paginationController.consumeLimit();
-            } else {
-              break;
-            }
+        }
+        break;
+      case DOUBLE:
+        double[] doubles = new double[size];
+        checkValueCount(valueDecoder.readDoubles(valueBuffer, doubles, 0, size), size);
+        if (filter != null) {
+          filter.satisfyBatch(timeBatch, doubles, size, selection);
+        }
+        readEndIndex = applyPagination(selection, size);
+        for (int i = 0; i < readEndIndex; i++) {
+          if (selection[i]) {
+            valueBuilder.writeDouble(doubles[i]);
           }
-          break;
-        case TEXT:
-          while (timeDecoder.hasNext(timeBuffer)) {
-            long timestamp = timeDecoder.readLong(timeBuffer);
-            Binary aBinary = valueDecoder.readBinary(valueBuffer);
-            if (isDeleted(timestamp) || (filter != null && !filter.satisfy(timestamp, aBinary))) {
-              continue;
-            }
-            if (paginationController.hasCurOffset()) {
-              paginationController.consumeOffset();
-              continue;
-            }
-            if (paginationController.hasCurLimit()) {
-              timeBuilder.writeLong(timestamp);
-              valueBuilder.writeBinary(aBinary);
-              builder.declarePosition();
-              paginationController.consumeLimit();
-            } else {
-              break;
-            }
+        }
+        break;
+      case TEXT:
+        Binary[] binaries = new Binary[size];
+        checkValueCount(valueDecoder.readBinaries(valueBuffer, binaries, 0, size), size);
+        if (filter != null) {
+          filter.satisfyBatch(timeBatch, binaries, size, selection);
+        }
+        readEndIndex = applyPagination(selection, size);
+        for (int i = 0; i < readEndIndex; i++) {
+          if (selection[i]) {
+            valueBuilder.writeBinary(binaries[i]);
           }
-          break;
-        default:
-          throw new UnSupportedDataTypeException(String.valueOf(dataType));
+        }
+        break;
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(dataType));
+    }
+
+    int selectedCount = 0;
+    for (int i = 0; i < readEndIndex; i++) {
+      if (selection[i]) {
+        timeBuilder.writeLong(timeBatch[i]);
+        selectedCount++;
       }
     }
+    builder.declarePositions(selectedCount);
     return builder.build();
   }
 
+  /** decode the whole time column of this page in bulk. */
+  private long[] readTimeBatch() throws IOException {
+    long[] timeBatch = new long[(int) getStatistics().getCount()];
+    int size = timeDecoder.readLongs(timeBuffer, timeBatch, 0, timeBatch.length);
+    // the count in statistics may be inaccurate for pages of old versions
+    while (timeDecoder.hasNext(timeBuffer)) {
+      if (size == timeBatch.length) {
+        timeBatch = Arrays.copyOf(timeBatch, Math.max(16, size << 1));
+      }
+      size += timeDecoder.readLongs(timeBuffer, timeBatch, size, timeBatch.length - size);
+    }
+    return size == timeBatch.length ? timeBatch : Arrays.copyOf(timeBatch, size);
+  }
+
+  private void checkValueCount(int valueCount, int timeCount) throws IOException {
+    if (valueCount != timeCount) {
+      throw new IOException(
+          String.format(
+              "The value count %d of page doesn't match the time count %d", valueCount, timeCount));
+    }
+  }
+
+  /**
+   * Consume offset and limit with the selected points, the points skipped by offset are unselected.
+   *
+   * @return the index before which points should be written into the result
+   */
+  private int applyPagination(boolean[] selection, int size) {
+    for (int i = 0; i < size; i++) {
+      if (!selection[i]) {
+        continue;
+      }
+      if (paginationController.hasCurOffset()) {
+        paginationController.consumeOffset();
+        selection[i] = false;
+      } else if (paginationController.hasCurLimit()) {
+        paginationController.consumeLimit();
+      } else {
+        return i;
+      }
+    }
+    return size;
+  }
+
   @Override
   public Statistics getStatistics() {
     return pageHeader.getStatistics();
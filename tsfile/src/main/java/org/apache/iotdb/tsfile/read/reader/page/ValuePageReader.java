@@ -32,6 +32,7 @@ import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.utils.ReadWriteIOUtils;
 import org.apache.iotdb.tsfile.utils.TsPrimitiveType;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.List;
@@ -94,37 +95,41 @@ public class ValuePageReader {
       switch (dataType) {
         case BOOLEAN:
           boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
-          if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aBoolean))) {
+          if (!isDeleted(timestamp)
+              && (filter == null || filter.satisfyBoolean(timestamp, aBoolean))) {
             pageData.putBoolean(timestamp, aBoolean);
           }
           break;
         case INT32:
           int anInt = valueDecoder.readInt(valueBuffer);
-          if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, anInt))) {
+          if (!isDeleted(timestamp)
+              && (filter == null || filter.satisfyInteger(timestamp, anInt))) {
             pageData.putInt(timestamp, anInt);
           }
           break;
         case INT64:
           long aLong = valueDecoder.readLong(valueBuffer);
-          if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aLong))) {
+          if (!isDeleted(timestamp) && (filter == null || filter.satisfyLong(timestamp, aLong))) {
             pageData.putLong(timestamp, aLong);
           }
           break;
         case FLOAT:
           float aFloat = valueDecoder.readFloat(valueBuffer);
-          if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aFloat))) {
+          if (!isDeleted(timestamp) && (filter == null || filter.satisfyFloat(timestamp, aFloat))) {
             pageData.putFloat(timestamp, aFloat);
           }
           break;
         case DOUBLE:
           double aDouble = valueDecoder.readDouble(valueBuffer);
-          if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aDouble))) {
+          if (!isDeleted(timestamp)
+              && (filter == null || filter.satisfyDouble(timestamp, aDouble))) {
             pageData.putDouble(timestamp, aDouble);
           }
           break;
         case TEXT:
           Binary aBinary = valueDecoder.readBinary(valueBuffer);
-          if (!isDeleted(timestamp) && (filter == null || filter.satisfy(timestamp, aBinary))) {
+          if (!isDeleted(timestamp)
+              && (filter == null || filter.satisfyBinary(timestamp, aBinary))) {
             pageData.putBinary(timestamp, aBinary);
           }
           break;
@@ -242,10 +247,8 @@ public class ValuePageReader {
   }
 
   public void writeColumnBuilderWithNextBatch(
-      int readEndIndex,
-      ColumnBuilder columnBuilder,
-      boolean[] keepCurrentRow,
-      boolean[] isDeleted) {
+      int readEndIndex, ColumnBuilder columnBuilder, boolean[] keepCurrentRow, boolean[] isDeleted)
+      throws IOException {
     if (valueBuffer == null) {
       for (int i = 0; i < readEndIndex; i++) {
         if (keepCurrentRow[i]) {
@@ -254,80 +257,143 @@ public class ValuePageReader {
       }
       return;
     }
+    // decode all the non-null values before readEndIndex in bulk
+    int valueCount = 0;
     for (int i = 0; i < readEndIndex; i++) {
-      if (((bitmap[i / 8] & 0xFF) & (MASK >>> (i % 8))) == 0) {
-        if (keepCurrentRow[i]) {
-          columnBuilder.appendNull();
-        }
-        continue;
+      if (!isNull(i)) {
+        valueCount++;
       }
-      switch (dataType) {
-        case BOOLEAN:
-          boolean aBoolean = valueDecoder.readBoolean(valueBuffer);
+    }
+    switch (dataType) {
+      case BOOLEAN:
+        boolean[] booleans = new boolean[valueCount];
+        valueDecoder.readBooleans(valueBuffer, booleans, 0, valueCount);
+        for (int i = 0, valueIndex = 0; i < readEndIndex; i++) {
+          if (isNull(i)) {
+            if (keepCurrentRow[i]) {
+              columnBuilder.appendNull();
+            }
+            continue;
+          }
+          boolean value = booleans[valueIndex++];
           if (keepCurrentRow[i]) {
             if (isDeleted[i]) {
               columnBuilder.appendNull();
             } else {
-              columnBuilder.writeBoolean(aBoolean);
+              columnBuilder.writeBoolean(value);
             }
           }
-          break;
-        case INT32:
-          int anInt = valueDecoder.readInt(valueBuffer);
+        }
+        break;
+      case INT32:
+        int[] ints = new int[valueCount];
+        valueDecoder.readInts(valueBuffer, ints, 0, valueCount);
+        for (int i = 0, valueIndex = 0; i < readEndIndex; i++) {
+          if (isNull(i)) {
+            if (keepCurrentRow[i]) {
+              columnBuilder.appendNull();
+            }
+            continue;
+          }
+          int value = ints[valueIndex++];
           if (keepCurrentRow[i]) {
             if (isDeleted[i]) {
               columnBuilder.appendNull();
             } else {
-              columnBuilder.writeInt(anInt);
+              columnBuilder.writeInt(value);
             }
           }
-          break;
-        case INT64:
-          long aLong = valueDecoder.readLong(valueBuffer);
+        }
+        break;
+      case INT64:
+        long[] longs = new long[valueCount];
+        valueDecoder.readLongs(valueBuffer, longs, 0, valueCount);
+        for (int i = 0, valueIndex = 0; i < readEndIndex; i++) {
+          if (isNull(i)) {
+            if (keepCurrentRow[i]) {
+              columnBuilder.appendNull();
+            }
+            continue;
+          }
+          long value = longs[valueIndex++];
           if (keepCurrentRow[i]) {
             if (isDeleted[i]) {
               columnBuilder.appendNull();
             } else {
-              columnBuilder.writeLong(aLong);
+              columnBuilder.writeLong(value);
             }
           }
-          break;
-        case FLOAT:
-          float aFloat = valueDecoder.readFloat(valueBuffer);
+        }
+        break;
+      case FLOAT:
+        float[] floats = new float[valueCount];
+        valueDecoder.readFloats(valueBuffer, floats, 0, valueCount);
+        for (int i = 0, valueIndex = 0; i < readEndIndex; i++) {
+          if (isNull(i)) {
+            if (keepCurrentRow[i]) {
+              columnBuilder.appendNull();
+            }
+            continue;
+          }
+          float value = floats[valueIndex++];
           if (keepCurrentRow[i]) {
             if (isDeleted[i]) {
               columnBuilder.appendNull();
             } else {
-              columnBuilder.writeFloat(aFloat);
+              columnBuilder.writeFloat(value);
             }
           }
-          break;
-        case DOUBLE:
-          double aDouble = valueDecoder.readDouble(valueBuffer);
+        }
+        break;
+      case DOUBLE:
+        double[] doubles = new double[valueCount];
+        valueDecoder.readDoubles(valueBuffer, doubles, 0, valueCount);
+        for (int i = 0, valueIndex = 0; i < readEndIndex; i++) {
+          if (isNull(i)) {
+            if (keepCurrentRow[i]) {
+              columnBuilder.appendNull();
+            }
+            continue;
+          }
+          double value = doubles[valueIndex++];
           if (keepCurrentRow[i]) {
             if (isDeleted[i]) {
               columnBuilder.appendNull();
             } else {
-              columnBuilder.writeDouble(aDouble);
+              columnBuilder.writeDouble(value);
             }
           }
-          break;
-        case TEXT:
-          Binary aBinary = valueDecoder.readBinary(valueBuffer);
+        }
+        break;
+      case TEXT:
+        Binary[] binaries = new Binary[valueCount];
+        valueDecoder.readBinaries(valueBuffer, binaries, 0, valueCount);
+        for (int i = 0, valueIndex = 0; i < readEndIndex; i++) {
+          if (isNull(i)) {
+            if (keepCurrentRow[i]) {
+              columnBuilder.appendNull();
+            }
+            continue;
+          }
+          Binary value = binaries[valueIndex++];
           if (keepCurrentRow[i]) {
             if (isDeleted[i]) {
               columnBuilder.appendNull();
             } else {
-              columnBuilder.writeBinary(aBinary);
+              columnBuilder.writeBinary(value);
             }
           }
-          break;
-        default:
-          throw new UnSupportedDataTypeException(String.valueOf(dataType));
-      }
+        }
+        break;
+      default:
+        throw new UnSupportedDataTypeException(String.valueOf(dataType));
     }
   }
 
+  private boolean isNull(int index) {
+    return ((bitmap[index / 8] & 0xFF) & (MASK >>> (index % 8))) == 0;
+  }
+
   public Statistics getStatistics() {
     return pageHeader.getStatistics();
   }
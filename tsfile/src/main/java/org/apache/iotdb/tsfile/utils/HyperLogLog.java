@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * HyperLogLog sketch estimating the number of distinct values. Sketches with the same precision can
+ * be merged, the result is the same as if all values were added to one sketch, so partial results
+ * of different data regions or time windows can be combined.
+ *
+ * <p>A sketch takes 2^precision bytes, the standard error of the estimation is about
+ * 1.04/sqrt(2^precision), i.e. 1.6% with the default precision.
+ */
+public class HyperLogLog {
+
+  public static final int DEFAULT_PRECISION = 12;
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 18;
+
+  private final int precision;
+  private final byte[] registers;
+
+  public HyperLogLog() {
+    this(DEFAULT_PRECISION);
+  }
+
+  public HyperLogLog(int precision) {
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Precision of HyperLogLog should be in [%d, %d], but was %d",
+              MIN_PRECISION, MAX_PRECISION, precision));
+    }
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  private HyperLogLog(int precision, byte[] registers) {
+    this.precision = precision;
+    this.registers = registers;
+  }
+
+  public int getPrecision() {
+    return precision;
+  }
+
+  public HyperLogLog copy() {
+    return new HyperLogLog(precision, registers.clone());
+  }
+
+  public void add(boolean value) {
+    addHash(mix(value ? 1L : 0L));
+  }
+
+  public void add(int value) {
+    addHash(mix(value));
+  }
+
+  public void add(long value) {
+    addHash(mix(value));
+  }
+
+  public void add(float value) {
+    addHash(mix(Float.floatToIntBits(value)));
+  }
+
+  public void add(double value) {
+    addHash(mix(Double.doubleToLongBits(value)));
+  }
+
+  public void add(Binary value) {
+    // FNV-1a over the bytes, the final mix spreads it over all bits
+    long hash = 0xcbf29ce484222325L;
+    for (byte b : value.getValues()) {
+      hash ^= b & 0xff;
+      hash *= 0x100000001b3L;
+    }
+    addHash(mix(hash));
+  }
+
+  /** Merge other into this sketch, both should have the same precision. */
+  public void merge(HyperLogLog other) {
+    if (other.precision != precision) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Cannot merge HyperLogLog of precision %d into precision %d",
+              other.precision, precision));
+    }
+    for (int i = 0; i < registers.length; i++) {
+      if (other.registers[i] > registers[i]) {
+        registers[i] = other.registers[i];
+      }
+    }
+  }
+
+  /** @return the estimated number of distinct values added */
+  public long cardinality() {
+    int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeros++;
+      }
+    }
+    double estimate = alpha(m) * m * m / sum;
+    // small cardinalities are estimated more precisely by linear counting
+    if (estimate <= 2.5 * m && zeros > 0) {
+      estimate = m * Math.log((double) m / zeros);
+    }
+    return Math.round(estimate);
+  }
+
+  public boolean isEmpty() {
+    for (byte register : registers) {
+      if (register != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  public void reset() {
+    Arrays.fill(registers, (byte) 0);
+  }
+
+  public int getSerializedSize() {
+    return 1 + registers.length;
+  }
+
+  /** Serialized as | precision (1 byte) | registers (2^precision bytes) |. */
+  public byte[] serialize() {
+    byte[] bytes = new byte[1 + registers.length];
+    bytes[0] = (byte) precision;
+    System.arraycopy(registers, 0, bytes, 1, registers.length);
+    return bytes;
+  }
+
+  public static HyperLogLog deserialize(ByteBuffer buffer) {
+    int precision = buffer.get();
+    if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+      throw new IllegalArgumentException("Invalid precision of HyperLogLog: " + precision);
+    }
+    byte[] registers = new byte[1 << precision];
+    buffer.get(registers);
+    return new HyperLogLog(precision, registers);
+  }
+
+  private void addHash(long hash) {
+    // the highest bits choose the register, the rest give the rank
+    int index = (int) (hash >>> (64 - precision));
+    long rest = hash << precision;
+    byte rank = (byte) (rest == 0 ? 64 - precision + 1 : Long.numberOfLeadingZeros(rest) + 1);
+    if (rank > registers[index]) {
+      registers[index] = rank;
+    }
+  }
+
+  /** The finalizer of MurmurHash3, spreads every input bit over all output bits. */
+  private static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xff51afd7ed558ccdL;
+    value ^= value >>> 33;
+    value *= 0xc4ceb9fe1a85ec53L;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  private static double alpha(int m) {
+    switch (m) {
+      case 16:
+        return 0.673;
+      case 32:
+        return 0.697;
+      case 64:
+        return 0.709;
+      default:
+        return 0.7213 / (1 + 1.079 / m);
+    }
+  }
+}
@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Quantile sketch with relative error guarantee (DDSketch). Values are counted in buckets whose
+ * bounds grow geometrically, so any returned quantile is within relativeError of the exact one.
+ * Sketches with the same relativeError can be merged exactly by adding their bucket counts.
+ *
+ * <p>NaN and infinite values are ignored.
+ */
+public class QuantileSketch {
+
+  public static final double DEFAULT_RELATIVE_ERROR = 0.01;
+
+  private final double relativeError;
+  private final double gamma;
+  private final double logGamma;
+
+  private final Buckets positive = new Buckets();
+  private final Buckets negative = new Buckets();
+  private long zeroCount = 0;
+  private long count = 0;
+
+  public QuantileSketch() {
+    this(DEFAULT_RELATIVE_ERROR);
+  }
+
+  public QuantileSketch(double relativeError) {
+    if (!(relativeError > 0 && relativeError < 1)) {
+      throw new IllegalArgumentException(
+          "Relative error of QuantileSketch should be in (0, 1), but was " + relativeError);
+    }
+    this.relativeError = relativeError;
+    this.gamma = (1 + relativeError) / (1 - relativeError);
+    this.logGamma = Math.log(gamma);
+  }
+
+  public double getRelativeError() {
+    return relativeError;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public boolean isEmpty() {
+    return count == 0;
+  }
+
+  public void add(double value) {
+    add(value, 1);
+  }
+
+  /** Add value for times times, used when a value is known to repeat, e.g. from statistics. */
+  public void add(double value, long times) {
+    if (!Double.isFinite(value) || times <= 0) {
+      return;
+    }
+    if (value > Double.MIN_NORMAL) {
+      positive.add(index(value), times);
+    } else if (value < -Double.MIN_NORMAL) {
+      negative.add(index(-value), times);
+    } else {
+      zeroCount += times;
+    }
+    count += times;
+  }
+
+  /** Merge other into this sketch, both should have the same relative error. */
+  public void merge(QuantileSketch other) {
+    if (other.relativeError != relativeError) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Cannot merge QuantileSketch of relative error %s into relative error %s",
+              other.relativeError, relativeError));
+    }
+    positive.merge(other.positive);
+    negative.merge(other.negative);
+    zeroCount += other.zeroCount;
+    count += other.count;
+  }
+
+  /**
+   * @param rank in [0, 1], e.g. 0.5 for the median
+   * @return the estimated value at rank, NaN if the sketch is empty
+   */
+  public double quantile(double rank) {
+    if (rank < 0 || rank > 1) {
+      throw new IllegalArgumentException("Rank should be in [0, 1], but was " + rank);
+    }
+    if (count == 0) {
+      return Double.NaN;
+    }
+    long target = (long) (rank * (count - 1));
+    long seen = 0;
+    // negative values from the smallest, i.e. the largest absolute value
+    for (int i = negative.counts.length - 1; i >= 0; i--) {
+      seen += negative.counts[i];
+      if (seen > target) {
+        return -value(negative.offset + i);
+      }
+    }
+    seen += zeroCount;
+    if (seen > target) {
+      return 0;
+    }
+    for (int i = 0; i < positive.counts.length; i++) {
+      seen += positive.counts[i];
+      if (seen > target) {
+        return value(positive.offset + i);
+      }
+    }
+    // unreachable as the counts sum up to count
+    return value(positive.offset + positive.counts.length - 1);
+  }
+
+  public void reset() {
+    positive.reset();
+    negative.reset();
+    zeroCount = 0;
+    count = 0;
+  }
+
+  /**
+   * Serialized as | relativeError | zeroCount | positive buckets | negative buckets |, each bucket
+   * list is | offset | length | counts |.
+   */
+  public byte[] serialize() {
+    ByteBuffer buffer =
+        ByteBuffer.allocate(
+            Double.BYTES + Long.BYTES + positive.serializedSize() + negative.serializedSize());
+    buffer.putDouble(relativeError);
+    buffer.putLong(zeroCount);
+    positive.serialize(buffer);
+    negative.serialize(buffer);
+    return buffer.array();
+  }
+
+  public static QuantileSketch deserialize(ByteBuffer buffer) {
+    QuantileSketch sketch = new QuantileSketch(buffer.getDouble());
+    sketch.zeroCount = buffer.getLong();
+    sketch.positive.deserialize(buffer);
+    sketch.negative.deserialize(buffer);
+    sketch.count = sketch.zeroCount + sketch.positive.sum() + sketch.negative.sum();
+    return sketch;
+  }
+
+  private int index(double positiveValue) {
+    return (int) Math.ceil(Math.log(positiveValue) / logGamma);
+  }
+
+  /** The value with the same relative distance to both bounds of the bucket. */
+  private double value(int index) {
+    return 2 * Math.pow(gamma, index) / (gamma + 1);
+  }
+
+  /** Counts of a contiguous range of bucket indexes, grown on demand. */
+  private static class Buckets {
+
+    private static final long[] EMPTY = new long[0];
+    private static final int MIN_CAPACITY = 32;
+
+    private long[] counts = EMPTY;
+    // bucket index of counts[0]
+    private int offset = 0;
+
+    private void add(int index, long times) {
+      ensureRange(index, index);
+      counts[index - offset] += times;
+    }
+
+    private void merge(Buckets other) {
+      if (other.counts.length == 0) {
+        return;
+      }
+      ensureRange(other.offset, other.offset + other.counts.length - 1);
+      for (int i = 0; i < other.counts.length; i++) {
+        counts[other.offset + i - offset] += other.counts[i];
+      }
+    }
+
+    private void ensureRange(int minIndex, int maxIndex) {
+      if (counts.length == 0) {
+        counts = new long[Math.max(MIN_CAPACITY, maxIndex - minIndex + 1)];
+        // leave room on both sides
+        offset = minIndex - (counts.length - (maxIndex - minIndex + 1)) / 2;
+        return;
+      }
+      int newMin = Math.min(minIndex, offset);
+      int newMax = Math.max(maxIndex, offset + counts.length - 1);
+      if (newMin == offset && newMax == offset + counts.length - 1) {
+        return;
+      }
+      // grow to at least double to keep adding amortized constant time
+      int length = Math.max(newMax - newMin + 1, counts.length * 2);
+      int newOffset = minIndex < offset ? newMax - length + 1 : newMin;
+      long[] newCounts = new long[length];
+      System.arraycopy(counts, 0, newCounts, offset - newOffset, counts.length);
+      counts = newCounts;
+      offset = newOffset;
+    }
+
+    private long sum() {
+      long sum = 0;
+      for (long bucket : counts) {
+        sum += bucket;
+      }
+      return sum;
+    }
+
+    private void reset() {
+      Arrays.fill(counts, 0);
+    }
+
+    private int firstNonEmpty() {
+      int i = 0;
+      while (i < counts.length && counts[i] == 0) {
+        i++;
+      }
+      return i;
+    }
+
+    private int lastNonEmpty() {
+      int i = counts.length - 1;
+      while (i >= 0 && counts[i] == 0) {
+        i--;
+      }
+      return i;
+    }
+
+    private int serializedSize() {
+      int length = Math.max(0, lastNonEmpty() - firstNonEmpty() + 1);
+      return 2 * Integer.BYTES + length * Long.BYTES;
+    }
+
+    /** Only the range between the first and the last non-empty buckets is written. */
+    private void serialize(ByteBuffer buffer) {
+      int first = firstNonEmpty();
+      int length = Math.max(0, lastNonEmpty() - first + 1);
+      buffer.putInt(offset + first);
+      buffer.putInt(length);
+      for (int i = first; i < first + length; i++) {
+        buffer.putLong(counts[i]);
+      }
+    }
+
+    private void deserialize(ByteBuffer buffer) {
+      offset = buffer.getInt();
+      int length = buffer.getInt();
+      counts = length == 0 ? EMPTY : new long[length];
+      for (int i = 0; i < length; i++) {
+        counts[i] = buffer.getLong();
+      }
+    }
+  }
+}
@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+import org.apache.iotdb.tsfile.exception.write.UnSupportedDataTypeException;
+
+/**
+ * Sorts the rows of a tablet, i.e. a timestamp array with its value columns and null bitmaps, by
+ * time. The row order is computed on a primitive index and applied to every column in place, so
+ * besides two int arrays of the row count no memory is allocated. Rows with equal timestamps keep
+ * their original order.
+ */
+public class TimeSortUtils {
+
+  private TimeSortUtils() {
+    // util class
+  }
+
+  /** @return whether the first rowCount timestamps are in ascending order */
+  public static boolean isSorted(long[] times, int rowCount) {
+    for (int i = 1; i < rowCount; i++) {
+      if (times[i] < times[i - 1]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Sort the first rowCount rows by time in place, do nothing if they are sorted already.
+   *
+   * @param times the timestamps
+   * @param columns value columns, each one is a boolean[], int[], long[], float[], double[] or
+   *     Binary[], null columns are skipped
+   * @param bitMaps null bitmaps of the columns, may be null or contain null
+   * @param rowCount the number of valid rows
+   */
+  public static void sortByTime(long[] times, Object[] columns, BitMap[] bitMaps, int rowCount) {
+    if (isSorted(times, rowCount)) {
+      return;
+    }
+    int[] index = sortIndex(times, rowCount);
+    permute(times, index, rowCount);
+    for (Object column : columns) {
+      if (column != null) {
+        permuteColumn(column, index, rowCount);
+      }
+    }
+    if (bitMaps != null) {
+      for (BitMap bitMap : bitMaps) {
+        if (bitMap != null) {
+          permute(bitMap, index, rowCount);
+        }
+      }
+    }
+  }
+
+  /**
+   * Stable merge sort of the row numbers by their timestamps.
+   *
+   * @return index where index[i] is the original row of the i-th row after sorting
+   */
+  public static int[] sortIndex(long[] times, int rowCount) {
+    int[] index = new int[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      index[i] = i;
+    }
+    int[] buffer = new int[rowCount];
+    int[] src = index;
+    int[] dest = buffer;
+    for (int width = 1; width < rowCount; width <<= 1) {
+      for (int left = 0; left < rowCount; left += width << 1) {
+        int mid = Math.min(left + width, rowCount);
+        int right = Math.min(left + (width << 1), rowCount);
+        merge(times, src, dest, left, mid, right);
+      }
+      int[] tmp = src;
+      src = dest;
+      dest = tmp;
+    }
+    return src;
+  }
+
+  private static void merge(long[] times, int[] src, int[] dest, int left, int mid, int right) {
+    int i = left;
+    int j = mid;
+    int k = left;
+    // runs that are already in order are copied without comparing every element
+    if (mid < right && times[src[mid - 1]] <= times[src[mid]]) {
+      System.arraycopy(src, left, dest, left, right - left);
+      return;
+    }
+    while (i < mid && j < right) {
+      // take from the left run on ties to keep the sort stable
+      dest[k++] = times[src[j]] < times[src[i]] ? src[j++] : src[i++];
+    }
+    while (i < mid) {
+      dest[k++] = src[i++];
+    }
+    while (j < right) {
+      dest[k++] = src[j++];
+    }
+  }
+
+  private static void permuteColumn(Object column, int[] index, int rowCount) {
+    if (column instanceof boolean[]) {
+      permute((boolean[]) column, index, rowCount);
+    } else if (column instanceof int[]) {
+      permute((int[]) column, index, rowCount);
+    } else if (column instanceof long[]) {
+      permute((long[]) column, index, rowCount);
+    } else if (column instanceof float[]) {
+      permute((float[]) column, index, rowCount);
+    } else if (column instanceof double[]) {
+      permute((double[]) column, index, rowCount);
+    } else if (column instanceof Object[]) {
+      permute((Object[]) column, index, rowCount);
+    } else {
+      throw new UnSupportedDataTypeException(
+          "Unsupported column type " + column.getClass().getSimpleName());
+    }
+  }
+
+  // The permute methods apply value[i] = oldValue[index[i]] by walking the cycles of the
+  // permutation with one temporary element. Visited positions are flagged by flipping the bits of
+  // their index entry, the flags are cleared again before returning so index can be reused.
+
+  private static void permute(long[] values, int[] index, int rowCount) {
+    for (int start = 0; start < rowCount; start++) {
+      if (index[start] < 0) {
+        continue;
+      }
+      long tmp = values[start];
+      int i = start;
+      int j = index[i];
+      while (j != start) {
+        values[i] = values[j];
+        index[i] = ~j;
+        i = j;
+        j = index[i];
+      }
+      values[i] = tmp;
+      index[i] = ~j;
+    }
+    restore(index, rowCount);
+  }
+
+  private static void permute(boolean[] values, int[] index, int rowCount) {
+    for (int start = 0; start < rowCount; start++) {
+      if (index[start] < 0) {
+        continue;
+      }
+      boolean tmp = values[start];
+      int i = start;
+      int j = index[i];
+      while (j != start) {
+        values[i] = values[j];
+        index[i] = ~j;
+        i = j;
+        j = index[i];
+      }
+      values[i] = tmp;
+      index[i] = ~j;
+    }
+    restore(index, rowCount);
+  }
+
+  private static void permute(int[] values, int[] index, int rowCount) {
+    for (int start = 0; start < rowCount; start++) {
+      if (index[start] < 0) {
+        continue;
+      }
+      int tmp = values[start];
+      int i = start;
+      int j = index[i];
+      while (j != start) {
+        values[i] = values[j];
+        index[i] = ~j;
+        i = j;
+        j = index[i];
+      }
+      values[i] = tmp;
+      index[i] = ~j;
+    }
+    restore(index, rowCount);
+  }
+
+  private static void permute(float[] values, int[] index, int rowCount) {
+    for (int start = 0; start < rowCount; start++) {
+      if (index[start] < 0) {
+        continue;
+      }
+      float tmp = values[start];
+      int i = start;
+      int j = index[i];
+      while (j != start) {
+        values[i] = values[j];
+        index[i] = ~j;
+        i = j;
+        j = index[i];
+      }
+      values[i] = tmp;
+      index[i] = ~j;
+    }
+    restore(index, rowCount);
+  }
+
+  private static void permute(double[] values, int[] index, int rowCount) {
+    for (int start = 0; start < rowCount; start++) {
+      if (index[start] < 0) {
+        continue;
+      }
+      double tmp = values[start];
+      int i = start;
+      int j = index[i];
+      while (j != start) {
+        values[i] = values[j];
+        index[i] = ~j;
+        i = j;
+        j = index[i];
+      }
+      values[i] = tmp;
+      index[i] = ~j;
+    }
+    restore(index, rowCount);
+  }
+
+  private static void permute(Object[] values, int[] index, int rowCount) {
+    for (int start = 0; start < rowCount; start++) {
+      if (index[start] < 0) {
+        continue;
+      }
+      Object tmp = values[start];
+      int i = start;
+      int j = index[i];
+      while (j != start) {
+        values[i] = values[j];
+        index[i] = ~j;
+        i = j;
+        j = index[i];
+      }
+      values[i] = tmp;
+      index[i] = ~j;
+    }
+    restore(index, rowCount);
+  }
+
+  private static void permute(BitMap bitMap, int[] index, int rowCount) {
+    for (int start = 0; start < rowCount; start++) {
+      if (index[start] < 0) {
+        continue;
+      }
+      boolean tmp = bitMap.isMarked(start);
+      int i = start;
+      int j = index[i];
+      while (j != start) {
+        setMarked(bitMap, i, bitMap.isMarked(j));
+        index[i] = ~j;
+        i = j;
+        j = index[i];
+      }
+      setMarked(bitMap, i, tmp);
+      index[i] = ~j;
+    }
+    restore(index, rowCount);
+  }
+
+  private static void setMarked(BitMap bitMap, int position, boolean marked) {
+    if (marked) {
+      bitMap.mark(position);
+    } else {
+      bitMap.unmark(position);
+    }
+  }
+
+  private static void restore(int[] index, int rowCount) {
+    for (int i = 0; i < rowCount; i++) {
+      index[i] = ~index[i];
+    }
+  }
+}
@@ -18,6 +18,7 @@
  */
 package org.apache.iotdb.tsfile.write.page;
 
+import org.apache.iotdb.tsfile.common.conf.TSFileDescriptor;
 import org.apache.iotdb.tsfile.compress.ICompressor;
 import org.apache.iotdb.tsfile.encoding.encoder.Encoder;
 import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
@@ -66,7 +67,7 @@ public class PageWriter {
 
   public PageWriter(IMeasurementSchema measurementSchema) {
     this(measurementSchema.getTimeEncoder(), measurementSchema.getValueEncoder());
-    this.statistics = Statistics.getStatsByType(measurementSchema.getType());
+    this.statistics = newStatistics(measurementSchema.getType());
     this.compressor = ICompressor.getCompressor(measurementSchema.getCompressor());
   }
 
@@ -271,7 +272,7 @@ public class PageWriter {
   public void reset(IMeasurementSchema measurementSchema) {
     timeOut.reset();
     valueOut.reset();
-    statistics = Statistics.getStatsByType(measurementSchema.getType());
+    statistics = newStatistics(measurementSchema.getType());
   }
 
   public void setTimeEncoder(Encoder encoder) {
@@ -283,7 +284,16 @@ public class PageWriter {
   }
 
   public void initStatistics(TSDataType dataType) {
-    statistics = Statistics.getStatsByType(dataType);
+    statistics = newStatistics(dataType);
+  }
+
+  private static Statistics<? extends Serializable> newStatistics(TSDataType dataType) {
+    Statistics<? extends Serializable> pageStatistics = Statistics.getStatsByType(dataType);
+    if (TSFileDescriptor.getInstance().getConfig().isEnableDistinctSketchInStatistics()) {
+      // page headers never carry the sketch, it is merged into the chunk statistics
+      pageStatistics.enableDistinctSketch();
+    }
+    return pageStatistics;
   }
 
   public long getPointNumber() {
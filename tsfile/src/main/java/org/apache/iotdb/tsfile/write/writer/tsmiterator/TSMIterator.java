@@ -18,6 +18,7 @@
  */
 package org.apache.iotdb.tsfile.write.writer.tsmiterator;
 
+import org.apache.iotdb.tsfile.common.constant.TsFileConstant;
 import org.apache.iotdb.tsfile.file.metadata.ChunkGroupMetadata;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.IChunkMetadata;
@@ -86,19 +87,34 @@ public class TSMIterator {
 
     int chunkMetadataListLength = 0;
     boolean serializeStatistic = (chunkMetadataList.size() > 1);
+    // distinct sketches are persisted only if all chunks of the series have one
+    boolean serializeDistinctSketch = true;
+    for (IChunkMetadata chunkMetadata : chunkMetadataList) {
+      if (chunkMetadata.getDataType().equals(dataType)
+          && chunkMetadata.getStatistics().getDistinctSketch() == null) {
+        serializeDistinctSketch = false;
+        break;
+      }
+    }
     // flush chunkMetadataList one by one
     for (IChunkMetadata chunkMetadata : chunkMetadataList) {
       if (!chunkMetadata.getDataType().equals(dataType)) {
         continue;
       }
       chunkMetadataListLength += chunkMetadata.serializeTo(publicBAOS, serializeStatistic);
+      if (serializeStatistic && serializeDistinctSketch) {
+        chunkMetadataListLength +=
+            chunkMetadata.getStatistics().serializeDistinctSketch(publicBAOS);
+      }
       seriesStatistics.mergeStatistics(chunkMetadata.getStatistics());
     }
 
     TimeseriesMetadata timeseriesMetadata =
         new TimeseriesMetadata(
             (byte)
-                ((serializeStatistic ? (byte) 1 : (byte) 0) | chunkMetadataList.get(0).getMask()),
+                ((serializeStatistic ? (byte) 1 : (byte) 0)
+                    | (serializeDistinctSketch ? TsFileConstant.DISTINCT_SKETCH_MASK : (byte) 0)
+                    | chunkMetadataList.get(0).getMask()),
             chunkMetadataListLength,
             measurementId,
             dataType,
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.tsfile.common.block;
 
+import org.apache.iotdb.tsfile.file.metadata.enums.CompressionType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.block.TsBlock;
 import org.apache.iotdb.tsfile.read.common.block.TsBlockBuilder;
@@ -40,6 +41,7 @@ import java.util.List;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class TsBlockSerdeTest {
@@ -186,4 +188,49 @@ public class TsBlockSerdeTest {
       fail();
     }
   }
+
+  @Test
+  public void testSerializeAndDeserializeWithCompactEncodingAndCompression() throws IOException {
+    final int positionCount = 1000;
+    List<TSDataType> dataTypes = new ArrayList<>();
+    dataTypes.add(TSDataType.INT64);
+    dataTypes.add(TSDataType.TEXT);
+    dataTypes.add(TSDataType.TEXT);
+    TsBlockBuilder tsBlockBuilder = new TsBlockBuilder(dataTypes);
+    ColumnBuilder timeColumnBuilder = tsBlockBuilder.getTimeColumnBuilder();
+    for (int i = 0; i < positionCount; i++) {
+      // nearly fixed interval with some jitters
+      timeColumnBuilder.writeLong(1_600_000_000_000L + i * 1000L + (i % 7 == 0 ? -3 : 0));
+      tsBlockBuilder.getColumnBuilder(0).writeLong(i * 31L - 500);
+      if (i % 10 == 0) {
+        tsBlockBuilder.getColumnBuilder(1).appendNull();
+      } else {
+        tsBlockBuilder.getColumnBuilder(1).writeBinary(new Binary("status_" + i % 3));
+      }
+      tsBlockBuilder.getColumnBuilder(2).writeBinary(new Binary("unique_" + i));
+      tsBlockBuilder.declarePosition();
+    }
+    TsBlock tsBlock = tsBlockBuilder.build();
+
+    ByteBuffer plain = new TsBlockSerde().serialize(tsBlock);
+    ByteBuffer compact = new TsBlockSerde(true, CompressionType.UNCOMPRESSED).serialize(tsBlock);
+    ByteBuffer compressed = new TsBlockSerde(true, CompressionType.LZ4).serialize(tsBlock);
+    assertTrue(compact.remaining() < plain.remaining());
+    assertTrue(compressed.remaining() < compact.remaining());
+
+    // the format is self-described, so any serde can deserialize it
+    for (ByteBuffer buffer : new ByteBuffer[] {plain, compact, compressed}) {
+      TsBlock deserialized = new TsBlockSerde().deserialize(buffer);
+      assertEquals(positionCount, deserialized.getPositionCount());
+      for (int i = 0; i < positionCount; i++) {
+        assertEquals(tsBlock.getTimeByIndex(i), deserialized.getTimeByIndex(i));
+        assertEquals(tsBlock.getColumn(0).getLong(i), deserialized.getColumn(0).getLong(i));
+        assertEquals(tsBlock.getColumn(1).isNull(i), deserialized.getColumn(1).isNull(i));
+        if (!tsBlock.getColumn(1).isNull(i)) {
+          assertEquals(tsBlock.getColumn(1).getBinary(i), deserialized.getColumn(1).getBinary(i));
+        }
+        assertEquals(tsBlock.getColumn(2).getBinary(i), deserialized.getColumn(2).getBinary(i));
+      }
+    }
+  }
 }
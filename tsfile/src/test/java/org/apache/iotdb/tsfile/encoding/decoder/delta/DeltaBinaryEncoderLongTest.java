@@ -159,6 +159,30 @@ public class DeltaBinaryEncoderLongTest {
     shouldReadAndWrite(data, ROW_NUM);
   }
 
+  @Test
+  public void testReadLongs() throws IOException {
+    reader.reset();
+    long[] data = new long[ROW_NUM];
+    for (int i = 0; i < ROW_NUM; i++) {
+      data[i] = ran.nextLong();
+    }
+    out = new ByteArrayOutputStream();
+    writeData(data, ROW_NUM);
+    buffer = ByteBuffer.wrap(out.toByteArray());
+
+    // read with a batch size not aligned with the pack size
+    long[] result = new long[ROW_NUM + 10];
+    int count = 0;
+    while (reader.hasNext(buffer)) {
+      count += reader.readLongs(buffer, result, count, Math.min(77, result.length - count));
+    }
+    assertEquals(ROW_NUM, count);
+    for (int i = 0; i < ROW_NUM; i++) {
+      assertEquals(data[i], result[i]);
+    }
+    assertEquals(0, reader.readLongs(buffer, result, 0, 10));
+  }
+
   private List<String> getBetweenDate(String start, String end) {
     List<String> list = new ArrayList<>();
     LocalDate startDate = LocalDate.parse(start);
@@ -29,7 +29,9 @@ import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.Path;
+import org.apache.iotdb.tsfile.read.reader.MmapTsFileInput;
 import org.apache.iotdb.tsfile.utils.FileGenerator;
 import org.apache.iotdb.tsfile.utils.Pair;
 import org.apache.iotdb.tsfile.utils.TsFileGeneratorUtils;
@@ -44,6 +46,8 @@ import org.junit.Test;
 import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -135,6 +139,53 @@ public class TsFileSequenceReaderTest {
     reader.close();
   }
 
+  @Test
+  public void testReadChunkWithMmapInput() throws IOException {
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(FILE_PATH);
+        TsFileSequenceReader mmapReader =
+            new TsFileSequenceReader(new MmapTsFileInput(Paths.get(FILE_PATH)))) {
+      Assert.assertEquals(reader.readVersionNumber(), mmapReader.readVersionNumber());
+      int chunkNum = 0;
+      for (String device : reader.getAllDevices()) {
+        Map<String, List<ChunkMetadata>> chunkMetadataMap =
+            reader.readChunkMetadataInDevice(device);
+        for (List<ChunkMetadata> chunkMetadataList : chunkMetadataMap.values()) {
+          for (ChunkMetadata chunkMetadata : chunkMetadataList) {
+            Chunk chunk = reader.readMemChunk(chunkMetadata);
+            Chunk mmapChunk = mmapReader.readMemChunk(chunkMetadata);
+            Assert.assertEquals(
+                chunk.getHeader().getMeasurementID(), mmapChunk.getHeader().getMeasurementID());
+            Assert.assertEquals(chunk.getData(), mmapChunk.getData());
+            chunkNum++;
+          }
+        }
+      }
+      Assert.assertTrue(chunkNum > 0);
+    }
+  }
+
+  @Test
+  public void testReadChunkAfterMmapInputClosed() throws IOException {
+    MmapTsFileInput mmapInput = new MmapTsFileInput(Paths.get(FILE_PATH));
+    TsFileSequenceReader mmapReader = new TsFileSequenceReader(mmapInput);
+    String device = mmapReader.getAllDevices().get(0);
+    ChunkMetadata chunkMetadata =
+        mmapReader.readChunkMetadataInDevice(device).values().iterator().next().get(0);
+    Chunk chunk = mmapReader.readMemChunk(chunkMetadata);
+    ByteBuffer expected = chunk.getData().duplicate();
+    mmapReader.close();
+
+    // chunk data are copied out of the mapped regions, so they are still readable after unmapped
+    Assert.assertTrue(chunk.getData().hasArray());
+    Assert.assertEquals(expected, chunk.getData());
+    try {
+      mmapInput.read(ByteBuffer.allocate(1), 0);
+      Assert.fail();
+    } catch (ClosedChannelException e) {
+      // expected
+    }
+  }
+
   @Test
   public void testReadEmptyPageInSelfCheck() throws IOException, WriteProcessException {
     int oldMaxPagePointNum =
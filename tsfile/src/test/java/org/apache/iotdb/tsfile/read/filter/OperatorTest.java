@@ -20,11 +20,16 @@ package org.apache.iotdb.tsfile.read.filter;
 
 import org.apache.iotdb.tsfile.read.filter.basic.Filter;
 import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterType;
+import org.apache.iotdb.tsfile.read.filter.operator.Between;
 import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.TsPrimitiveType;
 
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.util.Arrays;
+
 public class OperatorTest {
 
   private static final long EFFICIENCY_TEST_COUNT = 10000000;
@@ -143,6 +148,110 @@ public class OperatorTest {
     Assert.assertTrue(andFilter2.satisfy(1000L, 51d));
   }
 
+  @Test
+  public void testBatch() {
+    int size = 100;
+    long[] times = new long[size];
+    int[] ints = new int[size];
+    long[] longs = new long[size];
+    double[] doubles = new double[size];
+    for (int i = 0; i < size; i++) {
+      times[i] = i;
+      ints[i] = i % 10;
+      longs[i] = size - i;
+      doubles[i] = i / 10.0;
+    }
+
+    Filter timeFilter = FilterFactory.or(TimeFilter.lt(10L), TimeFilter.between(50L, 60L, false));
+    boolean[] selection = newSelection(size);
+    timeFilter.satisfyTimeBatch(times, size, selection);
+    for (int i = 0; i < size; i++) {
+      Assert.assertEquals(timeFilter.satisfy(times[i], null), selection[i]);
+    }
+
+    Filter intFilter = FilterFactory.and(TimeFilter.gtEq(20L), ValueFilter.notEq(5));
+    selection = newSelection(size);
+    intFilter.satisfyBatch(times, ints, size, selection);
+    for (int i = 0; i < size; i++) {
+      Assert.assertEquals(intFilter.satisfy(times[i], ints[i]), selection[i]);
+    }
+
+    Filter longFilter = FilterFactory.or(ValueFilter.gt(90L), ValueFilter.ltEq(5L));
+    selection = newSelection(size);
+    longFilter.satisfyBatch(times, longs, size, selection);
+    for (int i = 0; i < size; i++) {
+      Assert.assertEquals(longFilter.satisfy(times[i], longs[i]), selection[i]);
+    }
+
+    Filter doubleFilter = ValueFilter.not(ValueFilter.gtEq(3.5));
+    selection = newSelection(size);
+    doubleFilter.satisfyBatch(times, doubles, size, selection);
+    for (int i = 0; i < size; i++) {
+      Assert.assertEquals(doubleFilter.satisfy(times[i], doubles[i]), selection[i]);
+    }
+
+    // unselected points are never selected again
+    selection = new boolean[size];
+    longFilter.satisfyBatch(times, longs, size, selection);
+    for (int i = 0; i < size; i++) {
+      Assert.assertFalse(selection[i]);
+    }
+  }
+
+  private boolean[] newSelection(int size) {
+    boolean[] selection = new boolean[size];
+    Arrays.fill(selection, true);
+    return selection;
+  }
+
+  @Test
+  public void testPrimitive() {
+    Filter[] longFilters = {
+      TimeFilter.gt(5L),
+      ValueFilter.ltEq(5L),
+      ValueFilter.notEq(5L),
+      new Between<>(3L, 6L, FilterType.VALUE_FILTER, true),
+      TimeFilter.between(2L, 4L, false),
+      FilterFactory.and(TimeFilter.gtEq(2L), ValueFilter.gt(4L)),
+      FilterFactory.or(ValueFilter.eq(2L), ValueFilter.not(ValueFilter.lt(7L)))
+    };
+    for (Filter filter : longFilters) {
+      for (long i = 0; i < 10; i++) {
+        Assert.assertEquals(filter.toString(), filter.satisfy(i, i), filter.satisfyLong(i, i));
+      }
+    }
+
+    Filter[] doubleFilters = {
+      ValueFilter.gt(0.5),
+      ValueFilter.eq(0.5),
+      new Between<>(0.2, 0.7, FilterType.VALUE_FILTER, false)
+    };
+    for (Filter filter : doubleFilters) {
+      for (int i = 0; i < 10; i++) {
+        double value = i / 10.0;
+        Assert.assertEquals(
+            filter.toString(), filter.satisfy(i, value), filter.satisfyDouble(i, value));
+      }
+    }
+
+    Filter intFilter = ValueFilter.lt(5);
+    Filter floatFilter = ValueFilter.gtEq(0.5f);
+    Filter booleanFilter = ValueFilter.eq(true);
+    Filter binaryFilter = FilterFactory.and(TimeFilter.lt(5L), ValueFilter.eq(new Binary("a")));
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals(intFilter.satisfy(i, i), intFilter.satisfyInteger(i, i));
+      Assert.assertEquals(
+          floatFilter.satisfy(i, i / 10.0f), floatFilter.satisfyFloat(i, i / 10.0f));
+      Assert.assertEquals(
+          booleanFilter.satisfy(i, i % 2 == 0), booleanFilter.satisfyBoolean(i, i % 2 == 0));
+      Binary binary = new Binary(i % 2 == 0 ? "a" : "b");
+      Assert.assertEquals(binaryFilter.satisfy(i, binary), binaryFilter.satisfyBinary(i, binary));
+      Assert.assertEquals(
+          intFilter.satisfy(i, i),
+          intFilter.satisfyTsPrimitiveType(i, new TsPrimitiveType.TsInt(i)));
+    }
+  }
+
   @Test
   public void testWrongUsage() {
     Filter andFilter = FilterFactory.and(TimeFilter.gt(100L), ValueFilter.lt(true));
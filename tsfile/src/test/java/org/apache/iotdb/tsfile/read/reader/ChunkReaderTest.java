@@ -23,9 +23,11 @@ import org.apache.iotdb.tsfile.constant.TestConstant;
 import org.apache.iotdb.tsfile.exception.write.WriteProcessException;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
 import org.apache.iotdb.tsfile.read.TsFileSequenceReader;
+import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.Chunk;
 import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.reader.chunk.ChunkReader;
+import org.apache.iotdb.tsfile.read.reader.chunk.IChunkPageCache;
 import org.apache.iotdb.tsfile.utils.FilePathUtils;
 import org.apache.iotdb.tsfile.utils.TsFileGeneratorUtils;
 
@@ -36,7 +38,11 @@ import org.junit.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.iotdb.tsfile.common.constant.TsFileConstant.PATH_SEPARATOR;
 
@@ -106,4 +112,56 @@ public class ChunkReaderTest {
       }
     }
   }
+
+  @Test
+  public void testPageCache() throws IOException {
+    try (TsFileSequenceReader tsFileSequenceReader = new TsFileSequenceReader(file.getPath())) {
+      List<ChunkMetadata> chunkMetadataList =
+          tsFileSequenceReader.getChunkMetadataList(
+              new Path(testStorageGroup + PATH_SEPARATOR + "d0", "s0", true));
+      for (ChunkMetadata chunkMetadata : chunkMetadataList) {
+        Map<Integer, byte[]> pages = new HashMap<>();
+        AtomicInteger loadCount = new AtomicInteger();
+        IChunkPageCache pageCache =
+            (pageIndex, loader) ->
+                pages.computeIfAbsent(
+                    pageIndex,
+                    k -> {
+                      try {
+                        loadCount.incrementAndGet();
+                        return loader.load();
+                      } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                      }
+                    });
+
+        ChunkReader expectedReader =
+            new ChunkReader(tsFileSequenceReader.readMemChunk(chunkMetadata), null);
+        ChunkReader firstReader =
+            new ChunkReader(tsFileSequenceReader.readMemChunk(chunkMetadata), null, pageCache);
+        Assert.assertEquals(5, loadCount.get());
+        // pages of the second reader are all from the cache
+        ChunkReader secondReader =
+            new ChunkReader(tsFileSequenceReader.readMemChunk(chunkMetadata), null, pageCache);
+        Assert.assertEquals(5, loadCount.get());
+
+        while (expectedReader.hasNextSatisfiedPage()) {
+          BatchData expected = expectedReader.nextPageData();
+          BatchData first = firstReader.nextPageData();
+          BatchData second = secondReader.nextPageData();
+          while (expected.hasCurrent()) {
+            Assert.assertEquals(expected.currentTime(), first.currentTime());
+            Assert.assertEquals(expected.currentValue(), first.currentValue());
+            Assert.assertEquals(expected.currentTime(), second.currentTime());
+            Assert.assertEquals(expected.currentValue(), second.currentValue());
+            expected.next();
+            first.next();
+            second.next();
+          }
+        }
+        Assert.assertFalse(firstReader.hasNextSatisfiedPage());
+        Assert.assertFalse(secondReader.hasNextSatisfiedPage());
+      }
+    }
+  }
 }
@@ -32,9 +32,17 @@ import org.apache.iotdb.tsfile.encoding.encoder.IntRleEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.LongRleEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.PlainEncoder;
 import org.apache.iotdb.tsfile.encoding.encoder.SinglePrecisionEncoderV1;
+import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.read.common.BatchData;
 import org.apache.iotdb.tsfile.read.common.TimeRange;
+import org.apache.iotdb.tsfile.read.common.block.TsBlock;
+import org.apache.iotdb.tsfile.read.filter.TimeFilter;
+import org.apache.iotdb.tsfile.read.filter.ValueFilter;
+import org.apache.iotdb.tsfile.read.filter.basic.Filter;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterFactory;
+import org.apache.iotdb.tsfile.read.filter.factory.FilterType;
+import org.apache.iotdb.tsfile.read.filter.operator.Between;
 import org.apache.iotdb.tsfile.read.reader.page.PageReader;
 import org.apache.iotdb.tsfile.utils.Binary;
 import org.apache.iotdb.tsfile.write.page.PageWriter;
@@ -272,6 +280,49 @@ public class PageReaderTest {
       }
     }
 
+    public void testTsBlock(TSDataType dataType, Filter filter) {
+      try {
+        pageWriter = new PageWriter();
+        pageWriter.setTimeEncoder(new DeltaBinaryEncoder.LongDeltaEncoder());
+        pageWriter.setValueEncoder(this.encoder);
+        pageWriter.initStatistics(dataType);
+        writeData();
+
+        ByteBuffer page = ByteBuffer.wrap(pageWriter.getUncompressedBytes().array());
+        PageHeader pageHeader = new PageHeader(0, 0, pageWriter.getStatistics());
+
+        PageReader pageReader =
+            new PageReader(
+                pageHeader,
+                page,
+                dataType,
+                decoder,
+                new DeltaBinaryDecoder.LongDeltaDecoder(),
+                filter);
+        List<TimeRange> deleteIntervals = new ArrayList<>();
+        deleteIntervals.add(new TimeRange(5, 10));
+        pageReader.setDeleteIntervalList(deleteIntervals);
+
+        TsBlock tsBlock = pageReader.getAllSatisfiedData();
+        int position = 0;
+        for (int i = 0; i < count; i++) {
+          if (i >= 5 && i <= 10) {
+            continue;
+          }
+          if (filter != null && !filter.satisfy(i, generateValueByIndex(i))) {
+            continue;
+          }
+          Assert.assertEquals(i, tsBlock.getTimeByIndex(position));
+          Assert.assertEquals(generateValueByIndex(i), tsBlock.getColumn(0).getObject(position));
+          position++;
+        }
+        Assert.assertEquals(position, tsBlock.getPositionCount());
+      } catch (IOException e) {
+        e.printStackTrace();
+        Assert.fail("Fail when executing test: [" + name + "]");
+      }
+    }
+
     private void writeData() {
       for (int i = 0; i < count; i++) {
         switch (dataType) {
@@ -300,6 +351,66 @@ public class PageReaderTest {
     public abstract Object generateValueByIndex(int i);
   }
 
+  @Test
+  public void testTsBlockWithFilter() {
+    LoopWriteReadTest longTest =
+        new LoopWriteReadTest(
+            "Test INT64",
+            new PlainEncoder(TSDataType.INT64, 0),
+            new PlainDecoder(),
+            TSDataType.INT64,
+            1000) {
+          @Override
+          public Object generateValueByIndex(int i) {
+            return (long) i * 3;
+          }
+        };
+    longTest.testTsBlock(TSDataType.INT64, null);
+    longTest.testTsBlock(TSDataType.INT64, ValueFilter.gt(600L));
+    longTest.testTsBlock(
+        TSDataType.INT64, FilterFactory.or(TimeFilter.lt(100L), ValueFilter.ltEq(2400L)));
+
+    LoopWriteReadTest intTest =
+        new LoopWriteReadTest(
+            "Test INT32", new IntRleEncoder(), new IntRleDecoder(), TSDataType.INT32, 1000) {
+          @Override
+          public Object generateValueByIndex(int i) {
+            return i % 7;
+          }
+        };
+    intTest.testTsBlock(
+        TSDataType.INT32, FilterFactory.and(TimeFilter.gtEq(3L), ValueFilter.notEq(2)));
+
+    LoopWriteReadTest doubleTest =
+        new LoopWriteReadTest(
+            "Test Double",
+            new DoublePrecisionEncoderV1(),
+            new DoublePrecisionDecoderV1(),
+            TSDataType.DOUBLE,
+            1000) {
+          @Override
+          public Object generateValueByIndex(int i) {
+            return (double) i / 10;
+          }
+        };
+    doubleTest.testTsBlock(
+        TSDataType.DOUBLE, new Between<>(10.0, 20.0, FilterType.VALUE_FILTER, false));
+
+    LoopWriteReadTest binaryTest =
+        new LoopWriteReadTest(
+            "Test Binary",
+            new PlainEncoder(TSDataType.TEXT, 1000),
+            new PlainDecoder(),
+            TSDataType.TEXT,
+            1000) {
+          @Override
+          public Object generateValueByIndex(int i) {
+            return new Binary("TEST TEXT" + i);
+          }
+        };
+    binaryTest.testTsBlock(TSDataType.TEXT, ValueFilter.eq(new Binary("TEST TEXT20")));
+  }
+
   @Test
   public void testPageDelete() {
     LoopWriteReadTest test =
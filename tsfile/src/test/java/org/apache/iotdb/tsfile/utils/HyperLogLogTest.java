@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class HyperLogLogTest {
+
+  @Test
+  public void testSmallCardinality() {
+    HyperLogLog sketch = new HyperLogLog();
+    assertTrue(sketch.isEmpty());
+    assertEquals(0, sketch.cardinality());
+    for (int i = 0; i < 100; i++) {
+      // every value is added twice
+      sketch.add(i);
+      sketch.add(i);
+    }
+    assertEquals(100, sketch.cardinality(), 2);
+  }
+
+  @Test
+  public void testLargeCardinality() {
+    HyperLogLog sketch = new HyperLogLog();
+    int count = 1_000_000;
+    for (long i = 0; i < count; i++) {
+      sketch.add(i * 31);
+    }
+    // about 3 times the standard error
+    assertEquals(count, sketch.cardinality(), count * 0.05);
+  }
+
+  @Test
+  public void testMergeAndSerialize() {
+    HyperLogLog left = new HyperLogLog();
+    HyperLogLog right = new HyperLogLog();
+    HyperLogLog all = new HyperLogLog();
+    for (int i = 0; i < 50_000; i++) {
+      Binary value = new Binary("value" + i);
+      if (i % 3 == 0) {
+        left.add(value);
+      } else {
+        right.add(value);
+      }
+      // the ranges of both sides overlap
+      if (i % 5 == 0) {
+        left.add(value);
+        right.add(value);
+      }
+      all.add(value);
+    }
+    HyperLogLog merged = HyperLogLog.deserialize(ByteBuffer.wrap(left.serialize()));
+    merged.merge(HyperLogLog.deserialize(ByteBuffer.wrap(right.serialize())));
+    assertEquals(all.cardinality(), merged.cardinality());
+  }
+
+  @Test
+  public void testDifferentTypes() {
+    HyperLogLog sketch = new HyperLogLog();
+    sketch.add(true);
+    sketch.add(false);
+    sketch.add(true);
+    sketch.add(1.5f);
+    sketch.add(1.5f);
+    sketch.add(2.5d);
+    assertEquals(4, sketch.cardinality());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMergeDifferentPrecision() {
+    new HyperLogLog(10).merge(new HyperLogLog(12));
+  }
+}
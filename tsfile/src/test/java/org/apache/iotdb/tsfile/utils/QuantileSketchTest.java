@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class QuantileSketchTest {
+
+  private static final double[] RANKS = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+
+  @Test
+  public void testRelativeError() {
+    Random random = new Random(0);
+    int count = 100_000;
+    double[] values = new double[count];
+    QuantileSketch sketch = new QuantileSketch();
+    for (int i = 0; i < count; i++) {
+      // both signs and zeros
+      values[i] = i % 10 == 0 ? 0 : random.nextGaussian() * 1000;
+      sketch.add(values[i]);
+    }
+    Arrays.sort(values);
+    assertEquals(count, sketch.getCount());
+    for (double rank : RANKS) {
+      double exact = values[(int) (rank * (count - 1))];
+      assertEquals(exact, sketch.quantile(rank), Math.abs(exact) * sketch.getRelativeError());
+    }
+  }
+
+  @Test
+  public void testMergeAndSerialize() {
+    Random random = new Random(0);
+    QuantileSketch left = new QuantileSketch();
+    QuantileSketch right = new QuantileSketch();
+    QuantileSketch all = new QuantileSketch();
+    for (int i = 0; i < 10_000; i++) {
+      double value = random.nextDouble() * 100;
+      // the ranges of both sides are far apart, so the buckets have to grow when merging
+      if (i % 2 == 0) {
+        value = -value * 1e6;
+        left.add(value);
+      } else {
+        right.add(value);
+      }
+      all.add(value);
+    }
+    QuantileSketch merged = QuantileSketch.deserialize(ByteBuffer.wrap(left.serialize()));
+    merged.merge(QuantileSketch.deserialize(ByteBuffer.wrap(right.serialize())));
+    assertEquals(all.getCount(), merged.getCount());
+    for (double rank : RANKS) {
+      assertEquals(all.quantile(rank), merged.quantile(rank), 0);
+    }
+  }
+
+  @Test
+  public void testRepeatedAndIgnoredValues() {
+    QuantileSketch sketch = new QuantileSketch();
+    assertTrue(sketch.isEmpty());
+    assertTrue(Double.isNaN(sketch.quantile(0.5)));
+    sketch.add(Double.NaN);
+    sketch.add(Double.POSITIVE_INFINITY);
+    assertTrue(sketch.isEmpty());
+
+    sketch.add(5, 10);
+    sketch.add(-5);
+    assertEquals(11, sketch.getCount());
+    assertEquals(-5, sketch.quantile(0), 5 * sketch.getRelativeError());
+    assertEquals(5, sketch.quantile(0.5), 5 * sketch.getRelativeError());
+
+    QuantileSketch empty =
+        QuantileSketch.deserialize(ByteBuffer.wrap(new QuantileSketch().serialize()));
+    assertTrue(empty.isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMergeDifferentRelativeError() {
+    new QuantileSketch(0.01).merge(new QuantileSketch(0.05));
+  }
+}
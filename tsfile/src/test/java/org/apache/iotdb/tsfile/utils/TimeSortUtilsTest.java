@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.tsfile.utils;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class TimeSortUtilsTest {
+
+  @Test
+  public void testIsSorted() {
+    assertTrue(TimeSortUtils.isSorted(new long[0], 0));
+    assertTrue(TimeSortUtils.isSorted(new long[] {1, 2, 2, 3}, 4));
+    assertFalse(TimeSortUtils.isSorted(new long[] {1, 3, 2}, 3));
+    // rows beyond rowCount are ignored
+    assertTrue(TimeSortUtils.isSorted(new long[] {1, 3, 2}, 2));
+  }
+
+  @Test
+  public void testSortAllTypes() {
+    int rowCount = 1000;
+    // leave some unused capacity at the tail like a tablet that is not full
+    int capacity = rowCount + 10;
+    Random random = new Random(0);
+    long[] times = new long[capacity];
+    boolean[] booleans = new boolean[capacity];
+    int[] ints = new int[capacity];
+    long[] longs = new long[capacity];
+    float[] floats = new float[capacity];
+    double[] doubles = new double[capacity];
+    Binary[] binaries = new Binary[capacity];
+    BitMap bitMap = new BitMap(capacity);
+    for (int i = 0; i < rowCount; i++) {
+      // small range to produce plenty of duplicated timestamps
+      times[i] = random.nextInt(rowCount / 4);
+    }
+    long[] sortedTimes = new long[rowCount];
+    System.arraycopy(times, 0, sortedTimes, 0, rowCount);
+    Arrays.sort(sortedTimes);
+
+    // every column stores the original row number of the row, so the expected order can be
+    // derived from the sorted timestamps
+    for (int i = 0; i < rowCount; i++) {
+      booleans[i] = i % 3 == 0;
+      ints[i] = i;
+      longs[i] = i;
+      floats[i] = i;
+      doubles[i] = i;
+      binaries[i] = new Binary(String.valueOf(i));
+      if (i % 7 == 0) {
+        bitMap.mark(i);
+      }
+    }
+    times[rowCount] = -1;
+
+    TimeSortUtils.sortByTime(
+        times,
+        new Object[] {booleans, ints, longs, floats, doubles, binaries, null},
+        new BitMap[] {bitMap, null},
+        rowCount);
+
+    for (int i = 0; i < rowCount; i++) {
+      assertEquals(sortedTimes[i], times[i]);
+      int origin = ints[i];
+      if (i > 0 && times[i] == times[i - 1]) {
+        // rows with the same time keep their original order
+        assertTrue(ints[i - 1] < origin);
+      }
+      assertEquals(origin % 3 == 0, booleans[i]);
+      assertEquals(origin, longs[i]);
+      assertEquals(origin, floats[i], 0);
+      assertEquals(origin, doubles[i], 0);
+      assertEquals(String.valueOf(origin), binaries[i].getStringValue());
+      assertEquals(origin % 7 == 0, bitMap.isMarked(i));
+    }
+    assertEquals(-1, times[rowCount]);
+  }
+
+  @Test
+  public void testSortedInputUntouched() {
+    long[] times = {1, 2, 3};
+    int[] values = {3, 2, 1};
+    Object[] columns = {values};
+    TimeSortUtils.sortByTime(times, columns, null, 3);
+    assertSame(values, columns[0]);
+    assertArrayEquals(new int[] {3, 2, 1}, values);
+  }
+
+  @Test
+  public void testSortIndexStable() {
+    long[] times = {5, 1, 5, 0, 1, 5};
+    assertArrayEquals(new int[] {3, 1, 4, 0, 2, 5}, TimeSortUtils.sortIndex(times, 6));
+  }
+}
@@ -24,6 +24,7 @@ import org.apache.iotdb.tsfile.file.MetaMarker;
 import org.apache.iotdb.tsfile.file.header.ChunkHeader;
 import org.apache.iotdb.tsfile.file.header.PageHeader;
 import org.apache.iotdb.tsfile.file.metadata.ChunkMetadata;
+import org.apache.iotdb.tsfile.file.metadata.TimeseriesMetadata;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSDataType;
 import org.apache.iotdb.tsfile.file.metadata.enums.TSEncoding;
 import org.apache.iotdb.tsfile.fileSystem.FSFactoryProducer;
@@ -34,6 +35,7 @@ import org.apache.iotdb.tsfile.read.common.Path;
 import org.apache.iotdb.tsfile.read.expression.QueryExpression;
 import org.apache.iotdb.tsfile.read.query.dataset.QueryDataSet;
 import org.apache.iotdb.tsfile.utils.Binary;
+import org.apache.iotdb.tsfile.utils.HyperLogLog;
 import org.apache.iotdb.tsfile.utils.TsFileGeneratorUtils;
 import org.apache.iotdb.tsfile.write.chunk.AlignedChunkWriterImpl;
 import org.apache.iotdb.tsfile.write.chunk.ChunkWriterImpl;
@@ -687,4 +689,79 @@ public class TsFileWriteApiTest {
       throw throwable;
     }
   }
+
+  @Test
+  public void writeWithDistinctSketchInStatistics() throws IOException {
+    setEnv(100 * 1024 * 1024, 100);
+    try (TsFileIOWriter tsFileIOWriter = new TsFileIOWriter(f)) {
+      TSFileDescriptor.getInstance().getConfig().setEnableDistinctSketchInStatistics(true);
+      tsFileIOWriter.startChunkGroup(deviceId);
+      // s1: two chunks of 1000 points with 100 distinct values
+      MeasurementSchema s1 = new MeasurementSchema("s1", TSDataType.INT64, TSEncoding.PLAIN);
+      ChunkWriterImpl chunkWriter = new ChunkWriterImpl(s1);
+      for (int chunk = 0; chunk < 2; chunk++) {
+        for (long time = chunk * 1000L; time < (chunk + 1) * 1000L; time++) {
+          chunkWriter.write(time, time % 100);
+        }
+        chunkWriter.writeToFileWriter(tsFileIOWriter);
+      }
+      // s2: one chunk of 500 distinct values
+      MeasurementSchema s2 = new MeasurementSchema("s2", TSDataType.INT64, TSEncoding.PLAIN);
+      chunkWriter = new ChunkWriterImpl(s2);
+      for (long time = 0; time < 500; time++) {
+        chunkWriter.write(time, time);
+      }
+      chunkWriter.writeToFileWriter(tsFileIOWriter);
+      // s3: the second chunk is written without sketch
+      MeasurementSchema s3 = new MeasurementSchema("s3", TSDataType.INT64, TSEncoding.PLAIN);
+      chunkWriter = new ChunkWriterImpl(s3);
+      for (long time = 0; time < 100; time++) {
+        chunkWriter.write(time, time);
+      }
+      chunkWriter.writeToFileWriter(tsFileIOWriter);
+      TSFileDescriptor.getInstance().getConfig().setEnableDistinctSketchInStatistics(false);
+      chunkWriter = new ChunkWriterImpl(s3);
+      for (long time = 100; time < 200; time++) {
+        chunkWriter.write(time, time);
+      }
+      chunkWriter.writeToFileWriter(tsFileIOWriter);
+      tsFileIOWriter.endChunkGroup();
+      tsFileIOWriter.endFile();
+    } finally {
+      TSFileDescriptor.getInstance().getConfig().setEnableDistinctSketchInStatistics(false);
+    }
+
+    try (TsFileSequenceReader reader = new TsFileSequenceReader(f.getAbsolutePath())) {
+      Path s1Path = new Path(deviceId, "s1", true);
+      HyperLogLog sketch =
+          reader.readTimeseriesMetadata(s1Path, false).getStatistics().getDistinctSketch();
+      Assert.assertNotNull(sketch);
+      Assert.assertEquals(100, sketch.cardinality(), 5);
+      List<ChunkMetadata> chunkMetadataList = reader.getChunkMetadataList(s1Path);
+      Assert.assertEquals(2, chunkMetadataList.size());
+      for (ChunkMetadata chunkMetadata : chunkMetadataList) {
+        Assert.assertEquals(1000, chunkMetadata.getStatistics().getCount());
+        sketch = chunkMetadata.getStatistics().getDistinctSketch();
+        Assert.assertNotNull(sketch);
+        Assert.assertEquals(100, sketch.cardinality(), 5);
+      }
+
+      Path s2Path = new Path(deviceId, "s2", true);
+      sketch = reader.readTimeseriesMetadata(s2Path, false).getStatistics().getDistinctSketch();
+      Assert.assertNotNull(sketch);
+      Assert.assertEquals(500, sketch.cardinality(), 25);
+      chunkMetadataList = reader.getChunkMetadataList(s2Path);
+      Assert.assertEquals(1, chunkMetadataList.size());
+      Assert.assertNotNull(chunkMetadataList.get(0).getStatistics().getDistinctSketch());
+
+      Path s3Path = new Path(deviceId, "s3", true);
+      TimeseriesMetadata timeseriesMetadata = reader.readTimeseriesMetadata(s3Path, false);
+      Assert.assertFalse(timeseriesMetadata.hasDistinctSketch());
+      Assert.assertNull(timeseriesMetadata.getStatistics().getDistinctSketch());
+      Assert.assertEquals(200, timeseriesMetadata.getStatistics().getCount());
+      for (ChunkMetadata chunkMetadata : reader.getChunkMetadataList(s3Path)) {
+        Assert.assertNull(chunkMetadata.getStatistics().getDistinctSketch());
+      }
+    }
+  }
 }